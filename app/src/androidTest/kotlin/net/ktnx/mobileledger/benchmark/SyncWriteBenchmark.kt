@@ -0,0 +1,156 @@
+/*
+ * Copyright © 2026 Damyan Ivanov.
+ * This file is part of MoLe.
+ * MoLe is free software: you can distribute it and/or modify it
+ * under the term of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your opinion), any later version.
+ *
+ * MoLe is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License terms for details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MoLe. If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.ktnx.mobileledger.benchmark
+
+import android.content.Context
+import android.util.Log
+import androidx.room.Room
+import androidx.room.RoomDatabase
+import androidx.test.core.app.ApplicationProvider
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.runBlocking
+import net.ktnx.mobileledger.core.common.utils.SimpleDate
+import net.ktnx.mobileledger.core.data.exception.CoreExceptionMapper
+import net.ktnx.mobileledger.core.data.repository.impl.RoomDatabaseTransactionRunner
+import net.ktnx.mobileledger.core.data.repository.impl.TransactionRepositoryImpl
+import net.ktnx.mobileledger.core.data.sync.MonthTotalUpdater
+import net.ktnx.mobileledger.core.data.sync.RunningBalanceUpdater
+import net.ktnx.mobileledger.core.data.sync.SyncWriter
+import net.ktnx.mobileledger.core.database.MoLeDatabase
+import net.ktnx.mobileledger.core.database.entity.Profile
+import net.ktnx.mobileledger.core.domain.model.Amount
+import net.ktnx.mobileledger.core.domain.model.Transaction
+import net.ktnx.mobileledger.core.domain.model.TransactionLine
+import org.junit.After
+import org.junit.Assert.assertEquals
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+
+/**
+ * Reports the rows per second written by [SyncWriter] next to those written through the Room
+ * entity adapters by [TransactionRepositoryImpl.storeTransactionsAsDomain]. Both write the
+ * whole list in one database transaction, so the numbers compare the statement handling only.
+ *
+ * Uses a file-based database in WAL mode, like the application does, so that the cost of
+ * commits is part of the measurement. Results are logged under the [TAG] tag and are not
+ * asserted on: timings on shared devices and emulators vary too much for a fixed bound.
+ */
+@RunWith(AndroidJUnit4::class)
+class SyncWriteBenchmark {
+
+    private lateinit var context: Context
+    private lateinit var db: MoLeDatabase
+    private var profileId = 0L
+
+    @Before
+    fun setup() {
+        context = ApplicationProvider.getApplicationContext()
+        context.deleteDatabase(DB_NAME)
+        db = Room.databaseBuilder(context, MoLeDatabase::class.java, DB_NAME)
+            .setJournalMode(RoomDatabase.JournalMode.WRITE_AHEAD_LOGGING)
+            .build()
+        profileId = db.getProfileDAO().insertSync(Profile().apply { name = "benchmark" })
+    }
+
+    @After
+    fun tearDown() {
+        db.close()
+        context.deleteDatabase(DB_NAME)
+    }
+
+    @Test
+    fun compareSyncWriterWithRoomAdapters() = runBlocking {
+        val transactions = generateTransactions()
+        val rows = transactions.sumOf { it.lines.size + 1 }
+
+        val repository = TransactionRepositoryImpl(
+            db.getTransactionDAO(),
+            db.getTransactionAccountDAO(),
+            db.getAccountDAO(),
+            db.getAccountValueDAO(),
+            db.getRunningBalanceDAO(),
+            RunningBalanceUpdater(db.getRunningBalanceDAO()),
+            MonthTotalUpdater(db.getAccountMonthTotalDAO()),
+            RoomDatabaseTransactionRunner(db),
+            CoreExceptionMapper(),
+            Dispatchers.IO
+        )
+        val roomRate = measureRowsPerSecond(rows) {
+            repository.storeTransactionsAsDomain(transactions, profileId).getOrThrow()
+        }
+
+        db.getTransactionDAO().deleteAllSync(profileId)
+
+        val writer = SyncWriter(
+            db,
+            RunningBalanceUpdater(db.getRunningBalanceDAO()),
+            MonthTotalUpdater(db.getAccountMonthTotalDAO())
+        )
+        val writerRate = measureRowsPerSecond(rows) {
+            writer.write(profileId) { session ->
+                transactions.chunked(BATCH_SIZE).forEach { session.saveTransactions(it) }
+            }
+        }
+
+        val summary = "Room adapters: %.0f rows/s, SyncWriter: %.0f rows/s (%.1fx)"
+            .format(roomRate, writerRate, writerRate / roomRate)
+        Log.i(TAG, summary)
+
+        assertEquals(TRANSACTION_COUNT, countTransactions())
+    }
+
+    private inline fun measureRowsPerSecond(rows: Int, block: () -> Unit): Double {
+        val start = System.nanoTime()
+        block()
+        val seconds = (System.nanoTime() - start) / 1e9
+        return rows / seconds
+    }
+
+    private fun countTransactions(): Int =
+        db.openHelper.readableDatabase.query(
+            "SELECT count(*) FROM transactions WHERE profile_id = ?",
+            arrayOf(profileId)
+        ).use { cursor ->
+            cursor.moveToFirst()
+            cursor.getInt(0)
+        }
+
+    private fun generateTransactions(): List<Transaction> = (1..TRANSACTION_COUNT).map { index ->
+        Transaction(
+            ledgerId = index.toLong(),
+            date = SimpleDate(2024, index % 12 + 1, index % 28 + 1),
+            description = "Transaction $index",
+            lines = listOf(
+                TransactionLine(
+                    accountName = "Expenses:Item${index % 50}",
+                    amount = Amount.of(index.toLong(), 2),
+                    currency = "EUR"
+                ),
+                TransactionLine(accountName = "Assets:Bank", amount = Amount.of(-index.toLong(), 2), currency = "EUR")
+            )
+        )
+    }
+
+    companion object {
+        private const val TAG = "SyncWriteBenchmark"
+        private const val DB_NAME = "sync-write-benchmark.db"
+        private const val TRANSACTION_COUNT = 5_000
+        private const val BATCH_SIZE = 100
+    }
+}
@@ -17,10 +17,9 @@
 
 package net.ktnx.mobileledger.async
 
-import java.math.BigDecimal
-import java.math.RoundingMode
 import kotlinx.collections.immutable.toImmutableList
 import net.ktnx.mobileledger.core.common.utils.SimpleDate
+import net.ktnx.mobileledger.core.domain.model.Amount
 import net.ktnx.mobileledger.core.domain.model.Transaction
 import net.ktnx.mobileledger.service.CurrencyFormatter
 import net.ktnx.mobileledger.ui.main.TransactionAccountDisplayItem
@@ -33,12 +32,15 @@ class TransactionAccumulator(
     private val currencyFormatter: CurrencyFormatter
 ) {
     private val list = ArrayList<TransactionListDisplayItem>()
-    private val runningTotal = HashMap<String, BigDecimal>()
+    private val runningTotal = HashMap<String, Amount>()
     private var earliestDate: SimpleDate? = null
     private var latestDate: SimpleDate? = null
     private var lastDate: SimpleDate? = null
     private var transactionCount = 0
 
+    // "$accumulateAccount:", built once instead of for every posting
+    private val accumulatePrefix = accumulateAccount?.let { "$it:" }
+
     init {
         list.add(TransactionListDisplayItem.Header)
     }
@@ -64,22 +66,15 @@ class TransactionAccumulator(
         }
 
         var currentTotal: String? = null
-        if (accumulateAccount != null) {
+        if (accumulateAccount != null && accumulatePrefix != null) {
             for (line in transaction.lines) {
-                if (line.accountName == accumulateAccount ||
-                    isParentAccount(accumulateAccount, line.accountName)
-                ) {
-                    val currencyKey = line.currency
-                    var amt = runningTotal[currencyKey] ?: BigDecimal.ZERO
-                    val amount = line.amount ?: 0f
-                    var newAmount = BigDecimal.valueOf(amount.toDouble())
-                    newAmount = newAmount.setScale(2, RoundingMode.HALF_EVEN)
-                    amt = amt.add(newAmount)
-                    runningTotal[currencyKey] = amt
+                if (line.accountName == accumulateAccount || line.accountName.startsWith(accumulatePrefix)) {
+                    val amount = line.amount ?: Amount.ZERO
+                    runningTotal[line.currency] = (runningTotal[line.currency] ?: Amount.ZERO) + amount
                 }
             }
 
-            currentTotal = summarizeRunningTotal(runningTotal)
+            currentTotal = summarizeRunningTotal(runningTotal, currencyFormatter)
         }
         list.add(
             TransactionListDisplayItem.Transaction(
@@ -90,7 +85,7 @@ class TransactionAccumulator(
                 accounts = transaction.lines.map { line ->
                     TransactionAccountDisplayItem(
                         accountName = line.accountName,
-                        amount = line.amount ?: 0f,
+                        amount = line.amount ?: Amount.ZERO,
                         currency = line.currency,
                         comment = line.comment,
                         amountStyle = null
@@ -104,27 +99,6 @@ class TransactionAccumulator(
         lastDate = date
     }
 
-    private fun summarizeRunningTotal(runningTotal: HashMap<String, BigDecimal>): String {
-        val b = StringBuilder()
-        for (currency in runningTotal.keys) {
-            if (b.isNotEmpty()) {
-                b.append('\n')
-            }
-            if (currency.emptyToNull() != null) {
-                b.append(currency).append(' ')
-            }
-            val value = runningTotal[currency]
-            b.append(currencyFormatter.formatNumber(value?.toFloat() ?: 0f))
-        }
-        return b.toString()
-    }
-
-    /**
-     * Check if parent is a parent account of child.
-     * For hledger, this means child starts with "parent:".
-     */
-    private fun isParentAccount(parent: String, child: String): Boolean = child.startsWith("$parent:")
-
     /**
      * Get the accumulated list of transaction items.
      * This method finalizes the list by adding the last date delimiter if needed.
@@ -164,4 +138,24 @@ class TransactionAccumulator(
      * Get the total transaction count.
      */
     fun getTransactionCount(): Int = transactionCount
+
+    companion object {
+        /**
+         * Format a running total as one line per currency.
+         */
+        fun summarizeRunningTotal(runningTotal: Map<String, Amount>, currencyFormatter: CurrencyFormatter): String {
+            val b = StringBuilder()
+            for (currency in runningTotal.keys) {
+                if (b.isNotEmpty()) {
+                    b.append('\n')
+                }
+                if (currency.emptyToNull() != null) {
+                    b.append(currency).append(' ')
+                }
+                val value = runningTotal[currency]
+                b.append(currencyFormatter.formatNumber(value ?: Amount.ZERO))
+            }
+            return b.toString()
+        }
+    }
 }
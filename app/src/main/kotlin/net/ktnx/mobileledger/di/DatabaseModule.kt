@@ -37,10 +37,12 @@ import javax.inject.Singleton
 import logcat.logcat
 import net.ktnx.mobileledger.core.database.MoLeDatabase
 import net.ktnx.mobileledger.core.database.dao.AccountDAO
+import net.ktnx.mobileledger.core.database.dao.AccountMonthTotalDAO
 import net.ktnx.mobileledger.core.database.dao.AccountValueDAO
 import net.ktnx.mobileledger.core.database.dao.CurrencyDAO
 import net.ktnx.mobileledger.core.database.dao.OptionDAO
 import net.ktnx.mobileledger.core.database.dao.ProfileDAO
+import net.ktnx.mobileledger.core.database.dao.RunningBalanceDAO
 import net.ktnx.mobileledger.core.database.dao.TemplateAccountDAO
 import net.ktnx.mobileledger.core.database.dao.TemplateHeaderDAO
 import net.ktnx.mobileledger.core.database.dao.TransactionAccountDAO
@@ -60,10 +62,12 @@ import net.ktnx.mobileledger.core.domain.repository.PreferencesRepository
  * - [TransactionDAO] - Data access for ledger transactions
  * - [AccountDAO] - Data access for accounts
  * - [AccountValueDAO] - Data access for account balance values
+ * - [AccountMonthTotalDAO] - Data access for monthly account totals used by reports
  * - [TemplateHeaderDAO] - Data access for transaction templates
  * - [TemplateAccountDAO] - Data access for template account entries
  * - [CurrencyDAO] - Data access for currencies
  * - [OptionDAO] - Data access for application options
+ * - [RunningBalanceDAO] - Data access for running balances of account registers
  *
  * ## Testing
  *
@@ -90,6 +94,11 @@ object DatabaseModule {
         )
 
         builder.addCallback(object : RoomDatabase.Callback() {
+            override fun onCreate(db: SupportSQLiteDatabase) {
+                super.onCreate(db)
+                MoLeDatabase.createFtsTriggers(db)
+            }
+
             override fun onOpen(db: SupportSQLiteDatabase) {
                 super.onOpen(db)
                 db.execSQL("PRAGMA foreign_keys = ON")
@@ -151,7 +160,22 @@ object DatabaseModule {
                     )
                 }
             },
-            singleVersionMigration(69, resources, packageName, preferencesRepository)
+            singleVersionMigration(69, resources, packageName, preferencesRepository),
+            // the converted amounts are only approximate; the HTTP response cache is keyed on the
+            // schema revision, so the next sync fetches everything and stores the exact values
+            singleVersionMigration(70, resources, packageName, preferencesRepository),
+            singleVersionMigration(71, resources, packageName, preferencesRepository),
+            object : Migration(71, 72) {
+                override fun migrate(db: SupportSQLiteDatabase) {
+                    applyRevisionFile(db, resources, packageName, "db_72")
+                    MoLeDatabase.createFtsTriggers(db)
+                }
+            },
+            singleVersionMigration(73, resources, packageName, preferencesRepository),
+            singleVersionMigration(74, resources, packageName, preferencesRepository),
+            singleVersionMigration(75, resources, packageName, preferencesRepository),
+            singleVersionMigration(76, resources, packageName, preferencesRepository),
+            singleVersionMigration(77, resources, packageName, preferencesRepository)
         )
     }
 
@@ -326,4 +350,10 @@ object DatabaseModule {
 
     @Provides
     fun provideOptionDAO(db: MoLeDatabase): OptionDAO = db.getOptionDAO()
+
+    @Provides
+    fun provideRunningBalanceDAO(db: MoLeDatabase): RunningBalanceDAO = db.getRunningBalanceDAO()
+
+    @Provides
+    fun provideAccountMonthTotalDAO(db: MoLeDatabase): AccountMonthTotalDAO = db.getAccountMonthTotalDAO()
 }
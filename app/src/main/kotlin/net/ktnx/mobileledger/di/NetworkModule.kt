@@ -17,21 +17,27 @@
 
 package net.ktnx.mobileledger.di
 
+import android.content.Context
 import dagger.Module
 import dagger.Provides
 import dagger.hilt.InstallIn
+import dagger.hilt.android.qualifiers.ApplicationContext
 import dagger.hilt.components.SingletonComponent
 import io.ktor.client.HttpClient
+import java.io.File
 import javax.inject.Singleton
+import net.ktnx.mobileledger.core.database.MoLeDatabase
 import net.ktnx.mobileledger.core.network.HledgerClient
 import net.ktnx.mobileledger.core.network.HledgerClientImpl
+import net.ktnx.mobileledger.core.network.HttpResponseCache
 import net.ktnx.mobileledger.core.network.KtorClientFactory
 
 /**
  * Hilt module for providing network-related dependencies.
  *
  * This module provides the Ktor HttpClient and HledgerClient for
- * communicating with hledger-web servers.
+ * communicating with hledger-web servers, and the on-disk cache of
+ * their responses.
  */
 @Module
 @InstallIn(SingletonComponent::class)
@@ -41,7 +47,22 @@ object NetworkModule {
     @Singleton
     fun provideHttpClient(): HttpClient = KtorClientFactory.create()
 
+    /**
+     * The cache is keyed on the database schema revision: a migration may leave stored data
+     * that only a full sync corrects, which cached responses would let the sync skip.
+     */
     @Provides
     @Singleton
-    fun provideHledgerClient(httpClient: HttpClient): HledgerClient = HledgerClientImpl(httpClient)
+    fun provideHttpResponseCache(@ApplicationContext context: Context): HttpResponseCache =
+        HttpResponseCache(httpResponseCacheDir(context), version = MoLeDatabase.REVISION)
+
+    /**
+     * Directory of the [HttpResponseCache]
+     */
+    fun httpResponseCacheDir(context: Context): File = File(context.cacheDir, "http-responses")
+
+    @Provides
+    @Singleton
+    fun provideHledgerClient(httpClient: HttpClient, responseCache: HttpResponseCache): HledgerClient =
+        HledgerClientImpl(httpClient, responseCache)
 }
@@ -22,6 +22,8 @@ import dagger.Module
 import dagger.hilt.InstallIn
 import dagger.hilt.components.SingletonComponent
 import javax.inject.Singleton
+import net.ktnx.mobileledger.core.sync.ApiVersionResolver
+import net.ktnx.mobileledger.domain.usecase.ApiVersionResolverImpl
 import net.ktnx.mobileledger.domain.usecase.ConfigBackup
 import net.ktnx.mobileledger.domain.usecase.ConfigBackupImpl
 import net.ktnx.mobileledger.domain.usecase.DatabaseInitializer
@@ -57,4 +59,8 @@ abstract class UseCaseModule {
     @Binds
     @Singleton
     abstract fun bindVersionDetector(impl: VersionDetectorImpl): VersionDetector
+
+    @Binds
+    @Singleton
+    abstract fun bindApiVersionResolver(impl: ApiVersionResolverImpl): ApiVersionResolver
 }
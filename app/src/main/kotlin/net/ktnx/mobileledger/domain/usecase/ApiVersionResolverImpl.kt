@@ -0,0 +1,123 @@
+/*
+ * Copyright © 2026 Damyan Ivanov.
+ * This file is part of MoLe.
+ * MoLe is free software: you can distribute it and/or modify it
+ * under the term of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your opinion), any later version.
+ *
+ * MoLe is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License terms for details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MoLe. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package net.ktnx.mobileledger.domain.usecase
+
+import javax.inject.Inject
+import javax.inject.Singleton
+import kotlinx.coroutines.sync.Mutex
+import kotlinx.coroutines.sync.withLock
+import logcat.logcat
+import net.ktnx.mobileledger.core.domain.model.API
+import net.ktnx.mobileledger.core.domain.model.AppOption
+import net.ktnx.mobileledger.core.domain.model.Profile
+import net.ktnx.mobileledger.core.domain.model.ServerVersion
+import net.ktnx.mobileledger.core.domain.repository.OptionRepository
+import net.ktnx.mobileledger.core.sync.ApiVersionResolver
+import net.ktnx.mobileledger.domain.model.getSuitableApiVersion
+
+/**
+ * ApiVersionResolver の実装
+ *
+ * API.auto のプロファイルについて、解決済みの API バージョンをプロファイルごとのオプション
+ * [AppOption.OPT_RESOLVED_API] に保存する。未解決の場合は `/version` を一度だけ問い合わせて
+ * バージョンを決める。
+ *
+ * 保存した値は次の場合に破棄される:
+ * - レスポンスのデコードに失敗した場合（[invalidate]）
+ * - プロファイルに記録されたサーバーバージョンが、解決時のバージョンと異なる場合
+ */
+@Singleton
+class ApiVersionResolverImpl @Inject constructor(
+    private val versionDetector: VersionDetector,
+    private val optionRepository: OptionRepository
+) : ApiVersionResolver {
+
+    /** 口座と取引の同時取得で `/version` を二重に問い合わせないための排他制御 */
+    private val mutex = Mutex()
+
+    override suspend fun candidates(profile: Profile): List<API> {
+        val configured = API.valueOf(profile.apiVersion)
+        if (configured != API.auto) return listOf(configured)
+
+        return mutex.withLock {
+            loadResolved(profile)?.let { return@withLock listOf(it) }
+
+            val probed = probe(profile)
+            if (probed == null) {
+                logcat { "API version of ${profile.url} unknown; trying all versions" }
+                return@withLock API.allVersions.toList()
+            }
+            store(profile, probed)
+            listOf(probed)
+        }
+    }
+
+    override suspend fun remember(profile: Profile, api: API) {
+        if (API.valueOf(profile.apiVersion) != API.auto) return
+        mutex.withLock { store(profile, api) }
+    }
+
+    override suspend fun invalidate(profile: Profile) {
+        val profileId = profile.id ?: return
+        mutex.withLock {
+            optionRepository.deleteOption(AppOption(profileId, AppOption.OPT_RESOLVED_API, null))
+        }
+    }
+
+    private suspend fun loadResolved(profile: Profile): API? {
+        val profileId = profile.id ?: return null
+        val option = optionRepository.getOption(profileId, AppOption.OPT_RESOLVED_API) ?: return null
+        val stored = option.value?.let { parseValue(it) }
+        val currentServerVersion = profile.serverVersion?.displayString
+
+        if (stored == null || (currentServerVersion != null && stored.second != currentServerVersion)) {
+            logcat { "Discarding resolved API version '${option.value}' of profile $profileId" }
+            optionRepository.deleteOption(option)
+            return null
+        }
+        return stored.first
+    }
+
+    private suspend fun probe(profile: Profile): API? {
+        val versionString = versionDetector.detect(profile).getOrNull() ?: return null
+        return ServerVersion.parse(versionString)?.getSuitableApiVersion()
+    }
+
+    private suspend fun store(profile: Profile, api: API) {
+        val profileId = profile.id ?: return
+        val serverVersion = profile.serverVersion?.displayString ?: ""
+        optionRepository.insertOption(
+            AppOption(profileId, AppOption.OPT_RESOLVED_API, "${api.name}$SEPARATOR$serverVersion")
+        )
+    }
+
+    /**
+     * 保存値 "API名|サーバーバージョン" を分解する
+     *
+     * @return API とサーバーバージョンの組、または不正な値の場合は null
+     */
+    private fun parseValue(value: String): Pair<API, String>? {
+        val name = value.substringBefore(SEPARATOR)
+        val api = API.entries.firstOrNull { it.name == name && it != API.auto } ?: return null
+        return api to value.substringAfter(SEPARATOR, "")
+    }
+
+    companion object {
+        private const val SEPARATOR = '|'
+    }
+}
@@ -35,6 +35,7 @@ import net.ktnx.mobileledger.core.network.HledgerClient
 import net.ktnx.mobileledger.core.network.NetworkApiNotSupportedException
 import net.ktnx.mobileledger.core.network.json.ApiNotSupportedException
 import net.ktnx.mobileledger.core.network.json.Gateway
+import net.ktnx.mobileledger.core.sync.ApiVersionResolver
 import net.ktnx.mobileledger.service.CurrencyFormatter
 
 /**
@@ -53,6 +54,7 @@ import net.ktnx.mobileledger.service.CurrencyFormatter
 class TransactionSenderImpl @Inject constructor(
     private val hledgerClient: HledgerClient,
     private val currencyFormatter: CurrencyFormatter,
+    private val apiVersionResolver: ApiVersionResolver,
     @IoDispatcher private val ioDispatcher: CoroutineDispatcher
 ) : TransactionSender {
 
@@ -75,27 +77,7 @@ class TransactionSenderImpl @Inject constructor(
 
             val profileApiVersion = API.valueOf(profile.apiVersion)
             when (profileApiVersion) {
-                API.auto -> {
-                    var sendOK = false
-                    for (ver in API.allVersions) {
-                        coroutineContext.ensureActive()
-                        logcat { "Trying version $ver" }
-                        try {
-                            sendOKViaAPIWithDomain(profile, transaction, ver, simulate)
-                            sendOK = true
-                            logcat { "Version $ver request succeeded" }
-                            break
-                        } catch (e: ApiNotSupportedException) {
-                            logcat { "Version $ver not supported: ${e.message}" }
-                        }
-                    }
-
-                    if (!sendOK) {
-                        throw ApiNotSupportedException(
-                            "No supported API version found. Server must support hledger-web 1.32 or later."
-                        )
-                    }
-                }
+                API.auto -> sendWithAnyVersion(profile, transaction, simulate)
 
                 API.v1_32, API.v1_40, API.v1_50 -> {
                     sendOKViaAPIWithDomain(profile, transaction, profileApiVersion, simulate)
@@ -109,6 +91,53 @@ class TransactionSenderImpl @Inject constructor(
         }
     }
 
+    /**
+     * Send transaction using the API version resolved by [apiVersionResolver].
+     *
+     * If the server rejects the resolved version, the resolution is discarded and the
+     * remaining versions are tried.
+     */
+    private suspend fun sendWithAnyVersion(profile: Profile, transaction: Transaction, simulate: Boolean) {
+        val candidates = apiVersionResolver.candidates(profile)
+        if (trySendWithVersions(profile, transaction, candidates, simulate)) return
+
+        if (candidates.size == 1) {
+            apiVersionResolver.invalidate(profile)
+            val remaining = API.allVersions.filter { it !in candidates }
+            if (trySendWithVersions(profile, transaction, remaining, simulate)) return
+        }
+
+        throw ApiNotSupportedException(
+            "No supported API version found. Server must support hledger-web 1.32 or later."
+        )
+    }
+
+    /**
+     * Send transaction with each of [versions] in turn until the server accepts one.
+     *
+     * @return true if the transaction was sent
+     */
+    private suspend fun trySendWithVersions(
+        profile: Profile,
+        transaction: Transaction,
+        versions: List<API>,
+        simulate: Boolean
+    ): Boolean {
+        for (ver in versions) {
+            coroutineContext.ensureActive()
+            logcat { "Trying version $ver" }
+            try {
+                sendOKViaAPIWithDomain(profile, transaction, ver, simulate)
+                logcat { "Version $ver request succeeded" }
+                apiVersionResolver.remember(profile, ver)
+                return true
+            } catch (e: ApiNotSupportedException) {
+                logcat { "Version $ver not supported: ${e.message}" }
+            }
+        }
+        return false
+    }
+
     /**
      * Send transaction via JSON API using domain model directly.
      */
@@ -121,12 +150,13 @@ class TransactionSenderImpl @Inject constructor(
         coroutineContext.ensureActive()
 
         val gateway = Gateway.forApiVersion(apiVersion)
-        val body = gateway.transactionSaveRequest(transaction, currencyFormatter)
+        val body = gateway.transactionSaveBody(transaction, currencyFormatter)
 
-        logcat { "Sending using API $apiVersion" }
+        // The body is encoded while it is sent and never logged as a whole
+        logcat { "Sending '${transaction.description}' with ${transaction.lines.size} postings using API $apiVersion" }
 
         if (simulate) {
-            logcat { "The request would be: $body" }
+            logcat { "Simulating the request" }
             delay(1500)
             if (Math.random() > 0.3) {
                 throw RuntimeException("Simulated test exception")
@@ -134,8 +164,6 @@ class TransactionSenderImpl @Inject constructor(
             return
         }
 
-        logcat { "Request body: $body" }
-
         val result = hledgerClient.putJson(profile, "add", body)
         result.fold(
             onSuccess = {
@@ -70,7 +70,7 @@ class VersionDetectorImpl @Inject constructor(
 
                 result.fold(
                     onSuccess = { inputStream ->
-                        val version = parseVersionFromStream(inputStream)
+                        val version = inputStream.use { parseVersionFromStream(it) }
                         if (version != null) {
                             logcat { "Detected version: $version" }
                             Result.success(version)
@@ -74,4 +74,8 @@ class AppStateServiceImpl @Inject constructor() : AppStateService, SyncStateNoti
             )
         )
     }
+
+    override fun notifySyncUnchanged(date: Date) {
+        updateSyncInfo(_lastSyncInfo.value.copy(date = date))
+    }
 }
@@ -19,6 +19,7 @@ package net.ktnx.mobileledger.service
 
 import java.util.Locale
 import kotlinx.coroutines.flow.StateFlow
+import net.ktnx.mobileledger.core.domain.model.Amount
 import net.ktnx.mobileledger.core.domain.model.CurrencyPosition
 import net.ktnx.mobileledger.core.domain.model.CurrencySettings
 
@@ -108,6 +109,14 @@ interface CurrencyFormatter : CurrencySettings {
      */
     fun formatNumber(number: Float): String
 
+    /**
+     * Format an exact amount according to locale, without rounding it through [Float].
+     *
+     * @param number Amount to format
+     * @return Formatted string
+     */
+    fun formatNumber(number: Amount): String
+
     /**
      * Parse a string to number according to locale.
      *
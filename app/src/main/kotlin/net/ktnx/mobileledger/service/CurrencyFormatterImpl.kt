@@ -28,6 +28,7 @@ import kotlinx.coroutines.flow.MutableStateFlow
 import kotlinx.coroutines.flow.StateFlow
 import kotlinx.coroutines.flow.asStateFlow
 import logcat.logcat
+import net.ktnx.mobileledger.core.domain.model.Amount
 import net.ktnx.mobileledger.core.domain.model.CurrencyPosition
 
 /**
@@ -73,6 +74,9 @@ class CurrencyFormatterImpl @Inject constructor() : CurrencyFormatter {
 
     override fun formatNumber(number: Float): String = numberFormatter?.format(number) ?: number.toString()
 
+    override fun formatNumber(number: Amount): String =
+        numberFormatter?.format(number.toBigDecimal()) ?: number.toPlainString()
+
     @Throws(ParseException::class)
     override fun parseNumber(str: String): Float {
         val pos = ParsePosition(0)
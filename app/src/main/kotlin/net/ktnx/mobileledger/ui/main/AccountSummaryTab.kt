@@ -309,10 +309,10 @@ private fun AccountAmountsColumn(amounts: List<AccountAmount>, isExpanded: Boole
 @Composable
 private fun AmountText(amount: AccountAmount) {
     val textColor = when {
-        amount.amount > 0 -> Color(0xFF4CAF50)
+        amount.amount.signum() > 0 -> Color(0xFF4CAF50)
 
         // Green for positive
-        amount.amount < 0 -> Color(0xFFF44336)
+        amount.amount.signum() < 0 -> Color(0xFFF44336)
 
         // Red for negative
         else -> MaterialTheme.colorScheme.onSurface
@@ -17,6 +17,8 @@
 
 package net.ktnx.mobileledger.ui.main
 
+import net.ktnx.mobileledger.core.domain.model.Amount
+
 /**
  * UI state for the account summary tab.
  */
@@ -54,7 +56,7 @@ sealed class AccountSummaryListItem {
         /**
          * Returns true if all amounts are zero.
          */
-        fun allAmountsAreZero(): Boolean = amounts.all { it.amount == 0f }
+        fun allAmountsAreZero(): Boolean = amounts.all { it.amount.isZero }
     }
 
     companion object {
@@ -114,7 +116,7 @@ sealed class AccountSummaryListItem {
 /**
  * Represents an amount with its currency.
  */
-data class AccountAmount(val amount: Float, val currency: String, val formattedAmount: String)
+data class AccountAmount(val amount: Amount, val currency: String, val formattedAmount: String)
 
 /**
  * Events from the account summary tab.
@@ -38,6 +38,7 @@ import kotlinx.coroutines.flow.update
 import kotlinx.coroutines.launch
 import logcat.asLog
 import logcat.logcat
+import net.ktnx.mobileledger.core.domain.model.Amount
 import net.ktnx.mobileledger.core.domain.model.Profile
 import net.ktnx.mobileledger.feature.account.usecase.AccountHierarchyResolver
 import net.ktnx.mobileledger.feature.account.usecase.GetShowZeroBalanceUseCase
@@ -276,8 +277,8 @@ class AccountSummaryViewModel @Inject constructor(
      * Format amount with currency for display.
      * Simple formatting that doesn't depend on App singleton.
      */
-    private fun formatAmount(amount: Float, currency: String?): String {
-        val formattedValue = String.format(java.util.Locale.US, "%,.2f", amount)
+    private fun formatAmount(amount: Amount, currency: String?): String {
+        val formattedValue = String.format(java.util.Locale.US, "%,.2f", amount.toBigDecimal())
         return if (currency.isNullOrEmpty()) {
             formattedValue
         } else {
@@ -360,6 +360,12 @@ fun MainScreen(
                                     onClearFilter = {
                                         onTransactionListEvent(TransactionListEvent.ClearAccountFilter)
                                     },
+                                    onLoadMore = {
+                                        onTransactionListEvent(TransactionListEvent.LoadMoreTransactions)
+                                    },
+                                    onLoadNewer = {
+                                        onTransactionListEvent(TransactionListEvent.LoadNewerTransactions)
+                                    },
                                     listState = transactionsListState
                                 )
                             }
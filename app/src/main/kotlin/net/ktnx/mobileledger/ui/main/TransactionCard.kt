@@ -126,8 +126,8 @@ fun TransactionAccountRow(account: TransactionAccountDisplayItem, isBold: Boolea
     // Memoize color calculation based on amount (green for positive, red for negative)
     val amountColor = remember(account.amount) {
         when {
-            account.amount > 0 -> Color(0xFF4CAF50)
-            account.amount < 0 -> Color(0xFFF44336)
+            account.amount.signum() > 0 -> Color(0xFF4CAF50)
+            account.amount.signum() < 0 -> Color(0xFFF44336)
             else -> null
         }
     } ?: MaterialTheme.colorScheme.onSurface
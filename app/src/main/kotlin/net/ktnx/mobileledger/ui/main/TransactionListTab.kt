@@ -32,6 +32,9 @@ import androidx.compose.material3.MaterialTheme
 import androidx.compose.material3.Text
 import androidx.compose.runtime.Composable
 import androidx.compose.runtime.LaunchedEffect
+import androidx.compose.runtime.derivedStateOf
+import androidx.compose.runtime.getValue
+import androidx.compose.runtime.remember
 import androidx.compose.ui.Alignment
 import androidx.compose.ui.Modifier
 import androidx.compose.ui.unit.dp
@@ -45,6 +48,8 @@ fun TransactionListTab(
     onAccountFilterChanged: (String?) -> Unit,
     onSuggestionSelected: (String) -> Unit,
     onClearFilter: () -> Unit,
+    onLoadMore: () -> Unit,
+    onLoadNewer: () -> Unit,
     listState: LazyListState = rememberLazyListState(),
     modifier: Modifier = Modifier
 ) {
@@ -55,6 +60,30 @@ fun TransactionListTab(
         }
     }
 
+    // Ask for the next page once the end of the loaded items comes close
+    val isNearEnd by remember(listState) {
+        derivedStateOf {
+            val layoutInfo = listState.layoutInfo
+            val lastVisible = layoutInfo.visibleItemsInfo.lastOrNull()?.index ?: return@derivedStateOf false
+            lastVisible >= layoutInfo.totalItemsCount - LOAD_MORE_THRESHOLD
+        }
+    }
+    LaunchedEffect(isNearEnd, uiState.hasMoreTransactions, uiState.transactions.size) {
+        if (isNearEnd && uiState.hasMoreTransactions) {
+            onLoadMore()
+        }
+    }
+
+    // Likewise ask for the dropped newer transactions once the start comes close
+    val isNearStart by remember(listState) {
+        derivedStateOf { listState.firstVisibleItemIndex < LOAD_MORE_THRESHOLD }
+    }
+    LaunchedEffect(isNearStart, uiState.hasNewerTransactions, uiState.transactions.size) {
+        if (isNearStart && uiState.hasNewerTransactions) {
+            onLoadNewer()
+        }
+    }
+
     Column(modifier = modifier.fillMaxSize()) {
         // Account filter input
         if (uiState.showAccountFilterInput) {
@@ -119,6 +148,9 @@ fun TransactionListTab(
     }
 }
 
+// Number of items before either end of the list at which the adjacent page is requested
+private const val LOAD_MORE_THRESHOLD = 30
+
 @Composable
 private fun TransactionListHeader(text: String) {
     Box(
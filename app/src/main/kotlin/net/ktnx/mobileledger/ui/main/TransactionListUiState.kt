@@ -21,6 +21,7 @@ import androidx.compose.runtime.Stable
 import kotlinx.collections.immutable.ImmutableList
 import kotlinx.collections.immutable.persistentListOf
 import net.ktnx.mobileledger.core.common.utils.SimpleDate
+import net.ktnx.mobileledger.core.domain.model.Amount
 import net.ktnx.mobileledger.core.domain.model.AmountStyle
 
 /**
@@ -36,7 +37,11 @@ data class TransactionListUiState(
     val firstTransactionDate: SimpleDate? = null,
     val lastTransactionDate: SimpleDate? = null,
     val headerText: String = "----",
-    val error: String? = null
+    val error: String? = null,
+    /** Whether more transactions can be appended with [TransactionListEvent.LoadMoreTransactions] */
+    val hasMoreTransactions: Boolean = false,
+    /** Whether dropped newer transactions can be prepended with [TransactionListEvent.LoadNewerTransactions] */
+    val hasNewerTransactions: Boolean = false
 )
 
 /**
@@ -75,7 +80,7 @@ sealed class TransactionListDisplayItem {
 @Stable
 data class TransactionAccountDisplayItem(
     val accountName: String,
-    val amount: Float,
+    val amount: Amount,
     val currency: String,
     val comment: String?,
     val amountStyle: AmountStyle?
@@ -92,4 +97,6 @@ sealed class TransactionListEvent {
     data class GoToDate(val date: SimpleDate) : TransactionListEvent()
     data class ScrollToTransaction(val index: Int) : TransactionListEvent()
     data class SelectSuggestion(val accountName: String) : TransactionListEvent()
+    data object LoadMoreTransactions : TransactionListEvent()
+    data object LoadNewerTransactions : TransactionListEvent()
 }
@@ -36,11 +36,16 @@ import kotlinx.coroutines.launch
 import logcat.asLog
 import logcat.logcat
 import net.ktnx.mobileledger.async.TransactionAccumulator
+import net.ktnx.mobileledger.core.common.utils.NameDictionary
 import net.ktnx.mobileledger.core.common.utils.SimpleDate
+import net.ktnx.mobileledger.core.domain.model.Amount
 import net.ktnx.mobileledger.core.domain.model.Profile
 import net.ktnx.mobileledger.core.domain.model.Transaction
 import net.ktnx.mobileledger.feature.profile.usecase.ObserveCurrentProfileUseCase
-import net.ktnx.mobileledger.feature.transaction.usecase.GetTransactionsUseCase
+import net.ktnx.mobileledger.feature.transaction.usecase.GetNewerTransactionPageUseCase
+import net.ktnx.mobileledger.feature.transaction.usecase.GetRunningBalancesUseCase
+import net.ktnx.mobileledger.feature.transaction.usecase.GetTransactionDateRangeUseCase
+import net.ktnx.mobileledger.feature.transaction.usecase.GetTransactionPageUseCase
 import net.ktnx.mobileledger.feature.transaction.usecase.SearchAccountNamesUseCase
 import net.ktnx.mobileledger.feature.transaction.usecase.TransactionListConverter
 import net.ktnx.mobileledger.service.CurrencyFormatter
@@ -51,12 +56,22 @@ import net.ktnx.mobileledger.service.CurrencyFormatter
  * Manages transaction list display, filtering, and date navigation.
  * Observes ProfileRepository for current profile changes.
  *
+ * Transactions are loaded a page at a time, newest first, and further pages are appended
+ * as the list is scrolled, so the time to show the list does not depend on the ledger size.
+ * At most [WINDOW_PAGES] pages are held: the pages at the other end of the list are dropped
+ * and loaded again, keyed by the first loaded transaction, when the list is scrolled back.
+ * When filtered by an account, the running totals of the page are read from the stored
+ * running balances instead of being summed over the preceding transactions.
+ *
  * Target: ~250 lines (single responsibility)
  */
 @HiltViewModel
 class TransactionListViewModel @Inject constructor(
     private val observeCurrentProfileUseCase: ObserveCurrentProfileUseCase,
-    private val getTransactionsUseCase: GetTransactionsUseCase,
+    private val getTransactionPageUseCase: GetTransactionPageUseCase,
+    private val getNewerTransactionPageUseCase: GetNewerTransactionPageUseCase,
+    private val getTransactionDateRangeUseCase: GetTransactionDateRangeUseCase,
+    private val getRunningBalancesUseCase: GetRunningBalancesUseCase,
     private val searchAccountNamesUseCase: SearchAccountNamesUseCase,
     private val currencyFormatter: CurrencyFormatter,
     private val transactionListConverter: TransactionListConverter
@@ -72,6 +87,30 @@ class TransactionListViewModel @Inject constructor(
     // Job for managing filter task cancellation
     private var displayedTransactionsFilterJob: Job? = null
 
+    /**
+     * The query whose pages are being shown, and the window of its transactions held.
+     *
+     * @property transactions The loaded transactions, newest first; the first and the last
+     *   are the keys of the neighbouring pages
+     * @property runningTotals Formatted running totals of [transactions], by ledger ID
+     * @property hasNewer Whether newer transactions were dropped from the window
+     * @property hasOlder Whether another page may follow
+     */
+    private data class PagedQuery(
+        val profileId: Long,
+        val accountFilter: String?,
+        val transactions: List<Transaction>,
+        val runningTotals: Map<Long, String>,
+        val hasNewer: Boolean,
+        val hasOlder: Boolean
+    )
+
+    // Null while the list shows transactions received from the web
+    private var pagedQuery: PagedQuery? = null
+
+    // Job loading pages; page loads run one after another
+    private var pageJob: Job? = null
+
     init {
         observeProfileChanges()
         observeAccountSearch()
@@ -96,13 +135,17 @@ class TransactionListViewModel @Inject constructor(
                     if (profileId != null) {
                         loadTransactionsInternal(profileId, null)
                     } else {
+                        pageJob?.cancel()
+                        pagedQuery = null
                         _uiState.update {
                             it.copy(
                                 transactions = persistentListOf(),
                                 isLoading = false,
                                 error = null,
                                 firstTransactionDate = null,
-                                lastTransactionDate = null
+                                lastTransactionDate = null,
+                                hasMoreTransactions = false,
+                                hasNewerTransactions = false
                             )
                         }
                     }
@@ -136,6 +179,8 @@ class TransactionListViewModel @Inject constructor(
             is TransactionListEvent.HideAccountFilterInput -> hideAccountFilterInput()
             is TransactionListEvent.ClearAccountFilter -> clearAccountFilter()
             is TransactionListEvent.GoToDate -> goToDate(event.date)
+            is TransactionListEvent.LoadMoreTransactions -> loadNextPage()
+            is TransactionListEvent.LoadNewerTransactions -> loadNewerPage()
             is TransactionListEvent.ScrollToTransaction -> scrollToTransaction(event.index)
             is TransactionListEvent.SelectSuggestion -> onSuggestionSelected(event.accountName)
         }
@@ -153,81 +198,220 @@ class TransactionListViewModel @Inject constructor(
 
     /**
      * Internal method to load transactions with specified profile and filter.
+     * Replaces the list with the first page.
      */
     private fun loadTransactionsInternal(profileId: Long, accountFilter: String?) {
+        pageJob?.cancel()
+        pagedQuery = null
         _uiState.update { it.copy(isLoading = true, error = null) }
 
-        viewModelScope.launch {
-            try {
-                val dbTransactions = getTransactionsUseCase(profileId, accountFilter).getOrThrow()
-
-                // Convert directly to display items without TransactionAccumulator
-                // (which has dependency on App.instance)
-                val displayItems = convertToDisplayItems(dbTransactions, accountFilter)
-                updateDisplayedTransactionsDirectly(displayItems)
-            } catch (e: Exception) {
-                logcat { "Error loading transactions: ${e.asLog()}" }
-                _uiState.update {
-                    it.copy(
-                        isLoading = false,
-                        error = e.message ?: "Unknown error"
-                    )
-                }
+        pageJob = viewModelScope.launch {
+            val range = getTransactionDateRangeUseCase(profileId, accountFilter).getOrElse {
+                showLoadError(it)
+                return@launch
             }
+            val page = getTransactionPageUseCase(profileId, accountFilter, null, PAGE_SIZE).getOrElse {
+                showLoadError(it)
+                return@launch
+            }
+            val query = PagedQuery(
+                profileId,
+                accountFilter,
+                page,
+                runningTotals(profileId, accountFilter, page),
+                hasNewer = false,
+                hasOlder = page.size == PAGE_SIZE
+            )
+
+            showWindow(query)
+            val headerText = _uiState.value.headerText.ifEmpty { "----" }
+            _uiState.update {
+                it.copy(
+                    isLoading = false,
+                    error = null,
+                    firstTransactionDate = range?.start,
+                    lastTransactionDate = range?.endInclusive,
+                    headerText = headerText
+                )
+            }
+        }
+    }
+
+    /**
+     * Make [query] the shown one, converting its transactions into the displayed list.
+     *
+     * The window is converted as a whole: a date group cut by a dropped page only gets its
+     * closing delimiter once the following page is loaded again.
+     */
+    private fun showWindow(query: PagedQuery) {
+        pagedQuery = query
+
+        val items = ArrayList<TransactionListDisplayItem>(query.transactions.size * 2 + 1)
+        if (!query.hasNewer) items.add(TransactionListDisplayItem.Header)
+        items.addAll(
+            convertToDisplayItems(
+                transactionListConverter.convertPage(query.transactions, previousDate = null, !query.hasOlder),
+                query.accountFilter,
+                query.runningTotals
+            )
+        )
+        _uiState.update {
+            it.copy(
+                transactions = items.toImmutableList(),
+                hasMoreTransactions = query.hasOlder,
+                hasNewerTransactions = query.hasNewer
+            )
         }
     }
 
     /**
-     * Convert domain model transactions to display items using TransactionListConverter.
+     * Append the next page, unless all pages are loaded or a page is being loaded already.
+     */
+    private fun loadNextPage() {
+        val query = pagedQuery ?: return
+        if (!query.hasOlder || pageJob?.isActive == true) return
+        pageJob = viewModelScope.launch { appendNextPage(query) }
+    }
+
+    /**
+     * Load the page preceding the window again, unless it is loaded or a page is being loaded already.
+     */
+    private fun loadNewerPage() {
+        val query = pagedQuery ?: return
+        if (!query.hasNewer || pageJob?.isActive == true) return
+        pageJob = viewModelScope.launch { prependNewerPage(query) }
+    }
+
+    /**
+     * Load the page following [query] and append it to the list, dropping the newest
+     * transactions beyond [WINDOW_PAGES] pages.
+     *
+     * @return false if the page could not be loaded
+     */
+    private suspend fun appendNextPage(query: PagedQuery): Boolean {
+        val page = getTransactionPageUseCase(
+            query.profileId,
+            query.accountFilter,
+            query.transactions.lastOrNull(),
+            PAGE_SIZE
+        ).getOrElse {
+            showLoadError(it)
+            return false
+        }
+        val transactions = query.transactions + page
+        val dropped = (transactions.size - WINDOW_PAGES * PAGE_SIZE).coerceAtLeast(0)
+        showWindow(
+            query.copy(
+                transactions = transactions.drop(dropped),
+                runningTotals = query.runningTotals + runningTotals(query.profileId, query.accountFilter, page),
+                hasNewer = query.hasNewer || dropped > 0,
+                hasOlder = page.size == PAGE_SIZE
+            ).withoutStaleTotals()
+        )
+        return true
+    }
+
+    /**
+     * Load the page preceding [query] and prepend it to the list, dropping the oldest
+     * transactions beyond [WINDOW_PAGES] pages.
+     *
+     * @return false if the page could not be loaded
+     */
+    private suspend fun prependNewerPage(query: PagedQuery): Boolean {
+        val first = query.transactions.firstOrNull() ?: return false
+        val page = getNewerTransactionPageUseCase(query.profileId, query.accountFilter, first, PAGE_SIZE)
+            .getOrElse {
+                showLoadError(it)
+                return false
+            }
+        val transactions = page + query.transactions
+        val dropped = (transactions.size - WINDOW_PAGES * PAGE_SIZE).coerceAtLeast(0)
+        showWindow(
+            query.copy(
+                transactions = transactions.dropLast(dropped),
+                runningTotals = query.runningTotals + runningTotals(query.profileId, query.accountFilter, page),
+                hasNewer = page.size == PAGE_SIZE,
+                hasOlder = query.hasOlder || dropped > 0
+            ).withoutStaleTotals()
+        )
+        return true
+    }
+
+    private fun PagedQuery.withoutStaleTotals(): PagedQuery {
+        if (runningTotals.isEmpty()) return this
+        val held = transactions.mapTo(HashSet()) { it.ledgerId }
+        return copy(runningTotals = runningTotals.filterKeys { it in held })
+    }
+
+    /**
+     * Formatted running totals of the filter account after each transaction of [page], by ledger ID.
+     * Empty without a filter; the list is still shown if the totals cannot be loaded.
+     */
+    private suspend fun runningTotals(
+        profileId: Long,
+        accountFilter: String?,
+        page: List<Transaction>
+    ): Map<Long, String> {
+        if (accountFilter == null || page.isEmpty()) return emptyMap()
+        val balances = getRunningBalancesUseCase(profileId, accountFilter, page).getOrElse {
+            logcat { "Error loading running totals: ${it.asLog()}" }
+            return emptyMap()
+        }
+        return balances.mapValues { (_, amounts) ->
+            TransactionAccumulator.summarizeRunningTotal(
+                amounts.associate { it.currency to it.amount },
+                currencyFormatter
+            )
+        }
+    }
+
+    private fun showLoadError(e: Throwable) {
+        logcat { "Error loading transactions: ${e.asLog()}" }
+        _uiState.update {
+            it.copy(
+                isLoading = false,
+                error = e.message ?: "Unknown error"
+            )
+        }
+    }
+
+    /**
+     * Convert the display items of a page from TransactionListConverter to UI display items.
      */
     private fun convertToDisplayItems(
-        transactions: List<Transaction>,
-        accountFilter: String?
-    ): List<TransactionListDisplayItem> {
-        val items = mutableListOf<TransactionListDisplayItem>()
-        items.add(TransactionListDisplayItem.Header)
-
-        // Delegate to UseCase for sorting and grouping
-        val conversionResult = transactionListConverter.convert(transactions)
-
-        // Convert domain DisplayItems to UI DisplayItems
-        for (item in conversionResult.items) {
-            when (item) {
-                is TransactionListConverter.DisplayItem.TransactionItem -> {
-                    val tx = item.transaction
-                    items.add(
-                        TransactionListDisplayItem.Transaction(
-                            id = tx.ledgerId,
-                            date = tx.date,
-                            description = tx.description,
-                            comment = tx.comment,
-                            accounts = tx.lines.map { line ->
-                                TransactionAccountDisplayItem(
-                                    accountName = line.accountName,
-                                    amount = line.amount ?: 0f,
-                                    currency = line.currency,
-                                    comment = line.comment,
-                                    amountStyle = null
-                                )
-                            }.toImmutableList(),
-                            boldAccountName = accountFilter,
-                            runningTotal = null
+        pageItems: List<TransactionListConverter.DisplayItem>,
+        accountFilter: String?,
+        runningTotals: Map<Long, String>
+    ): List<TransactionListDisplayItem> = pageItems.map { item ->
+        when (item) {
+            is TransactionListConverter.DisplayItem.TransactionItem -> {
+                val tx = item.transaction
+                TransactionListDisplayItem.Transaction(
+                    id = tx.ledgerId,
+                    date = tx.date,
+                    description = tx.description,
+                    comment = tx.comment,
+                    accounts = tx.lines.map { line ->
+                        TransactionAccountDisplayItem(
+                            accountName = line.accountName,
+                            amount = line.amount ?: Amount.ZERO,
+                            currency = line.currency,
+                            comment = line.comment,
+                            amountStyle = null
                         )
-                    )
-                }
+                    }.toImmutableList(),
+                    boldAccountName = accountFilter,
+                    runningTotal = runningTotals[tx.ledgerId]
+                )
+            }
 
-                is TransactionListConverter.DisplayItem.DateDelimiter -> {
-                    items.add(
-                        TransactionListDisplayItem.DateDelimiter(
-                            date = item.date,
-                            isMonthShown = item.isMonthBoundary
-                        )
-                    )
-                }
+            is TransactionListConverter.DisplayItem.DateDelimiter -> {
+                TransactionListDisplayItem.DateDelimiter(
+                    date = item.date,
+                    isMonthShown = item.isMonthBoundary
+                )
             }
         }
-
-        return items
     }
 
     /**
@@ -257,7 +441,9 @@ class TransactionListViewModel @Inject constructor(
                 error = null,
                 firstTransactionDate = first,
                 lastTransactionDate = last,
-                headerText = headerText
+                headerText = headerText,
+                hasMoreTransactions = false,
+                hasNewerTransactions = false
             )
         }
     }
@@ -293,20 +479,37 @@ class TransactionListViewModel @Inject constructor(
         loadTransactions()
     }
 
+    /**
+     * Scroll to the first item of [date], loading pages towards it until it or the next date is loaded.
+     */
     private fun goToDate(date: SimpleDate) {
-        val transactions = _uiState.value.transactions
-        val index = transactions.indexOfFirst { item ->
-            when (item) {
-                is TransactionListDisplayItem.DateDelimiter -> item.date == date
-                is TransactionListDisplayItem.Transaction -> item.date == date
-                else -> false
+        val previousJob = pageJob
+        pageJob = viewModelScope.launch {
+            previousJob?.join()
+            var index = indexOfDate(date)
+            while (index < 0) {
+                val query = pagedQuery ?: return@launch
+                val first = query.transactions.firstOrNull() ?: return@launch
+                val loaded = when {
+                    date > first.date -> query.hasNewer && prependNewerPage(query)
+                    date < query.transactions.last().date -> query.hasOlder && appendNextPage(query)
+                    else -> false
+                }
+                if (!loaded) return@launch
+                index = indexOfDate(date)
             }
-        }
-        if (index >= 0) {
             _uiState.update { it.copy(foundTransactionIndex = index) }
         }
     }
 
+    private fun indexOfDate(date: SimpleDate): Int = _uiState.value.transactions.indexOfFirst { item ->
+        when (item) {
+            is TransactionListDisplayItem.DateDelimiter -> item.date == date
+            is TransactionListDisplayItem.Transaction -> item.date == date
+            else -> false
+        }
+    }
+
     private fun scrollToTransaction(index: Int) {
         _uiState.update { it.copy(foundTransactionIndex = index) }
     }
@@ -350,16 +553,20 @@ class TransactionListViewModel @Inject constructor(
     fun updateDisplayedTransactionsFromWeb(list: List<Transaction>) {
         // Cancel any previously running filter job
         displayedTransactionsFilterJob?.cancel()
+        // The list below replaces the paged one
+        pageJob?.cancel()
+        pagedQuery = null
 
         displayedTransactionsFilterJob = viewModelScope.launch {
             logcat { "entered coroutine (about to examine ${list.size} transactions)" }
             val accNameFilter = _uiState.value.accountFilter
 
             val acc = TransactionAccumulator(accNameFilter, accNameFilter, currencyFormatter)
+            val names = NameDictionary()
             for (tr in list) {
                 ensureActive() // Check for cancellation instead of isInterrupted
 
-                if (accNameFilter == null || tr.hasAccountNamed(accNameFilter)) {
+                if (accNameFilter == null || tr.hasAccountNamed(accNameFilter, names)) {
                     acc.put(tr, tr.date)
                 }
             }
@@ -371,4 +578,12 @@ class TransactionListViewModel @Inject constructor(
             logcat { "transaction list updated" }
         }
     }
+
+    companion object {
+        /** Number of transactions loaded at a time */
+        const val PAGE_SIZE = 100
+
+        /** Number of pages held at most; the transactions beyond are loaded again when scrolled to */
+        const val WINDOW_PAGES = 3
+    }
 }
@@ -17,7 +17,9 @@
 
 package net.ktnx.mobileledger.ui.transaction
 
+import net.ktnx.mobileledger.core.domain.model.Amount
 import net.ktnx.mobileledger.core.domain.model.BalanceConstants
+import net.ktnx.mobileledger.core.domain.model.sumOfAmount
 
 /**
  * UI State for account rows management.
@@ -71,8 +73,8 @@ data class AccountRowsUiState(
 
                 if (accountsWithAmount.isEmpty()) continue
 
-                val balance = accountsWithAmount.sumOf { it.amount?.toDouble() ?: 0.0 }
-                val isBalancedCurrency = kotlin.math.abs(balance) < BalanceConstants.BALANCE_EPSILON
+                val balance = accountsWithAmount.sumOfAmount { it.amount ?: Amount.ZERO }
+                val isBalancedCurrency = balance.abs() < BalanceConstants.BALANCE_TOLERANCE
 
                 if (!isBalancedCurrency && accountsWithNameAndNoAmount.size != 1) {
                     return false
@@ -181,12 +181,7 @@ class AccountRowsViewModel @Inject constructor(
 
     private fun validateAmount(amountText: String): Boolean {
         if (amountText.isBlank()) return true
-        return try {
-            amountText.replace(',', '.').toFloat()
-            true
-        } catch (e: NumberFormatException) {
-            false
-        }
+        return TransactionAccountRow.parseAmount(amountText) != null
     }
 
     /**
@@ -18,8 +18,10 @@
 package net.ktnx.mobileledger.ui.transaction
 
 import net.ktnx.mobileledger.core.common.utils.SimpleDate
+import net.ktnx.mobileledger.core.domain.model.Amount
 import net.ktnx.mobileledger.core.domain.model.BalanceConstants
 import net.ktnx.mobileledger.core.domain.model.FutureDates
+import net.ktnx.mobileledger.core.domain.model.sumOfAmount
 
 /**
  * UI State for the New Transaction screen in Compose.
@@ -87,8 +89,8 @@ data class NewTransactionUiState(
 
                 if (accountsWithAmount.isEmpty()) continue
 
-                val balance = accountsWithAmount.sumOf { it.amount?.toDouble() ?: 0.0 }
-                val isBalanced = kotlin.math.abs(balance) < BalanceConstants.BALANCE_EPSILON
+                val balance = accountsWithAmount.sumOfAmount { it.amount ?: Amount.ZERO }
+                val isBalanced = balance.abs() < BalanceConstants.BALANCE_TOLERANCE
 
                 if (!isBalanced && accountsWithNameAndNoAmount.size != 1) {
                     return false
@@ -124,19 +126,26 @@ data class TransactionAccountRow(
     val isAmountSet: Boolean
         get() = amountText.isNotBlank()
 
-    val amount: Float?
-        get() = if (isAmountSet && isAmountValid) {
-            try {
-                amountText.replace(',', '.').toFloatOrNull()
-            } catch (e: NumberFormatException) {
-                null
-            }
-        } else {
-            null
-        }
+    val amount: Amount?
+        get() = if (isAmountSet && isAmountValid) parseAmount(amountText) else null
 
     val isEmpty: Boolean
         get() = accountName.isBlank() && amountText.isBlank() && comment.isBlank()
+
+    companion object {
+        /**
+         * Parses an entered amount exactly, accepting ',' as the decimal mark.
+         *
+         * @return The amount, or null if the text is not a valid number
+         */
+        fun parseAmount(amountText: String): Amount? = try {
+            Amount.parse(amountText.replace(',', '.'))
+        } catch (e: NumberFormatException) {
+            null
+        } catch (e: ArithmeticException) {
+            null
+        }
+    }
 }
 
 /**
@@ -111,14 +111,15 @@ class TransactionFormViewModel @Inject constructor(
     }
 
     private fun lookupDescriptionSuggestions(term: String) {
-        if (term.length < 2) {
+        val profileId = _uiState.value.profileId
+        if (term.length < 2 || profileId == null) {
             _uiState.update { it.copy(descriptionSuggestions = emptyList()) }
             return
         }
 
         viewModelScope.launch {
             val termUpper = term.uppercase()
-            searchTransactionDescriptionsUseCase(termUpper)
+            searchTransactionDescriptionsUseCase(profileId, termUpper)
                 .onSuccess { suggestions ->
                     _uiState.update { it.copy(descriptionSuggestions = suggestions) }
                 }
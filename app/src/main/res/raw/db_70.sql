@@ -0,0 +1,67 @@
+-- Copyright © 2026 Damyan Ivanov.
+-- This file is part of MoLe.
+-- MoLe is free software: you can distribute it and/or modify it
+-- under the term of the GNU General Public License as published by
+-- the Free Software Foundation, either version 3 of the License, or
+-- (at your opinion), any later version.
+--
+-- MoLe is distributed in the hope that it will be useful,
+-- but WITHOUT ANY WARRANTY; without even the implied warranty of
+-- MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+-- GNU General Public License terms for details.
+--
+-- You should have received a copy of the GNU General Public License
+-- along with MoLe. If not, see <https://www.gnu.org/licenses/>.
+
+-- migrate from revision 69 to revision 70
+
+-- amounts are stored as an integer mantissa and a decimal scale instead of REAL
+-- the old values were single-precision floats, so they are kept with four decimal places;
+-- the exact values are written by the next sync, since the transaction hashes change too
+
+-- transaction_accounts
+CREATE TABLE transaction_accounts_new (
+`id` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL,
+`transaction_id` INTEGER NOT NULL,
+`order_no` INTEGER NOT NULL,
+`account_name` TEXT NOT NULL,
+`currency` TEXT NOT NULL DEFAULT '',
+`amount_mantissa` INTEGER NOT NULL DEFAULT 0,
+`amount_scale` INTEGER NOT NULL DEFAULT 0,
+`comment` TEXT,
+`amount_style` TEXT,
+`generation` INTEGER NOT NULL DEFAULT 0,
+FOREIGN KEY(`transaction_id`) REFERENCES `transactions`(`id`) ON UPDATE RESTRICT ON DELETE CASCADE);
+
+insert into transaction_accounts_new(id, transaction_id, order_no, account_name, currency,
+       amount_mantissa, amount_scale, comment, amount_style, generation)
+select id, transaction_id, order_no, account_name, currency,
+       cast(round(amount * 10000) as integer), 4, comment, amount_style, generation
+from transaction_accounts;
+
+drop table transaction_accounts;
+alter table transaction_accounts_new rename to transaction_accounts;
+
+create index fk_trans_acc_trans on transaction_accounts(transaction_id);
+create unique index un_transaction_accounts on transaction_accounts(transaction_id, order_no);
+
+-- account_values
+CREATE TABLE account_values_new (
+`id` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL,
+`account_id` INTEGER NOT NULL,
+`currency` TEXT NOT NULL DEFAULT '',
+`value_mantissa` INTEGER NOT NULL DEFAULT 0,
+`value_scale` INTEGER NOT NULL DEFAULT 0,
+`generation` INTEGER NOT NULL DEFAULT 0,
+`amount_style` TEXT,
+FOREIGN KEY(`account_id`) REFERENCES `accounts`(`id`) ON UPDATE RESTRICT ON DELETE CASCADE);
+
+insert into account_values_new(id, account_id, currency, value_mantissa, value_scale, generation, amount_style)
+select id, account_id, currency, cast(round(value * 10000) as integer), 4, generation, amount_style
+from account_values;
+
+drop table account_values;
+alter table account_values_new rename to account_values;
+
+create unique index un_account_values on account_values(account_id, currency);
+create index fk_account_value_acc on account_values(account_id);
@@ -0,0 +1,58 @@
+-- Copyright © 2026 Damyan Ivanov.
+-- This file is part of MoLe.
+-- MoLe is free software: you can distribute it and/or modify it
+-- under the term of the GNU General Public License as published by
+-- the Free Software Foundation, either version 3 of the License, or
+-- (at your opinion), any later version.
+--
+-- MoLe is distributed in the hope that it will be useful,
+-- but WITHOUT ANY WARRANTY; without even the implied warranty of
+-- MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+-- GNU General Public License terms for details.
+--
+-- You should have received a copy of the GNU General Public License
+-- along with MoLe. If not, see <https://www.gnu.org/licenses/>.
+
+-- migrate from revision 70 to revision 71
+
+-- transaction postings refer to their account by id instead of repeating the account name
+
+-- accounts that are named by a posting but missing from the account list
+insert into accounts(profile_id, level, name, name_upper, parent_name, expanded, amounts_expanded, generation)
+select distinct tr.profile_id,
+       length(ta.account_name) - length(replace(ta.account_name, ':', '')),
+       ta.account_name,
+       upper(ta.account_name),
+       nullif(rtrim(rtrim(ta.account_name, replace(ta.account_name, ':', '')), ':'), ''),
+       1, 0, 0
+from transaction_accounts ta
+join transactions tr on tr.id = ta.transaction_id
+where not exists (select 1 from accounts a where a.profile_id = tr.profile_id and a.name = ta.account_name);
+
+CREATE TABLE transaction_accounts_new (
+`id` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL,
+`transaction_id` INTEGER NOT NULL,
+`order_no` INTEGER NOT NULL,
+`account_id` INTEGER NOT NULL,
+`currency` TEXT NOT NULL DEFAULT '',
+`amount_mantissa` INTEGER NOT NULL DEFAULT 0,
+`amount_scale` INTEGER NOT NULL DEFAULT 0,
+`comment` TEXT,
+`amount_style` TEXT,
+`generation` INTEGER NOT NULL DEFAULT 0,
+FOREIGN KEY(`transaction_id`) REFERENCES `transactions`(`id`) ON UPDATE RESTRICT ON DELETE CASCADE);
+
+insert into transaction_accounts_new(id, transaction_id, order_no, account_id, currency,
+       amount_mantissa, amount_scale, comment, amount_style, generation)
+select ta.id, ta.transaction_id, ta.order_no, a.id, ta.currency,
+       ta.amount_mantissa, ta.amount_scale, ta.comment, ta.amount_style, ta.generation
+from transaction_accounts ta
+join transactions tr on tr.id = ta.transaction_id
+join accounts a on a.profile_id = tr.profile_id and a.name = ta.account_name;
+
+drop table transaction_accounts;
+alter table transaction_accounts_new rename to transaction_accounts;
+
+create index fk_trans_acc_trans on transaction_accounts(transaction_id);
+create index fk_trans_acc_acc on transaction_accounts(account_id);
+create unique index un_transaction_accounts on transaction_accounts(transaction_id, order_no);
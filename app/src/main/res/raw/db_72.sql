@@ -0,0 +1,25 @@
+-- Copyright © 2026 Damyan Ivanov.
+-- This file is part of MoLe.
+-- MoLe is free software: you can distribute it and/or modify it
+-- under the term of the GNU General Public License as published by
+-- the Free Software Foundation, either version 3 of the License, or
+-- (at your opinion), any later version.
+--
+-- MoLe is distributed in the hope that it will be useful,
+-- but WITHOUT ANY WARRANTY; without even the implied warranty of
+-- MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+-- GNU General Public License terms for details.
+--
+-- You should have received a copy of the GNU General Public License
+-- along with MoLe. If not, see <https://www.gnu.org/licenses/>.
+
+-- migrate from revision 71 to revision 72
+
+-- full-text indexes of account names and transaction descriptions, used by the autocomplete lookups
+-- the triggers keeping them current are created by the migration code (MoLeDatabase.FTS_TRIGGERS)
+
+CREATE VIRTUAL TABLE IF NOT EXISTS `accounts_fts` USING FTS4(`name` TEXT NOT NULL, tokenize=unicode61);
+CREATE VIRTUAL TABLE IF NOT EXISTS `transactions_fts` USING FTS4(`description` TEXT NOT NULL, tokenize=unicode61);
+
+insert into accounts_fts(docid, name) select id, name from accounts;
+insert into transactions_fts(docid, description) select id, description from transactions;
@@ -0,0 +1,26 @@
+-- Copyright © 2026 Damyan Ivanov.
+-- This file is part of MoLe.
+-- MoLe is free software: you can distribute it and/or modify it
+-- under the term of the GNU General Public License as published by
+-- the Free Software Foundation, either version 3 of the License, or
+-- (at your opinion), any later version.
+--
+-- MoLe is distributed in the hope that it will be useful,
+-- but WITHOUT ANY WARRANTY; without even the implied warranty of
+-- MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+-- GNU General Public License terms for details.
+--
+-- You should have received a copy of the GNU General Public License
+-- along with MoLe. If not, see <https://www.gnu.org/licenses/>.
+
+-- migrate from revision 72 to revision 73
+
+-- the transaction date packed as yyyymmdd, so that ordering and date ranges can use an index
+
+alter table transactions add column `date` INTEGER NOT NULL DEFAULT 0;
+
+update transactions set date = year * 10000 + month * 100 + day;
+
+drop index if exists idx_transaction_description;
+create index idx_transaction_description on transactions(description, date);
+create index idx_transaction_date on transactions(profile_id, date, ledger_id);
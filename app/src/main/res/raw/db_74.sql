@@ -0,0 +1,38 @@
+-- Copyright © 2026 Damyan Ivanov.
+-- This file is part of MoLe.
+-- MoLe is free software: you can distribute it and/or modify it
+-- under the term of the GNU General Public License as published by
+-- the Free Software Foundation, either version 3 of the License, or
+-- (at your opinion), any later version.
+--
+-- MoLe is distributed in the hope that it will be useful,
+-- but WITHOUT ANY WARRANTY; without even the implied warranty of
+-- MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+-- GNU General Public License terms for details.
+--
+-- You should have received a copy of the GNU General Public License
+-- along with MoLe. If not, see <https://www.gnu.org/licenses/>.
+
+-- migrate from revision 73 to revision 74
+
+-- closure of the account hierarchy, used for filtering by an account subtree
+
+CREATE TABLE IF NOT EXISTS `account_ancestors` (
+`descendant` INTEGER NOT NULL,
+`ancestor` INTEGER NOT NULL,
+`depth` INTEGER NOT NULL,
+PRIMARY KEY(`descendant`, `ancestor`),
+FOREIGN KEY(`descendant`) REFERENCES `accounts`(`id`) ON UPDATE RESTRICT ON DELETE CASCADE,
+FOREIGN KEY(`ancestor`) REFERENCES `accounts`(`id`) ON UPDATE RESTRICT ON DELETE CASCADE);
+
+create index idx_account_ancestors_ancestor on account_ancestors(ancestor, descendant);
+
+with recursive chain(descendant, ancestor, depth) as (
+    select id, id, 0 from accounts
+    union all
+    select c.descendant, p.id, c.depth + 1
+    from chain c
+    join accounts a on a.id = c.ancestor
+    join accounts p on p.profile_id = a.profile_id and p.name = a.parent_name)
+insert into account_ancestors(descendant, ancestor, depth)
+select descendant, ancestor, depth from chain;
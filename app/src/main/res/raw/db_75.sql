@@ -0,0 +1,33 @@
+-- Copyright © 2026 Damyan Ivanov.
+-- This file is part of MoLe.
+-- MoLe is free software: you can distribute it and/or modify it
+-- under the term of the GNU General Public License as published by
+-- the Free Software Foundation, either version 3 of the License, or
+-- (at your opinion), any later version.
+--
+-- MoLe is distributed in the hope that it will be useful,
+-- but WITHOUT ANY WARRANTY; without even the implied warranty of
+-- MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+-- GNU General Public License terms for details.
+--
+-- You should have received a copy of the GNU General Public License
+-- along with MoLe. If not, see <https://www.gnu.org/licenses/>.
+
+-- migrate from revision 74 to revision 75
+
+-- running balances of account subtrees after each transaction; filled in by the next sync
+-- or local change of the profile
+
+CREATE TABLE IF NOT EXISTS `running_balances` (
+`account_id` INTEGER NOT NULL,
+`date` INTEGER NOT NULL,
+`ledger_id` INTEGER NOT NULL,
+`currency` TEXT NOT NULL,
+`transaction_id` INTEGER NOT NULL,
+`balance_mantissa` INTEGER NOT NULL,
+`balance_scale` INTEGER NOT NULL,
+PRIMARY KEY(`account_id`, `date`, `ledger_id`, `currency`),
+FOREIGN KEY(`account_id`) REFERENCES `accounts`(`id`) ON UPDATE RESTRICT ON DELETE CASCADE,
+FOREIGN KEY(`transaction_id`) REFERENCES `transactions`(`id`) ON UPDATE RESTRICT ON DELETE CASCADE);
+
+create index idx_running_balances_transaction on running_balances(transaction_id);
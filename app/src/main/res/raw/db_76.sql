@@ -0,0 +1,28 @@
+-- Copyright © 2026 Damyan Ivanov.
+-- This file is part of MoLe.
+-- MoLe is free software: you can distribute it and/or modify it
+-- under the term of the GNU General Public License as published by
+-- the Free Software Foundation, either version 3 of the License, or
+-- (at your opinion), any later version.
+--
+-- MoLe is distributed in the hope that it will be useful,
+-- but WITHOUT ANY WARRANTY; without even the implied warranty of
+-- MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+-- GNU General Public License terms for details.
+--
+-- You should have received a copy of the GNU General Public License
+-- along with MoLe. If not, see <https://www.gnu.org/licenses/>.
+
+-- migrate from revision 75 to revision 76
+
+-- monthly posting totals per account and currency, used by the reports; filled in by the
+-- next sync or local change of the profile
+
+CREATE TABLE IF NOT EXISTS `account_month_totals` (
+`account_id` INTEGER NOT NULL,
+`month` INTEGER NOT NULL,
+`currency` TEXT NOT NULL,
+`amount_mantissa` INTEGER NOT NULL,
+`amount_scale` INTEGER NOT NULL,
+PRIMARY KEY(`account_id`, `month`, `currency`),
+FOREIGN KEY(`account_id`) REFERENCES `accounts`(`id`) ON UPDATE RESTRICT ON DELETE CASCADE);
@@ -0,0 +1,52 @@
+-- Copyright © 2026 Damyan Ivanov.
+-- This file is part of MoLe.
+-- MoLe is free software: you can distribute it and/or modify it
+-- under the term of the GNU General Public License as published by
+-- the Free Software Foundation, either version 3 of the License, or
+-- (at your opinion), any later version.
+--
+-- MoLe is distributed in the hope that it will be useful,
+-- but WITHOUT ANY WARRANTY; without even the implied warranty of
+-- MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+-- GNU General Public License terms for details.
+--
+-- You should have received a copy of the GNU General Public License
+-- along with MoLe. If not, see <https://www.gnu.org/licenses/>.
+
+-- migrate from revision 76 to revision 77
+
+-- postings reference their account through a foreign key, like they reference their transaction
+
+-- postings whose account is gone cannot be shown and would violate the new constraint
+delete from transaction_accounts
+where not exists (select 1 from accounts a where a.id = transaction_accounts.account_id);
+
+CREATE TABLE transaction_accounts_new (
+`id` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL,
+`transaction_id` INTEGER NOT NULL,
+`order_no` INTEGER NOT NULL,
+`account_id` INTEGER NOT NULL,
+`currency` TEXT NOT NULL DEFAULT '',
+`amount_mantissa` INTEGER NOT NULL DEFAULT 0,
+`amount_scale` INTEGER NOT NULL DEFAULT 0,
+`comment` TEXT,
+`amount_style` TEXT,
+`generation` INTEGER NOT NULL DEFAULT 0,
+FOREIGN KEY(`transaction_id`) REFERENCES `transactions`(`id`) ON UPDATE RESTRICT ON DELETE CASCADE,
+FOREIGN KEY(`account_id`) REFERENCES `accounts`(`id`) ON UPDATE RESTRICT ON DELETE CASCADE);
+
+insert into transaction_accounts_new(id, transaction_id, order_no, account_id, currency,
+       amount_mantissa, amount_scale, comment, amount_style, generation)
+select id, transaction_id, order_no, account_id, currency,
+       amount_mantissa, amount_scale, comment, amount_style, generation
+from transaction_accounts;
+
+drop table transaction_accounts;
+alter table transaction_accounts_new rename to transaction_accounts;
+
+create index fk_trans_acc_trans on transaction_accounts(transaction_id);
+create index fk_trans_acc_acc on transaction_accounts(account_id);
+create unique index un_transaction_accounts on transaction_accounts(transaction_id, order_no);
+
+-- running balances by account and currency, for finding the balances in force before a register page
+create index idx_running_balances_currency on running_balances(account_id, currency, date, ledger_id);
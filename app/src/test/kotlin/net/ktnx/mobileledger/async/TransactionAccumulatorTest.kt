@@ -18,6 +18,7 @@
 package net.ktnx.mobileledger.async
 
 import net.ktnx.mobileledger.core.common.utils.SimpleDate
+import net.ktnx.mobileledger.core.domain.model.Amount
 import net.ktnx.mobileledger.core.domain.model.Transaction
 import net.ktnx.mobileledger.core.domain.model.TransactionLine
 import net.ktnx.mobileledger.fake.FakeCurrencyFormatter
@@ -70,7 +71,7 @@ class TransactionAccumulatorTest {
      */
     private fun createLine(name: String, amount: Float, currency: String = "") = TransactionLine(
         accountName = name,
-        amount = amount,
+        amount = Amount.fromFloat(amount),
         currency = currency,
         comment = null
     )
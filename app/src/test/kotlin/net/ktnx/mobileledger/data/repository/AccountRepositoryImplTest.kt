@@ -30,12 +30,10 @@ import kotlinx.coroutines.test.runTest
 import net.ktnx.mobileledger.core.data.exception.CoreExceptionMapper
 import net.ktnx.mobileledger.core.data.repository.impl.AccountRepositoryImpl
 import net.ktnx.mobileledger.core.database.dao.AccountDAO
-import net.ktnx.mobileledger.core.database.dao.AccountValueDAO
 import net.ktnx.mobileledger.core.database.entity.Account
 import net.ktnx.mobileledger.core.database.entity.AccountValue
 import net.ktnx.mobileledger.core.database.entity.AccountWithAmounts
-import net.ktnx.mobileledger.core.domain.model.Account as DomainAccount
-import net.ktnx.mobileledger.core.domain.model.AccountAmount
+import net.ktnx.mobileledger.core.domain.model.Amount
 import net.ktnx.mobileledger.core.domain.model.AppException
 import org.junit.Assert.assertEquals
 import org.junit.Assert.assertNotNull
@@ -59,7 +57,6 @@ class AccountRepositoryImplTest {
 
     private val testDispatcher = StandardTestDispatcher()
     private lateinit var mockAccountDAO: AccountDAO
-    private lateinit var mockAccountValueDAO: AccountValueDAO
     private lateinit var exceptionMapper: CoreExceptionMapper
     private lateinit var repository: AccountRepositoryImpl
 
@@ -68,12 +65,10 @@ class AccountRepositoryImplTest {
     @Before
     fun setup() {
         mockAccountDAO = mockk(relaxed = true)
-        mockAccountValueDAO = mockk(relaxed = true)
         exceptionMapper = CoreExceptionMapper()
 
         repository = AccountRepositoryImpl(
             accountDAO = mockAccountDAO,
-            accountValueDAO = mockAccountValueDAO,
             exceptionMapper = exceptionMapper,
             ioDispatcher = testDispatcher
         )
@@ -101,12 +96,13 @@ class AccountRepositoryImplTest {
         id: Long = 1L,
         accountId: Long = 1L,
         currency: String = "USD",
-        value: Float = 1000.0f
+        value: Amount = Amount.of(1000)
     ): AccountValue = AccountValue().apply {
         this.id = id
         this.accountId = accountId
         this.currency = currency
-        this.value = value
+        this.valueMantissa = value.mantissa
+        this.valueScale = value.scale
         this.generation = 1L
     }
 
@@ -118,18 +114,6 @@ class AccountRepositoryImplTest {
         this.amounts = amounts
     }
 
-    private fun createDomainAccount(id: Long? = null, name: String = "Assets:Bank", level: Int = 1): DomainAccount =
-        DomainAccount(
-            id = id,
-            name = name,
-            level = level,
-            isExpanded = true,
-            isVisible = true,
-            amounts = listOf(
-                AccountAmount(currency = "USD", amount = 1000.0f)
-            )
-        )
-
     // ========================================
     // Query Operations - Flow tests
     // ========================================
@@ -189,7 +173,9 @@ class AccountRepositoryImplTest {
             AccountDAO.AccountNameContainer("Assets:Bank"),
             AccountDAO.AccountNameContainer("Assets:Cash")
         )
-        every { mockAccountDAO.lookupNamesInProfileByName(testProfileId, "ASSETS") } returns flowOf(containers)
+        every {
+            mockAccountDAO.lookupNamesInProfileByName(testProfileId, "ASSETS", "\"assets*\"")
+        } returns flowOf(containers)
 
         // When
         val result = repository.observeSearchAccountNames(testProfileId, "assets").first()
@@ -204,7 +190,7 @@ class AccountRepositoryImplTest {
     fun `observeSearchAccountNamesGlobal searches across profiles`() = runTest(testDispatcher) {
         // Given
         val containers = listOf(AccountDAO.AccountNameContainer("Expenses:Food"))
-        every { mockAccountDAO.lookupNamesByName("FOOD") } returns flowOf(containers)
+        every { mockAccountDAO.lookupNamesByName("FOOD", "\"food*\"") } returns flowOf(containers)
 
         // When
         val result = repository.observeSearchAccountNamesGlobal("food").first()
@@ -266,21 +252,25 @@ class AccountRepositoryImplTest {
     @Test
     fun `searchAccountNames calls DAO with uppercase term`() = runTest(testDispatcher) {
         // Given
-        coEvery { mockAccountDAO.lookupNamesInProfileByNameSync(testProfileId, "BANK") } returns emptyList()
+        coEvery {
+            mockAccountDAO.lookupNamesInProfileByNameSync(testProfileId, "BANK", "\"bank*\"")
+        } returns emptyList()
 
         // When
         val result = repository.searchAccountNames(testProfileId, "bank")
 
         // Then
         assertTrue(result.isSuccess)
-        coVerify { mockAccountDAO.lookupNamesInProfileByNameSync(testProfileId, "BANK") }
+        coVerify { mockAccountDAO.lookupNamesInProfileByNameSync(testProfileId, "BANK", "\"bank*\"") }
     }
 
     @Test
     fun `searchAccountsWithAmounts returns mapped domain models`() = runTest(testDispatcher) {
         // Given
         val dbEntities = listOf(createDbAccountWithAmounts())
-        coEvery { mockAccountDAO.lookupWithAmountsInProfileByNameSync(testProfileId, "ASSETS") } returns dbEntities
+        coEvery {
+            mockAccountDAO.lookupWithAmountsInProfileByNameSync(testProfileId, "ASSETS", "\"assets*\"")
+        } returns dbEntities
 
         // When
         val result = repository.searchAccountsWithAmounts(testProfileId, "assets")
@@ -293,58 +283,20 @@ class AccountRepositoryImplTest {
     @Test
     fun `searchAccountNamesGlobal calls DAO with uppercase term`() = runTest(testDispatcher) {
         // Given
-        coEvery { mockAccountDAO.lookupNamesByNameSync("EXPENSE") } returns emptyList()
+        coEvery { mockAccountDAO.lookupNamesByNameSync("EXPENSE", "\"expense*\"") } returns emptyList()
 
         // When
         val result = repository.searchAccountNamesGlobal("expense")
 
         // Then
         assertTrue(result.isSuccess)
-        coVerify { mockAccountDAO.lookupNamesByNameSync("EXPENSE") }
+        coVerify { mockAccountDAO.lookupNamesByNameSync("EXPENSE", "\"expense*\"") }
     }
 
     // ========================================
     // Mutation Operations tests
     // ========================================
 
-    @Test
-    fun `storeAccountsAsDomain inserts accounts and values`() = runTest(testDispatcher) {
-        // Given
-        val domainAccounts = listOf(createDomainAccount())
-        coEvery { mockAccountDAO.getGenerationSync(testProfileId) } returns 1L
-        coEvery { mockAccountDAO.getByNameSync(testProfileId, any<String>()) } returns null
-        coEvery { mockAccountDAO.insertSync(any<Account>()) } returns 1L
-        coEvery { mockAccountValueDAO.insertSync(any<AccountValue>()) } returns 1L
-
-        // When
-        val result = repository.storeAccountsAsDomain(domainAccounts, testProfileId)
-
-        // Then
-        assertTrue(result.isSuccess)
-        coVerify { mockAccountDAO.insertSync(any<Account>()) }
-        coVerify { mockAccountValueDAO.insertSync(any<AccountValue>()) }
-        coVerify { mockAccountDAO.purgeOldAccountsSync(testProfileId, 2L) }
-        coVerify { mockAccountDAO.purgeOldAccountValuesSync(testProfileId, 2L) }
-    }
-
-    @Test
-    fun `storeAccountsAsDomain preserves amountsExpanded for existing accounts`() = runTest(testDispatcher) {
-        // Given
-        val existingAccount = createDbAccount().apply { amountsExpanded = true }
-        val domainAccount = createDomainAccount(name = existingAccount.name)
-        coEvery { mockAccountDAO.getGenerationSync(testProfileId) } returns 1L
-        coEvery { mockAccountDAO.getByNameSync(testProfileId, existingAccount.name) } returns existingAccount
-        coEvery { mockAccountDAO.insertSync(any<Account>()) } returns 1L
-        coEvery { mockAccountValueDAO.insertSync(any<AccountValue>()) } returns 1L
-
-        // When
-        val result = repository.storeAccountsAsDomain(listOf(domainAccount), testProfileId)
-
-        // Then
-        assertTrue(result.isSuccess)
-        coVerify { mockAccountDAO.getByNameSync(testProfileId, existingAccount.name) }
-    }
-
     @Test
     fun `getCountForProfile returns account count`() = runTest(testDispatcher) {
         // Given
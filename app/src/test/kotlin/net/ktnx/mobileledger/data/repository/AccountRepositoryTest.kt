@@ -24,6 +24,7 @@ import kotlinx.coroutines.flow.first
 import kotlinx.coroutines.test.runTest
 import net.ktnx.mobileledger.core.domain.model.Account
 import net.ktnx.mobileledger.core.domain.model.AccountAmount
+import net.ktnx.mobileledger.core.domain.model.Amount
 import net.ktnx.mobileledger.core.domain.repository.AccountRepository
 import org.junit.Assert.assertEquals
 import org.junit.Assert.assertNotNull
@@ -72,7 +73,7 @@ class AccountRepositoryTest {
         amounts = amounts
     )
 
-    private fun createTestAccountAmount(amount: Float = 100.0f, currency: String = "USD"): AccountAmount =
+    private fun createTestAccountAmount(amount: Amount = Amount.of(100), currency: String = "USD"): AccountAmount =
         AccountAmount(currency = currency, amount = amount)
 
     // ========================================
@@ -103,7 +104,7 @@ class AccountRepositoryTest {
             testProfileId,
             createTestAccount(
                 name = "Assets:Cash",
-                amounts = listOf(createTestAccountAmount(100.0f))
+                amounts = listOf(createTestAccountAmount(Amount.of(100)))
             )
         )
 
@@ -237,42 +238,6 @@ class AccountRepositoryTest {
         assertTrue(results.isEmpty())
     }
 
-    // ========================================
-    // storeAccountsAsDomain tests
-    // ========================================
-
-    @Test
-    fun `storeAccountsAsDomain replaces all accounts for profile`() = runTest {
-        repository.addTestAccount(testProfileId, createTestAccount(name = "OldAccount"))
-
-        val newAccounts = listOf(
-            createTestAccount(name = "NewAccount1"),
-            createTestAccount(name = "NewAccount2")
-        )
-        repository.storeAccountsAsDomain(newAccounts, testProfileId).getOrThrow()
-
-        val accounts = repository.observeAllWithAmounts(testProfileId, true).first()
-        assertEquals(2, accounts.size)
-        assertTrue(accounts.any { it.name == "NewAccount1" })
-        assertTrue(accounts.any { it.name == "NewAccount2" })
-    }
-
-    @Test
-    fun `storeAccountsAsDomain does not affect other profiles`() = runTest {
-        repository.addTestAccount(2L, createTestAccount(name = "OtherProfile"))
-
-        val newAccounts = listOf(createTestAccount(name = "Profile1Account"))
-        repository.storeAccountsAsDomain(newAccounts, testProfileId).getOrThrow()
-
-        val profile1Accounts = repository.observeAllWithAmounts(testProfileId, true).first()
-        val profile2Accounts = repository.observeAllWithAmounts(2L, true).first()
-
-        assertEquals(1, profile1Accounts.size)
-        assertEquals(1, profile2Accounts.size)
-        assertEquals("Profile1Account", profile1Accounts[0].name)
-        assertEquals("OtherProfile", profile2Accounts[0].name)
-    }
-
     // ========================================
     // getCountForProfile tests
     // ========================================
@@ -353,7 +318,7 @@ class FakeAccountRepository : AccountRepository {
     private fun getAccountsForProfile(profileId: Long): List<Account> =
         accounts.values.filter { it.profileId == profileId }.map { it.account }
 
-    private fun hasNonZeroBalance(account: Account): Boolean = account.amounts.any { it.amount != 0f }
+    private fun hasNonZeroBalance(account: Account): Boolean = account.amounts.any { !it.amount.isZero }
 
     // ========================================
     // Flow methods (observe prefix)
@@ -418,19 +383,6 @@ class FakeAccountRepository : AccountRepository {
     // Mutation methods
     // ========================================
 
-    override suspend fun storeAccountsAsDomain(accountsList: List<Account>, profileId: Long): Result<Unit> {
-        // Remove existing accounts for this profile
-        val toRemove = accounts.values.filter { it.profileId == profileId }.map { it.account.id }
-        toRemove.filterNotNull().forEach { accounts.remove(it) }
-
-        // Add new accounts from domain models
-        accountsList.forEach { account ->
-            val id = account.id ?: nextId++
-            accounts[id] = StoredAccount(account.copy(id = id), profileId)
-        }
-        return Result.success(Unit)
-    }
-
     override suspend fun getCountForProfile(profileId: Long): Result<Int> = Result.success(
         accounts.values.count { it.profileId == profileId }
     )
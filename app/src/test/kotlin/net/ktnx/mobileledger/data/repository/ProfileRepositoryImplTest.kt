@@ -24,6 +24,7 @@ import io.mockk.every
 import io.mockk.just
 import io.mockk.mockk
 import io.mockk.verify
+import io.mockk.verifyOrder
 import java.util.UUID
 import kotlinx.coroutines.ExperimentalCoroutinesApi
 import kotlinx.coroutines.flow.first
@@ -386,6 +387,27 @@ class ProfileRepositoryImplTest {
         assertEquals("Fallback", repository.currentProfile.value?.name)
     }
 
+    @Test
+    fun `deleteProfile removes ledger data in batches before the profile`() = runTest(testDispatcher) {
+        // Given
+        val profile = createDomainProfile(id = 1L)
+        every { mockProfileDAO.deleteTransactionBatchSync(1L, any()) } returnsMany listOf(500, 20, 0)
+        every { mockProfileDAO.deleteAccountBatchSync(1L, any()) } returnsMany listOf(40, 0)
+
+        // When
+        val result = repository.deleteProfile(profile)
+
+        // Then
+        assertTrue(result.isSuccess)
+        verifyOrder {
+            mockProfileDAO.deleteTransactionBatchSync(1L, any())
+            mockProfileDAO.deleteAccountBatchSync(1L, any())
+            mockProfileDAO.deleteSync(any())
+        }
+        verify(exactly = 3) { mockProfileDAO.deleteTransactionBatchSync(1L, any()) }
+        verify(exactly = 2) { mockProfileDAO.deleteAccountBatchSync(1L, any()) }
+    }
+
     @Test
     fun `deleteProfile clears current when no fallback available`() = runTest(testDispatcher) {
         // Given
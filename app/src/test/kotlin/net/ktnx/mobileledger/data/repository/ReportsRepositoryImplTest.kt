@@ -0,0 +1,143 @@
+/*
+ * Copyright © 2026 Damyan Ivanov.
+ * This file is part of MoLe.
+ * MoLe is free software: you can distribute it and/or modify it
+ * under the term of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your opinion), any later version.
+ *
+ * MoLe is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License terms for details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MoLe. If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.ktnx.mobileledger.data.repository
+
+import io.mockk.every
+import io.mockk.mockk
+import io.mockk.verify
+import kotlinx.coroutines.ExperimentalCoroutinesApi
+import kotlinx.coroutines.test.StandardTestDispatcher
+import kotlinx.coroutines.test.runTest
+import net.ktnx.mobileledger.core.common.utils.SimpleDate
+import net.ktnx.mobileledger.core.data.exception.CoreExceptionMapper
+import net.ktnx.mobileledger.core.data.repository.impl.ReportsRepositoryImpl
+import net.ktnx.mobileledger.core.database.dao.AccountMonthTotalDAO
+import net.ktnx.mobileledger.core.database.dao.AccountMonthTotalDAO.AccountSumContainer
+import net.ktnx.mobileledger.core.domain.model.AccountAmount
+import net.ktnx.mobileledger.core.domain.model.AccountType
+import net.ktnx.mobileledger.core.domain.model.Amount
+import net.ktnx.mobileledger.core.domain.model.ReportLine
+import org.junit.Assert.assertEquals
+import org.junit.Before
+import org.junit.Test
+
+/**
+ * Unit tests for [ReportsRepositoryImpl].
+ */
+@OptIn(ExperimentalCoroutinesApi::class)
+class ReportsRepositoryImplTest {
+
+    private val testDispatcher = StandardTestDispatcher()
+    private lateinit var dao: AccountMonthTotalDAO
+    private lateinit var repository: ReportsRepositoryImpl
+
+    private val profileId = 1L
+
+    @Before
+    fun setup() {
+        dao = mockk(relaxed = true)
+        every { dao.hasTotalsSync(profileId) } returns true
+        repository = ReportsRepositoryImpl(dao, CoreExceptionMapper(), testDispatcher)
+    }
+
+    private fun sum(account: String, mantissa: Long, scale: Int = 0, currency: String = "USD") =
+        AccountSumContainer(account, currency, mantissa, scale)
+
+    @Test
+    fun `income statement combines whole months with the partial months at both ends`() = runTest(testDispatcher) {
+        // Given
+        every { dao.getAccountTotalsSync(profileId, 202402, 202404) } returns listOf(
+            sum("Expenses:Food", 300),
+            sum("Income:Salary", -3000)
+        )
+        every { dao.getPostingTotalsSync(profileId, 20240115, 20240199) } returns listOf(sum("Expenses:Food", 1050, 1))
+        every { dao.getPostingTotalsSync(profileId, 20240501, 20240510) } returns listOf(sum("Expenses:Food", 25))
+
+        // When
+        val report = repository.getIncomeStatement(profileId, SimpleDate(2024, 1, 15)..SimpleDate(2024, 5, 10))
+            .getOrThrow()
+
+        // Then
+        val (revenue, expense) = report.sections
+        assertEquals(AccountType.REVENUE, revenue.type)
+        assertEquals(listOf(ReportLine("Income:Salary", listOf(AccountAmount("USD", Amount.of(-3000))))), revenue.lines)
+        assertEquals(AccountType.EXPENSE, expense.type)
+        assertEquals(listOf(AccountAmount("USD", Amount.of(430))), expense.total)
+    }
+
+    @Test
+    fun `period within one month is summed from its postings`() = runTest(testDispatcher) {
+        // When
+        repository.getIncomeStatement(profileId, SimpleDate(2024, 2, 3)..SimpleDate(2024, 2, 20))
+
+        // Then
+        verify { dao.getPostingTotalsSync(profileId, 20240203, 20240220) }
+        verify(exactly = 0) { dao.getAccountTotalsSync(any(), any(), any()) }
+    }
+
+    @Test
+    fun `balance sheet at a month end reads monthly totals only`() = runTest(testDispatcher) {
+        // Given
+        every { dao.getAccountTotalsSync(profileId, 0, 202402) } returns listOf(
+            sum("Assets:Bank", 500),
+            sum("Assets:Receivable", 70),
+            sum("Liabilities:Card", -120),
+            sum("Expenses:Food", 80)
+        )
+
+        // When
+        val report = repository.getBalanceSheet(profileId, SimpleDate(2024, 2, 29)).getOrThrow()
+
+        // Then - cash accounts are part of the assets; expenses are not on the balance sheet
+        assertEquals(
+            listOf(AccountType.ASSET, AccountType.LIABILITY, AccountType.EQUITY),
+            report.sections.map { it.type }
+        )
+        assertEquals(listOf("Assets:Bank", "Assets:Receivable"), report.sections[0].lines.map { it.accountName })
+        assertEquals(listOf(AccountAmount("USD", Amount.of(570))), report.sections[0].total)
+        assertEquals(emptyList<ReportLine>(), report.sections[2].lines)
+        verify(exactly = 0) { dao.getPostingTotalsSync(any(), any(), any()) }
+    }
+
+    @Test
+    fun `cash flow lists cash accounts only`() = runTest(testDispatcher) {
+        // Given
+        every { dao.getAccountTotalsSync(profileId, 202401, 202401) } returns listOf(
+            sum("Assets:Bank:Checking", -40),
+            sum("Assets:Receivable", 70)
+        )
+
+        // When
+        val report = repository.getCashFlow(profileId, SimpleDate(2024, 1, 1)..SimpleDate(2024, 1, 31)).getOrThrow()
+
+        // Then
+        assertEquals(listOf("Assets:Bank:Checking"), report.sections.single().lines.map { it.accountName })
+    }
+
+    @Test
+    fun `profile without monthly totals is summed from its postings`() = runTest(testDispatcher) {
+        // Given
+        every { dao.hasTotalsSync(profileId) } returns false
+
+        // When
+        repository.getBalanceSheet(profileId, SimpleDate(2024, 2, 29))
+
+        // Then
+        verify { dao.getPostingTotalsSync(profileId, 0, 20240229) }
+        verify(exactly = 0) { dao.getAccountTotalsSync(any(), any(), any()) }
+    }
+}
@@ -33,6 +33,8 @@ import kotlinx.coroutines.test.resetMain
 import kotlinx.coroutines.test.runTest
 import kotlinx.coroutines.test.setMain
 import net.ktnx.mobileledger.core.common.utils.SimpleDate
+import net.ktnx.mobileledger.core.domain.model.AccountAmount
+import net.ktnx.mobileledger.core.domain.model.Amount
 import net.ktnx.mobileledger.core.domain.model.Profile
 import net.ktnx.mobileledger.core.domain.model.Transaction
 import net.ktnx.mobileledger.core.domain.model.TransactionLine
@@ -89,8 +91,8 @@ class RepositoryConcurrencyTest {
             description = description,
             comment = null,
             lines = listOf(
-                TransactionLine(null, "Assets:Cash", -100f, "", null),
-                TransactionLine(null, "Expenses:Food", 100f, "", null)
+                TransactionLine(null, "Assets:Cash", Amount.of(-100), "", null),
+                TransactionLine(null, "Expenses:Food", Amount.of(100), "", null)
             )
         )
 
@@ -390,10 +392,54 @@ class ConcurrentFakeTransactionRepository : TransactionRepository {
         Result.success(transactions[transactionId]?.transaction)
     }
 
-    override suspend fun searchByDescription(term: String): Result<List<String>> = synchronized(lock) {
+    override suspend fun getTransactionPage(
+        profileId: Long,
+        accountName: String?,
+        after: Transaction?,
+        limit: Int
+    ): Result<List<Transaction>> {
+        val newestFirst = compareByDescending<Transaction> { it.date }.thenByDescending { it.ledgerId }
+        return Result.success(
+            observeTransactionsFiltered(profileId, accountName).first()
+                .sortedWith(newestFirst)
+                .filter { after == null || newestFirst.compare(it, after) > 0 }
+                .take(limit)
+        )
+    }
+
+    override suspend fun getNewerTransactionPage(
+        profileId: Long,
+        accountName: String?,
+        before: Transaction,
+        limit: Int
+    ): Result<List<Transaction>> {
+        val newestFirst = compareByDescending<Transaction> { it.date }.thenByDescending { it.ledgerId }
+        return Result.success(
+            observeTransactionsFiltered(profileId, accountName).first()
+                .sortedWith(newestFirst)
+                .filter { newestFirst.compare(it, before) < 0 }
+                .takeLast(limit)
+        )
+    }
+
+    override suspend fun getTransactionDateRange(
+        profileId: Long,
+        accountName: String?
+    ): Result<ClosedRange<SimpleDate>?> {
+        val dates = observeTransactionsFiltered(profileId, accountName).first().map { it.date }
+        return Result.success(dates.minOrNull()?.let { it..dates.max() })
+    }
+
+    override suspend fun getRunningBalances(
+        profileId: Long,
+        accountName: String,
+        transactions: List<Transaction>
+    ): Result<Map<Long, List<AccountAmount>>> = Result.success(emptyMap())
+
+    override suspend fun searchByDescription(profileId: Long, term: String): Result<List<String>> = synchronized(lock) {
         Result.success(
             transactions.values
-                .filter { it.transaction.description.contains(term, true) }
+                .filter { it.profileId == profileId && it.transaction.description.contains(term, true) }
                 .mapNotNull { it.transaction.description }
                 .distinct()
         )
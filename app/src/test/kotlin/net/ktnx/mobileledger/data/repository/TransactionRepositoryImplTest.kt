@@ -29,16 +29,24 @@ import kotlinx.coroutines.test.StandardTestDispatcher
 import kotlinx.coroutines.test.runTest
 import net.ktnx.mobileledger.core.common.utils.SimpleDate
 import net.ktnx.mobileledger.core.data.exception.CoreExceptionMapper
+import net.ktnx.mobileledger.core.data.mapper.TransactionMapper
+import net.ktnx.mobileledger.core.data.repository.DatabaseTransactionRunner
 import net.ktnx.mobileledger.core.data.repository.impl.TransactionRepositoryImpl
+import net.ktnx.mobileledger.core.data.sync.MonthTotalUpdater
+import net.ktnx.mobileledger.core.data.sync.RunningBalanceUpdater
 import net.ktnx.mobileledger.core.database.dao.AccountDAO
 import net.ktnx.mobileledger.core.database.dao.AccountValueDAO
+import net.ktnx.mobileledger.core.database.dao.RunningBalanceDAO
 import net.ktnx.mobileledger.core.database.dao.TransactionAccountDAO
 import net.ktnx.mobileledger.core.database.dao.TransactionDAO
 import net.ktnx.mobileledger.core.database.entity.Account
 import net.ktnx.mobileledger.core.database.entity.AccountValue
+import net.ktnx.mobileledger.core.database.entity.RunningBalance
 import net.ktnx.mobileledger.core.database.entity.Transaction
 import net.ktnx.mobileledger.core.database.entity.TransactionAccount
 import net.ktnx.mobileledger.core.database.entity.TransactionWithAccounts
+import net.ktnx.mobileledger.core.domain.model.AccountAmount
+import net.ktnx.mobileledger.core.domain.model.Amount
 import net.ktnx.mobileledger.core.domain.model.AppException
 import net.ktnx.mobileledger.core.domain.model.Transaction as DomainTransaction
 import net.ktnx.mobileledger.core.domain.model.TransactionLine
@@ -66,6 +74,10 @@ class TransactionRepositoryImplTest {
     private lateinit var mockTransactionAccountDAO: TransactionAccountDAO
     private lateinit var mockAccountDAO: AccountDAO
     private lateinit var mockAccountValueDAO: AccountValueDAO
+    private lateinit var mockRunningBalanceDAO: RunningBalanceDAO
+    private lateinit var mockRunningBalanceUpdater: RunningBalanceUpdater
+    private lateinit var mockMonthTotalUpdater: MonthTotalUpdater
+    private lateinit var transactionRunner: FakeTransactionRunner
     private lateinit var exceptionMapper: CoreExceptionMapper
     private lateinit var repository: TransactionRepositoryImpl
 
@@ -77,6 +89,10 @@ class TransactionRepositoryImplTest {
         mockTransactionAccountDAO = mockk(relaxed = true)
         mockAccountDAO = mockk(relaxed = true)
         mockAccountValueDAO = mockk(relaxed = true)
+        mockRunningBalanceDAO = mockk(relaxed = true)
+        mockRunningBalanceUpdater = mockk(relaxed = true)
+        mockMonthTotalUpdater = mockk(relaxed = true)
+        transactionRunner = FakeTransactionRunner()
         exceptionMapper = CoreExceptionMapper()
 
         repository = TransactionRepositoryImpl(
@@ -84,6 +100,10 @@ class TransactionRepositoryImplTest {
             transactionAccountDAO = mockTransactionAccountDAO,
             accountDAO = mockAccountDAO,
             accountValueDAO = mockAccountValueDAO,
+            runningBalanceDAO = mockRunningBalanceDAO,
+            runningBalanceUpdater = mockRunningBalanceUpdater,
+            monthTotalUpdater = mockMonthTotalUpdater,
+            transactionRunner = transactionRunner,
             exceptionMapper = exceptionMapper,
             ioDispatcher = testDispatcher
         )
@@ -116,14 +136,15 @@ class TransactionRepositoryImplTest {
         id: Long = 1L,
         transactionId: Long = 1L,
         accountName: String = "Expenses:Food",
-        amount: Float = 100.0f,
+        amount: Amount = Amount.of(100),
         currency: String = "USD",
         orderNo: Int = 0
     ): TransactionAccount = TransactionAccount().apply {
         this.id = id
         this.transactionId = transactionId
         this.accountName = accountName
-        this.amount = amount
+        this.amountMantissa = amount.mantissa
+        this.amountScale = amount.scale
         this.currency = currency
         this.orderNo = orderNo
         this.generation = 1L
@@ -133,7 +154,7 @@ class TransactionRepositoryImplTest {
         transaction: Transaction = createDbTransaction(),
         accounts: List<TransactionAccount> = listOf(
             createDbTransactionAccount(orderNo = 0),
-            createDbTransactionAccount(id = 2L, accountName = "Assets:Bank", amount = -100.0f, orderNo = 1)
+            createDbTransactionAccount(id = 2L, accountName = "Assets:Bank", amount = Amount.of(-100), orderNo = 1)
         )
     ): TransactionWithAccounts = TransactionWithAccounts().apply {
         this.transaction = transaction
@@ -154,14 +175,14 @@ class TransactionRepositoryImplTest {
             TransactionLine(
                 id = null,
                 accountName = "Expenses:Food",
-                amount = 100.0f,
+                amount = Amount.of(100),
                 currency = "USD",
                 comment = null
             ),
             TransactionLine(
                 id = null,
                 accountName = "Assets:Bank",
-                amount = -100.0f,
+                amount = Amount.of(-100),
                 currency = "USD",
                 comment = null
             )
@@ -294,14 +315,24 @@ class TransactionRepositoryImplTest {
     @Test
     fun `searchByDescription calls DAO with uppercase term`() = runTest(testDispatcher) {
         // Given
-        coEvery { mockTransactionDAO.lookupDescriptionSync("TEST") } returns emptyList()
+        coEvery { mockTransactionDAO.lookupDescriptionSync(testProfileId, "TEST", "\"test*\"") } returns emptyList()
 
         // When
-        val result = repository.searchByDescription("test")
+        val result = repository.searchByDescription(testProfileId, "test")
 
         // Then
         assertTrue(result.isSuccess)
-        coVerify { mockTransactionDAO.lookupDescriptionSync("TEST") }
+        coVerify { mockTransactionDAO.lookupDescriptionSync(testProfileId, "TEST", "\"test*\"") }
+    }
+
+    @Test
+    fun `searchByDescription without words does not query the DAO`() = runTest(testDispatcher) {
+        // When
+        val result = repository.searchByDescription(testProfileId, " : ")
+
+        // Then
+        assertEquals(emptyList<String>(), result.getOrThrow())
+        coVerify(exactly = 0) { mockTransactionDAO.lookupDescriptionSync(any(), any(), any()) }
     }
 
     @Test
@@ -343,6 +374,60 @@ class TransactionRepositoryImplTest {
         coVerify { mockTransactionDAO.insertSync(any<Transaction>()) }
     }
 
+    @Test
+    fun `insertTransaction stores postings with the id of their account`() = runTest(testDispatcher) {
+        // Given
+        val domainTransaction = createDomainTransaction()
+        coEvery { mockTransactionDAO.insertSync(any<Transaction>()) } returns 1L
+        coEvery { mockAccountDAO.getByNameSync(any<Long>(), any<String>()) } returns null
+        coEvery { mockAccountDAO.insertSync(any<Account>()) } returns 42L
+
+        // When
+        val result = repository.insertTransaction(domainTransaction, testProfileId)
+
+        // Then
+        assertTrue(result.isSuccess)
+        verify { mockTransactionAccountDAO.insertSync(match<TransactionAccount> { it.accountId == 42L }) }
+    }
+
+    @Test
+    fun `insertTransaction creates parent accounts first and links their ancestors`() = runTest(testDispatcher) {
+        // Given
+        val domainTransaction = createDomainTransaction()
+        val created = mutableMapOf<String, Account>()
+        every { mockAccountDAO.getByNameSync(testProfileId, any()) } answers { created[secondArg()] }
+        every { mockAccountDAO.insertSync(any<Account>()) } answers {
+            val account = firstArg<Account>()
+            created[account.name] = account
+            created.size.toLong()
+        }
+
+        // When
+        val result = repository.insertTransaction(domainTransaction, testProfileId)
+
+        // Then - "Expenses" gets id 1, "Expenses:Food" id 2, "Assets" id 3, "Assets:Bank" id 4
+        assertTrue(result.isSuccess)
+        verify(exactly = 1) { mockAccountDAO.insertAncestorsSync(1L, null) }
+        verify(exactly = 1) { mockAccountDAO.insertAncestorsSync(2L, 1L) }
+        verify(exactly = 1) { mockAccountDAO.insertAncestorsSync(3L, null) }
+        verify(exactly = 1) { mockAccountDAO.insertAncestorsSync(4L, 3L) }
+        assertEquals("Expenses", created["Expenses:Food"]?.parentName)
+    }
+
+    @Test
+    fun `insertTransaction recomputes running balances from the new transaction`() = runTest(testDispatcher) {
+        // Given
+        val domainTransaction = createDomainTransaction()
+        every { mockTransactionDAO.getMaxLedgerIdSync(testProfileId) } returns 99L
+
+        // When
+        val result = repository.insertTransaction(domainTransaction, testProfileId)
+
+        // Then
+        assertTrue(result.isSuccess)
+        verify { mockRunningBalanceUpdater.updateFrom(testProfileId, domainTransaction.date.packed, 100L) }
+    }
+
     @Test
     fun `deleteTransactionById calls DAO and returns count`() = runTest(testDispatcher) {
         // Given
@@ -372,6 +457,136 @@ class TransactionRepositoryImplTest {
         coVerify { mockTransactionDAO.deleteByIdsSync(ids) }
     }
 
+    @Test
+    fun `deleteTransactionsByIds updates running balances and month totals of the deleted transactions`() =
+        runTest(testDispatcher) {
+            // Given
+            val ids = listOf(1L, 2L)
+            every { mockTransactionDAO.getByIdsSync(ids) } returns listOf(
+                createDbTransaction(id = 1L, ledgerId = 7L, day = 20),
+                createDbTransaction(id = 2L, ledgerId = 9L, day = 10)
+            )
+
+            // When
+            repository.deleteTransactionsByIds(ids)
+
+            // Then
+            verify(exactly = 1) { mockRunningBalanceUpdater.updateFrom(testProfileId, 20240110, 9L) }
+            verify(exactly = 1) { mockMonthTotalUpdater.updateMonths(testProfileId, setOf(202401)) }
+        }
+
+    @Test
+    fun `deleteTransactionsByIds deletes and updates the summaries in one database transaction`() =
+        runTest(testDispatcher) {
+            // Given
+            val ids = listOf(1L)
+            val inTransaction = mutableListOf<String>()
+            every { mockTransactionDAO.getByIdsSync(ids) } returns listOf(createDbTransaction(id = 1L))
+            every { mockTransactionDAO.deleteByIdsSync(ids) } answers {
+                if (transactionRunner.active) inTransaction.add("delete")
+                1
+            }
+            every { mockRunningBalanceUpdater.updateFrom(any(), any(), any()) } answers {
+                if (transactionRunner.active) inTransaction.add("running balances")
+            }
+            every { mockMonthTotalUpdater.updateMonths(any(), any()) } answers {
+                if (transactionRunner.active) inTransaction.add("month totals")
+            }
+
+            // When
+            repository.deleteTransactionsByIds(ids)
+
+            // Then
+            assertEquals(1, transactionRunner.transactions)
+            assertEquals(listOf("delete", "running balances", "month totals"), inTransaction)
+        }
+
+    // ========================================
+    // Running balance tests
+    // ========================================
+
+    private fun createRunningBalance(ledgerId: Long, day: Int, currency: String, balance: Long) =
+        RunningBalance().apply {
+            this.accountId = 5L
+            this.ledgerId = ledgerId
+            this.date = 20240100 + day
+            this.currency = currency
+            this.balanceMantissa = balance
+        }
+
+    @Test
+    fun `getRunningBalances continues the balances in force before the first transaction`() =
+        runTest(testDispatcher) {
+            // Given - EUR was last posted before the page, USD by both transactions of the page
+            every { mockAccountDAO.getByNameSync(testProfileId, "Assets") } returns
+                Account().apply { id = 5L }
+            every { mockRunningBalanceDAO.getAllBeforeSync(5L, 20240110, 10L) } returns listOf(
+                createRunningBalance(ledgerId = 3L, day = 2, currency = "EUR", balance = 7)
+            )
+            every { mockRunningBalanceDAO.getRangeSync(5L, 20240110, 10L, 20240111, 11L) } returns listOf(
+                createRunningBalance(ledgerId = 10L, day = 10, currency = "USD", balance = 100),
+                createRunningBalance(ledgerId = 11L, day = 11, currency = "USD", balance = 60)
+            )
+            val page = listOf(
+                createDomainTransaction(ledgerId = 11L).copy(date = SimpleDate(2024, 1, 11)),
+                createDomainTransaction(ledgerId = 10L).copy(date = SimpleDate(2024, 1, 10))
+            )
+
+            // When
+            val result = repository.getRunningBalances(testProfileId, "Assets", page).getOrThrow()
+
+            // Then
+            assertEquals(
+                listOf(AccountAmount("EUR", Amount.of(7)), AccountAmount("USD", Amount.of(100))),
+                result[10L]
+            )
+            assertEquals(
+                listOf(AccountAmount("EUR", Amount.of(7)), AccountAmount("USD", Amount.of(60))),
+                result[11L]
+            )
+        }
+
+    @Test
+    fun `getRunningBalances does not compute missing balances`() = runTest(testDispatcher) {
+        // Given - upgraded database, not synced since
+        every { mockAccountDAO.getByNameSync(testProfileId, "Assets") } returns Account().apply { id = 5L }
+        every { mockRunningBalanceDAO.hasBalancesSync(testProfileId) } returns false
+
+        // When
+        val balances =
+            repository.getRunningBalances(testProfileId, "Assets", listOf(createDomainTransaction())).getOrThrow()
+
+        // Then
+        assertTrue(balances.isEmpty())
+        assertEquals(0, transactionRunner.transactions)
+        verify(exactly = 0) { mockRunningBalanceUpdater.updateFrom(any(), any(), any()) }
+    }
+
+    @Test
+    fun `getRunningBalances reads stored balances without recomputing them`() = runTest(testDispatcher) {
+        // Given
+        every { mockAccountDAO.getByNameSync(testProfileId, "Assets") } returns Account().apply { id = 5L }
+        every { mockRunningBalanceDAO.hasBalancesSync(testProfileId) } returns true
+
+        // When
+        repository.getRunningBalances(testProfileId, "Assets", listOf(createDomainTransaction())).getOrThrow()
+
+        // Then
+        verify(exactly = 0) { mockRunningBalanceUpdater.updateFrom(any(), any(), any()) }
+    }
+
+    @Test
+    fun `getRunningBalances of an unknown account is empty`() = runTest(testDispatcher) {
+        // Given
+        every { mockAccountDAO.getByNameSync(testProfileId, "Nowhere") } returns null
+
+        // When
+        val result = repository.getRunningBalances(testProfileId, "Nowhere", listOf(createDomainTransaction()))
+
+        // Then
+        assertTrue(result.getOrThrow().isEmpty())
+    }
+
     @Test
     fun `deleteAllForProfile calls DAO and returns count`() = runTest(testDispatcher) {
         // Given
@@ -434,4 +649,87 @@ class TransactionRepositoryImplTest {
         coVerify { mockTransactionDAO.purgeOldTransactionsSync(testProfileId, 2L) }
         coVerify { mockTransactionDAO.purgeOldTransactionAccountsSync(testProfileId, 2L) }
     }
+
+    @Test
+    fun `storeTransactionsAsDomain only bumps generation of unchanged transaction`() = runTest(testDispatcher) {
+        // Given
+        val domainTransaction = createDomainTransaction()
+        val existing = createDbTransaction(id = 7L).apply {
+            dataHash = TransactionMapper.contentHash(domainTransaction)
+        }
+        coEvery { mockTransactionDAO.getGenerationSync(testProfileId) } returns 1L
+        coEvery { mockTransactionDAO.getByLedgerId(testProfileId, any()) } returns existing
+
+        // When
+        val result = repository.storeTransactionsAsDomain(listOf(domainTransaction), testProfileId)
+
+        // Then
+        assertTrue(result.isSuccess)
+        verify { mockTransactionDAO.updateGenerationWithAccounts(7L, 2L) }
+        verify(exactly = 0) { mockTransactionDAO.updateSync(any()) }
+        verify(exactly = 0) { mockTransactionAccountDAO.updateSync(any()) }
+    }
+
+    @Test
+    fun `storeTransactionsAsDomain rewrites edited transaction`() = runTest(testDispatcher) {
+        // Given
+        val original = createDomainTransaction()
+        val edited = original.copy(description = "Edited on server")
+        val existing = createDbTransaction(id = 7L).apply {
+            dataHash = TransactionMapper.contentHash(original)
+        }
+        coEvery { mockTransactionDAO.getGenerationSync(testProfileId) } returns 1L
+        coEvery { mockTransactionDAO.getByLedgerId(testProfileId, any()) } returns existing
+
+        // When
+        val result = repository.storeTransactionsAsDomain(listOf(edited), testProfileId)
+
+        // Then
+        assertTrue(result.isSuccess)
+        verify {
+            mockTransactionDAO.updateSync(
+                match { it.description == "Edited on server" && it.dataHash == TransactionMapper.contentHash(edited) }
+            )
+        }
+        verify(exactly = 0) { mockTransactionDAO.updateGenerationWithAccounts(any(), any()) }
+    }
+
+    @Test
+    fun `storeTransactionsAsDomain removes lines an edited transaction no longer has`() = runTest(testDispatcher) {
+        // Given - the stored transaction had more lines than the edited one
+        val original = createDomainTransaction()
+        val edited = original.copy(lines = original.lines.take(1))
+        val existing = createDbTransaction(id = 7L).apply {
+            dataHash = TransactionMapper.contentHash(original)
+        }
+        coEvery { mockTransactionDAO.getGenerationSync(testProfileId) } returns 1L
+        coEvery { mockTransactionDAO.getByLedgerId(testProfileId, any()) } returns existing
+
+        // When
+        val result = repository.storeTransactionsAsDomain(listOf(edited), testProfileId)
+
+        // Then
+        assertTrue(result.isSuccess)
+        verify { mockTransactionAccountDAO.deleteAfterOrderNoSync(7L, 1) }
+    }
+}
+
+/**
+ * [DatabaseTransactionRunner] running the block directly, recording whether it is inside a transaction.
+ */
+private class FakeTransactionRunner : DatabaseTransactionRunner {
+    var active = false
+        private set
+    var transactions = 0
+        private set
+
+    override suspend fun <R> inTransaction(block: suspend () -> R): R {
+        transactions++
+        active = true
+        try {
+            return block()
+        } finally {
+            active = false
+        }
+    }
 }
@@ -26,6 +26,8 @@ import net.ktnx.mobileledger.core.common.utils.SimpleDate
 import net.ktnx.mobileledger.core.database.entity.Transaction as DbTransaction
 import net.ktnx.mobileledger.core.database.entity.TransactionAccount
 import net.ktnx.mobileledger.core.database.entity.TransactionWithAccounts
+import net.ktnx.mobileledger.core.domain.model.AccountAmount
+import net.ktnx.mobileledger.core.domain.model.Amount
 import net.ktnx.mobileledger.core.domain.model.Transaction
 import net.ktnx.mobileledger.core.domain.model.TransactionLine
 import net.ktnx.mobileledger.core.domain.repository.TransactionRepository
@@ -73,8 +75,8 @@ class TransactionRepositoryTest {
         day: Int = 10,
         ledgerId: Long = 1L,
         accounts: List<TransactionAccount> = listOf(
-            createTestAccount("Assets:Cash", -100f),
-            createTestAccount("Expenses:Food", 100f)
+            createTestAccount("Assets:Cash", Amount.of(-100)),
+            createTestAccount("Expenses:Food", Amount.of(100))
         )
     ): TransactionWithAccounts {
         val dbTransaction = DbTransaction().apply {
@@ -93,10 +95,11 @@ class TransactionRepositoryTest {
         return twa
     }
 
-    private fun createTestAccount(name: String, amount: Float, currency: String = ""): TransactionAccount =
+    private fun createTestAccount(name: String, amount: Amount, currency: String = ""): TransactionAccount =
         TransactionAccount().apply {
             accountName = name
-            this.amount = amount
+            amountMantissa = amount.mantissa
+            amountScale = amount.scale
             this.currency = currency
             orderNo = 0
         }
@@ -109,8 +112,8 @@ class TransactionRepositoryTest {
         day: Int = 10,
         ledgerId: Long = 1L,
         lines: List<TransactionLine> = listOf(
-            TransactionLine(null, "Assets:Cash", -100f, "", null),
-            TransactionLine(null, "Expenses:Food", 100f, "", null)
+            TransactionLine(null, "Assets:Cash", Amount.of(-100), "", null),
+            TransactionLine(null, "Expenses:Food", Amount.of(100), "", null)
         )
     ): Transaction = Transaction(
         id = id,
@@ -168,8 +171,8 @@ class TransactionRepositoryTest {
             createDomainTestTransaction(
                 description = "Cash payment",
                 lines = listOf(
-                    TransactionLine(null, "Assets:Cash", -100f, "", null),
-                    TransactionLine(null, "Expenses:Food", 100f, "", null)
+                    TransactionLine(null, "Assets:Cash", Amount.of(-100), "", null),
+                    TransactionLine(null, "Expenses:Food", Amount.of(100), "", null)
                 )
             ),
             testProfileId
@@ -179,8 +182,8 @@ class TransactionRepositoryTest {
                 description = "Bank transfer",
                 ledgerId = 2L,
                 lines = listOf(
-                    TransactionLine(null, "Assets:Bank", -200f, "", null),
-                    TransactionLine(null, "Expenses:Utilities", 200f, "", null)
+                    TransactionLine(null, "Assets:Bank", Amount.of(-200), "", null),
+                    TransactionLine(null, "Expenses:Utilities", Amount.of(200), "", null)
                 )
             ),
             testProfileId
@@ -236,7 +239,7 @@ class TransactionRepositoryTest {
             testProfileId
         ).getOrThrow()
 
-        val results = repository.searchByDescription("groc").getOrThrow()
+        val results = repository.searchByDescription(testProfileId, "groc").getOrThrow()
         assertEquals(2, results.size)
         assertTrue(results.any { it == "Grocery shopping" })
         assertTrue(results.any { it == "Groceries" })
@@ -246,10 +249,22 @@ class TransactionRepositoryTest {
     fun `searchByDescription returns empty list when no matches`() = runTest {
         repository.insertTransaction(createDomainTestTransaction(description = "Test"), testProfileId).getOrThrow()
 
-        val results = repository.searchByDescription("xyz").getOrThrow()
+        val results = repository.searchByDescription(testProfileId, "xyz").getOrThrow()
         assertTrue(results.isEmpty())
     }
 
+    @Test
+    fun `searchByDescription only returns descriptions of the given profile`() = runTest {
+        repository.insertTransaction(createDomainTestTransaction(description = "Groceries"), testProfileId).getOrThrow()
+        repository.insertTransaction(
+            createDomainTestTransaction(description = "Grocery shopping", ledgerId = 2L),
+            testProfileId + 1
+        ).getOrThrow()
+
+        val results = repository.searchByDescription(testProfileId, "groc").getOrThrow()
+        assertEquals(listOf("Groceries"), results)
+    }
+
     // ========================================
     // getFirstByDescription tests
     // ========================================
@@ -301,8 +316,8 @@ class TransactionRepositoryTest {
             createDomainTestTransaction(
                 description = "Payment",
                 lines = listOf(
-                    TransactionLine(null, "Assets:Cash", -100f, "", null),
-                    TransactionLine(null, "Expenses:Food", 100f, "", null)
+                    TransactionLine(null, "Assets:Cash", Amount.of(-100), "", null),
+                    TransactionLine(null, "Expenses:Food", Amount.of(100), "", null)
                 )
             ),
             testProfileId
@@ -312,8 +327,8 @@ class TransactionRepositoryTest {
                 description = "Payment",
                 ledgerId = 2L,
                 lines = listOf(
-                    TransactionLine(null, "Assets:Bank", -100f, "", null),
-                    TransactionLine(null, "Expenses:Utilities", 100f, "", null)
+                    TransactionLine(null, "Assets:Bank", Amount.of(-100), "", null),
+                    TransactionLine(null, "Expenses:Utilities", Amount.of(100), "", null)
                 )
             ),
             testProfileId
@@ -453,7 +468,7 @@ class FakeTransactionRepository : TransactionRepository {
                     stored.profileId == profileId &&
                         (
                             accountName == null || stored.transaction.lines.any {
-                                it.accountName.contains(accountName, ignoreCase = true) && it.amount != 0f
+                                it.accountName.contains(accountName, ignoreCase = true) && it.amount?.isZero != true
                             }
                             )
                 }
@@ -475,11 +490,55 @@ class FakeTransactionRepository : TransactionRepository {
     override suspend fun getTransactionById(transactionId: Long): Result<Transaction?> =
         Result.success(storedTransactions[transactionId]?.transaction)
 
-    override suspend fun searchByDescription(term: String): Result<List<String>> {
+    override suspend fun getTransactionPage(
+        profileId: Long,
+        accountName: String?,
+        after: Transaction?,
+        limit: Int
+    ): Result<List<Transaction>> {
+        val newestFirst = compareByDescending<Transaction> { it.date }.thenByDescending { it.ledgerId }
+        return Result.success(
+            observeTransactionsFiltered(profileId, accountName).first()
+                .sortedWith(newestFirst)
+                .filter { after == null || newestFirst.compare(it, after) > 0 }
+                .take(limit)
+        )
+    }
+
+    override suspend fun getNewerTransactionPage(
+        profileId: Long,
+        accountName: String?,
+        before: Transaction,
+        limit: Int
+    ): Result<List<Transaction>> {
+        val newestFirst = compareByDescending<Transaction> { it.date }.thenByDescending { it.ledgerId }
+        return Result.success(
+            observeTransactionsFiltered(profileId, accountName).first()
+                .sortedWith(newestFirst)
+                .filter { newestFirst.compare(it, before) < 0 }
+                .takeLast(limit)
+        )
+    }
+
+    override suspend fun getTransactionDateRange(
+        profileId: Long,
+        accountName: String?
+    ): Result<ClosedRange<SimpleDate>?> {
+        val dates = observeTransactionsFiltered(profileId, accountName).first().map { it.date }
+        return Result.success(dates.minOrNull()?.let { it..dates.max() })
+    }
+
+    override suspend fun getRunningBalances(
+        profileId: Long,
+        accountName: String,
+        transactions: List<Transaction>
+    ): Result<Map<Long, List<AccountAmount>>> = Result.success(emptyMap())
+
+    override suspend fun searchByDescription(profileId: Long, term: String): Result<List<String>> {
         val termUpper = term.uppercase()
         return Result.success(
             storedTransactions.values
-                .filter { it.transaction.description.uppercase().contains(termUpper) }
+                .filter { it.profileId == profileId && it.transaction.description.uppercase().contains(termUpper) }
                 .distinctBy { it.transaction.description }
                 .map { stored ->
                     val descUpper = stored.transaction.description.uppercase()
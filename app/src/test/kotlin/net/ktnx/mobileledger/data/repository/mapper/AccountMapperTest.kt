@@ -21,6 +21,7 @@ import net.ktnx.mobileledger.core.data.mapper.AccountMapper
 import net.ktnx.mobileledger.core.database.entity.Account as DbAccount
 import net.ktnx.mobileledger.core.database.entity.AccountValue
 import net.ktnx.mobileledger.core.database.entity.AccountWithAmounts
+import net.ktnx.mobileledger.core.domain.model.Amount
 import org.junit.Assert.assertEquals
 import org.junit.Assert.assertFalse
 import org.junit.Assert.assertTrue
@@ -69,13 +70,15 @@ class AccountMapperTest {
             id = 10L
             accountId = 1L
             currency = "USD"
-            value = 100.50f
+            valueMantissa = 10050
+            valueScale = 2
         }
         val amount2 = AccountValue().apply {
             id = 11L
             accountId = 1L
             currency = "EUR"
-            value = 50.25f
+            valueMantissa = 5025
+            valueScale = 2
         }
         val dbAccountWithAmounts = AccountWithAmounts().apply {
             account = dbAccount
@@ -90,9 +93,9 @@ class AccountMapperTest {
         assertFalse(result.isExpanded)
         assertEquals(2, result.amounts.size)
         assertEquals("USD", result.amounts[0].currency)
-        assertEquals(100.50f, result.amounts[0].amount)
+        assertEquals(Amount.parse("100.50"), result.amounts[0].amount)
         assertEquals("EUR", result.amounts[1].currency)
-        assertEquals(50.25f, result.amounts[1].amount)
+        assertEquals(Amount.parse("50.25"), result.amounts[1].amount)
     }
 
     @Test
@@ -168,7 +171,7 @@ class AccountMapperTest {
             id = 10L
             accountId = 1L
             currency = ""
-            value = 100f
+            valueMantissa = 100
         }
         val dbAccountWithAmounts = AccountWithAmounts().apply {
             account = dbAccount
@@ -192,7 +195,7 @@ class AccountMapperTest {
             amounts = listOf(
                 net.ktnx.mobileledger.core.domain.model.AccountAmount(
                     currency = "USD",
-                    amount = 100f
+                    amount = Amount.of(100)
                 )
             )
         )
@@ -209,7 +212,8 @@ class AccountMapperTest {
         assertTrue(result.account.expanded)
         assertEquals(1, result.amounts.size)
         assertEquals("USD", result.amounts[0].currency)
-        assertEquals(100f, result.amounts[0].value)
+        assertEquals(100L, result.amounts[0].valueMantissa)
+        assertEquals(0, result.amounts[0].valueScale)
     }
 
     @Test
@@ -238,11 +242,11 @@ class AccountMapperTest {
             amounts = listOf(
                 net.ktnx.mobileledger.core.domain.model.AccountAmount(
                     currency = "USD",
-                    amount = 100f
+                    amount = Amount.of(100)
                 ),
                 net.ktnx.mobileledger.core.domain.model.AccountAmount(
                     currency = "EUR",
-                    amount = 50f
+                    amount = Amount.of(50)
                 )
             )
         )
@@ -19,12 +19,15 @@ package net.ktnx.mobileledger.data.repository.mapper
 
 import net.ktnx.mobileledger.core.common.utils.SimpleDate
 import net.ktnx.mobileledger.core.data.mapper.TransactionMapper
+import net.ktnx.mobileledger.core.database.entity.Account as DbAccount
 import net.ktnx.mobileledger.core.database.entity.Transaction as DbTransaction
 import net.ktnx.mobileledger.core.database.entity.TransactionAccount
 import net.ktnx.mobileledger.core.database.entity.TransactionWithAccounts
+import net.ktnx.mobileledger.core.domain.model.Amount
 import net.ktnx.mobileledger.core.domain.model.Transaction
 import net.ktnx.mobileledger.core.domain.model.TransactionLine
 import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNotEquals
 import org.junit.Assert.assertNull
 import org.junit.Test
 
@@ -41,8 +44,8 @@ class TransactionMapperTest {
             description = "Test Transaction",
             comment = "A comment",
             accounts = listOf(
-                createDbAccount(1L, "Assets:Cash", 100f, "USD", "Note 1"),
-                createDbAccount(2L, "Expenses:Food", -100f, "USD", null)
+                createDbAccount(1L, "Assets:Cash", Amount.of(100), "USD", "Note 1"),
+                createDbAccount(2L, "Expenses:Food", Amount.of(-100), "USD", null)
             )
         )
 
@@ -58,14 +61,14 @@ class TransactionMapperTest {
         val line1 = result.lines[0]
         assertEquals(1L, line1.id)
         assertEquals("Assets:Cash", line1.accountName)
-        assertEquals(100f, line1.amount)
+        assertEquals(Amount.of(100), line1.amount)
         assertEquals("USD", line1.currency)
         assertEquals("Note 1", line1.comment)
 
         val line2 = result.lines[1]
         assertEquals(2L, line2.id)
         assertEquals("Expenses:Food", line2.accountName)
-        assertEquals(-100f, line2.amount)
+        assertEquals(Amount.of(-100), line2.amount)
         assertEquals("USD", line2.currency)
         assertNull(line2.comment)
     }
@@ -117,7 +120,7 @@ class TransactionMapperTest {
             description = "Test",
             comment = null,
             accounts = listOf(
-                createDbAccount(1L, "Assets:Cash", 100f, null, null)
+                createDbAccount(1L, "Assets:Cash", Amount.of(100), null, null)
             )
         )
 
@@ -126,6 +129,39 @@ class TransactionMapperTest {
         assertEquals("", result.lines[0].currency)
     }
 
+    @Test
+    fun `toDomain resolves account names from referenced accounts`() {
+        val dbTransactionWithAccounts = createDbTransaction(
+            id = 1L,
+            ledgerId = 1L,
+            year = 2026,
+            month = 1,
+            day = 1,
+            description = "Test",
+            comment = null,
+            accounts = listOf(
+                createDbAccount(1L, "", Amount.of(100), "USD", null).apply { accountId = 20L },
+                createDbAccount(2L, "", Amount.of(-100), "USD", null).apply { accountId = 10L }
+            )
+        ).apply {
+            referencedAccounts = listOf(
+                DbAccount().apply {
+                    id = 10L
+                    name = "Assets:Cash"
+                },
+                DbAccount().apply {
+                    id = 20L
+                    name = "Expenses:Food"
+                }
+            )
+        }
+
+        val result = TransactionMapper.toDomain(dbTransactionWithAccounts)
+
+        assertEquals("Expenses:Food", result.lines[0].accountName)
+        assertEquals("Assets:Cash", result.lines[1].accountName)
+    }
+
     // === toEntity Tests ===
 
     @Test
@@ -140,14 +176,14 @@ class TransactionMapperTest {
                 TransactionLine(
                     id = null,
                     accountName = "Assets:Bank",
-                    amount = 500f,
+                    amount = Amount.of(500),
                     currency = "EUR",
                     comment = "Line note"
                 ),
                 TransactionLine(
                     id = null,
                     accountName = "Income:Salary",
-                    amount = -500f,
+                    amount = Amount.of(-500),
                     currency = "EUR",
                     comment = null
                 )
@@ -177,7 +213,13 @@ class TransactionMapperTest {
             description = "Existing Transaction",
             comment = null,
             lines = listOf(
-                TransactionLine(id = 10L, accountName = "Assets:Cash", amount = 100f, currency = "USD", comment = null)
+                TransactionLine(
+                    id = 10L,
+                    accountName = "Assets:Cash",
+                    amount = Amount.of(100),
+                    currency = "USD",
+                    comment = null
+                )
             )
         )
         val profileId = 1L
@@ -226,7 +268,7 @@ class TransactionMapperTest {
                 TransactionLine(
                     id = 50L,
                     accountName = "Assets:Cash",
-                    amount = 123.45f,
+                    amount = Amount.parse("123.45"),
                     currency = "JPY",
                     comment = "Test comment"
                 )
@@ -239,14 +281,15 @@ class TransactionMapperTest {
         val account = result.accounts[0]
         assertEquals(50L, account.id)
         assertEquals("Assets:Cash", account.accountName)
-        assertEquals(123.45f, account.amount)
+        assertEquals(12345L, account.amountMantissa)
+        assertEquals(2, account.amountScale)
         assertEquals("JPY", account.currency)
         assertEquals("Test comment", account.comment)
         assertEquals(1, account.orderNo)
     }
 
     @Test
-    fun `toEntity handles null amount as 0f`() {
+    fun `toEntity handles null amount as zero`() {
         val domainTransaction = Transaction(
             id = 1L,
             ledgerId = 1L,
@@ -260,9 +303,84 @@ class TransactionMapperTest {
 
         val result = TransactionMapper.toEntity(domainTransaction, profileId)
 
-        assertEquals(0f, result.accounts[0].amount)
+        assertEquals(0L, result.accounts[0].amountMantissa)
+        assertEquals(0, result.accounts[0].amountScale)
+    }
+
+    @Test
+    fun `toEntity stores content hash`() {
+        val domain = createHashTestTransaction()
+
+        val result = TransactionMapper.toEntity(domain, profileId = 1L)
+
+        assertEquals(TransactionMapper.contentHash(domain), result.transaction.dataHash)
+        assertEquals(64, result.transaction.dataHash.length)
+    }
+
+    @Test
+    fun `contentHash ignores ids`() {
+        val domain = createHashTestTransaction()
+        val stored = domain.copy(id = 99L, lines = domain.lines.map { it.copy(id = 5L) })
+
+        assertEquals(TransactionMapper.contentHash(domain), TransactionMapper.contentHash(stored))
+    }
+
+    @Test
+    fun `contentHash changes when any content field changes`() {
+        val domain = createHashTestTransaction()
+        val hash = TransactionMapper.contentHash(domain)
+        val line = domain.lines[0]
+
+        val variants = listOf(
+            domain.copy(date = SimpleDate(2026, 1, 17)),
+            domain.copy(description = "Groceries!"),
+            domain.copy(comment = "note"),
+            domain.copy(lines = listOf(line.copy(accountName = "Assets:Bank"), domain.lines[1])),
+            domain.copy(lines = listOf(line.copy(amount = Amount.parse("12.5")), domain.lines[1])),
+            domain.copy(lines = listOf(line.copy(currency = "EUR"), domain.lines[1])),
+            domain.copy(lines = listOf(line.copy(comment = "receipt"), domain.lines[1])),
+            domain.copy(lines = domain.lines.reversed()),
+            domain.copy(lines = domain.lines.take(1))
+        )
+
+        for (variant in variants) {
+            assertNotEquals(hash, TransactionMapper.contentHash(variant))
+        }
+    }
+
+    @Test
+    fun `contentHash ignores trailing zeros of amounts`() {
+        val domain = createHashTestTransaction()
+        val line = domain.lines[0]
+        val padded = domain.copy(lines = listOf(line.copy(amount = Amount.of(12300, 3)), domain.lines[1]))
+
+        assertEquals(TransactionMapper.contentHash(domain), TransactionMapper.contentHash(padded))
     }
 
+    @Test
+    fun `contentHash distinguishes field boundaries`() {
+        val a = createHashTestTransaction().copy(description = "a;b", comment = "c")
+        val b = createHashTestTransaction().copy(description = "a", comment = "b;c")
+
+        assertNotEquals(TransactionMapper.contentHash(a), TransactionMapper.contentHash(b))
+    }
+
+    private fun createHashTestTransaction() = Transaction(
+        ledgerId = 10L,
+        date = SimpleDate(2026, 1, 16),
+        description = "Groceries",
+        comment = null,
+        lines = listOf(
+            TransactionLine(
+                accountName = "Expenses:Food",
+                amount = Amount.parse("12.3"),
+                currency = "USD",
+                comment = null
+            ),
+            TransactionLine(accountName = "Assets:Cash", amount = null, currency = "USD", comment = null)
+        )
+    )
+
     @Test
     fun `roundTrip preserves transaction data`() {
         val original = Transaction(
@@ -275,14 +393,14 @@ class TransactionMapperTest {
                 TransactionLine(
                     id = 1L,
                     accountName = "Assets:Bank",
-                    amount = 1000f,
+                    amount = Amount.of(1000),
                     currency = "USD",
                     comment = "Line 1"
                 ),
                 TransactionLine(
                     id = 2L,
                     accountName = "Expenses:Food",
-                    amount = -1000f,
+                    amount = Amount.of(-1000),
                     currency = "USD",
                     comment = null
                 )
@@ -336,13 +454,14 @@ class TransactionMapperTest {
     private fun createDbAccount(
         id: Long,
         accountName: String,
-        amount: Float,
+        amount: Amount,
         currency: String?,
         comment: String?
     ): TransactionAccount = TransactionAccount().apply {
         this.id = id
         this.accountName = accountName
-        this.amount = amount
+        this.amountMantissa = amount.mantissa
+        this.amountScale = amount.scale
         this.currency = currency ?: ""
         this.comment = comment
     }
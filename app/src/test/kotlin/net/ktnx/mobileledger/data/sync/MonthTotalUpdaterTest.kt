@@ -0,0 +1,125 @@
+/*
+ * Copyright © 2026 Damyan Ivanov.
+ * This file is part of MoLe.
+ * MoLe is free software: you can distribute it and/or modify it
+ * under the term of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your opinion), any later version.
+ *
+ * MoLe is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License terms for details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MoLe. If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.ktnx.mobileledger.data.sync
+
+import android.database.sqlite.SQLiteException
+import io.mockk.every
+import io.mockk.mockk
+import io.mockk.verify
+import net.ktnx.mobileledger.core.data.sync.MonthTotalUpdater
+import net.ktnx.mobileledger.core.database.dao.AccountMonthTotalDAO
+import net.ktnx.mobileledger.core.database.dao.AccountMonthTotalDAO.MonthSumContainer
+import net.ktnx.mobileledger.core.database.entity.AccountMonthTotal
+import org.junit.Assert.assertEquals
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+
+@RunWith(RobolectricTestRunner::class)
+class MonthTotalUpdaterTest {
+
+    private lateinit var dao: AccountMonthTotalDAO
+    private lateinit var updater: MonthTotalUpdater
+    private val inserted = mutableListOf<AccountMonthTotal>()
+
+    @Before
+    fun setup() {
+        dao = mockk(relaxed = true)
+        every { dao.replaceMonthsSync(any(), any(), any(), any()) } answers {
+            inserted.addAll(arg<List<AccountMonthTotal>>(3))
+        }
+        updater = MonthTotalUpdater(dao)
+    }
+
+    @Test
+    fun `changed months are summed again`() {
+        // Given - the postings of account 1 use two different scales
+        every { dao.hasTotalsSync(1L) } returns true
+        every { dao.getMonthSumsSync(1L, 20240300, 20240399) } returns listOf(
+            MonthSumContainer(1L, 202403, "USD", 1050, 2),
+            MonthSumContainer(1L, 202403, "USD", 3, 0),
+            MonthSumContainer(2L, 202403, "USD", -1350, 2)
+        )
+
+        // When
+        updater.updateMonths(1L, setOf(202403))
+
+        // Then
+        verify { dao.replaceMonthsSync(1L, 202403, 202403, any()) }
+        assertEquals(
+            listOf(Triple(1L, 1350L, 2), Triple(2L, -135L, 1)),
+            inserted.map { Triple(it.accountId, it.amountMantissa, it.amountScale) }
+        )
+    }
+
+    @Test
+    fun `profile without totals is summed completely`() {
+        // Given
+        every { dao.hasTotalsSync(1L) } returns false
+
+        // When
+        updater.updateMonths(1L, setOf(202403))
+
+        // Then
+        verify { dao.getMonthSumsSync(1L, 0, Int.MAX_VALUE) }
+        verify { dao.replaceMonthsSync(1L, 0, Int.MAX_VALUE, any()) }
+        verify(exactly = 0) { dao.replaceMonthsSync(1L, 202403, 202403, any()) }
+    }
+
+    @Test
+    fun `month without postings has its totals removed`() {
+        // Given - the only transaction of the month was deleted
+        every { dao.hasTotalsSync(1L) } returns true
+        every { dao.getMonthSumsSync(1L, 20240300, 20240399) } returns emptyList()
+
+        // When
+        updater.updateMonths(1L, setOf(202403))
+
+        // Then
+        verify { dao.replaceMonthsSync(1L, 202403, 202403, emptyList()) }
+        verify(exactly = 0) { dao.deleteMonthsSync(any(), any(), any()) }
+    }
+
+    @Test
+    fun `postings are added up in Kotlin when the SQL sum overflows`() {
+        // Given - two postings whose mantissas exceed Long together
+        every { dao.hasTotalsSync(1L) } returns true
+        every { dao.getMonthSumsSync(1L, 20240300, 20240399) } throws SQLiteException("integer overflow")
+        every { dao.getMonthPostingsSync(1L, 20240300, 20240399) } returns listOf(
+            MonthSumContainer(1L, 202403, "USD", Long.MAX_VALUE, 2),
+            MonthSumContainer(1L, 202403, "USD", Long.MAX_VALUE, 2)
+        )
+
+        // When
+        updater.updateMonths(1L, setOf(202403))
+
+        // Then - the total is stored with a smaller scale instead of failing the sync
+        val total = inserted.single()
+        assertEquals(1844674407370955161L to 1, total.amountMantissa to total.amountScale)
+    }
+
+    @Test(expected = SQLiteException::class)
+    fun `other SQL errors are not masked`() {
+        // Given
+        every { dao.hasTotalsSync(1L) } returns true
+        every { dao.getMonthSumsSync(1L, 20240300, 20240399) } throws SQLiteException("no such table")
+
+        // When
+        updater.updateMonths(1L, setOf(202403))
+    }
+}
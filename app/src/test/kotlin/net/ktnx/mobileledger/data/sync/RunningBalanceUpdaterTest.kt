@@ -0,0 +1,97 @@
+/*
+ * Copyright © 2026 Damyan Ivanov.
+ * This file is part of MoLe.
+ * MoLe is free software: you can distribute it and/or modify it
+ * under the term of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your opinion), any later version.
+ *
+ * MoLe is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License terms for details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MoLe. If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.ktnx.mobileledger.data.sync
+
+import io.mockk.every
+import io.mockk.mockk
+import io.mockk.verify
+import net.ktnx.mobileledger.core.data.sync.RunningBalanceUpdater
+import net.ktnx.mobileledger.core.database.dao.RunningBalanceDAO
+import net.ktnx.mobileledger.core.database.dao.RunningBalanceDAO.PostingContainer
+import net.ktnx.mobileledger.core.database.entity.RunningBalance
+import org.junit.Assert.assertEquals
+import org.junit.Before
+import org.junit.Test
+
+class RunningBalanceUpdaterTest {
+
+    private lateinit var dao: RunningBalanceDAO
+    private lateinit var updater: RunningBalanceUpdater
+    private val inserted = mutableListOf<RunningBalance>()
+
+    @Before
+    fun setup() {
+        dao = mockk(relaxed = true)
+        every { dao.insertSync(any()) } answers { inserted.addAll(firstArg<List<RunningBalance>>()) }
+        updater = RunningBalanceUpdater(dao)
+    }
+
+    private fun posting(transactionId: Long, date: Int, ledgerId: Long, accountId: Long, amount: Long) =
+        PostingContainer(transactionId, date, ledgerId, accountId, "USD", amount, 0)
+
+    private fun balance(accountId: Long, amount: Long) = RunningBalance().apply {
+        this.accountId = accountId
+        currency = "USD"
+        balanceMantissa = amount
+    }
+
+    @Test
+    fun `balances continue from the last balance kept`() {
+        // Given - account 2 is the parent of account 1, so every posting is returned for both
+        every { dao.hasBalancesSync(1L) } returns true
+        every { dao.getPostingsAfterSync(1L, 20240110, 4L, any()) } returns listOf(
+            posting(transactionId = 10, date = 20240110, ledgerId = 5, accountId = 1, amount = 100),
+            posting(transactionId = 10, date = 20240110, ledgerId = 5, accountId = 2, amount = 100),
+            posting(transactionId = 10, date = 20240110, ledgerId = 5, accountId = 1, amount = -30),
+            posting(transactionId = 10, date = 20240110, ledgerId = 5, accountId = 2, amount = -30),
+            posting(transactionId = 11, date = 20240112, ledgerId = 3, accountId = 1, amount = 5),
+            posting(transactionId = 11, date = 20240112, ledgerId = 3, accountId = 2, amount = 5)
+        )
+        every { dao.getBeforeSync(1L, "USD", 20240110, 5L) } returns balance(1L, 1000)
+        every { dao.getBeforeSync(2L, "USD", 20240110, 5L) } returns null
+
+        // When
+        updater.updateFrom(1L, 20240110, 5L)
+
+        // Then - one row per account and transaction
+        verify { dao.deleteAfterSync(1L, 20240110, 4L) }
+        verify { dao.getPostingsAfterSync(1L, 20240112, 3L, any()) }
+        assertEquals(
+            listOf(
+                Triple(1L, 5L, 1070L),
+                Triple(2L, 5L, 70L),
+                Triple(1L, 3L, 1075L),
+                Triple(2L, 3L, 75L)
+            ),
+            inserted.map { Triple(it.accountId, it.ledgerId, it.balanceMantissa) }
+        )
+        assertEquals(listOf(10L, 10L, 11L, 11L), inserted.map { it.transactionId })
+    }
+
+    @Test
+    fun `profile without balances is computed from its first transaction`() {
+        // Given
+        every { dao.hasBalancesSync(1L) } returns false
+
+        // When
+        updater.updateFrom(1L, 20240110, 5L)
+
+        // Then
+        verify { dao.deleteAfterSync(1L, 0, 0L) }
+        verify { dao.getPostingsAfterSync(1L, 0, 0L, any()) }
+    }
+}
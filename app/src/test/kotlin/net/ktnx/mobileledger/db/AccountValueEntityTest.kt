@@ -34,7 +34,8 @@ class AccountValueEntityTest {
         assertEquals(0L, accountValue.id)
         assertEquals(0L, accountValue.accountId)
         assertEquals("", accountValue.currency)
-        assertEquals(0f, accountValue.value, 0.001f)
+        assertEquals(0L, accountValue.valueMantissa)
+        assertEquals(0, accountValue.valueScale)
         assertEquals(0L, accountValue.generation)
         assertNull(accountValue.amountStyle)
     }
@@ -46,14 +47,16 @@ class AccountValueEntityTest {
         accountValue.id = 10L
         accountValue.accountId = 5L
         accountValue.currency = "USD"
-        accountValue.value = 1234.56f
+        accountValue.valueMantissa = 123456L
+        accountValue.valueScale = 2
         accountValue.generation = 15L
         accountValue.amountStyle = "1,234.56"
 
         assertEquals(10L, accountValue.id)
         assertEquals(5L, accountValue.accountId)
         assertEquals("USD", accountValue.currency)
-        assertEquals(1234.56f, accountValue.value, 0.001f)
+        assertEquals(123456L, accountValue.valueMantissa)
+        assertEquals(2, accountValue.valueScale)
         assertEquals(15L, accountValue.generation)
         assertEquals("1,234.56", accountValue.amountStyle)
     }
@@ -62,19 +65,22 @@ class AccountValueEntityTest {
     fun `value can be negative`() {
         val accountValue = AccountValue()
 
-        accountValue.value = -500.75f
+        accountValue.valueMantissa = -50075L
+        accountValue.valueScale = 2
 
-        assertEquals(-500.75f, accountValue.value, 0.001f)
+        assertEquals(-50075L, accountValue.valueMantissa)
+        assertEquals(2, accountValue.valueScale)
     }
 
     @Test
     fun `value can be zero`() {
         val accountValue = AccountValue()
-        accountValue.value = 100f
+        accountValue.valueMantissa = 100L
 
-        accountValue.value = 0f
+        accountValue.valueMantissa = 0L
 
-        assertEquals(0f, accountValue.value, 0.001f)
+        assertEquals(0L, accountValue.valueMantissa)
+        assertEquals(0, accountValue.valueScale)
     }
 
     @Test
@@ -116,9 +122,10 @@ class AccountValueEntityTest {
     fun `value handles large amounts`() {
         val accountValue = AccountValue()
 
-        accountValue.value = 999999.99f
+        accountValue.valueMantissa = 99999999999999L
+        accountValue.valueScale = 2
 
-        val value = accountValue.value
-        assertEquals(999999.99f, value, 1.0f) // Float has limited precision
+        assertEquals(99999999999999L, accountValue.valueMantissa)
+        assertEquals(2, accountValue.valueScale)
     }
 }
@@ -0,0 +1,52 @@
+/*
+ * Copyright © 2026 Damyan Ivanov.
+ * This file is part of MoLe.
+ * MoLe is free software: you can distribute it and/or modify it
+ * under the term of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your opinion), any later version.
+ *
+ * MoLe is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License terms for details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MoLe. If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.ktnx.mobileledger.db
+
+import net.ktnx.mobileledger.core.database.dao.FtsQuery
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNull
+import org.junit.Test
+
+class FtsQueryTest {
+
+    @Test
+    fun `single word becomes a prefix query`() {
+        assertEquals("\"GROC*\"", FtsQuery.prefixPhrase("GROC"))
+    }
+
+    @Test
+    fun `account separators split the phrase into words`() {
+        assertEquals("\"Expenses Fo*\"", FtsQuery.prefixPhrase("Expenses:Fo"))
+        assertEquals("\"Assets Bank Sav*\"", FtsQuery.prefixPhrase("Assets:Bank  Sav"))
+    }
+
+    @Test
+    fun `query syntax characters are dropped`() {
+        assertEquals("\"a b OR c*\"", FtsQuery.prefixPhrase("a\"b* OR -c"))
+    }
+
+    @Test
+    fun `non-latin words are kept`() {
+        assertEquals("\"食費 現金*\"", FtsQuery.prefixPhrase("食費:現金"))
+    }
+
+    @Test
+    fun `term without words gives no query`() {
+        assertNull(FtsQuery.prefixPhrase(""))
+        assertNull(FtsQuery.prefixPhrase(" : "))
+    }
+}
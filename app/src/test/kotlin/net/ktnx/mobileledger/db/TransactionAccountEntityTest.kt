@@ -36,7 +36,8 @@ class TransactionAccountEntityTest {
         assertEquals(0, account.orderNo)
         assertEquals("", account.accountName)
         assertEquals("", account.currency)
-        assertEquals(0f, account.amount, 0.001f)
+        assertEquals(0L, account.amountMantissa)
+        assertEquals(0, account.amountScale)
         assertNull(account.comment)
         assertNull(account.amountStyle)
         assertEquals(0L, account.generation)
@@ -51,7 +52,8 @@ class TransactionAccountEntityTest {
         account.orderNo = 1
         account.accountName = "Expenses:Food"
         account.currency = "USD"
-        account.amount = 100.50f
+        account.amountMantissa = 1005L
+        account.amountScale = 1
         account.comment = "Groceries"
         account.amountStyle = "1,234.56"
         account.generation = 5L
@@ -61,7 +63,8 @@ class TransactionAccountEntityTest {
         assertEquals(1, account.orderNo)
         assertEquals("Expenses:Food", account.accountName)
         assertEquals("USD", account.currency)
-        assertEquals(100.50f, account.amount, 0.001f)
+        assertEquals(1005L, account.amountMantissa)
+        assertEquals(1, account.amountScale)
         assertEquals("Groceries", account.comment)
         assertEquals("1,234.56", account.amountStyle)
         assertEquals(5L, account.generation)
@@ -73,9 +76,10 @@ class TransactionAccountEntityTest {
             id = 999L
             transactionId = 42L
             orderNo = 2
+            accountId = 7L
             accountName = "Assets:Cash"
             currency = "EUR"
-            amount = 250.00f
+            amountMantissa = 250L
             comment = "Withdrawal"
             amountStyle = "1.234,56"
             generation = 15L
@@ -92,9 +96,11 @@ class TransactionAccountEntityTest {
         // all other fields should be copied
         assertEquals(42L, target.transactionId)
         assertEquals(2, target.orderNo)
+        assertEquals(7L, target.accountId)
         assertEquals("Assets:Cash", target.accountName)
         assertEquals("EUR", target.currency)
-        assertEquals(250.00f, target.amount, 0.001f)
+        assertEquals(250L, target.amountMantissa)
+        assertEquals(0, target.amountScale)
         assertEquals("Withdrawal", target.comment)
         assertEquals("1.234,56", target.amountStyle)
         assertEquals(15L, target.generation)
@@ -147,19 +153,22 @@ class TransactionAccountEntityTest {
     fun `amount can be negative`() {
         val account = TransactionAccount()
 
-        account.amount = -500.75f
+        account.amountMantissa = -50075L
+        account.amountScale = 2
 
-        assertEquals(-500.75f, account.amount, 0.001f)
+        assertEquals(-50075L, account.amountMantissa)
+        assertEquals(2, account.amountScale)
     }
 
     @Test
     fun `amount can be zero`() {
         val account = TransactionAccount()
-        account.amount = 100f
+        account.amountMantissa = 100L
 
-        account.amount = 0f
+        account.amountMantissa = 0L
 
-        assertEquals(0f, account.amount, 0.001f)
+        assertEquals(0L, account.amountMantissa)
+        assertEquals(0, account.amountScale)
     }
 
     @Test
@@ -17,6 +17,7 @@
 
 package net.ktnx.mobileledger.db
 
+import net.ktnx.mobileledger.core.common.utils.SimpleDate
 import net.ktnx.mobileledger.core.database.entity.Transaction
 import org.junit.Assert.assertEquals
 import org.junit.Assert.assertNull
@@ -38,6 +39,7 @@ class TransactionEntityTest {
         assertEquals(0, transaction.year)
         assertEquals(0, transaction.month)
         assertEquals(0, transaction.day)
+        assertEquals(0, transaction.date)
         assertEquals("", transaction.description)
         assertEquals("", transaction.descriptionUpper)
         assertNull(transaction.comment)
@@ -54,6 +56,22 @@ class TransactionEntityTest {
         assertEquals("TEST DESCRIPTION", transaction.descriptionUpper)
     }
 
+    @Test
+    fun `date setters update packed date`() {
+        val transaction = Transaction()
+
+        transaction.year = 2026
+        transaction.month = 3
+        transaction.day = 9
+
+        assertEquals(20260309, transaction.date)
+        assertEquals(SimpleDate(2026, 3, 9).packed, transaction.date)
+
+        transaction.month = 11
+
+        assertEquals(20261109, transaction.date)
+    }
+
     @Test
     fun `description setter with lowercase`() {
         val transaction = Transaction()
@@ -125,6 +143,7 @@ class TransactionEntityTest {
         assertEquals(2026, target.year)
         assertEquals(1, target.month)
         assertEquals(21, target.day)
+        assertEquals(20260121, target.date)
         assertEquals("Original Description", target.description)
         assertEquals("ORIGINAL DESCRIPTION", target.descriptionUpper)
         assertEquals("Test comment", target.comment)
@@ -22,10 +22,12 @@ import dagger.Provides
 import dagger.hilt.components.SingletonComponent
 import dagger.hilt.testing.TestInstallIn
 import javax.inject.Singleton
+import net.ktnx.mobileledger.core.sync.ApiVersionResolver
 import net.ktnx.mobileledger.di.UseCaseModule
 import net.ktnx.mobileledger.domain.usecase.ConfigBackup
 import net.ktnx.mobileledger.domain.usecase.DatabaseInitializer
 import net.ktnx.mobileledger.domain.usecase.VersionDetector
+import net.ktnx.mobileledger.fake.FakeApiVersionResolver
 import net.ktnx.mobileledger.fake.FakeConfigBackup
 import net.ktnx.mobileledger.fake.FakeDatabaseInitializer
 import net.ktnx.mobileledger.fake.FakeVersionDetector
@@ -96,4 +98,15 @@ object TestUseCaseModule {
     @Provides
     @Singleton
     fun provideDatabaseInitializer(): DatabaseInitializer = FakeDatabaseInitializer()
+
+    /**
+     * Provides FakeApiVersionResolver for testing API version resolution.
+     *
+     * Test scenarios:
+     * - Unresolved: all of API.allVersions are tried
+     * - Resolved: apiVersionResolver.resolvedVersion = API.v1_50
+     */
+    @Provides
+    @Singleton
+    fun provideApiVersionResolver(): ApiVersionResolver = FakeApiVersionResolver()
 }
@@ -30,63 +30,63 @@ class AccountAmountTest {
 
     @Test
     fun `properties stored correctly`() {
-        val amount = AccountAmount(currency = "USD", amount = 100.50f)
+        val amount = AccountAmount(currency = "USD", amount = Amount.parse("100.50"))
 
         assertEquals("USD", amount.currency)
-        assertEquals(100.50f, amount.amount)
+        assertEquals(Amount.parse("100.50"), amount.amount)
     }
 
     @Test
     fun `empty currency represents default`() {
-        val amount = AccountAmount(currency = "", amount = 50.0f)
+        val amount = AccountAmount(currency = "", amount = Amount.of(50))
 
         assertEquals("", amount.currency)
     }
 
     @Test
     fun `negative amount supported`() {
-        val amount = AccountAmount(currency = "JPY", amount = -1000.0f)
+        val amount = AccountAmount(currency = "JPY", amount = Amount.of(-1000))
 
-        assertEquals(-1000.0f, amount.amount)
+        assertEquals(Amount.of(-1000), amount.amount)
     }
 
     @Test
     fun `zero amount supported`() {
-        val amount = AccountAmount(currency = "EUR", amount = 0.0f)
+        val amount = AccountAmount(currency = "EUR", amount = Amount.ZERO)
 
-        assertEquals(0.0f, amount.amount)
+        assertEquals(Amount.ZERO, amount.amount)
     }
 
     @Test
     fun `equals compares all fields`() {
-        val amount1 = AccountAmount("USD", 100.0f)
-        val amount2 = AccountAmount("USD", 100.0f)
+        val amount1 = AccountAmount("USD", Amount.of(100))
+        val amount2 = AccountAmount("USD", Amount.of(100))
 
         assertEquals(amount1, amount2)
     }
 
     @Test
     fun `different currency not equal`() {
-        val amount1 = AccountAmount("USD", 100.0f)
-        val amount2 = AccountAmount("EUR", 100.0f)
+        val amount1 = AccountAmount("USD", Amount.of(100))
+        val amount2 = AccountAmount("EUR", Amount.of(100))
 
         assertNotEquals(amount1, amount2)
     }
 
     @Test
     fun `different amount not equal`() {
-        val amount1 = AccountAmount("USD", 100.0f)
-        val amount2 = AccountAmount("USD", 200.0f)
+        val amount1 = AccountAmount("USD", Amount.of(100))
+        val amount2 = AccountAmount("USD", Amount.of(200))
 
         assertNotEquals(amount1, amount2)
     }
 
     @Test
     fun `copy preserves unchanged fields`() {
-        val original = AccountAmount("USD", 100.0f)
-        val modified = original.copy(amount = 200.0f)
+        val original = AccountAmount("USD", Amount.of(100))
+        val modified = original.copy(amount = Amount.of(200))
 
         assertEquals("USD", modified.currency)
-        assertEquals(200.0f, modified.amount)
+        assertEquals(Amount.of(200), modified.amount)
     }
 }
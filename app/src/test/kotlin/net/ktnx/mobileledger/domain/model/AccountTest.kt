@@ -94,7 +94,7 @@ class AccountTest {
             id = 1L,
             name = "Assets",
             amounts = listOf(
-                AccountAmount(currency = "USD", amount = 100f)
+                AccountAmount(currency = "USD", amount = Amount.of(100))
             )
         )
 
@@ -107,8 +107,8 @@ class AccountTest {
             id = 1L,
             name = "Assets",
             amounts = listOf(
-                AccountAmount(currency = "USD", amount = 100f),
-                AccountAmount(currency = "EUR", amount = 50f)
+                AccountAmount(currency = "USD", amount = Amount.of(100)),
+                AccountAmount(currency = "EUR", amount = Amount.of(50))
             )
         )
 
@@ -163,7 +163,7 @@ class AccountTest {
             level = 1,
             isExpanded = true,
             isVisible = true,
-            amounts = listOf(AccountAmount(currency = "USD", amount = 100f))
+            amounts = listOf(AccountAmount(currency = "USD", amount = Amount.of(100)))
         )
 
         val copy = original.copy(isExpanded = false)
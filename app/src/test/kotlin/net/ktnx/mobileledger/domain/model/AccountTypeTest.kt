@@ -0,0 +1,51 @@
+/*
+ * Copyright © 2026 Damyan Ivanov.
+ * This file is part of MoLe.
+ * MoLe is free software: you can distribute it and/or modify it
+ * under the term of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your opinion), any later version.
+ *
+ * MoLe is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License terms for details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MoLe. If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.ktnx.mobileledger.domain.model
+
+import net.ktnx.mobileledger.core.domain.model.AccountType
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNull
+import org.junit.Test
+
+/**
+ * Unit tests for [AccountType].
+ */
+class AccountTypeTest {
+
+    @Test
+    fun `top-level names select the type`() {
+        assertEquals(AccountType.ASSET, AccountType.fromAccountName("Assets:Receivable"))
+        assertEquals(AccountType.LIABILITY, AccountType.fromAccountName("liabilities:card"))
+        assertEquals(AccountType.LIABILITY, AccountType.fromAccountName("Debts"))
+        assertEquals(AccountType.EQUITY, AccountType.fromAccountName("Equity:Opening balances"))
+        assertEquals(AccountType.REVENUE, AccountType.fromAccountName("Revenues:Sales"))
+        assertEquals(AccountType.EXPENSE, AccountType.fromAccountName("Expenses:Food"))
+    }
+
+    @Test
+    fun `bank and cash assets are cash accounts`() {
+        assertEquals(AccountType.CASH, AccountType.fromAccountName("Assets:Cash"))
+        assertEquals(AccountType.CASH, AccountType.fromAccountName("Assets:Bank:Savings"))
+        assertEquals(AccountType.CASH, AccountType.fromAccountName("assets:current"))
+    }
+
+    @Test
+    fun `other names have no type`() {
+        assertNull(AccountType.fromAccountName("Assetsx"))
+        assertNull(AccountType.fromAccountName("Food:Expenses"))
+    }
+}
@@ -419,6 +419,20 @@ class AmountStyleTest {
         assertEquals("ETH1.23456", result)
     }
 
+    @Test
+    fun `formatAccountAmount with Amount keeps digits beyond Float precision`() {
+        val style = AmountStyle(AmountStyle.Position.BEFORE, true, 2, ".")
+        val result = AmountStyle.formatAccountAmount(Amount.parse("123456789.01"), "USD", style)
+        assertEquals("USD 123,456,789.01", result)
+    }
+
+    @Test
+    fun `formatAccountAmount with Amount and comma decimal mark`() {
+        val style = AmountStyle(AmountStyle.Position.AFTER, true, 2, ",")
+        val result = AmountStyle.formatAccountAmount(Amount.parse("-34.5"), "EUR", style)
+        assertEquals("-34,50 EUR", result)
+    }
+
     // ========================================
     // Position enum tests
     // ========================================
@@ -0,0 +1,142 @@
+/*
+ * Copyright © 2026 Damyan Ivanov.
+ * This file is part of MoLe.
+ * MoLe is free software: you can distribute it and/or modify it
+ * under the term of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your opinion), any later version.
+ *
+ * MoLe is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License terms for details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MoLe. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package net.ktnx.mobileledger.domain.model
+
+import java.math.BigDecimal
+import net.ktnx.mobileledger.core.domain.model.Amount
+import net.ktnx.mobileledger.core.domain.model.sumOfAmount
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertNotEquals
+import org.junit.Assert.assertTrue
+import org.junit.Test
+
+/**
+ * Unit tests for [Amount].
+ */
+class AmountTest {
+
+    @Test
+    fun `of strips trailing zeros`() {
+        val amount = Amount.of(12300, 3)
+
+        assertEquals(123L, amount.mantissa)
+        assertEquals(1, amount.scale)
+        assertEquals(Amount.of(123, 1), amount)
+        assertEquals(Amount.of(123, 1).hashCode(), amount.hashCode())
+    }
+
+    @Test
+    fun `of with zero mantissa returns ZERO`() {
+        assertEquals(Amount.ZERO, Amount.of(0, 5))
+        assertTrue(Amount.of(0, 5).isZero)
+    }
+
+    @Test
+    fun `of with negative scale multiplies mantissa`() {
+        assertEquals(Amount.of(1500), Amount.of(15, -2))
+    }
+
+    @Test
+    fun `plus adds amounts with different scales exactly`() {
+        val sum = Amount.parse("0.1") + Amount.parse("0.2")
+
+        assertEquals(Amount.parse("0.3"), sum)
+    }
+
+    @Test
+    fun `minus subtracts amounts with different scales exactly`() {
+        assertEquals(Amount.parse("-0.875"), Amount.parse("1.125") - Amount.of(2))
+    }
+
+    @Test
+    fun `sum of many cents stays exact`() {
+        val sum = List(1000) { Amount.parse("0.01") }.sumOfAmount { it }
+
+        assertEquals(Amount.of(10), sum)
+    }
+
+    @Test
+    fun `plus rounds fractional digits when the mantissa overflows`() {
+        val amount = Amount.of(9_000_000_000_000_000_001L, 2)
+
+        assertEquals(Amount.of(180_000_000_000_000_000L), amount + amount)
+    }
+
+    @Test(expected = ArithmeticException::class)
+    fun `plus throws when the integer part overflows`() {
+        Amount.of(Long.MAX_VALUE) + Amount.of(1)
+    }
+
+    @Test
+    fun `compareTo handles scale differences beyond Long range`() {
+        assertTrue(Amount.of(Long.MAX_VALUE) > Amount.of(1, 1))
+    }
+
+    @Test
+    fun `of BigDecimal rounds to fit the mantissa`() {
+        val amount = Amount.of(BigDecimal("1.00000000000000000000000005"))
+
+        assertEquals(Amount.of(1), amount)
+    }
+
+    @Test
+    fun `unaryMinus and abs`() {
+        val amount = Amount.parse("-12.5")
+
+        assertEquals(Amount.parse("12.5"), -amount)
+        assertEquals(Amount.parse("12.5"), amount.abs())
+        assertEquals(-1, amount.signum())
+        assertEquals(0, Amount.ZERO.signum())
+    }
+
+    @Test
+    fun `compareTo orders amounts with different scales`() {
+        assertTrue(Amount.parse("1.05") > Amount.of(1))
+        assertTrue(Amount.parse("-0.001") < Amount.ZERO)
+        assertEquals(0, Amount.parse("2.50").compareTo(Amount.of(25, 1)))
+    }
+
+    @Test
+    fun `parse reads plain decimal text`() {
+        assertEquals(Amount.of(-1250, 2), Amount.parse(" -12.50 "))
+    }
+
+    @Test(expected = NumberFormatException::class)
+    fun `parse rejects non-numeric text`() {
+        Amount.parse("abc")
+    }
+
+    @Test
+    fun `fromFloat uses the shortest decimal representation`() {
+        assertEquals(Amount.parse("0.1"), Amount.fromFloat(0.1f))
+        assertEquals(Amount.parse("-25.5"), Amount.fromFloat(-25.5f))
+    }
+
+    @Test
+    fun `toPlainString does not use exponent notation`() {
+        assertEquals("0.0000001", Amount.of(1, 7).toPlainString())
+        assertEquals("1000", Amount.of(1000).toPlainString())
+    }
+
+    @Test
+    fun `equals distinguishes different values`() {
+        assertNotEquals(Amount.parse("1.5"), Amount.parse("1.05"))
+        assertFalse(Amount.parse("1.5").isZero)
+    }
+}
@@ -143,6 +143,12 @@ class SyncStateTest {
         assertEquals("1000件の取引、50件の勘定科目を同期しました", result.summaryMessage)
     }
 
+    @Test
+    fun `SyncResult summaryMessage when unchanged`() {
+        val result = SyncResult(0, 0, 300L, isUnchanged = true)
+        assertEquals("前回の同期から変更はありません", result.summaryMessage)
+    }
+
     @Test
     fun `Completed equality based on result`() {
         val result1 = SyncResult(100, 50, 1000L)
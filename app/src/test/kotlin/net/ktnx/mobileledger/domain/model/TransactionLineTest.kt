@@ -31,7 +31,7 @@ class TransactionLineTest {
     fun `hasAmount returns true when amount is set`() {
         val line = TransactionLine(
             accountName = "Assets:Cash",
-            amount = 100f
+            amount = Amount.of(100)
         )
 
         assertTrue(line.hasAmount)
@@ -54,9 +54,9 @@ class TransactionLineTest {
             amount = null
         )
 
-        val updated = original.withAmount(100f)
+        val updated = original.withAmount(Amount.of(100))
 
-        assertEquals(100f, updated.amount)
+        assertEquals(Amount.of(100), updated.amount)
         assertEquals("Assets:Cash", updated.accountName)
         assertNull(original.amount) // original unchanged
     }
@@ -65,14 +65,14 @@ class TransactionLineTest {
     fun `withoutAmount creates new line with null amount`() {
         val original = TransactionLine(
             accountName = "Assets:Cash",
-            amount = 100f
+            amount = Amount.of(100)
         )
 
         val updated = original.withoutAmount()
 
         assertNull(updated.amount)
         assertEquals("Assets:Cash", updated.accountName)
-        assertEquals(100f, original.amount) // original unchanged
+        assertEquals(Amount.of(100), original.amount) // original unchanged
     }
 
     @Test
@@ -17,6 +17,7 @@
 
 package net.ktnx.mobileledger.domain.model
 
+import net.ktnx.mobileledger.core.common.utils.NameDictionary
 import net.ktnx.mobileledger.core.common.utils.SimpleDate
 import net.ktnx.mobileledger.core.domain.model.*
 import org.junit.Assert.assertEquals
@@ -73,8 +74,8 @@ class TransactionTest {
             date = SimpleDate(2026, 1, 16),
             description = "Test",
             lines = listOf(
-                TransactionLine(accountName = "Assets:Cash", amount = 100f),
-                TransactionLine(accountName = "Expenses:Food", amount = -100f)
+                TransactionLine(accountName = "Assets:Cash", amount = Amount.of(100)),
+                TransactionLine(accountName = "Expenses:Food", amount = Amount.of(-100))
             )
         )
 
@@ -89,8 +90,8 @@ class TransactionTest {
             date = SimpleDate(2026, 1, 16),
             description = "Test",
             lines = listOf(
-                TransactionLine(accountName = "Assets:Cash", amount = 100f),
-                TransactionLine(accountName = "Expenses:Food", amount = -50f)
+                TransactionLine(accountName = "Assets:Cash", amount = Amount.of(100)),
+                TransactionLine(accountName = "Expenses:Food", amount = Amount.of(-50))
             )
         )
 
@@ -106,8 +107,8 @@ class TransactionTest {
             date = SimpleDate(2026, 1, 16),
             description = "Test",
             lines = listOf(
-                TransactionLine(accountName = "Assets:Cash", amount = 100f, currency = "USD"),
-                TransactionLine(accountName = "Expenses:Food", amount = -100f, currency = "EUR")
+                TransactionLine(accountName = "Assets:Cash", amount = Amount.of(100), currency = "USD"),
+                TransactionLine(accountName = "Expenses:Food", amount = Amount.of(-100), currency = "EUR")
             )
         )
 
@@ -122,7 +123,7 @@ class TransactionTest {
             date = SimpleDate(2026, 1, 16),
             description = "Test",
             lines = listOf(
-                TransactionLine(accountName = "Assets:Cash", amount = 100f),
+                TransactionLine(accountName = "Assets:Cash", amount = Amount.of(100)),
                 TransactionLine(accountName = "Expenses:Food", amount = null) // auto-calculated
             )
         )
@@ -139,8 +140,8 @@ class TransactionTest {
             date = SimpleDate(2026, 1, 16),
             description = "Test",
             lines = listOf(
-                TransactionLine(accountName = "Assets:Cash", amount = 100f),
-                TransactionLine(accountName = "Expenses:Food", amount = -100f)
+                TransactionLine(accountName = "Assets:Cash", amount = Amount.of(100)),
+                TransactionLine(accountName = "Expenses:Food", amount = Amount.of(-100))
             )
         )
 
@@ -155,21 +156,38 @@ class TransactionTest {
             date = SimpleDate(2026, 1, 16),
             description = "Test",
             lines = listOf(
-                TransactionLine(accountName = "Assets:Cash", amount = 100f)
+                TransactionLine(accountName = "Assets:Cash", amount = Amount.of(100))
             )
         )
 
         assertFalse(transaction.hasAccountNamed("Expenses"))
     }
 
+    @Test
+    fun `hasAccountNamed with dictionary matches case-insensitively`() {
+        val transaction = Transaction(
+            date = SimpleDate(2026, 1, 16),
+            description = "Test",
+            lines = listOf(
+                TransactionLine(accountName = "Assets:Cash", amount = Amount.of(100)),
+                TransactionLine(accountName = "Expenses:Food", amount = Amount.of(-100))
+            )
+        )
+        val names = NameDictionary()
+
+        assertTrue(transaction.hasAccountNamed("cash", names))
+        assertTrue(transaction.hasAccountNamed("EXPENSES:FOOD", names))
+        assertFalse(transaction.hasAccountNamed("Income", names))
+    }
+
     @Test
     fun `withLine adds a new line`() {
         val original = Transaction(
             date = SimpleDate(2026, 1, 16),
             description = "Test",
-            lines = listOf(TransactionLine(accountName = "Assets:Cash", amount = 100f))
+            lines = listOf(TransactionLine(accountName = "Assets:Cash", amount = Amount.of(100)))
         )
-        val newLine = TransactionLine(accountName = "Expenses:Food", amount = -100f)
+        val newLine = TransactionLine(accountName = "Expenses:Food", amount = Amount.of(-100))
 
         val updated = original.withLine(newLine)
 
@@ -184,11 +202,11 @@ class TransactionTest {
             date = SimpleDate(2026, 1, 16),
             description = "Test",
             lines = listOf(
-                TransactionLine(accountName = "Assets:Cash", amount = 100f),
-                TransactionLine(accountName = "Expenses:Food", amount = -100f)
+                TransactionLine(accountName = "Assets:Cash", amount = Amount.of(100)),
+                TransactionLine(accountName = "Expenses:Food", amount = Amount.of(-100))
             )
         )
-        val updatedLine = TransactionLine(accountName = "Expenses:Groceries", amount = -100f)
+        val updatedLine = TransactionLine(accountName = "Expenses:Groceries", amount = Amount.of(-100))
 
         val updated = original.withUpdatedLine(1, updatedLine)
 
@@ -247,14 +265,14 @@ class TransactionTest {
             date = SimpleDate(2026, 1, 16),
             description = "Test",
             lines = listOf(
-                TransactionLine(accountName = "Assets:Cash", amount = 100f, currency = ""),
-                TransactionLine(accountName = "Expenses:Food", amount = -50f, currency = ""),
-                TransactionLine(accountName = "Expenses:Transport", amount = -30f, currency = "")
+                TransactionLine(accountName = "Assets:Cash", amount = Amount.of(100), currency = ""),
+                TransactionLine(accountName = "Expenses:Food", amount = Amount.of(-50), currency = ""),
+                TransactionLine(accountName = "Expenses:Transport", amount = Amount.of(-30), currency = "")
             )
         )
 
         assertEquals(1, transaction.balancePerCurrency.size)
-        assertEquals(20f, transaction.balancePerCurrency[""]!!, 0.001f)
+        assertEquals(Amount.of(20), transaction.balancePerCurrency[""])
     }
 
     @Test
@@ -263,15 +281,15 @@ class TransactionTest {
             date = SimpleDate(2026, 1, 16),
             description = "Test",
             lines = listOf(
-                TransactionLine(accountName = "Assets:USD", amount = 100f, currency = "USD"),
-                TransactionLine(accountName = "Assets:EUR", amount = 50f, currency = "EUR"),
-                TransactionLine(accountName = "Expenses:Travel", amount = -100f, currency = "USD")
+                TransactionLine(accountName = "Assets:USD", amount = Amount.of(100), currency = "USD"),
+                TransactionLine(accountName = "Assets:EUR", amount = Amount.of(50), currency = "EUR"),
+                TransactionLine(accountName = "Expenses:Travel", amount = Amount.of(-100), currency = "USD")
             )
         )
 
         assertEquals(2, transaction.balancePerCurrency.size)
-        assertEquals(0f, transaction.balancePerCurrency["USD"]!!, 0.001f)
-        assertEquals(50f, transaction.balancePerCurrency["EUR"]!!, 0.001f)
+        assertEquals(Amount.ZERO, transaction.balancePerCurrency["USD"])
+        assertEquals(Amount.of(50), transaction.balancePerCurrency["EUR"])
     }
 
     @Test
@@ -280,13 +298,13 @@ class TransactionTest {
             date = SimpleDate(2026, 1, 16),
             description = "Test",
             lines = listOf(
-                TransactionLine(accountName = "Assets:Cash", amount = 100f, currency = ""),
+                TransactionLine(accountName = "Assets:Cash", amount = Amount.of(100), currency = ""),
                 TransactionLine(accountName = "Expenses:Food", amount = null, currency = "")
             )
         )
 
         assertEquals(1, transaction.balancePerCurrency.size)
-        assertEquals(100f, transaction.balancePerCurrency[""]!!, 0.001f)
+        assertEquals(Amount.of(100), transaction.balancePerCurrency[""])
     }
 
     // Tests for isBalanced
@@ -297,8 +315,8 @@ class TransactionTest {
             date = SimpleDate(2026, 1, 16),
             description = "Test",
             lines = listOf(
-                TransactionLine(accountName = "Assets:Cash", amount = 100f),
-                TransactionLine(accountName = "Expenses:Food", amount = -100f)
+                TransactionLine(accountName = "Assets:Cash", amount = Amount.of(100)),
+                TransactionLine(accountName = "Expenses:Food", amount = Amount.of(-100))
             )
         )
 
@@ -311,7 +329,7 @@ class TransactionTest {
             date = SimpleDate(2026, 1, 16),
             description = "Test",
             lines = listOf(
-                TransactionLine(accountName = "Assets:Cash", amount = 100f),
+                TransactionLine(accountName = "Assets:Cash", amount = Amount.of(100)),
                 TransactionLine(accountName = "Expenses:Food", amount = null)
             )
         )
@@ -325,7 +343,7 @@ class TransactionTest {
             date = SimpleDate(2026, 1, 16),
             description = "Test",
             lines = listOf(
-                TransactionLine(accountName = "Assets:Cash", amount = 100f),
+                TransactionLine(accountName = "Assets:Cash", amount = Amount.of(100)),
                 TransactionLine(accountName = "Expenses:Food", amount = null),
                 TransactionLine(accountName = "Expenses:Transport", amount = null)
             )
@@ -340,8 +358,8 @@ class TransactionTest {
             date = SimpleDate(2026, 1, 16),
             description = "Test",
             lines = listOf(
-                TransactionLine(accountName = "Assets:Cash", amount = 100f),
-                TransactionLine(accountName = "Expenses:Food", amount = -100.001f)
+                TransactionLine(accountName = "Assets:Cash", amount = Amount.of(100)),
+                TransactionLine(accountName = "Expenses:Food", amount = Amount.parse("-100.001"))
             )
         )
 
@@ -355,8 +373,8 @@ class TransactionTest {
             date = SimpleDate(2026, 1, 16),
             description = "Test",
             lines = listOf(
-                TransactionLine(accountName = "Assets:Cash", amount = 100f),
-                TransactionLine(accountName = "Expenses:Food", amount = -99f)
+                TransactionLine(accountName = "Assets:Cash", amount = Amount.of(100)),
+                TransactionLine(accountName = "Expenses:Food", amount = Amount.of(-99))
             )
         )
 
@@ -371,12 +389,12 @@ class TransactionTest {
             date = SimpleDate(2026, 1, 16),
             description = "Test",
             lines = listOf(
-                TransactionLine(accountName = "Assets:Cash", amount = 100f, currency = ""),
+                TransactionLine(accountName = "Assets:Cash", amount = Amount.of(100), currency = ""),
                 TransactionLine(accountName = "Expenses:Food", amount = null, currency = "")
             )
         )
 
-        assertEquals(-100f, transaction.getAutoBalanceAmount("")!!, 0.001f)
+        assertEquals(Amount.of(-100), transaction.getAutoBalanceAmount(""))
     }
 
     @Test
@@ -385,7 +403,7 @@ class TransactionTest {
             date = SimpleDate(2026, 1, 16),
             description = "Test",
             lines = listOf(
-                TransactionLine(accountName = "Assets:Cash", amount = 100f, currency = ""),
+                TransactionLine(accountName = "Assets:Cash", amount = Amount.of(100), currency = ""),
                 TransactionLine(accountName = "Expenses:Food", amount = null, currency = ""),
                 TransactionLine(accountName = "Expenses:Transport", amount = null, currency = "")
             )
@@ -400,8 +418,8 @@ class TransactionTest {
             date = SimpleDate(2026, 1, 16),
             description = "Test",
             lines = listOf(
-                TransactionLine(accountName = "Assets:Cash", amount = 100f, currency = ""),
-                TransactionLine(accountName = "Expenses:Food", amount = -100f, currency = "")
+                TransactionLine(accountName = "Assets:Cash", amount = Amount.of(100), currency = ""),
+                TransactionLine(accountName = "Expenses:Food", amount = Amount.of(-100), currency = "")
             )
         )
 
@@ -416,7 +434,7 @@ class TransactionTest {
             date = SimpleDate(2026, 1, 16),
             description = "Test",
             lines = listOf(
-                TransactionLine(accountName = "Assets:Cash", amount = 100f, currency = ""),
+                TransactionLine(accountName = "Assets:Cash", amount = Amount.of(100), currency = ""),
                 TransactionLine(accountName = "Expenses:Food", amount = null, currency = "")
             )
         )
@@ -424,7 +442,7 @@ class TransactionTest {
         val autoBalanced = transaction.withAutoBalance()
 
         assertEquals(2, autoBalanced.lines.size)
-        assertEquals(-100f, autoBalanced.lines[1].amount!!, 0.001f)
+        assertEquals(Amount.of(-100), autoBalanced.lines[1].amount)
     }
 
     @Test
@@ -433,7 +451,7 @@ class TransactionTest {
             date = SimpleDate(2026, 1, 16),
             description = "Test",
             lines = listOf(
-                TransactionLine(accountName = "Assets:Cash", amount = 100f, currency = ""),
+                TransactionLine(accountName = "Assets:Cash", amount = Amount.of(100), currency = ""),
                 TransactionLine(accountName = "Expenses:Food", amount = null, currency = ""),
                 TransactionLine(accountName = "Expenses:Transport", amount = null, currency = "")
             )
@@ -452,8 +470,8 @@ class TransactionTest {
             date = SimpleDate(2026, 1, 16),
             description = "Test",
             lines = listOf(
-                TransactionLine(accountName = "Assets:USD", amount = 100f, currency = "USD"),
-                TransactionLine(accountName = "Assets:EUR", amount = 50f, currency = "EUR"),
+                TransactionLine(accountName = "Assets:USD", amount = Amount.of(100), currency = "USD"),
+                TransactionLine(accountName = "Assets:EUR", amount = Amount.of(50), currency = "EUR"),
                 TransactionLine(accountName = "Expenses:USD", amount = null, currency = "USD"),
                 TransactionLine(accountName = "Expenses:EUR", amount = null, currency = "EUR")
             )
@@ -461,8 +479,8 @@ class TransactionTest {
 
         val autoBalanced = transaction.withAutoBalance()
 
-        assertEquals(-100f, autoBalanced.lines[2].amount!!, 0.001f)
-        assertEquals(-50f, autoBalanced.lines[3].amount!!, 0.001f)
+        assertEquals(Amount.of(-100), autoBalanced.lines[2].amount)
+        assertEquals(Amount.of(-50), autoBalanced.lines[3].amount)
     }
 
     @Test
@@ -471,7 +489,7 @@ class TransactionTest {
             date = SimpleDate(2026, 1, 16),
             description = "Test",
             lines = listOf(
-                TransactionLine(accountName = "Assets:Cash", amount = 100f, currency = ""),
+                TransactionLine(accountName = "Assets:Cash", amount = Amount.of(100), currency = ""),
                 TransactionLine(accountName = "Expenses:Food", amount = null, currency = "")
             )
         )
@@ -481,7 +499,7 @@ class TransactionTest {
         // Original should be unchanged
         assertEquals(null, original.lines[1].amount)
         // New transaction should have auto-balanced amount
-        assertEquals(-100f, autoBalanced.lines[1].amount!!, 0.001f)
+        assertEquals(Amount.of(-100), autoBalanced.lines[1].amount)
     }
 
     @Test
@@ -490,7 +508,7 @@ class TransactionTest {
             date = SimpleDate(2026, 1, 16),
             description = "Test",
             lines = listOf(
-                TransactionLine(accountName = "Assets:Cash", amount = 100f, currency = ""),
+                TransactionLine(accountName = "Assets:Cash", amount = Amount.of(100), currency = ""),
                 TransactionLine(accountName = "", amount = null, currency = ""), // blank account name
                 TransactionLine(accountName = "Expenses:Food", amount = null, currency = "")
             )
@@ -499,7 +517,7 @@ class TransactionTest {
         val autoBalanced = transaction.withAutoBalance()
 
         // Only one line with non-blank account name has null amount, so it should be filled
-        assertEquals(-100f, autoBalanced.lines[2].amount!!, 0.001f)
+        assertEquals(Amount.of(-100), autoBalanced.lines[2].amount)
         // Blank account name line should remain unchanged
         assertEquals(null, autoBalanced.lines[1].amount)
     }
@@ -513,8 +531,8 @@ class TransactionTest {
             date = SimpleDate(2026, 1, 16),
             description = "Test",
             lines = listOf(
-                TransactionLine(accountName = "Assets:Cash", amount = 100f),
-                TransactionLine(accountName = "Expenses:Food", amount = -100.003f)
+                TransactionLine(accountName = "Assets:Cash", amount = Amount.of(100)),
+                TransactionLine(accountName = "Expenses:Food", amount = Amount.parse("-100.003"))
             )
         )
 
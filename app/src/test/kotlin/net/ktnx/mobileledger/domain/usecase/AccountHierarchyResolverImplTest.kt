@@ -19,6 +19,7 @@ package net.ktnx.mobileledger.domain.usecase
 
 import net.ktnx.mobileledger.core.domain.model.Account
 import net.ktnx.mobileledger.core.domain.model.AccountAmount
+import net.ktnx.mobileledger.core.domain.model.Amount
 import net.ktnx.mobileledger.feature.account.usecase.AccountHierarchyResolver
 import net.ktnx.mobileledger.feature.account.usecase.AccountHierarchyResolverImpl
 import org.junit.Assert.assertEquals
@@ -47,7 +48,8 @@ class AccountHierarchyResolverImplTest {
             amounts = amounts
         )
 
-    private fun amount(amount: Float, currency: String = "USD") = AccountAmount(currency = currency, amount = amount)
+    private fun amount(amount: Long, currency: String = "USD") =
+        AccountAmount(currency = currency, amount = Amount.of(amount))
 
     // ========== resolve tests ==========
 
@@ -133,8 +135,8 @@ class AccountHierarchyResolverImplTest {
     @Test
     fun `filterZeroBalance returns all when showZeroBalance is true`() {
         val accounts = listOf(
-            account(name = "Assets", amounts = listOf(amount(0f))),
-            account(name = "Expenses", amounts = listOf(amount(100f)))
+            account(name = "Assets", amounts = listOf(amount(0))),
+            account(name = "Expenses", amounts = listOf(amount(100)))
         )
         val resolved = resolver.resolve(accounts)
 
@@ -146,9 +148,9 @@ class AccountHierarchyResolverImplTest {
     @Test
     fun `filterZeroBalance removes zero-balance accounts`() {
         val accounts = listOf(
-            account(id = 1, name = "Assets", amounts = listOf(amount(100f))),
-            account(id = 2, name = "Expenses", amounts = listOf(amount(0f))),
-            account(id = 3, name = "Income", amounts = listOf(amount(500f)))
+            account(id = 1, name = "Assets", amounts = listOf(amount(100))),
+            account(id = 2, name = "Expenses", amounts = listOf(amount(0))),
+            account(id = 3, name = "Income", amounts = listOf(amount(500)))
         )
         val resolved = resolver.resolve(accounts)
 
@@ -163,8 +165,8 @@ class AccountHierarchyResolverImplTest {
     @Test
     fun `filterZeroBalance keeps zero-balance parent of non-zero child`() {
         val accounts = listOf(
-            account(id = 1, name = "Assets", level = 0, amounts = listOf(amount(0f))),
-            account(id = 2, name = "Assets:Bank", level = 1, amounts = listOf(amount(100f)))
+            account(id = 1, name = "Assets", level = 0, amounts = listOf(amount(0))),
+            account(id = 2, name = "Assets:Bank", level = 1, amounts = listOf(amount(100)))
         )
         val resolved = resolver.resolve(accounts)
 
@@ -178,8 +180,8 @@ class AccountHierarchyResolverImplTest {
     @Test
     fun `filterZeroBalance removes zero-balance parent with zero children`() {
         val accounts = listOf(
-            account(id = 1, name = "Assets", level = 0, amounts = listOf(amount(0f))),
-            account(id = 2, name = "Assets:Bank", level = 1, amounts = listOf(amount(0f)))
+            account(id = 1, name = "Assets", level = 0, amounts = listOf(amount(0))),
+            account(id = 2, name = "Assets:Bank", level = 1, amounts = listOf(amount(0)))
         )
         val resolved = resolver.resolve(accounts)
 
@@ -192,7 +194,7 @@ class AccountHierarchyResolverImplTest {
     fun `filterZeroBalance handles empty amounts as zero`() {
         val accounts = listOf(
             account(id = 1, name = "Assets", amounts = emptyList()),
-            account(id = 2, name = "Expenses", amounts = listOf(amount(100f)))
+            account(id = 2, name = "Expenses", amounts = listOf(amount(100)))
         )
         val resolved = resolver.resolve(accounts)
 
@@ -208,12 +210,12 @@ class AccountHierarchyResolverImplTest {
             account(
                 id = 1,
                 name = "Assets",
-                amounts = listOf(amount(0f, "USD"), amount(100f, "EUR"))
+                amounts = listOf(amount(0, "USD"), amount(100, "EUR"))
             ),
             account(
                 id = 2,
                 name = "Expenses",
-                amounts = listOf(amount(0f, "USD"), amount(0f, "EUR"))
+                amounts = listOf(amount(0, "USD"), amount(0, "EUR"))
             )
         )
         val resolved = resolver.resolve(accounts)
@@ -236,12 +238,12 @@ class AccountHierarchyResolverImplTest {
         // Expenses (50) <- non-zero, kept
 
         val accounts = listOf(
-            account(id = 1, name = "Assets", level = 0, amounts = listOf(amount(0f))),
-            account(id = 2, name = "Assets:Bank", level = 1, amounts = listOf(amount(0f))),
-            account(id = 3, name = "Assets:Bank:Checking", level = 2, amounts = listOf(amount(100f))),
-            account(id = 4, name = "Assets:Bank:Savings", level = 2, amounts = listOf(amount(0f))),
-            account(id = 5, name = "Assets:Cash", level = 1, amounts = listOf(amount(0f))),
-            account(id = 6, name = "Expenses", level = 0, amounts = listOf(amount(50f)))
+            account(id = 1, name = "Assets", level = 0, amounts = listOf(amount(0))),
+            account(id = 2, name = "Assets:Bank", level = 1, amounts = listOf(amount(0))),
+            account(id = 3, name = "Assets:Bank:Checking", level = 2, amounts = listOf(amount(100))),
+            account(id = 4, name = "Assets:Bank:Savings", level = 2, amounts = listOf(amount(0))),
+            account(id = 5, name = "Assets:Cash", level = 1, amounts = listOf(amount(0))),
+            account(id = 6, name = "Expenses", level = 0, amounts = listOf(amount(50)))
         )
         val resolved = resolver.resolve(accounts)
 
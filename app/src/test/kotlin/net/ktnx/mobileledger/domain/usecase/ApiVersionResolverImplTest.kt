@@ -0,0 +1,117 @@
+/*
+ * Copyright © 2026 Damyan Ivanov.
+ * This file is part of MoLe.
+ * MoLe is free software: you can distribute it and/or modify it
+ * under the term of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your opinion), any later version.
+ *
+ * MoLe is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License terms for details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MoLe. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package net.ktnx.mobileledger.domain.usecase
+
+import kotlinx.coroutines.test.runTest
+import net.ktnx.mobileledger.core.domain.model.API
+import net.ktnx.mobileledger.core.domain.model.AppOption
+import net.ktnx.mobileledger.core.domain.model.ServerVersion
+import net.ktnx.mobileledger.core.testing.fake.FakeOptionRepository
+import net.ktnx.mobileledger.fake.FakeVersionDetector
+import net.ktnx.mobileledger.util.createTestDomainProfile
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNull
+import org.junit.Before
+import org.junit.Test
+
+/**
+ * Tests for [ApiVersionResolverImpl].
+ *
+ * Verifies that the API version of an auto profile is probed once, persisted,
+ * and discarded on invalidation or server version change.
+ */
+class ApiVersionResolverImplTest {
+
+    private lateinit var fakeVersionDetector: FakeVersionDetector
+    private lateinit var fakeOptionRepository: FakeOptionRepository
+    private lateinit var resolver: ApiVersionResolverImpl
+
+    @Before
+    fun setup() {
+        fakeVersionDetector = FakeVersionDetector()
+        fakeOptionRepository = FakeOptionRepository()
+        resolver = ApiVersionResolverImpl(fakeVersionDetector, fakeOptionRepository)
+    }
+
+    @Test
+    fun `fixed version is used without probing`() = runTest {
+        val profile = createTestDomainProfile(apiVersion = API.v1_40.toInt())
+
+        assertEquals(listOf(API.v1_40), resolver.candidates(profile))
+        assertEquals(0, fakeVersionDetector.detectCallCount)
+    }
+
+    @Test
+    fun `auto version is probed once and persisted`() = runTest {
+        val profile = createTestDomainProfile(apiVersion = API.auto.toInt())
+        fakeVersionDetector.versionToReturn = "1.51.2"
+
+        assertEquals(listOf(API.v1_50), resolver.candidates(profile))
+        assertEquals(listOf(API.v1_50), resolver.candidates(profile))
+
+        assertEquals(1, fakeVersionDetector.detectCallCount)
+        assertEquals(
+            API.v1_50.name,
+            fakeOptionRepository.getOption(1L, AppOption.OPT_RESOLVED_API)?.value?.substringBefore('|')
+        )
+    }
+
+    @Test
+    fun `failed probe yields all versions`() = runTest {
+        val profile = createTestDomainProfile(apiVersion = API.auto.toInt())
+        fakeVersionDetector.shouldSucceed = false
+
+        assertEquals(API.allVersions.toList(), resolver.candidates(profile))
+        assertNull(fakeOptionRepository.getOption(1L, AppOption.OPT_RESOLVED_API))
+    }
+
+    @Test
+    fun `remembered version is used without probing`() = runTest {
+        val profile = createTestDomainProfile(apiVersion = API.auto.toInt())
+
+        resolver.remember(profile, API.v1_32)
+
+        assertEquals(listOf(API.v1_32), resolver.candidates(profile))
+        assertEquals(0, fakeVersionDetector.detectCallCount)
+    }
+
+    @Test
+    fun `invalidate forces a new probe`() = runTest {
+        val profile = createTestDomainProfile(apiVersion = API.auto.toInt())
+        resolver.remember(profile, API.v1_32)
+        fakeVersionDetector.versionToReturn = "1.40"
+
+        resolver.invalidate(profile)
+
+        assertEquals(listOf(API.v1_40), resolver.candidates(profile))
+        assertEquals(1, fakeVersionDetector.detectCallCount)
+    }
+
+    @Test
+    fun `server version change discards resolved version`() = runTest {
+        val oldServer = createTestDomainProfile(apiVersion = API.auto.toInt())
+            .copy(serverVersion = ServerVersion(1, 32))
+        resolver.remember(oldServer, API.v1_32)
+        fakeVersionDetector.versionToReturn = "1.50"
+
+        val upgraded = oldServer.copy(serverVersion = ServerVersion(1, 50))
+
+        assertEquals(listOf(API.v1_50), resolver.candidates(upgraded))
+        assertEquals(1, fakeVersionDetector.detectCallCount)
+    }
+}
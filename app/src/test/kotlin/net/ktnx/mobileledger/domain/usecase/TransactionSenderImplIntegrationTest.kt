@@ -27,11 +27,14 @@ import kotlinx.coroutines.test.advanceUntilIdle
 import kotlinx.coroutines.test.runTest
 import net.ktnx.mobileledger.core.common.utils.SimpleDate
 import net.ktnx.mobileledger.core.domain.model.API
+import net.ktnx.mobileledger.core.domain.model.Amount
 import net.ktnx.mobileledger.core.domain.model.Transaction
 import net.ktnx.mobileledger.core.domain.model.TransactionLine
 import net.ktnx.mobileledger.core.network.HledgerClient
+import net.ktnx.mobileledger.core.network.JsonBody
 import net.ktnx.mobileledger.core.network.NetworkApiNotSupportedException
 import net.ktnx.mobileledger.core.network.NetworkAuthenticationException
+import net.ktnx.mobileledger.fake.FakeApiVersionResolver
 import net.ktnx.mobileledger.fake.FakeCurrencyFormatter
 import net.ktnx.mobileledger.util.createTestDomainProfile
 import org.junit.Assert.assertEquals
@@ -60,6 +63,7 @@ class TransactionSenderImplIntegrationTest {
     private val testDispatcher = StandardTestDispatcher()
     private lateinit var mockHledgerClient: HledgerClient
     private lateinit var fakeCurrencyFormatter: FakeCurrencyFormatter
+    private lateinit var fakeApiVersionResolver: FakeApiVersionResolver
     private lateinit var sender: TransactionSenderImpl
     private lateinit var testTransaction: Transaction
 
@@ -67,7 +71,8 @@ class TransactionSenderImplIntegrationTest {
     fun setup() {
         mockHledgerClient = mockk(relaxed = true)
         fakeCurrencyFormatter = FakeCurrencyFormatter()
-        sender = TransactionSenderImpl(mockHledgerClient, fakeCurrencyFormatter, testDispatcher)
+        fakeApiVersionResolver = FakeApiVersionResolver()
+        sender = TransactionSenderImpl(mockHledgerClient, fakeCurrencyFormatter, fakeApiVersionResolver, testDispatcher)
 
         testTransaction = Transaction(
             id = null,
@@ -79,14 +84,14 @@ class TransactionSenderImplIntegrationTest {
                 TransactionLine(
                     id = null,
                     accountName = "Expenses:Test",
-                    amount = 100.0f,
+                    amount = Amount.of(100),
                     currency = "USD",
                     comment = null
                 ),
                 TransactionLine(
                     id = null,
                     accountName = "Assets:Bank",
-                    amount = -100.0f,
+                    amount = Amount.of(-100),
                     currency = "USD",
                     comment = null
                 )
@@ -125,7 +130,7 @@ class TransactionSenderImplIntegrationTest {
         // Given
         val profile = createTestDomainProfile(apiVersion = API.v1_50.toInt())
         coEvery {
-            mockHledgerClient.putJson(any(), any(), any(), any())
+            mockHledgerClient.putJson(any(), any(), any<JsonBody>(), any())
         } returns Result.success(Unit)
 
         // When
@@ -135,7 +140,7 @@ class TransactionSenderImplIntegrationTest {
 
         // Then
         assertTrue("Should succeed", result.isSuccess)
-        coVerify(exactly = 1) { mockHledgerClient.putJson(profile, "add", any(), null) }
+        coVerify(exactly = 1) { mockHledgerClient.putJson(profile, "add", any<JsonBody>(), null) }
     }
 
     @Test
@@ -143,7 +148,7 @@ class TransactionSenderImplIntegrationTest {
         // Given
         val profile = createTestDomainProfile(apiVersion = API.v1_40.toInt())
         coEvery {
-            mockHledgerClient.putJson(any(), any(), any(), any())
+            mockHledgerClient.putJson(any(), any(), any<JsonBody>(), any())
         } returns Result.success(Unit)
 
         // When
@@ -153,7 +158,7 @@ class TransactionSenderImplIntegrationTest {
 
         // Then
         assertTrue("Should succeed", result.isSuccess)
-        coVerify { mockHledgerClient.putJson(profile, "add", any(), null) }
+        coVerify { mockHledgerClient.putJson(profile, "add", any<JsonBody>(), null) }
     }
 
     @Test
@@ -161,7 +166,7 @@ class TransactionSenderImplIntegrationTest {
         // Given
         val profile = createTestDomainProfile(apiVersion = API.v1_32.toInt())
         coEvery {
-            mockHledgerClient.putJson(any(), any(), any(), any())
+            mockHledgerClient.putJson(any(), any(), any<JsonBody>(), any())
         } returns Result.success(Unit)
 
         // When
@@ -182,7 +187,7 @@ class TransactionSenderImplIntegrationTest {
         // Given
         val profile = createTestDomainProfile(apiVersion = API.auto.toInt())
         coEvery {
-            mockHledgerClient.putJson(any(), any(), any(), any())
+            mockHledgerClient.putJson(any(), any(), any<JsonBody>(), any())
         } returns Result.success(Unit)
 
         // When
@@ -193,7 +198,7 @@ class TransactionSenderImplIntegrationTest {
         // Then
         assertTrue("Should succeed", result.isSuccess)
         // v1_50 is tried first in API.allVersions
-        coVerify(atLeast = 1) { mockHledgerClient.putJson(any(), "add", any(), null) }
+        coVerify(atLeast = 1) { mockHledgerClient.putJson(any(), "add", any<JsonBody>(), null) }
     }
 
     @Test
@@ -202,7 +207,7 @@ class TransactionSenderImplIntegrationTest {
         val profile = createTestDomainProfile(apiVersion = API.auto.toInt())
         var callCount = 0
         coEvery {
-            mockHledgerClient.putJson(any(), any(), any(), any())
+            mockHledgerClient.putJson(any(), any(), any<JsonBody>(), any())
         } answers {
             callCount++
             if (callCount <= 2) {
@@ -231,7 +236,7 @@ class TransactionSenderImplIntegrationTest {
 
         // All JSON API calls fail
         coEvery {
-            mockHledgerClient.putJson(any(), any(), any(), any())
+            mockHledgerClient.putJson(any(), any(), any<JsonBody>(), any())
         } returns Result.failure(NetworkApiNotSupportedException("Not supported"))
 
         // When
@@ -243,10 +248,65 @@ class TransactionSenderImplIntegrationTest {
         assertTrue("Should fail when all versions fail", result.isFailure)
         // Should try all JSON versions (v1_50, v1_40, v1_32)
         coVerify(exactly = API.allVersions.size) {
-            mockHledgerClient.putJson(any(), "add", any(), null)
+            mockHledgerClient.putJson(any(), "add", any<JsonBody>(), null)
         }
     }
 
+    @Test
+    fun `auto mode remembers the accepted version`() = runTest(testDispatcher) {
+        // Given
+        val profile = createTestDomainProfile(apiVersion = API.auto.toInt())
+        var callCount = 0
+        coEvery {
+            mockHledgerClient.putJson(any(), any(), any<JsonBody>(), any())
+        } answers {
+            callCount++
+            if (callCount == 1) {
+                Result.failure(NetworkApiNotSupportedException("Not supported"))
+            } else {
+                Result.success(Unit)
+            }
+        }
+
+        // When
+        sender.send(profile, testTransaction, simulate = false)
+        sender.send(profile, testTransaction, simulate = false)
+
+        advanceUntilIdle()
+
+        // Then
+        assertEquals(API.v1_40, fakeApiVersionResolver.resolvedVersion)
+        assertEquals("Second send should go straight to the resolved version", 3, callCount)
+    }
+
+    @Test
+    fun `auto mode invalidates resolved version rejected by server`() = runTest(testDispatcher) {
+        // Given
+        val profile = createTestDomainProfile(apiVersion = API.auto.toInt())
+        fakeApiVersionResolver.resolvedVersion = API.v1_32
+        var callCount = 0
+        coEvery {
+            mockHledgerClient.putJson(any(), any(), any<JsonBody>(), any())
+        } answers {
+            callCount++
+            if (callCount == 1) {
+                Result.failure(NetworkApiNotSupportedException("Not supported"))
+            } else {
+                Result.success(Unit)
+            }
+        }
+
+        // When
+        val result = sender.send(profile, testTransaction, simulate = false)
+
+        advanceUntilIdle()
+
+        // Then
+        assertTrue("Should succeed with another version", result.isSuccess)
+        assertEquals(1, fakeApiVersionResolver.invalidateCount)
+        assertEquals(API.v1_50, fakeApiVersionResolver.resolvedVersion)
+    }
+
     // ========================================
     // Error handling tests
     // ========================================
@@ -256,7 +316,7 @@ class TransactionSenderImplIntegrationTest {
         // Given
         val profile = createTestDomainProfile(apiVersion = API.v1_50.toInt())
         coEvery {
-            mockHledgerClient.putJson(any(), any(), any(), any())
+            mockHledgerClient.putJson(any(), any(), any<JsonBody>(), any())
         } returns Result.failure(IOException("Network unreachable"))
 
         // When
@@ -274,7 +334,7 @@ class TransactionSenderImplIntegrationTest {
         // Given
         val profile = createTestDomainProfile(apiVersion = API.v1_50.toInt())
         coEvery {
-            mockHledgerClient.putJson(any(), any(), any(), any())
+            mockHledgerClient.putJson(any(), any(), any<JsonBody>(), any())
         } returns Result.failure(NetworkAuthenticationException("Unauthorized"))
 
         // When
@@ -297,7 +357,7 @@ class TransactionSenderImplIntegrationTest {
         // Given
         val profile = createTestDomainProfile(apiVersion = API.v1_50.toInt())
         coEvery {
-            mockHledgerClient.putJson(any(), any(), any(), any())
+            mockHledgerClient.putJson(any(), any(), any<JsonBody>(), any())
         } returns Result.failure(Exception("Internal Server Error"))
 
         // When
@@ -25,6 +25,7 @@ import kotlinx.coroutines.test.advanceTimeBy
 import kotlinx.coroutines.test.advanceUntilIdle
 import kotlinx.coroutines.test.runTest
 import net.ktnx.mobileledger.core.common.utils.SimpleDate
+import net.ktnx.mobileledger.core.domain.model.Amount
 import net.ktnx.mobileledger.core.domain.model.Profile
 import net.ktnx.mobileledger.core.domain.model.Transaction
 import net.ktnx.mobileledger.core.domain.model.TransactionLine
@@ -83,14 +84,14 @@ class TransactionSenderImplTest {
                 TransactionLine(
                     id = null,
                     accountName = "Expenses:Test",
-                    amount = 100.0f,
+                    amount = Amount.of(100),
                     currency = "USD",
                     comment = null
                 ),
                 TransactionLine(
                     id = null,
                     accountName = "Assets:Bank",
-                    amount = -100.0f,
+                    amount = Amount.of(-100),
                     currency = "USD",
                     comment = null
                 )
@@ -0,0 +1,52 @@
+/*
+ * Copyright © 2026 Damyan Ivanov.
+ * This file is part of MoLe.
+ * MoLe is free software: you can distribute it and/or modify it
+ * under the term of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your opinion), any later version.
+ *
+ * MoLe is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License terms for details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MoLe. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package net.ktnx.mobileledger.fake
+
+import net.ktnx.mobileledger.core.domain.model.API
+import net.ktnx.mobileledger.core.domain.model.Profile
+import net.ktnx.mobileledger.core.sync.ApiVersionResolver
+
+class FakeApiVersionResolver : ApiVersionResolver {
+    var resolvedVersion: API? = null
+    var rememberedVersions = mutableListOf<API>()
+        private set
+    var invalidateCount = 0
+        private set
+
+    override suspend fun candidates(profile: Profile): List<API> {
+        val configured = API.valueOf(profile.apiVersion)
+        if (configured != API.auto) return listOf(configured)
+        return resolvedVersion?.let { listOf(it) } ?: API.allVersions.toList()
+    }
+
+    override suspend fun remember(profile: Profile, api: API) {
+        rememberedVersions.add(api)
+        resolvedVersion = api
+    }
+
+    override suspend fun invalidate(profile: Profile) {
+        invalidateCount++
+        resolvedVersion = null
+    }
+
+    fun reset() {
+        resolvedVersion = null
+        rememberedVersions = mutableListOf()
+        invalidateCount = 0
+    }
+}
@@ -23,6 +23,7 @@ import java.util.Locale
 import kotlinx.coroutines.flow.MutableStateFlow
 import kotlinx.coroutines.flow.StateFlow
 import kotlinx.coroutines.flow.asStateFlow
+import net.ktnx.mobileledger.core.domain.model.Amount
 import net.ktnx.mobileledger.core.domain.model.CurrencyPosition
 import net.ktnx.mobileledger.service.CurrencyFormatConfig
 import net.ktnx.mobileledger.service.CurrencyFormatter
@@ -63,6 +64,8 @@ class FakeCurrencyFormatter : CurrencyFormatter {
 
     override fun formatNumber(number: Float): String = decimalFormat.format(number)
 
+    override fun formatNumber(number: Amount): String = decimalFormat.format(number.toBigDecimal())
+
     override fun parseNumber(str: String): Float {
         val normalized = str.replace(",", "")
         return normalized.toFloat()
@@ -17,6 +17,7 @@
 
 package net.ktnx.mobileledger.fake
 
+import net.ktnx.mobileledger.core.domain.model.Amount
 import net.ktnx.mobileledger.core.domain.model.TransactionLine
 import net.ktnx.mobileledger.feature.transaction.usecase.TransactionBalanceCalculator
 
@@ -92,7 +93,7 @@ class FakeTransactionBalanceCalculator : TransactionBalanceCalculator {
 
     override fun calculateAmountHints(
         entries: List<TransactionBalanceCalculator.AccountEntry>,
-        formatNumber: (Float) -> String
+        formatNumber: (Amount) -> String
     ): List<TransactionBalanceCalculator.AmountHint> {
         calculateHintsCallCount++
         lastEntries = entries
@@ -128,7 +129,7 @@ class FakeTransactionBalanceCalculator : TransactionBalanceCalculator {
      */
     fun setBalanceResult(
         lines: List<TransactionLine>,
-        balancePerCurrency: Map<String, Float> = emptyMap(),
+        balancePerCurrency: Map<String, Amount> = emptyMap(),
         isBalanced: Boolean = true
     ) {
         balanceResult = TransactionBalanceCalculator.BalanceResult(
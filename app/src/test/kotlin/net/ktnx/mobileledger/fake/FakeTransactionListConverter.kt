@@ -17,6 +17,7 @@
 
 package net.ktnx.mobileledger.fake
 
+import net.ktnx.mobileledger.core.common.utils.SimpleDate
 import net.ktnx.mobileledger.core.domain.model.Transaction
 import net.ktnx.mobileledger.feature.transaction.usecase.TransactionListConverter
 
@@ -60,6 +61,12 @@ class FakeTransactionListConverter : TransactionListConverter {
         return customResult ?: realImpl.convert(transactions)
     }
 
+    override fun convertPage(
+        transactions: List<Transaction>,
+        previousDate: SimpleDate?,
+        isLastPage: Boolean
+    ): List<TransactionListConverter.DisplayItem> = realImpl.convertPage(transactions, previousDate, isLastPage)
+
     /**
      * Reset all state to initial values.
      */
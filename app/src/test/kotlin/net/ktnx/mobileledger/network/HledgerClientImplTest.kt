@@ -21,33 +21,46 @@ import io.ktor.client.engine.mock.MockEngine
 import io.ktor.client.engine.mock.MockRequestHandleScope
 import io.ktor.client.engine.mock.respond
 import io.ktor.client.engine.mock.respondError
+import io.ktor.client.engine.mock.toByteArray
 import io.ktor.client.request.HttpRequestData
 import io.ktor.client.request.HttpResponseData
 import io.ktor.http.HttpHeaders
 import io.ktor.http.HttpStatusCode
 import io.ktor.http.headersOf
+import io.ktor.utils.io.ByteChannel
+import io.ktor.utils.io.writeStringUtf8
+import java.io.ByteArrayOutputStream
 import java.nio.charset.StandardCharsets
+import java.util.zip.GZIPOutputStream
 import kotlinx.coroutines.test.runTest
 import net.ktnx.mobileledger.core.domain.model.FutureDates
 import net.ktnx.mobileledger.core.domain.model.Profile
 import net.ktnx.mobileledger.core.domain.model.ProfileAuthentication
 import net.ktnx.mobileledger.core.domain.model.TemporaryAuthData
 import net.ktnx.mobileledger.core.network.HledgerClientImpl
+import net.ktnx.mobileledger.core.network.HttpResponseCache
+import net.ktnx.mobileledger.core.network.JsonBody
 import net.ktnx.mobileledger.core.network.KtorClientFactory
 import net.ktnx.mobileledger.core.network.NetworkApiNotSupportedException
 import net.ktnx.mobileledger.core.network.NetworkAuthenticationException
 import net.ktnx.mobileledger.core.network.NetworkNotFoundException
 import org.junit.After
 import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
 import org.junit.Assert.assertNotNull
 import org.junit.Assert.assertTrue
+import org.junit.Rule
 import org.junit.Test
+import org.junit.rules.TemporaryFolder
 
 class HledgerClientImplTest {
 
     private var mockEngine: MockEngine? = null
     private var client: HledgerClientImpl? = null
 
+    @get:Rule
+    val tempFolder = TemporaryFolder()
+
     @After
     fun tearDown() {
         client?.close()
@@ -78,6 +91,35 @@ class HledgerClientImplTest {
         assertEquals(responseContent, content)
     }
 
+    @Test
+    fun `get request exposes body before the response is complete`() = runTest {
+        val body = ByteChannel(autoFlush = true)
+        setupMockEngine { request ->
+            respond(
+                content = body,
+                status = HttpStatusCode.OK,
+                headers = headersOf(HttpHeaders.ContentType, "application/json")
+            )
+        }
+        body.writeStringUtf8("[1,")
+
+        val profile = createTestProfile()
+        val result = client!!.get(profile, "transactions")
+
+        assertTrue(result.isSuccess)
+        result.getOrThrow().use { stream ->
+            // The first bytes are readable while the server is still sending
+            assertEquals('['.code, stream.read())
+            assertEquals('1'.code, stream.read())
+            assertEquals(','.code, stream.read())
+
+            body.writeStringUtf8("2]")
+            body.flushAndClose()
+
+            assertEquals("2]", stream.bufferedReader(StandardCharsets.UTF_8).readText())
+        }
+    }
+
     @Test
     fun `get request with trailing slash in url`() = runTest {
         setupMockEngine { request ->
@@ -211,6 +253,24 @@ class HledgerClientImplTest {
         assertEquals("https://example.com/add", lastRequest.url.toString())
     }
 
+    @Test
+    fun `put json streams the body into the request`() = runTest {
+        var sentBody: String? = null
+        var sentType: String? = null
+        setupMockEngine { request ->
+            sentBody = request.body.toByteArray().toString(StandardCharsets.UTF_8)
+            sentType = request.body.contentType?.toString()
+            respond(content = "", status = HttpStatusCode.Created, headers = headersOf())
+        }
+
+        val jsonBody = """{"tdescription": "Café"}"""
+        val result = client!!.putJson(createTestProfile(), "add", JsonBody.of(jsonBody))
+
+        assertTrue(result.isSuccess)
+        assertEquals(jsonBody, sentBody)
+        assertEquals("application/json", sentType)
+    }
+
     @Test
     fun `put json request fails with api not supported on 400`() = runTest {
         setupMockEngine { request ->
@@ -247,10 +307,165 @@ class HledgerClientImplTest {
         assertTrue(exception is NetworkApiNotSupportedException)
     }
 
-    private fun setupMockEngine(handler: suspend MockRequestHandleScope.(HttpRequestData) -> HttpResponseData) {
+    @Test
+    fun `getCached revalidates with etag and serves cached body on 304`() = runTest {
+        val responseContent = """[{"aname": "Assets"}]"""
+        val conditionalHeaders = mutableListOf<String?>()
+        setupMockEngine(HttpResponseCache(tempFolder.newFolder())) { request ->
+            val ifNoneMatch = request.headers[HttpHeaders.IfNoneMatch]
+            conditionalHeaders.add(ifNoneMatch)
+            if (ifNoneMatch == "\"v1\"") {
+                respond(content = "", status = HttpStatusCode.NotModified, headers = headersOf())
+            } else {
+                respond(
+                    content = responseContent,
+                    status = HttpStatusCode.OK,
+                    headers = headersOf(HttpHeaders.ETag, "\"v1\"")
+                )
+            }
+        }
+
+        val profile = createTestProfile()
+        val first = client!!.getCached(profile, "accounts").getOrThrow()
+        assertFalse(first.isNotModified)
+        assertEquals(responseContent, first.body.use { it.bufferedReader().readText() })
+
+        val second = client!!.getCached(profile, "accounts").getOrThrow()
+        assertTrue(second.isNotModified)
+        assertEquals(responseContent, second.body.use { it.bufferedReader().readText() })
+        assertEquals(listOf(null, "\"v1\""), conditionalHeaders)
+    }
+
+    @Test
+    fun `getCached compares body hash when server sends no validators`() = runTest {
+        var responseContent = """[{"aname": "Assets"}]"""
+        setupMockEngine(HttpResponseCache(tempFolder.newFolder())) { _ ->
+            respond(content = responseContent, status = HttpStatusCode.OK, headers = headersOf())
+        }
+
+        val profile = createTestProfile()
+        client!!.getCached(profile, "accounts").getOrThrow().body.use { it.readBytes() }
+
+        val unchanged = client!!.getCached(profile, "accounts").getOrThrow()
+        assertFalse(unchanged.isNotModified)
+        unchanged.body.use { body ->
+            assertEquals(responseContent, body.bufferedReader().readText())
+            assertTrue(unchanged.isUnchanged())
+        }
+
+        responseContent = """[{"aname": "Expenses"}]"""
+        val changed = client!!.getCached(profile, "accounts").getOrThrow()
+        changed.body.use { body ->
+            assertEquals(responseContent, body.bufferedReader().readText())
+            assertFalse(changed.isUnchanged())
+        }
+    }
+
+    @Test
+    fun `getCached compares a body without validators that is read only in part`() = runTest {
+        val responseContent = """[{"aname": "Assets"}]""".repeat(1000)
+        setupMockEngine(HttpResponseCache(tempFolder.newFolder())) { _ ->
+            respond(content = responseContent, status = HttpStatusCode.OK, headers = headersOf())
+        }
+
+        val profile = createTestProfile()
+        client!!.getCached(profile, "accounts").getOrThrow().body.use { it.readBytes() }
+
+        val unchanged = client!!.getCached(profile, "accounts").getOrThrow()
+        unchanged.body.use { body ->
+            body.read(ByteArray(10))
+            assertTrue(unchanged.isUnchanged())
+        }
+    }
+
+    @Test
+    fun `getCached caches a body differing from the cached one`() = runTest {
+        var responseContent = "[" + """{"aname": "Assets"},""".repeat(1000) + """{"aname": "Expenses"}]"""
+        setupMockEngine(HttpResponseCache(tempFolder.newFolder())) { _ ->
+            respond(content = responseContent, status = HttpStatusCode.OK, headers = headersOf())
+        }
+
+        val profile = createTestProfile()
+        client!!.getCached(profile, "accounts").getOrThrow().body.use { it.readBytes() }
+
+        // the new body shares a long prefix with the cached one, and is shorter
+        responseContent = "[" + """{"aname": "Assets"},""".repeat(1000) + """{"aname": "Cash"}]"""
+        val changed = client!!.getCached(profile, "accounts").getOrThrow()
+        changed.body.use { body ->
+            assertEquals(responseContent, body.bufferedReader().readText())
+            assertFalse(changed.isUnchanged())
+        }
+
+        val unchanged = client!!.getCached(profile, "accounts").getOrThrow()
+        unchanged.body.use { body ->
+            assertEquals(responseContent, body.bufferedReader().readText())
+            assertTrue(unchanged.isUnchanged())
+        }
+    }
+
+    @Test
+    fun `getCached does not cache bodies larger than the cache`() = runTest {
+        val responseContent = """[{"aname": "Assets"}]""".repeat(10)
+        setupMockEngine(HttpResponseCache(tempFolder.newFolder(), maxSize = 64)) { _ ->
+            respond(content = responseContent, status = HttpStatusCode.OK, headers = headersOf())
+        }
+
+        val profile = createTestProfile()
+        val first = client!!.getCached(profile, "accounts").getOrThrow()
+        assertEquals(responseContent, first.body.use { it.bufferedReader().readText() })
+
+        val second = client!!.getCached(profile, "accounts").getOrThrow()
+        assertFalse(second.isNotModified)
+        assertEquals(responseContent, second.body.use { it.bufferedReader().readText() })
+    }
+
+    @Test
+    fun `getCached does not report not modified after invalidateCache`() = runTest {
+        setupMockEngine(HttpResponseCache(tempFolder.newFolder())) { _ ->
+            respond(content = "[]", status = HttpStatusCode.OK, headers = headersOf())
+        }
+
+        val profile = createTestProfile()
+        client!!.getCached(profile, "accounts").getOrThrow().body.use { it.readBytes() }
+        client!!.invalidateCache(profile)
+
+        val response = client!!.getCached(profile, "accounts").getOrThrow()
+        response.body.use { assertFalse(response.isUnchanged()) }
+        assertFalse(response.isNotModified)
+    }
+
+    @Test
+    fun `get request decompresses gzip body and counts transferred bytes`() = runTest {
+        val responseContent = """[{"aname": "Assets"}]""".repeat(100)
+        val compressed = ByteArrayOutputStream().also { out ->
+            GZIPOutputStream(out).use { it.write(responseContent.toByteArray(StandardCharsets.UTF_8)) }
+        }.toByteArray()
+        var acceptEncoding: String? = null
+        setupMockEngine(HttpResponseCache(tempFolder.newFolder())) { request ->
+            acceptEncoding = request.headers[HttpHeaders.AcceptEncoding]
+            respond(
+                content = compressed,
+                status = HttpStatusCode.OK,
+                headers = headersOf(HttpHeaders.ContentEncoding, "gzip")
+            )
+        }
+
+        val response = client!!.getCached(createTestProfile(), "accounts").getOrThrow()
+        val content = response.body.use { it.bufferedReader(StandardCharsets.UTF_8).readText() }
+
+        assertEquals(responseContent, content)
+        assertTrue(acceptEncoding!!.contains("gzip"))
+        assertEquals(compressed.size.toLong(), response.transfer.compressedBytes)
+        assertEquals(responseContent.length.toLong(), response.transfer.decompressedBytes)
+    }
+
+    private fun setupMockEngine(
+        responseCache: HttpResponseCache? = null,
+        handler: suspend MockRequestHandleScope.(HttpRequestData) -> HttpResponseData
+    ) {
         mockEngine = MockEngine(handler)
         val httpClient = KtorClientFactory.createWithEngine(mockEngine!!, enableLogging = false)
-        client = HledgerClientImpl(httpClient)
+        client = HledgerClientImpl(httpClient, responseCache)
     }
 
     private fun createTestProfile(
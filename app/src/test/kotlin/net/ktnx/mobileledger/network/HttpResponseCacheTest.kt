@@ -0,0 +1,82 @@
+/*
+ * Copyright © 2026 Damyan Ivanov.
+ * This file is part of MoLe.
+ * MoLe is free software: you can distribute it and/or modify it
+ * under the term of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your opinion), any later version.
+ *
+ * MoLe is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License terms for details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MoLe. If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.ktnx.mobileledger.network
+
+import java.io.File
+import net.ktnx.mobileledger.core.network.HttpResponseCache
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNotNull
+import org.junit.Assert.assertNull
+import org.junit.Rule
+import org.junit.Test
+import org.junit.rules.TemporaryFolder
+
+class HttpResponseCacheTest {
+
+    @get:Rule
+    val tempFolder = TemporaryFolder()
+
+    private val key = HttpResponseCache.keyFor("profile", "https://example.com/transactions")
+
+    private fun store(cache: HttpResponseCache) {
+        val editor = cache.edit(key)
+        editor.output.write("[]".toByteArray())
+        editor.commit(etag = "\"1\"", lastModified = null, bodyHash = "hash")
+    }
+
+    @Test
+    fun `entries survive a new cache of the same version`() {
+        // Given
+        val directory = tempFolder.newFolder()
+        store(HttpResponseCache(directory, version = 77))
+
+        // When
+        val entry = HttpResponseCache(directory, version = 77).get(key)
+
+        // Then
+        assertNotNull(entry)
+        assertEquals("\"1\"", entry!!.etag)
+    }
+
+    @Test
+    fun `entries of another version are dropped`() {
+        // Given
+        val directory = tempFolder.newFolder()
+        store(HttpResponseCache(directory, version = 76))
+
+        // When
+        val entry = HttpResponseCache(directory, version = 77).get(key)
+
+        // Then - the stale body is gone, not just hidden
+        assertNull(entry)
+        assertEquals(listOf("version"), directory.list()!!.toList())
+    }
+
+    @Test
+    fun `entries written before versions were recorded are dropped`() {
+        // Given - a cache directory without a version file
+        val directory = tempFolder.newFolder()
+        store(HttpResponseCache(directory, version = 76))
+        File(directory, "version").delete()
+
+        // When
+        val entry = HttpResponseCache(directory, version = 76).get(key)
+
+        // Then
+        assertNull(entry)
+    }
+}
@@ -17,6 +17,7 @@
 
 package net.ktnx.mobileledger.ui.main
 
+import net.ktnx.mobileledger.core.domain.model.Amount
 import org.junit.Assert.assertEquals
 import org.junit.Assert.assertFalse
 import org.junit.Assert.assertNull
@@ -77,8 +78,8 @@ class AccountSummaryUiStateTest {
             shortName = "Assets",
             level = 0,
             amounts = listOf(
-                AccountAmount(0f, "USD", "0.00"),
-                AccountAmount(0f, "EUR", "0.00")
+                AccountAmount(Amount.ZERO, "USD", "0.00"),
+                AccountAmount(Amount.ZERO, "EUR", "0.00")
             )
         )
         assertTrue(account.allAmountsAreZero())
@@ -98,8 +99,8 @@ class AccountSummaryUiStateTest {
             shortName = "Assets",
             level = 0,
             amounts = listOf(
-                AccountAmount(0f, "USD", "0.00"),
-                AccountAmount(50f, "EUR", "50.00")
+                AccountAmount(Amount.ZERO, "USD", "0.00"),
+                AccountAmount(Amount.of(50), "EUR", "50.00")
             )
         )
         assertFalse(account.allAmountsAreZero())
@@ -250,22 +251,22 @@ class AccountSummaryUiStateTest {
 
     @Test
     fun `AccountAmount constructor sets all fields`() {
-        val amount = AccountAmount(100.50f, "USD", "$100.50")
-        assertEquals(100.50f, amount.amount, 0.001f)
+        val amount = AccountAmount(Amount.parse("100.50"), "USD", "$100.50")
+        assertEquals(Amount.parse("100.50"), amount.amount)
         assertEquals("USD", amount.currency)
         assertEquals("$100.50", amount.formattedAmount)
     }
 
     @Test
     fun `AccountAmount handles negative amounts`() {
-        val amount = AccountAmount(-50.25f, "EUR", "-€50.25")
-        assertEquals(-50.25f, amount.amount, 0.001f)
+        val amount = AccountAmount(Amount.parse("-50.25"), "EUR", "-€50.25")
+        assertEquals(Amount.parse("-50.25"), amount.amount)
     }
 
     @Test
     fun `AccountAmount handles zero`() {
-        val amount = AccountAmount(0f, "JPY", "¥0")
-        assertEquals(0f, amount.amount, 0.001f)
+        val amount = AccountAmount(Amount.ZERO, "JPY", "¥0")
+        assertEquals(Amount.ZERO, amount.amount)
     }
 
     // ========================================
@@ -304,7 +305,7 @@ class AccountSummaryUiStateTest {
             name = "Assets:Bank",
             shortName = "Bank",
             level = 1,
-            amounts = listOf(AccountAmount(100f, "USD", "$100")),
+            amounts = listOf(AccountAmount(Amount.of(100), "USD", "$100")),
             parentName = "Assets",
             hasSubAccounts = true,
             isExpanded = false,
@@ -362,6 +363,6 @@ class AccountSummaryUiStateTest {
             name = name,
             shortName = name.substringAfterLast(':'),
             level = name.count { it == ':' },
-            amounts = listOf(AccountAmount(amount, "USD", "$$amount"))
+            amounts = listOf(AccountAmount(Amount.fromFloat(amount), "USD", "$$amount"))
         )
 }
@@ -33,6 +33,7 @@ import net.ktnx.mobileledger.core.database.entity.AccountValue
 import net.ktnx.mobileledger.core.database.entity.AccountWithAmounts
 import net.ktnx.mobileledger.core.domain.model.Account
 import net.ktnx.mobileledger.core.domain.model.AccountAmount as DomainAccountAmount
+import net.ktnx.mobileledger.core.domain.model.Amount
 import net.ktnx.mobileledger.core.domain.model.Profile
 import net.ktnx.mobileledger.core.domain.repository.AccountRepository
 import net.ktnx.mobileledger.core.domain.repository.PreferencesRepository
@@ -130,7 +131,9 @@ class AccountSummaryViewModelTest {
                 AccountValue().apply {
                     this.id = id
                     this.accountId = id
-                    this.value = amount
+                    val value = Amount.fromFloat(amount)
+                    this.valueMantissa = value.mantissa
+                    this.valueScale = value.scale
                     this.currency = currency
                 }
             )
@@ -656,9 +659,9 @@ class AccountSummaryViewModelTest {
             isExpanded = true,
             isVisible = true,
             amounts = listOf(
-                DomainAccountAmount(currency = "USD", amount = 1000f),
-                DomainAccountAmount(currency = "EUR", amount = 500f),
-                DomainAccountAmount(currency = "JPY", amount = 10000f)
+                DomainAccountAmount(currency = "USD", amount = Amount.of(1000)),
+                DomainAccountAmount(currency = "EUR", amount = Amount.of(500)),
+                DomainAccountAmount(currency = "JPY", amount = Amount.of(10000))
             )
         )
         accountRepository.addAccount(1L, multiCurrencyAccount)
@@ -693,7 +696,7 @@ class AccountSummaryViewModelTest {
                 level = 0,
                 isExpanded = true,
                 isVisible = true,
-                amounts = listOf(DomainAccountAmount("USD", 10000f))
+                amounts = listOf(DomainAccountAmount("USD", Amount.of(10000)))
             ),
             Account(
                 id = 2L,
@@ -701,7 +704,7 @@ class AccountSummaryViewModelTest {
                 level = 1,
                 isExpanded = true,
                 isVisible = true,
-                amounts = listOf(DomainAccountAmount("USD", 8000f))
+                amounts = listOf(DomainAccountAmount("USD", Amount.of(8000)))
             ),
             Account(
                 id = 3L,
@@ -709,7 +712,7 @@ class AccountSummaryViewModelTest {
                 level = 2,
                 isExpanded = true,
                 isVisible = true,
-                amounts = listOf(DomainAccountAmount("USD", 5000f))
+                amounts = listOf(DomainAccountAmount("USD", Amount.of(5000)))
             ),
             Account(
                 id = 4L,
@@ -717,7 +720,7 @@ class AccountSummaryViewModelTest {
                 level = 3,
                 isExpanded = true,
                 isVisible = true,
-                amounts = listOf(DomainAccountAmount("USD", 3000f))
+                amounts = listOf(DomainAccountAmount("USD", Amount.of(3000)))
             ),
             Account(
                 id = 5L,
@@ -725,7 +728,7 @@ class AccountSummaryViewModelTest {
                 level = 4,
                 isExpanded = true,
                 isVisible = true,
-                amounts = listOf(DomainAccountAmount("USD", 1000f))
+                amounts = listOf(DomainAccountAmount("USD", Amount.of(1000)))
             )
         )
         accounts.forEach { accountRepository.addAccount(1L, it) }
@@ -765,7 +768,7 @@ class AccountSummaryViewModelTest {
                 level = 1,
                 isExpanded = true,
                 isVisible = true,
-                amounts = listOf(DomainAccountAmount("USD", 100f))
+                amounts = listOf(DomainAccountAmount("USD", Amount.of(100)))
             ),
             Account(
                 id = 2L,
@@ -773,7 +776,7 @@ class AccountSummaryViewModelTest {
                 level = 1,
                 isExpanded = true,
                 isVisible = true,
-                amounts = listOf(DomainAccountAmount("USD", -500f))
+                amounts = listOf(DomainAccountAmount("USD", Amount.of(-500)))
             ),
             Account(
                 id = 3L,
@@ -781,7 +784,7 @@ class AccountSummaryViewModelTest {
                 level = 1,
                 isExpanded = true,
                 isVisible = true,
-                amounts = listOf(DomainAccountAmount("USD", 0f))
+                amounts = listOf(DomainAccountAmount("USD", Amount.ZERO))
             ),
             Account(
                 id = 4L,
@@ -790,8 +793,8 @@ class AccountSummaryViewModelTest {
                 isExpanded = true,
                 isVisible = true,
                 amounts = listOf(
-                    DomainAccountAmount("USD", 0f),
-                    DomainAccountAmount("EUR", 50f)
+                    DomainAccountAmount("USD", Amount.ZERO),
+                    DomainAccountAmount("EUR", Amount.of(50))
                 )
             )
         )
@@ -873,7 +876,7 @@ class FakeAccountRepositoryForAccountSummary : AccountRepository {
             if (includeZeroBalances) {
                 accounts
             } else {
-                accounts.filter { acc -> acc.amounts.any { it.amount != 0f } }
+                accounts.filter { acc -> acc.amounts.any { !it.amount.isZero } }
             }
         }
 
@@ -897,7 +900,7 @@ class FakeAccountRepositoryForAccountSummary : AccountRepository {
                 accounts
             } else {
                 accounts.filter { acc ->
-                    acc.amounts.any { it.amount != 0f }
+                    acc.amounts.any { !it.amount.isZero }
                 }
             }
         )
@@ -924,13 +927,6 @@ class FakeAccountRepositoryForAccountSummary : AccountRepository {
         accountFlows.values.forEach { it.value = emptyList() }
         return Result.success(Unit)
     }
-
-    override suspend fun storeAccountsAsDomain(accounts: List<Account>, profileId: Long): Result<Unit> {
-        domainAccounts[profileId] = accounts.toMutableList()
-        accountNames[profileId] = accounts.map { it.name }.toMutableList()
-        emitAccounts(profileId)
-        return Result.success(Unit)
-    }
 }
 
 /**
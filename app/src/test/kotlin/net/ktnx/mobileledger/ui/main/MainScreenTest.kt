@@ -30,6 +30,7 @@ import androidx.compose.ui.test.onNodeWithTag
 import androidx.compose.ui.test.onNodeWithText
 import androidx.compose.ui.test.performClick
 import kotlinx.collections.immutable.persistentListOf
+import net.ktnx.mobileledger.core.domain.model.Amount
 import net.ktnx.mobileledger.robot.main.mainScreen
 import net.ktnx.mobileledger.ui.theme.MoLeTheme
 import org.junit.Assert.assertEquals
@@ -105,7 +106,7 @@ class MainScreenTest {
                     name = "Assets:Cash",
                     shortName = "Cash",
                     level = 1,
-                    amounts = listOf(AccountAmount(100f, "USD", "$100.00"))
+                    amounts = listOf(AccountAmount(Amount.of(100), "USD", "$100.00"))
                 )
             )
         )
@@ -33,14 +33,18 @@ import net.ktnx.mobileledger.core.database.entity.Transaction
 import net.ktnx.mobileledger.core.database.entity.Transaction as DbTransaction
 import net.ktnx.mobileledger.core.database.entity.TransactionAccount
 import net.ktnx.mobileledger.core.database.entity.TransactionWithAccounts
+import net.ktnx.mobileledger.core.domain.model.AccountAmount
+import net.ktnx.mobileledger.core.domain.model.Amount
 import net.ktnx.mobileledger.core.domain.model.Profile
 import net.ktnx.mobileledger.core.domain.model.Transaction as DomainTransaction
 import net.ktnx.mobileledger.core.domain.model.TransactionLine as TransactionLine
 import net.ktnx.mobileledger.core.testing.fake.FakeProfileRepository
 import net.ktnx.mobileledger.fake.FakeCurrencyFormatter
 import net.ktnx.mobileledger.feature.profile.usecase.ObserveCurrentProfileUseCaseImpl
-import net.ktnx.mobileledger.feature.transaction.usecase.GetTransactionsUseCaseImpl
-import net.ktnx.mobileledger.feature.transaction.usecase.ObserveTransactionsUseCaseImpl
+import net.ktnx.mobileledger.feature.transaction.usecase.GetNewerTransactionPageUseCaseImpl
+import net.ktnx.mobileledger.feature.transaction.usecase.GetRunningBalancesUseCaseImpl
+import net.ktnx.mobileledger.feature.transaction.usecase.GetTransactionDateRangeUseCaseImpl
+import net.ktnx.mobileledger.feature.transaction.usecase.GetTransactionPageUseCaseImpl
 import net.ktnx.mobileledger.feature.transaction.usecase.SearchAccountNamesUseCaseImpl
 import net.ktnx.mobileledger.feature.transaction.usecase.TransactionListConverterImpl
 import net.ktnx.mobileledger.util.createTestDomainProfile
@@ -140,15 +144,18 @@ class TransactionListViewModelTest {
         currency: String = "USD"
     ): TransactionAccount = TransactionAccount().apply {
         this.accountName = accountName
-        this.amount = amount
+        val value = Amount.fromFloat(amount)
+        this.amountMantissa = value.mantissa
+        this.amountScale = value.scale
         this.currency = currency
     }
 
     private fun createViewModel() = TransactionListViewModel(
         observeCurrentProfileUseCase = ObserveCurrentProfileUseCaseImpl(profileRepository),
-        getTransactionsUseCase = GetTransactionsUseCaseImpl(
-            observeTransactionsUseCase = ObserveTransactionsUseCaseImpl(transactionRepository)
-        ),
+        getTransactionPageUseCase = GetTransactionPageUseCaseImpl(transactionRepository),
+        getNewerTransactionPageUseCase = GetNewerTransactionPageUseCaseImpl(transactionRepository),
+        getTransactionDateRangeUseCase = GetTransactionDateRangeUseCaseImpl(transactionRepository),
+        getRunningBalancesUseCase = GetRunningBalancesUseCaseImpl(transactionRepository),
         searchAccountNamesUseCase = SearchAccountNamesUseCaseImpl(accountRepository),
         currencyFormatter = currencyFormatter,
         transactionListConverter = TransactionListConverterImpl()
@@ -343,6 +350,63 @@ class TransactionListViewModelTest {
         assertEquals("Assets:Cash", viewModel.uiState.value.accountFilter)
     }
 
+    @Test
+    fun `filtered list shows running totals of the filter account`() = runTest {
+        // Given
+        val profile = createTestProfile(id = 1L)
+        profileRepository.insertProfile(profile).getOrThrow()
+        profileRepository.setCurrentProfile(profile)
+        transactionRepository.addTransaction(
+            createTestTransaction(1L, 1L, 1L, "Deposit", day = 10, accounts = listOf(createTestAccount("Assets:Cash")))
+        )
+        transactionRepository.addTransaction(
+            createTestTransaction(2L, 1L, 2L, "Groceries", day = 11, accounts = listOf(createTestAccount("Expenses")))
+        )
+        transactionRepository.addTransaction(
+            createTestTransaction(
+                3L,
+                1L,
+                3L,
+                "Deposit",
+                day = 12,
+                accounts = listOf(createTestAccount("Assets:Bank", amount = 50f))
+            )
+        )
+        viewModel = createViewModel()
+        advanceUntilIdle()
+
+        // When
+        viewModel.onEvent(TransactionListEvent.SetAccountFilter("Assets"))
+        advanceUntilIdle()
+
+        // Then - newest first
+        val totals = viewModel.uiState.value.transactions
+            .filterIsInstance<TransactionListDisplayItem.Transaction>()
+            .map { it.runningTotal }
+        assertEquals(listOf("USD 150.00", "USD 100.00"), totals)
+    }
+
+    @Test
+    fun `unfiltered list has no running totals`() = runTest {
+        // Given
+        val profile = createTestProfile(id = 1L)
+        profileRepository.insertProfile(profile).getOrThrow()
+        profileRepository.setCurrentProfile(profile)
+        transactionRepository.addTransaction(
+            createTestTransaction(1L, 1L, 1L, "Deposit", accounts = listOf(createTestAccount("Assets:Cash")))
+        )
+
+        // When
+        viewModel = createViewModel()
+        advanceUntilIdle()
+
+        // Then
+        val transactions = viewModel.uiState.value.transactions
+            .filterIsInstance<TransactionListDisplayItem.Transaction>()
+        assertEquals(1, transactions.size)
+        assertNull(transactions[0].runningTotal)
+    }
+
     @Test
     fun `setAccountFilter reloads transactions with filter`() = runTest {
         // Given
@@ -767,7 +831,7 @@ class TransactionListViewModelTest {
                     TransactionLine(
                         id = 1L,
                         accountName = "Assets:Cash",
-                        amount = 100f,
+                        amount = Amount.of(100),
                         currency = "USD"
                     )
                 )
@@ -781,7 +845,7 @@ class TransactionListViewModelTest {
                     TransactionLine(
                         id = 2L,
                         accountName = "Expenses:Food",
-                        amount = -50f,
+                        amount = Amount.of(-50),
                         currency = "USD"
                     )
                 )
@@ -822,7 +886,7 @@ class TransactionListViewModelTest {
                     TransactionLine(
                         id = 1L,
                         accountName = "Assets:Cash",
-                        amount = 100f,
+                        amount = Amount.of(100),
                         currency = "USD"
                     )
                 )
@@ -836,7 +900,7 @@ class TransactionListViewModelTest {
                     TransactionLine(
                         id = 2L,
                         accountName = "Expenses:Food",
-                        amount = -50f,
+                        amount = Amount.of(-50),
                         currency = "USD"
                     )
                 )
@@ -871,7 +935,7 @@ class TransactionListViewModelTest {
                 date = SimpleDate(2026, 1, 15),
                 description = "First Batch",
                 lines = listOf(
-                    TransactionLine(id = 1L, accountName = "Assets:Cash", amount = 100f, currency = "USD")
+                    TransactionLine(id = 1L, accountName = "Assets:Cash", amount = Amount.of(100), currency = "USD")
                 )
             )
         )
@@ -883,7 +947,7 @@ class TransactionListViewModelTest {
                 date = SimpleDate(2026, 1, 16),
                 description = "Second Batch",
                 lines = listOf(
-                    TransactionLine(id = 2L, accountName = "Expenses:Food", amount = -50f, currency = "USD")
+                    TransactionLine(id = 2L, accountName = "Expenses:Food", amount = Amount.of(-50), currency = "USD")
                 )
             )
         )
@@ -947,6 +1011,195 @@ class TransactionListViewModelTest {
         assertNull(viewModel.uiState.value.lastTransactionDate)
     }
 
+    // ========================================
+    // Paging tests
+    // ========================================
+
+    private fun addTransactionsOnConsecutiveDays(profileId: Long, count: Int) {
+        for (i in 0 until count) {
+            transactionRepository.addTransaction(
+                createTestTransaction(
+                    id = i + 1L,
+                    profileId = profileId,
+                    ledgerId = i + 1L,
+                    description = "Tx${i + 1}",
+                    month = i / 28 + 1,
+                    day = i % 28 + 1,
+                    accounts = listOf(createTestAccount("Assets:Cash"))
+                )
+            )
+        }
+    }
+
+    @Test
+    fun `loadTransactions loads only the first page`() = runTest {
+        // Given
+        val profile = createTestProfile(id = 1L)
+        profileRepository.insertProfile(profile).getOrThrow()
+        profileRepository.setCurrentProfile(profile)
+        addTransactionsOnConsecutiveDays(1L, TransactionListViewModel.PAGE_SIZE + 5)
+
+        // When
+        viewModel = createViewModel()
+        advanceUntilIdle()
+
+        // Then - newest first, the date range covers all transactions
+        val state = viewModel.uiState.value
+        val transactions = state.transactions.filterIsInstance<TransactionListDisplayItem.Transaction>()
+        assertEquals(TransactionListViewModel.PAGE_SIZE, transactions.size)
+        assertEquals("Tx105", transactions.first().description)
+        assertTrue(state.hasMoreTransactions)
+        assertEquals(SimpleDate(2026, 1, 1), state.firstTransactionDate)
+        assertEquals(SimpleDate(2026, 4, 21), state.lastTransactionDate)
+    }
+
+    @Test
+    fun `loadMoreTransactions appends the next page`() = runTest {
+        // Given
+        val profile = createTestProfile(id = 1L)
+        profileRepository.insertProfile(profile).getOrThrow()
+        profileRepository.setCurrentProfile(profile)
+        addTransactionsOnConsecutiveDays(1L, TransactionListViewModel.PAGE_SIZE + 5)
+        viewModel = createViewModel()
+        advanceUntilIdle()
+
+        // When
+        viewModel.onEvent(TransactionListEvent.LoadMoreTransactions)
+        advanceUntilIdle()
+
+        // Then - all transactions once, each date closed by a delimiter
+        val items = viewModel.uiState.value.transactions
+        val transactions = items.filterIsInstance<TransactionListDisplayItem.Transaction>()
+        assertEquals(TransactionListViewModel.PAGE_SIZE + 5, transactions.size)
+        assertEquals(transactions.size, transactions.map { it.id }.distinct().size)
+        assertEquals("Tx1", transactions.last().description)
+        assertEquals(transactions.size, items.count { it is TransactionListDisplayItem.DateDelimiter })
+        assertFalse(viewModel.uiState.value.hasMoreTransactions)
+    }
+
+    @Test
+    fun `loadMoreTransactions after the last page does nothing`() = runTest {
+        // Given
+        val profile = createTestProfile(id = 1L)
+        profileRepository.insertProfile(profile).getOrThrow()
+        profileRepository.setCurrentProfile(profile)
+        addTransactionsOnConsecutiveDays(1L, 3)
+        viewModel = createViewModel()
+        advanceUntilIdle()
+        val loaded = viewModel.uiState.value.transactions
+
+        // When
+        viewModel.onEvent(TransactionListEvent.LoadMoreTransactions)
+        advanceUntilIdle()
+
+        // Then
+        assertFalse(viewModel.uiState.value.hasMoreTransactions)
+        assertEquals(loaded, viewModel.uiState.value.transactions)
+    }
+
+    @Test
+    fun `goToDate loads pages until the date is found`() = runTest {
+        // Given
+        val profile = createTestProfile(id = 1L)
+        profileRepository.insertProfile(profile).getOrThrow()
+        profileRepository.setCurrentProfile(profile)
+        addTransactionsOnConsecutiveDays(1L, TransactionListViewModel.PAGE_SIZE + 5)
+        viewModel = createViewModel()
+        advanceUntilIdle()
+
+        // When - the oldest transaction is not on the first page
+        viewModel.onEvent(TransactionListEvent.GoToDate(SimpleDate(2026, 1, 2)))
+        advanceUntilIdle()
+
+        // Then
+        val state = viewModel.uiState.value
+        val index = state.foundTransactionIndex
+        assertNotNull(index)
+        val item = state.transactions[index!!] as TransactionListDisplayItem.Transaction
+        assertEquals("Tx2", item.description)
+    }
+
+    @Test
+    fun `loadMoreTransactions drops the newest transactions beyond the window`() = runTest {
+        // Given
+        val profile = createTestProfile(id = 1L)
+        profileRepository.insertProfile(profile).getOrThrow()
+        profileRepository.setCurrentProfile(profile)
+        addTransactionsOnConsecutiveDays(1L, 320)
+        viewModel = createViewModel()
+        advanceUntilIdle()
+
+        // When - all pages are scrolled through
+        repeat(3) {
+            viewModel.onEvent(TransactionListEvent.LoadMoreTransactions)
+            advanceUntilIdle()
+        }
+
+        // Then - only the oldest transactions of the window are held
+        val state = viewModel.uiState.value
+        val transactions = state.transactions.filterIsInstance<TransactionListDisplayItem.Transaction>()
+        val windowSize = TransactionListViewModel.WINDOW_PAGES * TransactionListViewModel.PAGE_SIZE
+        assertEquals(windowSize, transactions.size)
+        assertEquals("Tx$windowSize", transactions.first().description)
+        assertEquals("Tx1", transactions.last().description)
+        assertFalse(state.transactions.contains(TransactionListDisplayItem.Header))
+        assertTrue(state.hasNewerTransactions)
+        assertFalse(state.hasMoreTransactions)
+    }
+
+    @Test
+    fun `loadNewerTransactions brings back the dropped transactions`() = runTest {
+        // Given - the newest transactions were dropped while scrolling down
+        val profile = createTestProfile(id = 1L)
+        profileRepository.insertProfile(profile).getOrThrow()
+        profileRepository.setCurrentProfile(profile)
+        addTransactionsOnConsecutiveDays(1L, 320)
+        viewModel = createViewModel()
+        advanceUntilIdle()
+        repeat(3) {
+            viewModel.onEvent(TransactionListEvent.LoadMoreTransactions)
+            advanceUntilIdle()
+        }
+
+        // When
+        viewModel.onEvent(TransactionListEvent.LoadNewerTransactions)
+        advanceUntilIdle()
+
+        // Then - the list starts at the newest transaction again and the oldest ones are dropped
+        val state = viewModel.uiState.value
+        val transactions = state.transactions.filterIsInstance<TransactionListDisplayItem.Transaction>()
+        assertEquals(TransactionListDisplayItem.Header, state.transactions.first())
+        assertEquals("Tx320", transactions.first().description)
+        assertEquals("Tx21", transactions.last().description)
+        assertEquals(transactions.size, transactions.map { it.id }.distinct().size)
+        assertFalse(state.hasNewerTransactions)
+        assertTrue(state.hasMoreTransactions)
+    }
+
+    @Test
+    fun `goToDate loads dropped newer pages until the date is found`() = runTest {
+        // Given
+        val profile = createTestProfile(id = 1L)
+        profileRepository.insertProfile(profile).getOrThrow()
+        profileRepository.setCurrentProfile(profile)
+        addTransactionsOnConsecutiveDays(1L, 320)
+        viewModel = createViewModel()
+        advanceUntilIdle()
+        repeat(3) {
+            viewModel.onEvent(TransactionListEvent.LoadMoreTransactions)
+            advanceUntilIdle()
+        }
+
+        // When - the date of the newest transaction is no longer held
+        viewModel.onEvent(TransactionListEvent.GoToDate(SimpleDate(2026, 12, 12)))
+        advanceUntilIdle()
+
+        // Then
+        val state = viewModel.uiState.value
+        val item = state.transactions[state.foundTransactionIndex!!] as TransactionListDisplayItem.Transaction
+        assertEquals("Tx320", item.description)
+    }
+
     // ========================================
     // Debounce edge cases
     // ========================================
@@ -1158,7 +1411,9 @@ class TransactionListViewModelTest {
                 ledgerId = 1L,
                 date = SimpleDate(2026, 1, 10),
                 description = "Batch 1 Transaction",
-                lines = listOf(TransactionLine(id = 1L, accountName = "Assets:Cash", amount = 100f, currency = "USD"))
+                lines = listOf(
+                    TransactionLine(id = 1L, accountName = "Assets:Cash", amount = Amount.of(100), currency = "USD")
+                )
             )
         )
         val batch2 = listOf(
@@ -1167,7 +1422,9 @@ class TransactionListViewModelTest {
                 ledgerId = 2L,
                 date = SimpleDate(2026, 1, 11),
                 description = "Batch 2 Transaction",
-                lines = listOf(TransactionLine(id = 2L, accountName = "Expenses:Food", amount = -50f, currency = "USD"))
+                lines = listOf(
+                    TransactionLine(id = 2L, accountName = "Expenses:Food", amount = Amount.of(-50), currency = "USD")
+                )
             )
         )
 
@@ -1205,7 +1462,7 @@ class TransactionListViewModelTest {
                     TransactionLine(
                         id = i.toLong(),
                         accountName = "Assets:Cash",
-                        amount = i * 10f,
+                        amount = Amount.of(i * 10L),
                         currency = "USD"
                     )
                 )
@@ -1251,7 +1508,7 @@ class FakeTransactionRepositoryForTransactionList : net.ktnx.mobileledger.core.d
                 TransactionLine(
                     id = acc.id,
                     accountName = acc.accountName,
-                    amount = acc.amount,
+                    amount = Amount.of(acc.amountMantissa, acc.amountScale),
                     currency = acc.currency ?: "",
                     comment = acc.comment
                 )
@@ -1298,9 +1555,65 @@ class FakeTransactionRepositoryForTransactionList : net.ktnx.mobileledger.core.d
         Result.success(transactions.find { it.transaction.id == transactionId }?.toDomainModel())
     }
 
-    override suspend fun searchByDescription(term: String): Result<List<String>> = Result.success(
+    override suspend fun getTransactionPage(
+        profileId: Long,
+        accountName: String?,
+        after: DomainTransaction?,
+        limit: Int
+    ): Result<List<DomainTransaction>> = runCatching {
+        val newestFirst = compareByDescending<DomainTransaction> { it.date }.thenByDescending { it.ledgerId }
+        observeTransactionsFiltered(profileId, accountName).first()
+            .sortedWith(newestFirst)
+            .filter { after == null || newestFirst.compare(it, after) > 0 }
+            .take(limit)
+    }
+
+    override suspend fun getNewerTransactionPage(
+        profileId: Long,
+        accountName: String?,
+        before: DomainTransaction,
+        limit: Int
+    ): Result<List<DomainTransaction>> = runCatching {
+        val newestFirst = compareByDescending<DomainTransaction> { it.date }.thenByDescending { it.ledgerId }
+        observeTransactionsFiltered(profileId, accountName).first()
+            .sortedWith(newestFirst)
+            .filter { newestFirst.compare(it, before) < 0 }
+            .takeLast(limit)
+    }
+
+    override suspend fun getTransactionDateRange(
+        profileId: Long,
+        accountName: String?
+    ): Result<ClosedRange<SimpleDate>?> = runCatching {
+        val dates = observeTransactionsFiltered(profileId, accountName).first().map { it.date }
+        dates.minOrNull()?.let { it..dates.max() }
+    }
+
+    override suspend fun getRunningBalances(
+        profileId: Long,
+        accountName: String,
+        transactions: List<DomainTransaction>
+    ): Result<Map<Long, List<AccountAmount>>> = runCatching {
+        val wanted = transactions.map { it.ledgerId }.toSet()
+        val totals = LinkedHashMap<String, Amount>()
+        val result = HashMap<Long, List<AccountAmount>>()
+        val oldestFirst = compareBy<DomainTransaction> { it.date }.thenBy { it.ledgerId }
+        for (tx in observeTransactionsFiltered(profileId, accountName).first().sortedWith(oldestFirst)) {
+            for (line in tx.lines.filter { it.accountName.contains(accountName, ignoreCase = true) }) {
+                totals[line.currency] = (totals[line.currency] ?: Amount.ZERO) + (line.amount ?: Amount.ZERO)
+            }
+            if (tx.ledgerId in wanted) {
+                result[tx.ledgerId] = totals.map { (currency, amount) -> AccountAmount(currency, amount) }
+            }
+        }
+        result
+    }
+
+    override suspend fun searchByDescription(profileId: Long, term: String): Result<List<String>> = Result.success(
         transactions
-            .filter { it.transaction.description.contains(term, ignoreCase = true) }
+            .filter {
+                it.transaction.profileId == profileId && it.transaction.description.contains(term, ignoreCase = true)
+            }
             .mapNotNull { it.transaction.description }
             .distinct()
     )
@@ -1379,7 +1692,9 @@ class FakeTransactionRepositoryForTransactionList : net.ktnx.mobileledger.core.d
                 TransactionAccount().apply {
                     id = line.id ?: 0L
                     accountName = line.accountName
-                    amount = line.amount ?: 0f
+                    val amount = line.amount ?: Amount.ZERO
+                    amountMantissa = amount.mantissa
+                    amountScale = amount.scale
                     currency = line.currency
                     comment = line.comment
                 }
@@ -1446,14 +1761,4 @@ class FakeAccountRepositoryForTransactionList : net.ktnx.mobileledger.core.domai
         accountNames.clear()
         return Result.success(Unit)
     }
-
-    override suspend fun storeAccountsAsDomain(
-        accounts: List<net.ktnx.mobileledger.core.domain.model.Account>,
-        profileId: Long
-    ): Result<Unit> {
-        accounts.forEach { account ->
-            accountNames.getOrPut(profileId) { mutableListOf() }.add(account.name)
-        }
-        return Result.success(Unit)
-    }
 }
@@ -18,6 +18,7 @@
 package net.ktnx.mobileledger.ui.transaction
 
 import net.ktnx.mobileledger.core.common.utils.SimpleDate
+import net.ktnx.mobileledger.core.domain.model.Amount
 import net.ktnx.mobileledger.core.domain.model.CurrencyPosition
 import net.ktnx.mobileledger.core.domain.model.FutureDates
 import org.junit.Assert.assertEquals
@@ -275,21 +276,21 @@ class NewTransactionUiStateTest {
     }
 
     @Test
-    fun `amount returns parsed float when valid`() {
+    fun `amount returns parsed value when valid`() {
         val row = TransactionAccountRow(id = 1, amountText = "100.50", isAmountValid = true)
-        assertEquals(100.50f, row.amount!!, 0.001f)
+        assertEquals(Amount.parse("100.50"), row.amount)
     }
 
     @Test
     fun `amount handles comma as decimal separator`() {
         val row = TransactionAccountRow(id = 1, amountText = "100,50", isAmountValid = true)
-        assertEquals(100.50f, row.amount!!, 0.001f)
+        assertEquals(Amount.parse("100.5"), row.amount)
     }
 
     @Test
     fun `amount handles negative values`() {
         val row = TransactionAccountRow(id = 1, amountText = "-50.25", isAmountValid = true)
-        assertEquals(-50.25f, row.amount!!, 0.001f)
+        assertEquals(Amount.parse("-50.25"), row.amount)
     }
 
     @Test
@@ -22,6 +22,7 @@ import kotlinx.coroutines.flow.first
 import kotlinx.coroutines.test.advanceUntilIdle
 import kotlinx.coroutines.test.runTest
 import net.ktnx.mobileledger.core.common.utils.SimpleDate
+import net.ktnx.mobileledger.core.domain.model.Amount
 import net.ktnx.mobileledger.core.domain.model.Profile
 import net.ktnx.mobileledger.core.testing.fake.FakeProfileRepository
 import net.ktnx.mobileledger.core.testing.fake.FakeTransactionRepository
@@ -953,7 +954,7 @@ class TransactionFormViewModelTest {
         // Configure balance calculator to report unbalanced transaction
         balanceCalculator.setBalanceResult(
             lines = emptyList(),
-            balancePerCurrency = mapOf("USD" to 50f), // Non-zero balance
+            balancePerCurrency = mapOf("USD" to Amount.of(50)), // Non-zero balance
             isBalanced = false
         )
 
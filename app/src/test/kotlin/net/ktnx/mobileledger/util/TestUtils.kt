@@ -25,6 +25,7 @@ import net.ktnx.mobileledger.core.database.entity.Profile
 import net.ktnx.mobileledger.core.database.entity.Transaction
 import net.ktnx.mobileledger.core.database.entity.TransactionAccount
 import net.ktnx.mobileledger.core.database.entity.TransactionWithAccounts
+import net.ktnx.mobileledger.core.domain.model.Amount
 import net.ktnx.mobileledger.core.domain.model.FutureDates
 import net.ktnx.mobileledger.core.domain.model.Profile as DomainProfile
 import net.ktnx.mobileledger.core.domain.model.ProfileAuthentication
@@ -115,7 +116,7 @@ fun createTestTransactionAccount(
     id: Long = 0L,
     transactionId: Long = 1L,
     accountName: String = "Assets:Checking",
-    amount: Float = 100.0f,
+    amount: Amount = Amount.of(100),
     currency: String = "USD",
     orderNo: Int = 0,
     comment: String? = null
@@ -123,7 +124,8 @@ fun createTestTransactionAccount(
     this.id = id
     this.transactionId = transactionId
     this.accountName = accountName
-    this.amount = amount
+    this.amountMantissa = amount.mantissa
+    this.amountScale = amount.scale
     this.currency = currency
     this.orderNo = orderNo
     this.comment = comment
@@ -151,13 +153,13 @@ fun createTestTransactionWithAccounts(
         createTestTransactionAccount(
             transactionId = id,
             accountName = "Expenses:Groceries",
-            amount = 50.0f,
+            amount = Amount.of(50),
             orderNo = 0
         ),
         createTestTransactionAccount(
             transactionId = id,
             accountName = "Assets:Checking",
-            amount = -50.0f,
+            amount = Amount.of(-50),
             orderNo = 1
         )
     )
@@ -188,12 +190,13 @@ fun createTestAccountValue(
     id: Long = 0L,
     accountId: Long = 1L,
     currency: String = "USD",
-    value: Float = 1000.0f
+    value: Amount = Amount.of(1000)
 ): AccountValue = AccountValue().apply {
     this.id = id
     this.accountId = accountId
     this.currency = currency
-    this.value = value
+    this.valueMantissa = value.mantissa
+    this.valueScale = value.scale
 }
 
 fun createTestAccountWithAmounts(
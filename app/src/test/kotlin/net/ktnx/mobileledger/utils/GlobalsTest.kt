@@ -119,6 +119,31 @@ class GlobalsTest {
         "2024/06/15".parseIsoDate()
     }
 
+    @Test
+    fun `parseIsoDate accepts single digit month and day`() {
+        assertEquals(SimpleDate(2024, 3, 5), "2024-3-5".parseIsoDate())
+    }
+
+    @Test(expected = ParseException::class)
+    fun `parseIsoDate throws for month out of range`() {
+        "2024-13-01".parseIsoDate()
+    }
+
+    @Test(expected = ParseException::class)
+    fun `parseIsoDate throws for trailing characters`() {
+        "2024-06-15T00:00".parseIsoDate()
+    }
+
+    @Test(expected = ParseException::class)
+    fun `parseIsoDate throws for missing day`() {
+        "2024-06-".parseIsoDate()
+    }
+
+    @Test
+    fun `parseIsoDate reads any CharSequence`() {
+        assertEquals(SimpleDate(2024, 6, 15), StringBuilder("2024-06-15").parseIsoDate())
+    }
+
     // ========================================
     // formatLedgerDate tests (SimpleDate extension)
     // ========================================
@@ -155,6 +180,11 @@ class GlobalsTest {
         assertEquals("2024-01-05", result)
     }
 
+    @Test
+    fun `formatIsoDate pads year to four digits`() {
+        assertEquals("0999-12-31", SimpleDate(999, 12, 31).formatIsoDate())
+    }
+
     // ========================================
     // Round-trip tests
     // ========================================
@@ -0,0 +1,114 @@
+/*
+ * Copyright © 2026 Damyan Ivanov.
+ * This file is part of MoLe.
+ * MoLe is free software: you can distribute it and/or modify it
+ * under the term of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your opinion), any later version.
+ *
+ * MoLe is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License terms for details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MoLe. If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.ktnx.mobileledger.utils
+
+import net.ktnx.mobileledger.core.common.utils.NameDictionary
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertSame
+import org.junit.Test
+
+/**
+ * Unit tests for [NameDictionary].
+ *
+ * Tests verify:
+ * - One shared instance per distinct content, whatever the CharSequence type
+ * - Cached upper-cased forms and parent names
+ * - Growth beyond the initial capacity
+ */
+class NameDictionaryTest {
+
+    @Test
+    fun `intern returns the same instance for equal content`() {
+        val names = NameDictionary()
+        val first = names.intern(StringBuilder("Assets:Cash"))
+        val second = names.intern(String(charArrayOf('A', 's', 's', 'e', 't', 's', ':', 'C', 'a', 's', 'h')))
+
+        assertEquals("Assets:Cash", first)
+        assertSame(first, second)
+        assertEquals(1, names.size)
+    }
+
+    @Test
+    fun `intern keeps distinct content apart`() {
+        val names = NameDictionary()
+        names.intern("Assets:Cash")
+        names.intern("Assets:Bank")
+        names.intern("")
+
+        assertEquals(3, names.size)
+        assertEquals("", names.intern(StringBuilder()))
+    }
+
+    @Test
+    fun `intern copies the given chars`() {
+        val names = NameDictionary()
+        val buffer = StringBuilder("Expenses")
+        val name = names.intern(buffer)
+        buffer.setLength(0)
+        buffer.append("Income")
+
+        assertEquals("Expenses", name)
+        assertSame(name, names.intern("Expenses"))
+    }
+
+    @Test
+    fun `upper is cached and matches uppercase`() {
+        val names = NameDictionary()
+        val upper = names.upper("Assets:Café")
+
+        assertEquals("Assets:Café".uppercase(), upper)
+        assertSame(upper, names.upper(String(StringBuilder("Assets:Café"))))
+    }
+
+    @Test
+    fun `upper of an upper-case name is the name itself`() {
+        val names = NameDictionary()
+        val name = names.intern("USD")
+        assertSame(name, names.upper("USD"))
+    }
+
+    @Test
+    fun `parentOf walks the parent chain`() {
+        val names = NameDictionary()
+        val parent = names.parentOf("Assets:Bank:Checking")
+
+        assertEquals("Assets:Bank", parent)
+        assertEquals("Assets", names.parentOf(parent!!))
+        assertNull(names.parentOf("Assets"))
+        assertSame(parent, names.parentOf("Assets:Bank:Savings"))
+    }
+
+    @Test
+    fun `parentOf ignores a leading colon`() {
+        assertNull(NameDictionary().parentOf(":Assets"))
+    }
+
+    @Test
+    fun `grows beyond initial capacity and keeps cached forms`() {
+        val names = NameDictionary()
+        val upper = names.upper("Account 0")
+        val parent = names.parentOf("Account 0:Sub")
+        val interned = (1..5_000).map { names.intern("Account $it") }
+
+        for ((i, name) in interned.withIndex()) {
+            assertSame(name, names.intern(StringBuilder("Account ${i + 1}")))
+        }
+        assertSame(upper, names.upper("Account 0"))
+        assertSame(parent, names.parentOf("Account 0:Sub"))
+    }
+}
@@ -275,4 +275,33 @@ class SimpleDateTest {
         val d2 = SimpleDate(2020, 6, 15)
         assertEquals(d1.hashCode(), d2.hashCode())
     }
+
+    // ========================================
+    // Packed representation tests
+    // ========================================
+
+    @Test
+    fun `packed holds yyyymmdd`() {
+        assertEquals(20240305, SimpleDate(2024, 3, 5).packed)
+    }
+
+    @Test
+    fun `fromPacked restores the date`() {
+        val date = SimpleDate.fromPacked(20241231)
+        assertEquals(2024, date.year)
+        assertEquals(12, date.month)
+        assertEquals(31, date.day)
+        assertEquals(SimpleDate(2024, 12, 31), date)
+    }
+
+    @Test
+    fun `packed order matches date order`() {
+        val dates = listOf(SimpleDate(2024, 1, 31), SimpleDate(2023, 12, 1), SimpleDate(2024, 2, 1))
+        assertEquals(dates.sorted().map { it.packed }, dates.map { it.packed }.sorted())
+    }
+
+    @Test(expected = IllegalArgumentException::class)
+    fun `constructor rejects day out of range`() {
+        SimpleDate(2024, 1, 100)
+    }
 }
@@ -18,20 +18,9 @@
 package net.ktnx.mobileledger.core.common.utils
 
 import java.text.ParseException
-import java.text.SimpleDateFormat
 import java.util.Calendar
-import java.util.Locale
 import java.util.regex.Pattern
 
-// Thread-local date formatters for thread-safe parsing/formatting
-private val ledgerDateFormatter: ThreadLocal<SimpleDateFormat> = ThreadLocal.withInitial {
-    SimpleDateFormat("yyyy/MM/dd", Locale.US)
-}
-
-private val isoDateFormatter: ThreadLocal<SimpleDateFormat> = ThreadLocal.withInitial {
-    SimpleDateFormat("yyyy-MM-dd", Locale.US)
-}
-
 private val reLedgerDate = Pattern.compile("^(?:(?:(\\d+)/)??(\\d\\d?)/)?(\\d\\d?)$")
 
 /**
@@ -80,23 +69,52 @@ fun String.parseLedgerDateAsCalendar(): Calendar = this.parseLedgerDate().toCale
 
 /**
  * Parse an ISO date string (yyyy-MM-dd format) to SimpleDate.
+ *
+ * The digits are read directly from the character sequence, without creating any
+ * intermediate objects. Month and day may have one or two digits.
  */
 @Throws(ParseException::class)
-fun String.parseIsoDate(): SimpleDate {
-    val date = isoDateFormatter.get()?.parse(this)
-        ?: throw ParseException("Failed to parse ISO date: $this", 0)
-    return SimpleDate.fromDate(date)
+fun CharSequence.parseIsoDate(): SimpleDate {
+    var pos = 0
+    var year = 0
+    while (pos < length && this[pos] in '0'..'9') {
+        if (year > SimpleDate.MAX_YEAR / 10) throw isoDateError(this, pos)
+        year = year * 10 + (this[pos++] - '0')
+    }
+    if (pos == 0 || pos == length || this[pos] != '-') throw isoDateError(this, pos)
+    pos++
+
+    val monthStart = pos
+    var month = 0
+    while (pos < length && pos - monthStart < 2 && this[pos] in '0'..'9') {
+        month = month * 10 + (this[pos++] - '0')
+    }
+    if (pos == monthStart || pos == length || this[pos] != '-') throw isoDateError(this, pos)
+    pos++
+
+    val dayStart = pos
+    var day = 0
+    while (pos < length && pos - dayStart < 2 && this[pos] in '0'..'9') {
+        day = day * 10 + (this[pos++] - '0')
+    }
+    if (pos == dayStart || pos != length) throw isoDateError(this, pos)
+
+    if (year > SimpleDate.MAX_YEAR || month !in 1..12 || day !in 1..31) throw isoDateError(this, 0)
+    return SimpleDate(year, month, day)
 }
 
+private fun isoDateError(text: CharSequence, offset: Int) =
+    ParseException("Failed to parse ISO date: $text", offset)
+
 /**
  * Format SimpleDate to ledger date string (yyyy/MM/dd).
  */
-fun SimpleDate.formatLedgerDate(): String = ledgerDateFormatter.get()?.format(toDate()) ?: ""
+fun SimpleDate.formatLedgerDate(): String = formatDate('/', padYear = true)
 
 /**
  * Format SimpleDate to ISO date string (yyyy-MM-dd).
  */
-fun SimpleDate.formatIsoDate(): String = isoDateFormatter.get()?.format(toDate()) ?: ""
+fun SimpleDate.formatIsoDate(): String = formatDate('-', padYear = true)
 
 /**
  * Global constants for the application.
@@ -0,0 +1,142 @@
+/*
+ * Copyright © 2026 Damyan Ivanov.
+ * This file is part of MoLe.
+ * MoLe is free software: you can distribute it and/or modify it
+ * under the term of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your opinion), any later version.
+ *
+ * MoLe is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License terms for details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MoLe. If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.ktnx.mobileledger.core.common.utils
+
+/**
+ * Canonical instances of the account names and commodity symbols seen during one sync.
+ *
+ * A journal names the same few hundred accounts and commodities in every transaction, yet a decoder
+ * creates a new String for every posting. [intern] returns one shared instance per distinct value
+ * instead, looking it up by content so that a decoder can pass a view of its read buffer without
+ * creating a String first. [upper] and [parentOf] cache the derived forms of a name, so that
+ * they are computed once per name rather than once per posting.
+ *
+ * Not thread-safe; use one dictionary per sync or per decoding thread.
+ */
+class NameDictionary {
+    private var names = arrayOfNulls<String>(INITIAL_CAPACITY)
+    private var uppers = arrayOfNulls<String>(INITIAL_CAPACITY)
+    private var parents = arrayOfNulls<Any>(INITIAL_CAPACITY)
+
+    /** Number of distinct names in the dictionary */
+    var size = 0
+        private set
+
+    /**
+     * Returns the canonical String with the content of [chars], adding it if it is new.
+     */
+    fun intern(chars: CharSequence): String = names[slotOf(chars)]!!
+
+    /**
+     * Upper-cased form of [name], as [String.uppercase] would return it.
+     */
+    fun upper(name: String): String {
+        val slot = slotOf(name)
+        uppers[slot]?.let { return it }
+
+        val upper = names[slot]!!.uppercase()
+        // The upper-cased form is interned itself, which may have grown the table
+        val canonical = if (upper == name) names[slot]!! else intern(upper)
+        uppers[slotOf(name)] = canonical
+        return canonical
+    }
+
+    /**
+     * Canonical parent account name of [name], i.e. the part before its last `:`, or null if
+     * [name] is a top-level account.
+     *
+     * Calling this repeatedly walks the parent chain without creating new strings for names
+     * that were already seen.
+     */
+    fun parentOf(name: String): String? {
+        val slot = slotOf(name)
+        when (val cached = parents[slot]) {
+            NO_PARENT -> return null
+            is String -> return cached
+        }
+
+        val colon = name.lastIndexOf(':')
+        val parent = if (colon > 0) intern(name.subSequence(0, colon)) else null
+        parents[slotOf(name)] = parent ?: NO_PARENT
+        return parent
+    }
+
+    /**
+     * Finds the slot of [chars], adding it as a String if it is not in the table yet.
+     */
+    private fun slotOf(chars: CharSequence): Int {
+        val hash = hashOf(chars)
+        var mask = names.size - 1
+        var slot = hash and mask
+        while (true) {
+            val existing = names[slot] ?: break
+            if (spread(existing.hashCode()) == hash && existing.contentEquals(chars)) return slot
+            slot = (slot + 1) and mask
+        }
+
+        if ((size + 1) * LOAD_FACTOR_DIVISOR > names.size * LOAD_FACTOR_DIVIDEND) {
+            grow()
+            mask = names.size - 1
+            slot = hash and mask
+            while (names[slot] != null) slot = (slot + 1) and mask
+        }
+        names[slot] = chars.toString()
+        size++
+        return slot
+    }
+
+    private fun grow() {
+        val oldNames = names
+        val oldUppers = uppers
+        val oldParents = parents
+        names = arrayOfNulls(oldNames.size * 2)
+        uppers = arrayOfNulls(oldNames.size * 2)
+        parents = arrayOfNulls(oldNames.size * 2)
+
+        val mask = names.size - 1
+        for (i in oldNames.indices) {
+            val name = oldNames[i] ?: continue
+            var slot = spread(name.hashCode()) and mask
+            while (names[slot] != null) slot = (slot + 1) and mask
+            names[slot] = name
+            uppers[slot] = oldUppers[i]
+            parents[slot] = oldParents[i]
+        }
+    }
+
+    companion object {
+        private const val INITIAL_CAPACITY = 256
+        private const val LOAD_FACTOR_DIVIDEND = 3
+        private const val LOAD_FACTOR_DIVISOR = 4
+
+        /** Marks a cached parent of a top-level name, as opposed to a parent not looked up yet */
+        private val NO_PARENT = Any()
+
+        /** [String.hashCode] of [chars], spread over the low bits used as table index */
+        private fun hashOf(chars: CharSequence): Int {
+            if (chars is String) return spread(chars.hashCode())
+
+            var h = 0
+            for (i in 0 until chars.length) {
+                h = 31 * h + chars[i].code
+            }
+            return spread(h)
+        }
+
+        private fun spread(h: Int): Int = h xor (h ushr 16)
+    }
+}
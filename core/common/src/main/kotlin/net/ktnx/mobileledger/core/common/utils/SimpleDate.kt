@@ -19,10 +19,25 @@ package net.ktnx.mobileledger.core.common.utils
 
 import java.util.Calendar
 import java.util.Date
-import java.util.Locale
 
-data class SimpleDate(@JvmField val year: Int, @JvmField val month: Int, @JvmField val day: Int) :
-    Comparable<SimpleDate> {
+/**
+ * A calendar date without time or time zone.
+ *
+ * The date is stored as a single [Int] of the form `yyyymmdd` (see [packed]), so comparing,
+ * hashing and sorting dates is a single integer operation.
+ */
+class SimpleDate private constructor(
+    /** The date as `year * 10000 + month * 100 + day`; ordered the same way as the dates */
+    val packed: Int
+) : Comparable<SimpleDate> {
+
+    constructor(year: Int, month: Int, day: Int) : this(pack(year, month, day))
+
+    val year: Int get() = packed / 10000
+
+    val month: Int get() = packed / 100 % 100
+
+    val day: Int get() = packed % 100
 
     fun toCalendar(): Calendar = Calendar.getInstance().apply {
         set(year, month - 1, day)
@@ -30,39 +45,71 @@ data class SimpleDate(@JvmField val year: Int, @JvmField val month: Int, @JvmFie
 
     fun toDate(): Date = toCalendar().time
 
-    fun earlierThan(date: SimpleDate): Boolean {
-        if (year < date.year) return true
-        if (year > date.year) return false
-        if (month < date.month) return true
-        if (month > date.month) return false
-        return day < date.day
-    }
-
-    fun laterThan(date: SimpleDate): Boolean {
-        if (year > date.year) return true
-        if (year < date.year) return false
-        if (month > date.month) return true
-        if (month < date.month) return false
-        return day > date.day
-    }
+    fun earlierThan(date: SimpleDate): Boolean = packed < date.packed
 
-    override fun compareTo(other: SimpleDate): Int {
-        var res = year.compareTo(other.year)
-        if (res != 0) return res
+    fun laterThan(date: SimpleDate): Boolean = packed > date.packed
 
-        res = month.compareTo(other.month)
-        if (res != 0) return res
-
-        return day.compareTo(other.day)
-    }
+    override fun compareTo(other: SimpleDate): Int = packed.compareTo(other.packed)
 
     fun asCalendar(): Calendar = Calendar.getInstance().apply {
         set(year, month, day)
     }
 
-    override fun toString(): String = String.format(Locale.US, "%d-%02d-%02d", year, month, day)
+    override fun equals(other: Any?): Boolean = other is SimpleDate && packed == other.packed
+
+    override fun hashCode(): Int = packed
+
+    override fun toString(): String = formatDate('-', padYear = false)
+
+    /**
+     * Formats the date as `yyyy<separator>MM<separator>dd` without intermediate objects.
+     * The year is zero-padded to four digits when [padYear] is set.
+     */
+    internal fun formatDate(separator: Char, padYear: Boolean): String {
+        val y = year
+        val yearDigits = if (padYear) maxOf(4, digitCount(y)) else digitCount(y)
+        val chars = CharArray(yearDigits + 6)
+        var v = y
+        for (i in yearDigits - 1 downTo 0) {
+            chars[i] = '0' + v % 10
+            v /= 10
+        }
+        chars[yearDigits] = separator
+        chars[yearDigits + 1] = '0' + month / 10
+        chars[yearDigits + 2] = '0' + month % 10
+        chars[yearDigits + 3] = separator
+        chars[yearDigits + 4] = '0' + day / 10
+        chars[yearDigits + 5] = '0' + day % 10
+        return String(chars)
+    }
 
     companion object {
+        /** The largest year that fits in [packed] */
+        const val MAX_YEAR = Int.MAX_VALUE / 10000 - 1
+
+        private fun pack(year: Int, month: Int, day: Int): Int {
+            require(year in 0..MAX_YEAR) { "Year $year out of range" }
+            require(month in 0..99) { "Month $month out of range" }
+            require(day in 0..99) { "Day $day out of range" }
+            return year * 10000 + month * 100 + day
+        }
+
+        private fun digitCount(value: Int): Int {
+            var count = 1
+            var v = value
+            while (v >= 10) {
+                v /= 10
+                count++
+            }
+            return count
+        }
+
+        /**
+         * Restores a date from its [packed] form.
+         */
+        @JvmStatic
+        fun fromPacked(packed: Int): SimpleDate = SimpleDate(packed / 10000, packed / 100 % 100, packed % 100)
+
         @JvmStatic
         fun fromDate(date: Date): SimpleDate {
             val calendar = Calendar.getInstance().apply { time = date }
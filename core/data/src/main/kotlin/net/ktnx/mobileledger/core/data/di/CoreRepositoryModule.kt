@@ -22,11 +22,14 @@ import dagger.Module
 import dagger.hilt.InstallIn
 import dagger.hilt.components.SingletonComponent
 import javax.inject.Singleton
+import net.ktnx.mobileledger.core.data.repository.DatabaseTransactionRunner
 import net.ktnx.mobileledger.core.data.repository.impl.AccountRepositoryImpl
 import net.ktnx.mobileledger.core.data.repository.impl.CurrencyRepositoryImpl
 import net.ktnx.mobileledger.core.data.repository.impl.OptionRepositoryImpl
 import net.ktnx.mobileledger.core.data.repository.impl.PreferencesRepositoryImpl
 import net.ktnx.mobileledger.core.data.repository.impl.ProfileRepositoryImpl
+import net.ktnx.mobileledger.core.data.repository.impl.ReportsRepositoryImpl
+import net.ktnx.mobileledger.core.data.repository.impl.RoomDatabaseTransactionRunner
 import net.ktnx.mobileledger.core.data.repository.impl.TemplateRepositoryImpl
 import net.ktnx.mobileledger.core.data.repository.impl.TransactionRepositoryImpl
 import net.ktnx.mobileledger.core.domain.repository.AccountRepository
@@ -34,6 +37,7 @@ import net.ktnx.mobileledger.core.domain.repository.CurrencyRepository
 import net.ktnx.mobileledger.core.domain.repository.OptionRepository
 import net.ktnx.mobileledger.core.domain.repository.PreferencesRepository
 import net.ktnx.mobileledger.core.domain.repository.ProfileRepository
+import net.ktnx.mobileledger.core.domain.repository.ReportsRepository
 import net.ktnx.mobileledger.core.domain.repository.TemplateRepository
 import net.ktnx.mobileledger.core.domain.repository.TransactionRepository
 
@@ -52,6 +56,8 @@ import net.ktnx.mobileledger.core.domain.repository.TransactionRepository
  * - PreferencesRepository: App-wide preferences
  * - TransactionRepository: Transaction data access
  * - TemplateRepository: Transaction template management
+ * - ReportsRepository: Financial reports from the local ledger
+ * - DatabaseTransactionRunner: Database transactions spanning several DAO calls
  *
  * ## Design Notes
  *
@@ -91,4 +97,12 @@ abstract class CoreRepositoryModule {
     @Binds
     @Singleton
     abstract fun bindTemplateRepository(impl: TemplateRepositoryImpl): TemplateRepository
+
+    @Binds
+    @Singleton
+    abstract fun bindReportsRepository(impl: ReportsRepositoryImpl): ReportsRepository
+
+    @Binds
+    @Singleton
+    abstract fun bindDatabaseTransactionRunner(impl: RoomDatabaseTransactionRunner): DatabaseTransactionRunner
 }
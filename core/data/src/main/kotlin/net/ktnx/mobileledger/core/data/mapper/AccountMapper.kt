@@ -22,6 +22,7 @@ import net.ktnx.mobileledger.core.database.entity.AccountValue
 import net.ktnx.mobileledger.core.database.entity.AccountWithAmounts
 import net.ktnx.mobileledger.core.domain.model.Account
 import net.ktnx.mobileledger.core.domain.model.AccountAmount
+import net.ktnx.mobileledger.core.domain.model.Amount
 
 /**
  * Account ドメインモデルとデータベースエンティティ間の変換を担当
@@ -40,7 +41,7 @@ object AccountMapper {
      * - level: account.level
      * - isExpanded: account.expanded
      * - isVisible: true (default, UI state)
-     * - amounts: amounts.map { AccountAmount(it.currency, it.value) }
+     * - amounts: amounts.map { AccountAmount(it.currency, Amount.of(it.valueMantissa, it.valueScale)) }
      *
      * Hidden fields:
      * - profileId
@@ -62,7 +63,7 @@ object AccountMapper {
      */
     fun AccountValue.toDomain(): AccountAmount = AccountAmount(
         currency = currency,
-        amount = value
+        amount = Amount.of(valueMantissa, valueScale)
     )
 
     /**
@@ -87,7 +88,8 @@ object AccountMapper {
         val dbAmounts = amounts.map { amount ->
             AccountValue().apply {
                 this.currency = amount.currency
-                this.value = amount.amount
+                this.valueMantissa = amount.amount.mantissa
+                this.valueScale = amount.amount.scale
             }
         }
 
@@ -96,21 +98,4 @@ object AccountMapper {
             amounts = dbAmounts
         }
     }
-
-    /**
-     * 既存アカウントのUI状態（展開状態等）を保持した新しいAccountを返す
-     *
-     * 同期処理で使用。既存のアカウントが存在する場合、そのIDと展開状態を引き継ぐ。
-     *
-     * @param existing 既存のアカウント。null の場合は元のAccountをそのまま返す
-     * @return 既存のUI状態を反映した Account
-     */
-    fun Account.withStateFrom(existing: Account?): Account = if (existing != null) {
-        copy(
-            id = existing.id,
-            isExpanded = existing.isExpanded
-        )
-    } else {
-        this
-    }
 }
@@ -17,10 +17,12 @@
 
 package net.ktnx.mobileledger.core.data.mapper
 
+import net.ktnx.mobileledger.core.common.utils.Digest
 import net.ktnx.mobileledger.core.common.utils.SimpleDate
 import net.ktnx.mobileledger.core.database.entity.Transaction as DbTransaction
 import net.ktnx.mobileledger.core.database.entity.TransactionAccount
 import net.ktnx.mobileledger.core.database.entity.TransactionWithAccounts
+import net.ktnx.mobileledger.core.domain.model.Amount
 import net.ktnx.mobileledger.core.domain.model.Transaction
 import net.ktnx.mobileledger.core.domain.model.TransactionLine
 
@@ -38,7 +40,7 @@ object TransactionMapper {
      * - date: SimpleDate(transaction.year, transaction.month, transaction.day)
      * - description: transaction.description
      * - comment: transaction.comment
-     * - lines: accounts.map { it.toDomain() }
+     * - lines: accounts.map { it.toDomain() }（勘定科目名は account_id の参照先から解決）
      *
      * Hidden fields (not exposed to domain):
      * - profileId
@@ -56,19 +58,22 @@ object TransactionMapper {
         ),
         description = entity.transaction.description,
         comment = entity.transaction.comment,
-        lines = entity.accounts.map { toDomain(it) }
+        lines = entity.accounts.map { toDomain(it, entity.accountNameOf(it)) }
     )
 
     /**
      * TransactionAccount のドメインモデルへの変換
+     *
+     * @param accountName 勘定科目名。省略時は entity.accountName を使う
      */
-    fun toDomain(entity: TransactionAccount): TransactionLine = TransactionLine(
-        id = entity.id,
-        accountName = entity.accountName,
-        amount = entity.amount,
-        currency = entity.currency.ifEmpty { "" },
-        comment = entity.comment
-    )
+    fun toDomain(entity: TransactionAccount, accountName: String = entity.accountName): TransactionLine =
+        TransactionLine(
+            id = entity.id,
+            accountName = accountName,
+            amount = Amount.of(entity.amountMantissa, entity.amountScale),
+            currency = entity.currency.ifEmpty { "" },
+            comment = entity.comment
+        )
 
     /**
      * List of TransactionWithAccounts をドメインモデルに変換
@@ -87,6 +92,7 @@ object TransactionMapper {
      * - transaction.day: domain.date.day
      * - transaction.description: domain.description
      * - transaction.comment: domain.comment
+     * - transaction.dataHash: contentHash(domain)
      * - accounts: domain.lines.mapIndexed { index, line -> line.toEntity(index + 1) }
      */
     fun toEntity(domain: Transaction, profileId: Long): TransactionWithAccounts {
@@ -99,6 +105,7 @@ object TransactionMapper {
             day = domain.date.day
             description = domain.description
             comment = domain.comment
+            dataHash = contentHash(domain)
         }
 
         val dbAccounts = domain.lines.mapIndexed { index, line ->
@@ -111,6 +118,50 @@ object TransactionMapper {
         }
     }
 
+    /**
+     * 取引内容のハッシュを計算する
+     *
+     * 日付・説明・コメントと全ての取引行（勘定科目・金額・通貨・コメント）を正規化した
+     * 表現の SHA-256 を16進文字列で返す。データベースIDと ledger ID は含まない。
+     * 同期時に既存行との差分検出に使用する。
+     *
+     * 各文字列は「長さ:内容」形式で連結するため、区切り文字を含む値でも衝突しない。
+     * 金額は正規化された仮数と小数点以下桁数（null は 0）で表現する。
+     */
+    fun contentHash(domain: Transaction): String {
+        val canonical = StringBuilder()
+        canonical.append(CONTENT_HASH_FORMAT)
+        canonical.append(domain.date.year).append('-')
+            .append(domain.date.month).append('-')
+            .append(domain.date.day).append(';')
+        canonical.appendField(domain.description)
+        canonical.appendField(domain.comment)
+        canonical.append(domain.lines.size).append(';')
+        for (line in domain.lines) {
+            canonical.appendField(line.accountName)
+            val amount = line.amount ?: Amount.ZERO
+            canonical.append(amount.mantissa).append('e').append(amount.scale).append(';')
+            canonical.appendField(line.currency)
+            canonical.appendField(line.comment)
+        }
+
+        val digest = Digest("SHA-256")
+        digest.update(canonical.toString().toByteArray(Charsets.UTF_8))
+        return digest.digestToHexString()
+    }
+
+    /** null と空文字列を区別して、長さ付きで追加する */
+    private fun StringBuilder.appendField(value: String?) {
+        if (value == null) {
+            append("-;")
+        } else {
+            append(value.length).append(':').append(value).append(';')
+        }
+    }
+
+    /** ハッシュ対象の表現形式。形式を変える場合は値を変更し、既存のハッシュを無効化する */
+    private const val CONTENT_HASH_FORMAT = "v2;"
+
     /**
      * TransactionLine のエンティティへの変換
      */
@@ -118,7 +169,9 @@ object TransactionMapper {
         id = domain.id ?: 0L
         this.orderNo = orderNo
         accountName = domain.accountName
-        amount = domain.amount ?: 0f
+        val amount = domain.amount ?: Amount.ZERO
+        amountMantissa = amount.mantissa
+        amountScale = amount.scale
         currency = domain.currency
         comment = domain.comment
     }
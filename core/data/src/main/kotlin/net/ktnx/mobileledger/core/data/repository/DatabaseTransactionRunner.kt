@@ -0,0 +1,37 @@
+/*
+ * Copyright © 2026 Damyan Ivanov.
+ * This file is part of MoLe.
+ * MoLe is free software: you can distribute it and/or modify it
+ * under the term of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your opinion), any later version.
+ *
+ * MoLe is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License terms for details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MoLe. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package net.ktnx.mobileledger.core.data.repository
+
+/**
+ * Runs database work as a single SQLite transaction.
+ *
+ * Repositories use it to store a change together with the summary tables derived from it, so that
+ * a failure half way leaves neither of them changed.
+ */
+interface DatabaseTransactionRunner {
+    /**
+     * Runs [block] in one database transaction, committed when [block] returns and rolled back
+     * when it throws.
+     *
+     * [block] must not switch to another dispatcher: the transaction is bound to the thread it
+     * was started on.
+     *
+     * @return The value returned by [block]
+     */
+    suspend fun <R> inTransaction(block: suspend () -> R): R
+}
@@ -21,15 +21,15 @@ import javax.inject.Inject
 import javax.inject.Singleton
 import kotlinx.coroutines.CoroutineDispatcher
 import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.flowOf
 import kotlinx.coroutines.flow.map
 import kotlinx.coroutines.withContext
 import net.ktnx.mobileledger.core.common.di.IoDispatcher
 import net.ktnx.mobileledger.core.data.exception.CoreExceptionMapper
 import net.ktnx.mobileledger.core.data.mapper.AccountMapper.toDomain
-import net.ktnx.mobileledger.core.data.mapper.AccountMapper.toEntity
 import net.ktnx.mobileledger.core.data.repository.safeCall
 import net.ktnx.mobileledger.core.database.dao.AccountDAO
-import net.ktnx.mobileledger.core.database.dao.AccountValueDAO
+import net.ktnx.mobileledger.core.database.dao.FtsQuery
 import net.ktnx.mobileledger.core.domain.model.Account
 import net.ktnx.mobileledger.core.domain.repository.AccountRepository
 
@@ -47,7 +47,6 @@ import net.ktnx.mobileledger.core.domain.repository.AccountRepository
 @Singleton
 class AccountRepositoryImpl @Inject constructor(
     private val accountDAO: AccountDAO,
-    private val accountValueDAO: AccountValueDAO,
     private val exceptionMapper: CoreExceptionMapper,
     @IoDispatcher private val ioDispatcher: CoroutineDispatcher
 ) : AccountRepository {
@@ -68,13 +67,17 @@ class AccountRepositoryImpl @Inject constructor(
     // Search Operations (Flow - observe prefix)
     // ========================================
 
-    override fun observeSearchAccountNames(profileId: Long, term: String): Flow<List<String>> =
-        accountDAO.lookupNamesInProfileByName(profileId, term.uppercase())
+    override fun observeSearchAccountNames(profileId: Long, term: String): Flow<List<String>> {
+        val query = FtsQuery.prefixPhrase(term) ?: return flowOf(emptyList())
+        return accountDAO.lookupNamesInProfileByName(profileId, term.uppercase(), query)
             .map { containers -> AccountDAO.unbox(containers) }
+    }
 
-    override fun observeSearchAccountNamesGlobal(term: String): Flow<List<String>> =
-        accountDAO.lookupNamesByName(term.uppercase())
+    override fun observeSearchAccountNamesGlobal(term: String): Flow<List<String>> {
+        val query = FtsQuery.prefixPhrase(term) ?: return flowOf(emptyList())
+        return accountDAO.lookupNamesByName(term.uppercase(), query)
             .map { containers -> AccountDAO.unbox(containers) }
+    }
 
     // ========================================
     // Query Operations (suspend - no suffix)
@@ -102,21 +105,24 @@ class AccountRepositoryImpl @Inject constructor(
     override suspend fun searchAccountNames(profileId: Long, term: String): Result<List<String>> =
         safeCall(exceptionMapper) {
             withContext(ioDispatcher) {
-                AccountDAO.unbox(accountDAO.lookupNamesInProfileByNameSync(profileId, term.uppercase()))
+                val query = FtsQuery.prefixPhrase(term) ?: return@withContext emptyList()
+                AccountDAO.unbox(accountDAO.lookupNamesInProfileByNameSync(profileId, term.uppercase(), query))
             }
         }
 
     override suspend fun searchAccountsWithAmounts(profileId: Long, term: String): Result<List<Account>> =
         safeCall(exceptionMapper) {
             withContext(ioDispatcher) {
-                accountDAO.lookupWithAmountsInProfileByNameSync(profileId, term.uppercase())
+                val query = FtsQuery.prefixPhrase(term) ?: return@withContext emptyList()
+                accountDAO.lookupWithAmountsInProfileByNameSync(profileId, term.uppercase(), query)
                     .map { it.toDomain() }
             }
         }
 
     override suspend fun searchAccountNamesGlobal(term: String): Result<List<String>> = safeCall(exceptionMapper) {
         withContext(ioDispatcher) {
-            AccountDAO.unbox(accountDAO.lookupNamesByNameSync(term.uppercase()))
+            val query = FtsQuery.prefixPhrase(term) ?: return@withContext emptyList()
+            AccountDAO.unbox(accountDAO.lookupNamesByNameSync(term.uppercase(), query))
         }
     }
 
@@ -124,36 +130,6 @@ class AccountRepositoryImpl @Inject constructor(
     // Mutation Operations
     // ========================================
 
-    override suspend fun storeAccountsAsDomain(accounts: List<Account>, profileId: Long): Result<Unit> =
-        safeCall(exceptionMapper) {
-            withContext(ioDispatcher) {
-                val generation = accountDAO.getGenerationSync(profileId) + 1
-
-                for (domainAccount in accounts) {
-                    val entity = domainAccount.toEntity(profileId)
-                    entity.account.generation = generation
-
-                    // Check for existing account to preserve amountsExpanded (not in domain model)
-                    val existing = accountDAO.getByNameSync(profileId, domainAccount.name)
-                    if (existing != null) {
-                        entity.account.amountsExpanded = existing.amountsExpanded
-                    }
-
-                    // Insert account
-                    entity.account.id = accountDAO.insertSync(entity.account)
-
-                    // Insert amounts
-                    for (value in entity.amounts.toList()) {
-                        value.accountId = entity.account.id
-                        value.generation = generation
-                        value.id = accountValueDAO.insertSync(value)
-                    }
-                }
-                accountDAO.purgeOldAccountsSync(profileId, generation)
-                accountDAO.purgeOldAccountValuesSync(profileId, generation)
-            }
-        }
-
     override suspend fun getCountForProfile(profileId: Long): Result<Int> = safeCall(exceptionMapper) {
         withContext(ioDispatcher) {
             accountDAO.getCountForProfileSync(profileId)
@@ -133,6 +133,15 @@ class ProfileRepositoryImpl @Inject constructor(
 
     override suspend fun deleteProfile(profile: Profile): Result<Unit> = safeCall(exceptionMapper) {
         withContext(ioDispatcher) {
+            // remove the ledger data in batches, so that the database is not locked for writing
+            // by other profiles while a large profile cascades away; all profiles share one
+            // database file, keeping them in separate files is still on the TODO list
+            do {
+                val deleted = profileDAO.deleteTransactionBatchSync(profile.id, DELETE_BATCH_SIZE)
+            } while (deleted > 0)
+            do {
+                val deleted = profileDAO.deleteAccountBatchSync(profile.id, DELETE_BATCH_SIZE)
+            } while (deleted > 0)
             profileDAO.deleteSync(profile.toEntity())
         }
         // If deleted profile was current, select another or clear
@@ -158,4 +167,8 @@ class ProfileRepositoryImpl @Inject constructor(
         }
         _currentProfile.value = null
     }
+
+    companion object {
+        private const val DELETE_BATCH_SIZE = 500
+    }
 }
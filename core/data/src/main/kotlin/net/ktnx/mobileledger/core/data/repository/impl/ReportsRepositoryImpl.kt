@@ -0,0 +1,160 @@
+/*
+ * Copyright © 2026 Damyan Ivanov.
+ * This file is part of MoLe.
+ * MoLe is free software: you can distribute it and/or modify it
+ * under the term of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your opinion), any later version.
+ *
+ * MoLe is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License terms for details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MoLe. If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.ktnx.mobileledger.core.data.repository.impl
+
+import java.util.Calendar
+import java.util.TreeMap
+import javax.inject.Inject
+import javax.inject.Singleton
+import kotlinx.coroutines.CoroutineDispatcher
+import kotlinx.coroutines.withContext
+import net.ktnx.mobileledger.core.common.di.IoDispatcher
+import net.ktnx.mobileledger.core.common.utils.SimpleDate
+import net.ktnx.mobileledger.core.data.exception.CoreExceptionMapper
+import net.ktnx.mobileledger.core.data.repository.safeCall
+import net.ktnx.mobileledger.core.data.sync.sumOrRows
+import net.ktnx.mobileledger.core.database.dao.AccountMonthTotalDAO
+import net.ktnx.mobileledger.core.domain.model.AccountAmount
+import net.ktnx.mobileledger.core.domain.model.AccountType
+import net.ktnx.mobileledger.core.domain.model.Amount
+import net.ktnx.mobileledger.core.domain.model.Report
+import net.ktnx.mobileledger.core.domain.model.ReportLine
+import net.ktnx.mobileledger.core.domain.model.ReportSection
+import net.ktnx.mobileledger.core.domain.repository.ReportsRepository
+
+/**
+ * Implementation of [ReportsRepository] over the monthly account totals of [AccountMonthTotalDAO].
+ *
+ * The whole months of a period are read from the monthly totals; the days of the partial
+ * months at its start and end are summed from their postings. A profile without monthly totals,
+ * such as one not synced since the table was added, is summed from its postings alone.
+ *
+ * The asset section of the balance sheet includes the cash accounts.
+ *
+ * Accounts are assigned to sections by [AccountType.fromAccountName], which only recognises
+ * the usual English top-level names (`Assets`, `Liabilities`/`Debts`, `Equity`,
+ * `Income`/`Revenue`, `Expenses`). Account types declared in the journal are not known here, so
+ * accounts of ledgers using other names, or other languages, appear in no section.
+ *
+ * Thread-safety: All operations are safe to call from any coroutine context.
+ */
+@Singleton
+class ReportsRepositoryImpl @Inject constructor(
+    private val accountMonthTotalDAO: AccountMonthTotalDAO,
+    private val exceptionMapper: CoreExceptionMapper,
+    @IoDispatcher private val ioDispatcher: CoroutineDispatcher
+) : ReportsRepository {
+
+    override suspend fun getBalanceSheet(profileId: Long, date: SimpleDate): Result<Report> =
+        report(profileId, null, date, listOf(AccountType.ASSET, AccountType.LIABILITY, AccountType.EQUITY))
+
+    override suspend fun getIncomeStatement(profileId: Long, period: ClosedRange<SimpleDate>): Result<Report> =
+        report(profileId, period.start, period.endInclusive, listOf(AccountType.REVENUE, AccountType.EXPENSE))
+
+    override suspend fun getCashFlow(profileId: Long, period: ClosedRange<SimpleDate>): Result<Report> =
+        report(profileId, period.start, period.endInclusive, listOf(AccountType.CASH))
+
+    private suspend fun report(
+        profileId: Long,
+        first: SimpleDate?,
+        last: SimpleDate,
+        types: List<AccountType>
+    ): Result<Report> = safeCall(exceptionMapper) {
+        withContext(ioDispatcher) {
+            val totals = accountTotals(profileId, first, last)
+            Report(types.map { type -> section(type, totals) })
+        }
+    }
+
+    private fun section(type: AccountType, totals: Map<String, Map<String, Amount>>): ReportSection {
+        val lines = totals.keys
+            .filter { name ->
+                val accountType = AccountType.fromAccountName(name)
+                accountType == type || (type == AccountType.ASSET && accountType == AccountType.CASH)
+            }
+            .sorted()
+            .map { name -> ReportLine(name, toAccountAmounts(totals.getValue(name))) }
+            .filter { it.amounts.isNotEmpty() }
+
+        val total = TreeMap<String, Amount>()
+        for (line in lines) {
+            for (amount in line.amounts) {
+                total[amount.currency] = (total[amount.currency] ?: Amount.ZERO) + amount.amount
+            }
+        }
+        return ReportSection(type, lines, toAccountAmounts(total))
+    }
+
+    /**
+     * Totals of the profile's accounts from [first] (or the start of the ledger) to [last],
+     * by account name and currency.
+     */
+    private fun accountTotals(profileId: Long, first: SimpleDate?, last: SimpleDate): Map<String, Map<String, Amount>> {
+        val firstDate = first?.packed ?: 0
+        val firstMonth = when {
+            first == null -> 0
+            first.day == 1 -> first.packed / 100
+            else -> nextMonth(first.packed / 100)
+        }
+        val lastMonth = if (isLastDayOfMonth(last)) last.packed / 100 else previousMonth(last.packed / 100)
+
+        val sums = ArrayList<AccountMonthTotalDAO.AccountSumContainer>()
+        if (firstMonth > lastMonth || !accountMonthTotalDAO.hasTotalsSync(profileId)) {
+            sums.addAll(postingTotals(profileId, firstDate, last.packed))
+        } else {
+            sums.addAll(
+                sumOrRows(
+                    { accountMonthTotalDAO.getAccountTotalsSync(profileId, firstMonth, lastMonth) },
+                    { accountMonthTotalDAO.getAccountMonthRowsSync(profileId, firstMonth, lastMonth) }
+                )
+            )
+            if (first != null && first.day != 1) {
+                val endOfFirstMonth = first.packed / 100 * 100 + 99
+                sums.addAll(postingTotals(profileId, firstDate, endOfFirstMonth))
+            }
+            if (lastMonth < last.packed / 100) {
+                val startOfLastMonth = last.packed / 100 * 100 + 1
+                sums.addAll(postingTotals(profileId, startOfLastMonth, last.packed))
+            }
+        }
+
+        // sums come grouped by amount scale and by source, or unsummed after an overflow;
+        // add them up per account and currency
+        val totals = HashMap<String, TreeMap<String, Amount>>()
+        for (sum in sums) {
+            val amounts = totals.getOrPut(sum.accountName) { TreeMap() }
+            val amount = Amount.of(sum.amountMantissa, sum.amountScale)
+            amounts[sum.currency] = (amounts[sum.currency] ?: Amount.ZERO) + amount
+        }
+        return totals
+    }
+
+    private fun postingTotals(profileId: Long, firstDate: Int, lastDate: Int) = sumOrRows(
+        { accountMonthTotalDAO.getPostingTotalsSync(profileId, firstDate, lastDate) },
+        { accountMonthTotalDAO.getPostingAmountsSync(profileId, firstDate, lastDate) }
+    )
+
+    private fun toAccountAmounts(amounts: Map<String, Amount>): List<AccountAmount> =
+        amounts.filterValues { !it.isZero }.map { (currency, amount) -> AccountAmount(currency, amount) }
+
+    private fun isLastDayOfMonth(date: SimpleDate): Boolean =
+        date.day == date.toCalendar().getActualMaximum(Calendar.DAY_OF_MONTH)
+
+    private fun nextMonth(month: Int): Int = if (month % 100 == 12) (month / 100 + 1) * 100 + 1 else month + 1
+
+    private fun previousMonth(month: Int): Int = if (month % 100 == 1) (month / 100 - 1) * 100 + 12 else month - 1
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright © 2026 Damyan Ivanov.
+ * This file is part of MoLe.
+ * MoLe is free software: you can distribute it and/or modify it
+ * under the term of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your opinion), any later version.
+ *
+ * MoLe is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License terms for details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MoLe. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package net.ktnx.mobileledger.core.data.repository.impl
+
+import androidx.room.withTransaction
+import javax.inject.Inject
+import javax.inject.Singleton
+import net.ktnx.mobileledger.core.data.repository.DatabaseTransactionRunner
+import net.ktnx.mobileledger.core.database.MoLeDatabase
+
+/**
+ * [DatabaseTransactionRunner] using [MoLeDatabase.withTransaction], like `SyncWriter` does.
+ */
+@Singleton
+class RoomDatabaseTransactionRunner @Inject constructor(
+    private val db: MoLeDatabase
+) : DatabaseTransactionRunner {
+
+    override suspend fun <R> inTransaction(block: suspend () -> R): R = db.withTransaction(block)
+}
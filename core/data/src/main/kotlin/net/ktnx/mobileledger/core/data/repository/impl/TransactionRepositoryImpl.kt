@@ -24,18 +24,27 @@ import kotlinx.coroutines.flow.Flow
 import kotlinx.coroutines.flow.map
 import kotlinx.coroutines.withContext
 import net.ktnx.mobileledger.core.common.di.IoDispatcher
+import net.ktnx.mobileledger.core.common.utils.SimpleDate
 import net.ktnx.mobileledger.core.common.utils.accountLevel
 import net.ktnx.mobileledger.core.common.utils.extractParentAccountName
 import net.ktnx.mobileledger.core.data.exception.CoreExceptionMapper
 import net.ktnx.mobileledger.core.data.mapper.TransactionMapper
+import net.ktnx.mobileledger.core.data.repository.DatabaseTransactionRunner
 import net.ktnx.mobileledger.core.data.repository.safeCall
+import net.ktnx.mobileledger.core.data.sync.MonthTotalUpdater
+import net.ktnx.mobileledger.core.data.sync.RunningBalanceUpdater
 import net.ktnx.mobileledger.core.database.dao.AccountDAO
 import net.ktnx.mobileledger.core.database.dao.AccountValueDAO
+import net.ktnx.mobileledger.core.database.dao.FtsQuery
+import net.ktnx.mobileledger.core.database.dao.RunningBalanceDAO
 import net.ktnx.mobileledger.core.database.dao.TransactionAccountDAO
 import net.ktnx.mobileledger.core.database.dao.TransactionDAO
 import net.ktnx.mobileledger.core.database.entity.Account
 import net.ktnx.mobileledger.core.database.entity.AccountValue
+import net.ktnx.mobileledger.core.database.entity.Transaction as DbTransaction
 import net.ktnx.mobileledger.core.database.entity.TransactionWithAccounts
+import net.ktnx.mobileledger.core.domain.model.AccountAmount
+import net.ktnx.mobileledger.core.domain.model.Amount
 import net.ktnx.mobileledger.core.domain.model.Transaction
 import net.ktnx.mobileledger.core.domain.repository.TransactionRepository
 
@@ -47,6 +56,8 @@ import net.ktnx.mobileledger.core.domain.repository.TransactionRepository
  * - Uses ioDispatcher for database operations
  * - Delegates all operations to the underlying DAO
  * - Returns Result<T> for all suspend operations with error handling
+ * - Stores every change together with the running balances and monthly totals derived from it
+ *   in one database transaction
  *
  * Thread-safety: All operations are safe to call from any coroutine context.
  */
@@ -56,6 +67,10 @@ class TransactionRepositoryImpl @Inject constructor(
     private val transactionAccountDAO: TransactionAccountDAO,
     private val accountDAO: AccountDAO,
     private val accountValueDAO: AccountValueDAO,
+    private val runningBalanceDAO: RunningBalanceDAO,
+    private val runningBalanceUpdater: RunningBalanceUpdater,
+    private val monthTotalUpdater: MonthTotalUpdater,
+    private val transactionRunner: DatabaseTransactionRunner,
     private val exceptionMapper: CoreExceptionMapper,
     @IoDispatcher private val ioDispatcher: CoroutineDispatcher
 ) : TransactionRepository {
@@ -86,14 +101,109 @@ class TransactionRepositoryImpl @Inject constructor(
         }
     }
 
-    override suspend fun searchByDescription(term: String): Result<List<String>> = safeCall(exceptionMapper) {
+    override suspend fun getTransactionPage(
+        profileId: Long,
+        accountName: String?,
+        after: Transaction?,
+        limit: Int
+    ): Result<List<Transaction>> = safeCall(exceptionMapper) {
         withContext(ioDispatcher) {
-            TransactionDAO.unbox(
-                transactionDAO.lookupDescriptionSync(term.uppercase(java.util.Locale.ROOT))
+            TransactionMapper.toDomainList(
+                transactionDAO.getPageWithAccountsFilteredSync(
+                    profileId,
+                    accountName,
+                    after?.date?.packed ?: Int.MAX_VALUE,
+                    after?.ledgerId ?: Long.MAX_VALUE,
+                    limit
+                )
             )
         }
     }
 
+    override suspend fun getNewerTransactionPage(
+        profileId: Long,
+        accountName: String?,
+        before: Transaction,
+        limit: Int
+    ): Result<List<Transaction>> = safeCall(exceptionMapper) {
+        withContext(ioDispatcher) {
+            TransactionMapper.toDomainList(
+                transactionDAO.getNewerPageWithAccountsFilteredSync(
+                    profileId,
+                    accountName,
+                    before.date.packed,
+                    before.ledgerId,
+                    limit
+                ).asReversed()
+            )
+        }
+    }
+
+    override suspend fun getTransactionDateRange(
+        profileId: Long,
+        accountName: String?
+    ): Result<ClosedRange<SimpleDate>?> = safeCall(exceptionMapper) {
+        withContext(ioDispatcher) {
+            val range = transactionDAO.getDateRangeFilteredSync(profileId, accountName)
+            val first = range?.firstDate ?: return@withContext null
+            val last = range.lastDate ?: return@withContext null
+            SimpleDate.fromPacked(first)..SimpleDate.fromPacked(last)
+        }
+    }
+
+    override suspend fun getRunningBalances(
+        profileId: Long,
+        accountName: String,
+        transactions: List<Transaction>
+    ): Result<Map<Long, List<AccountAmount>>> = safeCall(exceptionMapper) {
+        withContext(ioDispatcher) {
+            val account = accountDAO.getByNameSync(profileId, accountName)
+            if (account == null || transactions.isEmpty()) return@withContext emptyMap()
+
+            val ordered = transactions.sortedWith(compareBy({ it.date }, { it.ledgerId }))
+            val first = ordered.first()
+            val last = ordered.last()
+
+            // the balances in force before the first transaction, for currencies it does not post to
+            val totals = LinkedHashMap<String, Amount>()
+            for (row in runningBalanceDAO.getAllBeforeSync(account.id, first.date.packed, first.ledgerId)) {
+                totals[row.currency] = Amount.of(row.balanceMantissa, row.balanceScale)
+            }
+
+            val wanted = transactions.mapTo(HashSet()) { it.ledgerId }
+            val rows = runningBalanceDAO.getRangeSync(
+                account.id,
+                first.date.packed,
+                first.ledgerId,
+                last.date.packed,
+                last.ledgerId
+            )
+            val result = HashMap<Long, List<AccountAmount>>()
+            var index = 0
+            while (index < rows.size) {
+                val ledgerId = rows[index].ledgerId
+                while (index < rows.size && rows[index].ledgerId == ledgerId) {
+                    val row = rows[index++]
+                    totals[row.currency] = Amount.of(row.balanceMantissa, row.balanceScale)
+                }
+                if (ledgerId in wanted) {
+                    result[ledgerId] = totals.map { (currency, amount) -> AccountAmount(currency, amount) }
+                }
+            }
+            result
+        }
+    }
+
+    override suspend fun searchByDescription(profileId: Long, term: String): Result<List<String>> =
+        safeCall(exceptionMapper) {
+            withContext(ioDispatcher) {
+                val query = FtsQuery.prefixPhrase(term) ?: return@withContext emptyList()
+                TransactionDAO.unbox(
+                    transactionDAO.lookupDescriptionSync(profileId, term.uppercase(java.util.Locale.ROOT), query)
+                )
+            }
+        }
+
     override suspend fun getFirstByDescription(description: String): Result<Transaction?> = safeCall(exceptionMapper) {
         withContext(ioDispatcher) {
             transactionDAO.getFirstByDescriptionSync(description)?.let { TransactionMapper.toDomain(it) }
@@ -118,7 +228,7 @@ class TransactionRepositoryImpl @Inject constructor(
         safeCall(exceptionMapper) {
             withContext(ioDispatcher) {
                 val entity = TransactionMapper.toEntity(transaction, profileId)
-                appendTransactionInternal(entity)
+                transactionRunner.inTransaction { appendTransactionInternal(entity) }
                 // Return the updated domain model with generated ID
                 TransactionMapper.toDomain(entity)
             }
@@ -128,13 +238,16 @@ class TransactionRepositoryImpl @Inject constructor(
         safeCall(exceptionMapper) {
             withContext(ioDispatcher) {
                 val entity = TransactionMapper.toEntity(transaction, profileId)
-                storeTransactionInternal(entity)
+                val ledgerId = entity.transaction.ledgerId
+                transactionRunner.inTransaction {
+                    updateSummaries(profileId, storeTransactionInternal(entity).map { date -> date to ledgerId })
+                }
             }
         }
 
     /**
      * Internal method to append a new transaction.
-     * Creates accounts and updates account values as needed.
+     * Creates accounts and updates account values, running balances and monthly totals as needed.
      */
     private fun appendTransactionInternal(rec: TransactionWithAccounts) {
         val transaction = rec.transaction
@@ -146,22 +259,12 @@ class TransactionRepositoryImpl @Inject constructor(
         for (trAcc in rec.accounts ?: emptyList()) {
             trAcc.transactionId = transaction.id
             trAcc.generation = transaction.generation
+            trAcc.accountId = getOrCreateAccount(profileId, trAcc.accountName, trAcc.generation).id
             trAcc.id = transactionAccountDAO.insertSync(trAcc)
 
             var accName: String? = trAcc.accountName
             while (accName != null) {
-                var acc = accountDAO.getByNameSync(profileId, accName)
-                if (acc == null) {
-                    acc = Account()
-                    acc.profileId = profileId
-                    acc.name = accName
-                    acc.nameUpper = accName.uppercase()
-                    acc.parentName = accName.extractParentAccountName()
-                    acc.level = acc.name.accountLevel()
-                    acc.generation = trAcc.generation
-
-                    acc.id = accountDAO.insertSync(acc)
-                }
+                val acc = getOrCreateAccount(profileId, accName, trAcc.generation)
 
                 var accVal = accountValueDAO.getByCurrencySync(acc.id, trAcc.currency)
                 if (accVal == null) {
@@ -169,42 +272,56 @@ class TransactionRepositoryImpl @Inject constructor(
                     accVal.accountId = acc.id
                     accVal.generation = trAcc.generation
                     accVal.currency = trAcc.currency
-                    accVal.value = trAcc.amount
+                    accVal.valueMantissa = trAcc.amountMantissa
+                    accVal.valueScale = trAcc.amountScale
                     accVal.id = accountValueDAO.insertSync(accVal)
                 } else {
-                    accVal.value = accVal.value + trAcc.amount
+                    val sum = Amount.of(accVal.valueMantissa, accVal.valueScale) +
+                        Amount.of(trAcc.amountMantissa, trAcc.amountScale)
+                    accVal.valueMantissa = sum.mantissa
+                    accVal.valueScale = sum.scale
                     accountValueDAO.updateSync(accVal)
                 }
 
                 accName = accName.extractParentAccountName()
             }
         }
+
+        updateSummaries(profileId, listOf(transaction.date to transaction.ledgerId))
     }
 
     /**
      * Internal method to store a transaction with its accounts.
      * Handles both insert and update cases based on ledger ID.
+     *
+     * @return The packed dates the transaction had before and has after storing it,
+     *   or an empty list if its content did not change
      */
-    private fun storeTransactionInternal(rec: TransactionWithAccounts) {
+    private fun storeTransactionInternal(rec: TransactionWithAccounts): List<Int> {
         var transaction = rec.transaction
+        val changedDates: List<Int>
         val existing = transactionDAO.getByLedgerId(transaction.profileId, transaction.ledgerId)
         if (existing != null) {
             if ((transaction.dataHash ?: "") == (existing.dataHash ?: "")) {
                 transactionDAO.updateGenerationWithAccounts(existing.id, rec.transaction.generation)
-                return
+                return emptyList()
             }
 
+            changedDates = listOf(existing.date, transaction.date)
             existing.copyDataFrom(transaction)
             transactionDAO.updateSync(existing)
 
             transaction = existing
         } else {
+            changedDates = listOf(transaction.date)
             transaction.id = transactionDAO.insertSync(transaction)
         }
 
-        for (trAcc in rec.accounts ?: emptyList()) {
+        val lines = rec.accounts ?: emptyList()
+        for (trAcc in lines) {
             trAcc.transactionId = transaction.id
             trAcc.generation = transaction.generation
+            trAcc.accountId = getOrCreateAccount(transaction.profileId, trAcc.accountName, trAcc.generation).id
             val existingAcc = transactionAccountDAO.getByOrderNoSync(trAcc.transactionId, trAcc.orderNo)
             if (existingAcc != null) {
                 existingAcc.copyDataFrom(trAcc)
@@ -213,20 +330,71 @@ class TransactionRepositoryImpl @Inject constructor(
                 trAcc.id = transactionAccountDAO.insertSync(trAcc)
             }
         }
+        // an edited transaction may have lost lines; the stored ones past its last line are gone
+        if (existing != null) {
+            transactionAccountDAO.deleteAfterOrderNoSync(transaction.id, lines.maxOfOrNull { it.orderNo } ?: 0)
+        }
+        return changedDates
+    }
+
+    /**
+     * Returns the account [name] of the profile, creating it and its missing parents if needed.
+     * Postings refer to their account by id, so the account must exist before the posting is stored.
+     * Parents are created first, so that the new account's ancestor rows can be derived from its parent's.
+     */
+    private fun getOrCreateAccount(profileId: Long, name: String, generation: Long): Account {
+        accountDAO.getByNameSync(profileId, name)?.let { return it }
+
+        val parent = name.extractParentAccountName()?.let { getOrCreateAccount(profileId, it, generation) }
+        val acc = Account()
+        acc.profileId = profileId
+        acc.name = name
+        acc.nameUpper = name.uppercase()
+        acc.parentName = parent?.name
+        acc.level = name.accountLevel()
+        acc.generation = generation
+        acc.id = accountDAO.insertSync(acc)
+        accountDAO.insertAncestorsSync(acc.id, parent?.id)
+        return acc
     }
 
     override suspend fun deleteTransactionById(transactionId: Long): Result<Int> = safeCall(exceptionMapper) {
         withContext(ioDispatcher) {
-            transactionDAO.deleteByIdSync(transactionId)
+            transactionRunner.inTransaction {
+                val deleted = transactionDAO.getByIdsSync(listOf(transactionId))
+                transactionDAO.deleteByIdSync(transactionId).also { updateSummariesAfterDelete(deleted) }
+            }
         }
     }
 
     override suspend fun deleteTransactionsByIds(transactionIds: List<Long>): Result<Int> = safeCall(exceptionMapper) {
         withContext(ioDispatcher) {
-            transactionDAO.deleteByIdsSync(transactionIds)
+            transactionRunner.inTransaction {
+                val deleted = transactionDAO.getByIdsSync(transactionIds)
+                transactionDAO.deleteByIdsSync(transactionIds).also { updateSummariesAfterDelete(deleted) }
+            }
         }
     }
 
+    private fun updateSummariesAfterDelete(deleted: List<DbTransaction>) {
+        for ((profileId, transactions) in deleted.groupBy { it.profileId }) {
+            updateSummaries(profileId, transactions.map { it.date to it.ledgerId })
+        }
+    }
+
+    /**
+     * Updates the running balances and monthly totals of [profileId] after the transactions at
+     * [positions], given as packed date and ledger ID, were added, changed or removed.
+     *
+     * Must be called within the database transaction making the change.
+     */
+    private fun updateSummaries(profileId: Long, positions: List<Pair<Int, Long>>) {
+        if (positions.isEmpty()) return
+        val (date, ledgerId) = positions.minWith(compareBy({ it.first }, { it.second }))
+        runningBalanceUpdater.updateFrom(profileId, date, ledgerId)
+        monthTotalUpdater.updateMonths(profileId, positions.mapTo(HashSet()) { it.first / 100 })
+    }
+
     // ========================================
     // Sync Operations
     // ========================================
@@ -234,19 +402,29 @@ class TransactionRepositoryImpl @Inject constructor(
     override suspend fun storeTransactionsAsDomain(transactions: List<Transaction>, profileId: Long): Result<Unit> =
         safeCall(exceptionMapper) {
             withContext(ioDispatcher) {
-                val generation = transactionDAO.getGenerationSync(profileId) + 1
+                transactionRunner.inTransaction {
+                    val generation = transactionDAO.getGenerationSync(profileId) + 1
 
-                for (domainTransaction in transactions) {
-                    val entity = TransactionMapper.toEntity(domainTransaction, profileId)
-                    entity.transaction.generation = generation
-                    storeTransactionInternal(entity)
-                }
+                    storeTransactionBatchInternal(transactions, profileId, generation)
+
+                    transactionDAO.purgeOldTransactionsSync(profileId, generation)
+                    transactionDAO.purgeOldTransactionAccountsSync(profileId, generation)
 
-                transactionDAO.purgeOldTransactionsSync(profileId, generation)
-                transactionDAO.purgeOldTransactionAccountsSync(profileId, generation)
+                    // the whole ledger was stored; recompute all running balances and monthly totals
+                    runningBalanceUpdater.updateFrom(profileId, 0, 0)
+                    monthTotalUpdater.updateAll(profileId)
+                }
             }
         }
 
+    private fun storeTransactionBatchInternal(transactions: List<Transaction>, profileId: Long, generation: Long) {
+        for (domainTransaction in transactions) {
+            val entity = TransactionMapper.toEntity(domainTransaction, profileId)
+            entity.transaction.generation = generation
+            storeTransactionInternal(entity)
+        }
+    }
+
     override suspend fun deleteAllForProfile(profileId: Long): Result<Int> = safeCall(exceptionMapper) {
         withContext(ioDispatcher) {
             transactionDAO.deleteAllSync(profileId)
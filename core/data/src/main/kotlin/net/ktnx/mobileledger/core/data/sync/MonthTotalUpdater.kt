@@ -0,0 +1,100 @@
+/*
+ * Copyright © 2026 Damyan Ivanov.
+ * This file is part of MoLe.
+ * MoLe is free software: you can distribute it and/or modify it
+ * under the term of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your opinion), any later version.
+ *
+ * MoLe is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License terms for details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MoLe. If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.ktnx.mobileledger.core.data.sync
+
+import javax.inject.Inject
+import javax.inject.Singleton
+import net.ktnx.mobileledger.core.database.dao.AccountMonthTotalDAO
+import net.ktnx.mobileledger.core.database.entity.AccountMonthTotal
+import net.ktnx.mobileledger.core.domain.model.Amount
+
+/**
+ * Keeps the monthly account totals of a profile (see [AccountMonthTotal]) in line with its
+ * transactions.
+ *
+ * Only the months of added, changed or removed transactions are summed again, so totals of
+ * the months a sync did not touch carry over unchanged.
+ *
+ * Must be called within the database transaction making the change.
+ */
+@Singleton
+class MonthTotalUpdater @Inject constructor(private val accountMonthTotalDAO: AccountMonthTotalDAO) {
+
+    /**
+     * Sums the given months of [profileId] again.
+     *
+     * When the profile has no totals yet, as after upgrading to a database containing the
+     * table, all of its months are summed.
+     *
+     * @param months The changed months as `yyyymm`
+     */
+    fun updateMonths(profileId: Long, months: Collection<Int>) {
+        if (!accountMonthTotalDAO.hasTotalsSync(profileId)) {
+            updateAll(profileId)
+            return
+        }
+        for (month in months) {
+            replace(profileId, month, month, monthSums(profileId, month * 100, month * 100 + 99))
+        }
+    }
+
+    /**
+     * Sums all months of [profileId] again.
+     */
+    fun updateAll(profileId: Long) {
+        replace(profileId, 0, Int.MAX_VALUE, monthSums(profileId, 0, Int.MAX_VALUE))
+    }
+
+    private fun monthSums(profileId: Long, firstDate: Int, lastDate: Int) = sumOrRows(
+        { accountMonthTotalDAO.getMonthSumsSync(profileId, firstDate, lastDate) },
+        { accountMonthTotalDAO.getMonthPostingsSync(profileId, firstDate, lastDate) }
+    )
+
+    /**
+     * Replaces the totals of the months from [firstMonth] to [lastMonth] with the given [sums]
+     * of their postings.
+     */
+    private fun replace(
+        profileId: Long,
+        firstMonth: Int,
+        lastMonth: Int,
+        sums: List<AccountMonthTotalDAO.MonthSumContainer>
+    ) {
+        // sums come grouped by amount scale, or as single postings after an overflow;
+        // add up the scales of each account, month and currency
+        val totals = LinkedHashMap<Triple<Long, Int, String>, Amount>()
+        for (sum in sums) {
+            val key = Triple(sum.accountId, sum.month, sum.currency)
+            totals[key] = (totals[key] ?: Amount.ZERO) + Amount.of(sum.amountMantissa, sum.amountScale)
+        }
+
+        accountMonthTotalDAO.replaceMonthsSync(
+            profileId,
+            firstMonth,
+            lastMonth,
+            totals.map { (key, total) ->
+                AccountMonthTotal().apply {
+                    accountId = key.first
+                    month = key.second
+                    currency = key.third
+                    amountMantissa = total.mantissa
+                    amountScale = total.scale
+                }
+            }
+        )
+    }
+}
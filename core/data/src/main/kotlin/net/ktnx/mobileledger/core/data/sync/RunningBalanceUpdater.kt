@@ -0,0 +1,111 @@
+/*
+ * Copyright © 2026 Damyan Ivanov.
+ * This file is part of MoLe.
+ * MoLe is free software: you can distribute it and/or modify it
+ * under the term of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your opinion), any later version.
+ *
+ * MoLe is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License terms for details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MoLe. If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.ktnx.mobileledger.core.data.sync
+
+import javax.inject.Inject
+import javax.inject.Singleton
+import net.ktnx.mobileledger.core.database.dao.RunningBalanceDAO
+import net.ktnx.mobileledger.core.database.entity.RunningBalance
+import net.ktnx.mobileledger.core.domain.model.Amount
+
+/**
+ * Keeps the running balances of a profile's accounts (see [RunningBalance]) in line with its
+ * transactions.
+ *
+ * A change to the transactions only affects the balances from the changed transaction onwards,
+ * so [updateFrom] drops the balances from that position on and recomputes them, continuing from
+ * the last balance kept for every account and currency. Appending a transaction dated today only
+ * recomputes the balances of that transaction.
+ *
+ * Must be called within the database transaction making the change.
+ */
+@Singleton
+class RunningBalanceUpdater @Inject constructor(private val runningBalanceDAO: RunningBalanceDAO) {
+
+    /**
+     * Recomputes the running balances of [profileId] from the transaction at the given position on.
+     *
+     * When the profile has no balances yet, as after upgrading to a database containing the
+     * table, they are computed for all of its transactions.
+     *
+     * @param date The packed date of the first changed transaction
+     * @param ledgerId The ledger ID of the first changed transaction
+     */
+    fun updateFrom(profileId: Long, date: Int, ledgerId: Long) {
+        var afterDate = date
+        var afterLedgerId = ledgerId - 1
+        if (!runningBalanceDAO.hasBalancesSync(profileId)) {
+            afterDate = 0
+            afterLedgerId = 0
+        }
+        runningBalanceDAO.deleteAfterSync(profileId, afterDate, afterLedgerId)
+
+        val totals = HashMap<BalanceKey, Amount>()
+        while (true) {
+            val postings = runningBalanceDAO.getPostingsAfterSync(profileId, afterDate, afterLedgerId, BATCH_SIZE)
+            if (postings.isEmpty()) break
+
+            val rows = ArrayList<RunningBalance>()
+            var start = 0
+            while (start < postings.size) {
+                val transactionId = postings[start].transactionId
+                var end = start
+                val touched = LinkedHashSet<BalanceKey>()
+                while (end < postings.size && postings[end].transactionId == transactionId) {
+                    val posting = postings[end]
+                    val key = BalanceKey(posting.accountId, posting.currency)
+                    val total = totals[key] ?: lastBalance(key, posting.date, posting.ledgerId)
+                    totals[key] = total + Amount.of(posting.amountMantissa, posting.amountScale)
+                    touched.add(key)
+                    end++
+                }
+
+                val first = postings[start]
+                for (key in touched) {
+                    val balance = totals.getValue(key)
+                    rows.add(
+                        RunningBalance().apply {
+                            accountId = key.accountId
+                            currency = key.currency
+                            this.date = first.date
+                            this.ledgerId = first.ledgerId
+                            this.transactionId = transactionId
+                            balanceMantissa = balance.mantissa
+                            balanceScale = balance.scale
+                        }
+                    )
+                }
+                afterDate = first.date
+                afterLedgerId = first.ledgerId
+                start = end
+            }
+            runningBalanceDAO.insertSync(rows)
+        }
+    }
+
+    private fun lastBalance(key: BalanceKey, date: Int, ledgerId: Long): Amount =
+        runningBalanceDAO.getBeforeSync(key.accountId, key.currency, date, ledgerId)
+            ?.let { Amount.of(it.balanceMantissa, it.balanceScale) }
+            ?: Amount.ZERO
+
+    private data class BalanceKey(val accountId: Long, val currency: String)
+
+    companion object {
+        /** Number of transactions whose postings are read at once */
+        private const val BATCH_SIZE = 500
+    }
+}
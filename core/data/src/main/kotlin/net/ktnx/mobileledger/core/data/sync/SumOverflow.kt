@@ -0,0 +1,34 @@
+/*
+ * Copyright © 2026 Damyan Ivanov.
+ * This file is part of MoLe.
+ * MoLe is free software: you can distribute it and/or modify it
+ * under the term of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your opinion), any later version.
+ *
+ * MoLe is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License terms for details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MoLe. If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.ktnx.mobileledger.core.data.sync
+
+import android.database.sqlite.SQLiteException
+
+/**
+ * Runs the SQL [sum] query, or returns the unsummed [rows] when SQLite reports that one of
+ * the sums left the 64-bit range.
+ *
+ * Both must return rows the caller adds up into [Amount][net.ktnx.mobileledger.core.domain.model.Amount]s,
+ * which switch to arbitrary precision instead of overflowing.
+ */
+internal inline fun <T> sumOrRows(sum: () -> List<T>, rows: () -> List<T>): List<T> =
+    try {
+        sum()
+    } catch (e: SQLiteException) {
+        if (e.message?.contains("integer overflow") != true) throw e
+        rows()
+    }
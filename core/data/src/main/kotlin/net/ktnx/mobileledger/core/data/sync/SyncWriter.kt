@@ -0,0 +1,411 @@
+/*
+ * Copyright © 2026 Damyan Ivanov.
+ * This file is part of MoLe.
+ * MoLe is free software: you can distribute it and/or modify it
+ * under the term of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your opinion), any later version.
+ *
+ * MoLe is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License terms for details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MoLe. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package net.ktnx.mobileledger.core.data.sync
+
+import androidx.room.withTransaction
+import androidx.sqlite.db.SupportSQLiteDatabase
+import androidx.sqlite.db.SupportSQLiteStatement
+import java.io.Closeable
+import javax.inject.Inject
+import javax.inject.Singleton
+import net.ktnx.mobileledger.core.common.utils.accountLevel
+import net.ktnx.mobileledger.core.common.utils.extractParentAccountName
+import net.ktnx.mobileledger.core.data.mapper.TransactionMapper
+import net.ktnx.mobileledger.core.database.MoLeDatabase
+import net.ktnx.mobileledger.core.domain.model.Account
+import net.ktnx.mobileledger.core.domain.model.Amount
+import net.ktnx.mobileledger.core.domain.model.Transaction
+
+/**
+ * Writes the data received by a sync to the database.
+ *
+ * Everything written through one [write] call is a single SQLite transaction: the account list,
+ * all transaction batches and the removal of rows not seen in this sync are committed together.
+ * A sync that fails or is cancelled half way leaves the previously stored data untouched.
+ *
+ * Rows are written with statements compiled once per sync and rebound for every row, instead
+ * of going through the Room entity adapters. The ids and content hashes of the profile's
+ * existing rows are loaded with one query each, so storing a row needs no lookups.
+ *
+ * Transaction postings refer to their account by id. The id of every account name is kept for
+ * the whole sync; postings naming an account missing from the account list create it.
+ *
+ * The position of the earliest added, changed or removed transaction is tracked, and the running
+ * balances are recomputed from there on in the same database transaction. The monthly account
+ * totals are summed again for the months of those transactions.
+ */
+@Singleton
+class SyncWriter @Inject constructor(
+    private val db: MoLeDatabase,
+    private val runningBalanceUpdater: RunningBalanceUpdater,
+    private val monthTotalUpdater: MonthTotalUpdater
+) {
+
+    /**
+     * Runs [block] inside one database transaction and then removes the accounts and
+     * transactions of [profileId] that were not written by it.
+     *
+     * [block] must not switch to another dispatcher while using the session: the transaction
+     * is bound to the thread it was started on. It should only write data that has already
+     * been received; the transaction keeps other writers waiting until [block] returns.
+     *
+     * @param profileId The profile whose data is replaced
+     * @param block Writes the sync data through the given [Session]
+     * @return The value returned by [block]
+     */
+    suspend fun <R> write(profileId: Long, block: suspend (Session) -> R): R = db.withTransaction {
+        StatementSession(db.openHelper.writableDatabase, profileId).use { session ->
+            val result = block(session)
+            session.purgeOld()
+            runningBalanceUpdater.updateFrom(profileId, session.firstChangedDate, session.firstChangedLedgerId)
+            monthTotalUpdater.updateMonths(profileId, session.changedMonths)
+            result
+        }
+    }
+
+    /**
+     * Computes the running balances and monthly totals of [profileId] if it has none yet, as
+     * after upgrading to a database containing their tables. Used by syncs that find the server
+     * data unchanged and so do not call [write]; does nothing once the profile has them.
+     */
+    suspend fun fillMissingTotals(profileId: Long) = db.withTransaction {
+        runningBalanceUpdater.updateFrom(profileId, Int.MAX_VALUE, Long.MAX_VALUE)
+        monthTotalUpdater.updateMonths(profileId, emptyList())
+    }
+
+    /**
+     * Write access to the database during one [write] call.
+     */
+    interface Session {
+        /**
+         * Stores the complete account list. Existing accounts keep their id and UI state.
+         */
+        fun saveAccounts(accounts: List<Account>)
+
+        /**
+         * Stores a batch of transactions. Transactions whose content hash matches the stored
+         * one only have their generation updated.
+         */
+        fun saveTransactions(transactions: List<Transaction>)
+    }
+
+    private class StatementSession(
+        private val sqlite: SupportSQLiteDatabase,
+        private val profileId: Long
+    ) : Session, Closeable {
+        private val statements = ArrayList<SupportSQLiteStatement>()
+
+        private val accountGeneration =
+            queryLong("SELECT max(generation) FROM accounts WHERE profile_id = ?") + 1
+        private val transactionGeneration =
+            queryLong("SELECT max(generation) FROM transactions WHERE profile_id = ?") + 1
+        private val existingTransactions = loadExistingTransactions()
+        private val accountIds = loadExistingAccountIds()
+        private var accountsSaved = false
+
+        /** Position of the earliest transaction added, changed or removed during the session */
+        var firstChangedDate = Int.MAX_VALUE
+            private set
+        var firstChangedLedgerId = Long.MAX_VALUE
+            private set
+
+        /** Months (`yyyymm`) of the transactions added, changed or removed during the session */
+        val changedMonths = HashSet<Int>()
+
+        private val insertAccount by statement(
+            "INSERT INTO accounts (profile_id, level, name, name_upper, parent_name, expanded, " +
+                "amounts_expanded, generation) VALUES (?, ?, ?, ?, ?, ?, 0, ?)"
+        )
+        private val insertAncestors by statement(
+            "INSERT INTO account_ancestors (descendant, ancestor, depth) " +
+                "SELECT ?1, ancestor, depth + 1 FROM account_ancestors WHERE descendant = ?2 " +
+                "UNION ALL SELECT ?1, ?1, 0"
+        )
+        private val updateAccount by statement(
+            "UPDATE accounts SET level = ?, name_upper = ?, parent_name = ?, generation = ? WHERE id = ?"
+        )
+        private val insertAccountValue by statement(
+            "INSERT OR REPLACE INTO account_values (account_id, currency, value_mantissa, value_scale, generation) " +
+                "VALUES (?, ?, ?, ?, ?)"
+        )
+        private val insertTransaction by statement(
+            "INSERT INTO transactions (profile_id, ledger_id, data_hash, year, month, day, date, description, " +
+                "description_uc, comment, generation) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)"
+        )
+        private val updateTransaction by statement(
+            "UPDATE transactions SET data_hash = ?, year = ?, month = ?, day = ?, date = ?, description = ?, " +
+                "description_uc = ?, comment = ?, generation = ? WHERE id = ?"
+        )
+        private val updateTransactionGeneration by statement(
+            "UPDATE transactions SET generation = ? WHERE id = ?"
+        )
+        private val updateLinesGeneration by statement(
+            "UPDATE transaction_accounts SET generation = ? WHERE transaction_id = ?"
+        )
+        private val deleteLines by statement(
+            "DELETE FROM transaction_accounts WHERE transaction_id = ?"
+        )
+        private val insertLine by statement(
+            "INSERT INTO transaction_accounts (transaction_id, order_no, account_id, currency, amount_mantissa, " +
+                "amount_scale, comment, generation) VALUES (?, ?, ?, ?, ?, ?, ?, ?)"
+        )
+
+        override fun saveAccounts(accounts: List<Account>) {
+            for (account in accounts) {
+                val nameUpper = account.name.uppercase()
+                val existingId = accountIds[account.name]
+                val accountId = if (existingId != null) {
+                    updateAccount.run {
+                        bindLong(1, account.level.toLong())
+                        bindString(2, nameUpper)
+                        bindNullableString(3, account.parentName)
+                        bindLong(4, accountGeneration)
+                        bindLong(5, existingId)
+                        executeUpdateDelete()
+                    }
+                    existingId
+                } else {
+                    insertAccountRow(account.name, account.level, account.parentName, account.isExpanded)
+                }
+
+                for (amount in account.amounts) {
+                    insertAccountValue.run {
+                        bindLong(1, accountId)
+                        bindString(2, amount.currency)
+                        bindLong(3, amount.amount.mantissa)
+                        bindLong(4, amount.amount.scale.toLong())
+                        bindLong(5, accountGeneration)
+                        executeInsert()
+                    }
+                }
+            }
+            accountsSaved = true
+        }
+
+        override fun saveTransactions(transactions: List<Transaction>) {
+            for (transaction in transactions) {
+                val hash = TransactionMapper.contentHash(transaction)
+                val existing = existingTransactions[transaction.ledgerId]
+
+                when {
+                    existing == null -> {
+                        val id = insertTransactionRow(transaction, hash)
+                        insertLines(id, transaction)
+                        existingTransactions[transaction.ledgerId] =
+                            ExistingTransaction(id, hash, transaction.date.packed)
+                        markChanged(transaction.date.packed, transaction.ledgerId)
+                    }
+
+                    existing.dataHash == hash -> {
+                        updateTransactionGeneration.run {
+                            bindLong(1, transactionGeneration)
+                            bindLong(2, existing.id)
+                            executeUpdateDelete()
+                        }
+                        updateLinesGeneration.run {
+                            bindLong(1, transactionGeneration)
+                            bindLong(2, existing.id)
+                            executeUpdateDelete()
+                        }
+                    }
+
+                    else -> {
+                        updateTransactionRow(existing.id, transaction, hash)
+                        deleteLines.run {
+                            bindLong(1, existing.id)
+                            executeUpdateDelete()
+                        }
+                        insertLines(existing.id, transaction)
+                        existingTransactions[transaction.ledgerId] =
+                            ExistingTransaction(existing.id, hash, transaction.date.packed)
+                        markChanged(existing.date, transaction.ledgerId)
+                        markChanged(transaction.date.packed, transaction.ledgerId)
+                    }
+                }
+            }
+        }
+
+        fun purgeOld() {
+            sqlite.query(
+                "SELECT date, ledger_id FROM transactions WHERE profile_id = ? AND generation <> ?",
+                arrayOf(profileId, transactionGeneration)
+            ).use { cursor ->
+                while (cursor.moveToNext()) markChanged(cursor.getInt(0), cursor.getLong(1))
+            }
+            execute(
+                "DELETE FROM transactions WHERE profile_id = ? AND generation <> ?",
+                profileId,
+                transactionGeneration
+            )
+            execute(
+                "DELETE FROM transaction_accounts WHERE EXISTS (SELECT 1 FROM transactions tr " +
+                    "WHERE tr.id = transaction_accounts.transaction_id AND tr.profile_id = ?) AND generation <> ?",
+                profileId,
+                transactionGeneration
+            )
+            // accounts are purged after the postings, which keep the accounts they refer to
+            if (accountsSaved) {
+                execute(
+                    "DELETE FROM accounts WHERE profile_id = ? AND generation <> ? AND NOT EXISTS " +
+                        "(SELECT 1 FROM transaction_accounts ta WHERE ta.account_id = accounts.id)",
+                    profileId,
+                    accountGeneration
+                )
+                execute(
+                    "DELETE FROM account_values WHERE EXISTS (SELECT 1 FROM accounts a " +
+                        "WHERE a.id = account_values.account_id AND a.profile_id = ?) AND generation <> ?",
+                    profileId,
+                    accountGeneration
+                )
+            }
+        }
+
+        override fun close() {
+            statements.forEach { it.close() }
+            statements.clear()
+        }
+
+        private fun markChanged(date: Int, ledgerId: Long) {
+            changedMonths.add(date / 100)
+            if (date < firstChangedDate || (date == firstChangedDate && ledgerId < firstChangedLedgerId)) {
+                firstChangedDate = date
+                firstChangedLedgerId = ledgerId
+            }
+        }
+
+        private fun insertTransactionRow(transaction: Transaction, hash: String): Long = insertTransaction.run {
+            bindLong(1, profileId)
+            bindLong(2, transaction.ledgerId)
+            bindString(3, hash)
+            bindLong(4, transaction.date.year.toLong())
+            bindLong(5, transaction.date.month.toLong())
+            bindLong(6, transaction.date.day.toLong())
+            bindLong(7, transaction.date.packed.toLong())
+            bindString(8, transaction.description)
+            bindString(9, transaction.description.uppercase())
+            bindNullableString(10, transaction.comment)
+            bindLong(11, transactionGeneration)
+            executeInsert()
+        }
+
+        private fun updateTransactionRow(id: Long, transaction: Transaction, hash: String) {
+            updateTransaction.run {
+                bindString(1, hash)
+                bindLong(2, transaction.date.year.toLong())
+                bindLong(3, transaction.date.month.toLong())
+                bindLong(4, transaction.date.day.toLong())
+                bindLong(5, transaction.date.packed.toLong())
+                bindString(6, transaction.description)
+                bindString(7, transaction.description.uppercase())
+                bindNullableString(8, transaction.comment)
+                bindLong(9, transactionGeneration)
+                bindLong(10, id)
+                executeUpdateDelete()
+            }
+        }
+
+        private fun insertLines(transactionId: Long, transaction: Transaction) {
+            transaction.lines.forEachIndexed { index, line ->
+                insertLine.run {
+                    bindLong(1, transactionId)
+                    bindLong(2, (index + 1).toLong())
+                    bindLong(3, accountIdFor(line.accountName))
+                    bindString(4, line.currency)
+                    val amount = line.amount ?: Amount.ZERO
+                    bindLong(5, amount.mantissa)
+                    bindLong(6, amount.scale.toLong())
+                    bindNullableString(7, line.comment)
+                    bindLong(8, transactionGeneration)
+                    executeInsert()
+                }
+            }
+        }
+
+        /** Inserts the account [name], creating its missing parents first so that its ancestors are known */
+        private fun insertAccountRow(name: String, level: Int, parentName: String?, expanded: Boolean): Long {
+            val parentId = parentName?.let { accountIdFor(it) }
+            val id = insertAccount.run {
+                bindLong(1, profileId)
+                bindLong(2, level.toLong())
+                bindString(3, name)
+                bindString(4, name.uppercase())
+                bindNullableString(5, parentName)
+                bindLong(6, if (expanded) 1 else 0)
+                bindLong(7, accountGeneration)
+                executeInsert()
+            }
+            insertAncestors.run {
+                bindLong(1, id)
+                if (parentId == null) bindNull(2) else bindLong(2, parentId)
+                executeInsert()
+            }
+            accountIds[name] = id
+            return id
+        }
+
+        /** Returns the id of the account [name], creating it and its missing parents if needed */
+        private fun accountIdFor(name: String): Long = accountIds[name]
+            ?: insertAccountRow(name, name.accountLevel(), name.extractParentAccountName(), expanded = true)
+
+        private fun loadExistingTransactions(): HashMap<Long, ExistingTransaction> {
+            val result = HashMap<Long, ExistingTransaction>()
+            sqlite.query(
+                "SELECT id, ledger_id, data_hash, date FROM transactions WHERE profile_id = ?",
+                arrayOf(profileId)
+            ).use { cursor ->
+                while (cursor.moveToNext()) {
+                    result[cursor.getLong(1)] =
+                        ExistingTransaction(cursor.getLong(0), cursor.getString(2) ?: "", cursor.getInt(3))
+                }
+            }
+            return result
+        }
+
+        private fun loadExistingAccountIds(): HashMap<String, Long> {
+            val result = HashMap<String, Long>()
+            sqlite.query("SELECT id, name FROM accounts WHERE profile_id = ?", arrayOf(profileId)).use { cursor ->
+                while (cursor.moveToNext()) {
+                    result[cursor.getString(1)] = cursor.getLong(0)
+                }
+            }
+            return result
+        }
+
+        private fun queryLong(sql: String): Long = sqlite.query(sql, arrayOf(profileId)).use { cursor ->
+            if (cursor.moveToFirst() && !cursor.isNull(0)) cursor.getLong(0) else 0L
+        }
+
+        private fun execute(sql: String, vararg args: Long) {
+            sqlite.compileStatement(sql).use { statement ->
+                args.forEachIndexed { index, value -> statement.bindLong(index + 1, value) }
+                statement.executeUpdateDelete()
+            }
+        }
+
+        /** Compiles [sql] on first use; the statement is closed together with the session */
+        private fun statement(sql: String) = lazy(LazyThreadSafetyMode.NONE) {
+            sqlite.compileStatement(sql).also { statements.add(it) }
+        }
+
+        private fun SupportSQLiteStatement.bindNullableString(index: Int, value: String?) {
+            if (value == null) bindNull(index) else bindString(index, value)
+        }
+    }
+
+    private class ExistingTransaction(val id: Long, val dataHash: String, val date: Int)
+}
@@ -19,24 +19,32 @@ package net.ktnx.mobileledger.core.database
 
 import androidx.room.Database
 import androidx.room.RoomDatabase
+import androidx.sqlite.db.SupportSQLiteDatabase
 import net.ktnx.mobileledger.core.database.dao.AccountDAO
+import net.ktnx.mobileledger.core.database.dao.AccountMonthTotalDAO
 import net.ktnx.mobileledger.core.database.dao.AccountValueDAO
 import net.ktnx.mobileledger.core.database.dao.CurrencyDAO
 import net.ktnx.mobileledger.core.database.dao.OptionDAO
 import net.ktnx.mobileledger.core.database.dao.ProfileDAO
+import net.ktnx.mobileledger.core.database.dao.RunningBalanceDAO
 import net.ktnx.mobileledger.core.database.dao.TemplateAccountDAO
 import net.ktnx.mobileledger.core.database.dao.TemplateHeaderDAO
 import net.ktnx.mobileledger.core.database.dao.TransactionAccountDAO
 import net.ktnx.mobileledger.core.database.dao.TransactionDAO
 import net.ktnx.mobileledger.core.database.entity.Account
+import net.ktnx.mobileledger.core.database.entity.AccountAncestor
+import net.ktnx.mobileledger.core.database.entity.AccountFts
+import net.ktnx.mobileledger.core.database.entity.AccountMonthTotal
 import net.ktnx.mobileledger.core.database.entity.AccountValue
 import net.ktnx.mobileledger.core.database.entity.Currency
 import net.ktnx.mobileledger.core.database.entity.Option
 import net.ktnx.mobileledger.core.database.entity.Profile
+import net.ktnx.mobileledger.core.database.entity.RunningBalance
 import net.ktnx.mobileledger.core.database.entity.TemplateAccount
 import net.ktnx.mobileledger.core.database.entity.TemplateHeader
 import net.ktnx.mobileledger.core.database.entity.Transaction
 import net.ktnx.mobileledger.core.database.entity.TransactionAccount
+import net.ktnx.mobileledger.core.database.entity.TransactionFts
 
 @Database(
     version = MoLeDatabase.REVISION,
@@ -49,7 +57,12 @@ import net.ktnx.mobileledger.core.database.entity.TransactionAccount
         Option::class,
         AccountValue::class,
         Transaction::class,
-        TransactionAccount::class
+        TransactionAccount::class,
+        AccountFts::class,
+        TransactionFts::class,
+        AccountAncestor::class,
+        RunningBalance::class,
+        AccountMonthTotal::class
     ]
 )
 abstract class MoLeDatabase : RoomDatabase() {
@@ -63,6 +76,8 @@ abstract class MoLeDatabase : RoomDatabase() {
     abstract fun getTransactionAccountDAO(): TransactionAccountDAO
     abstract fun getOptionDAO(): OptionDAO
     abstract fun getProfileDAO(): ProfileDAO
+    abstract fun getRunningBalanceDAO(): RunningBalanceDAO
+    abstract fun getAccountMonthTotalDAO(): AccountMonthTotalDAO
 
     @androidx.room.Transaction
     open fun deleteAllSync() {
@@ -78,7 +93,38 @@ abstract class MoLeDatabase : RoomDatabase() {
     }
 
     companion object {
-        const val REVISION = 69
+        const val REVISION = 77
         const val DB_NAME = "MoLe.db"
+
+        /**
+         * Triggers keeping [AccountFts] and [TransactionFts] in line with the indexed tables.
+         *
+         * The update triggers only fire when the indexed column itself is assigned, so bumping
+         * the generation of unchanged rows during a sync does not touch the full-text tables.
+         */
+        val FTS_TRIGGERS = listOf(
+            "CREATE TRIGGER IF NOT EXISTS accounts_fts_insert AFTER INSERT ON accounts BEGIN " +
+                "DELETE FROM accounts_fts WHERE docid = NEW.id; " +
+                "INSERT INTO accounts_fts(docid, name) VALUES (NEW.id, NEW.name); END",
+            "CREATE TRIGGER IF NOT EXISTS accounts_fts_update AFTER UPDATE OF name ON accounts BEGIN " +
+                "UPDATE accounts_fts SET name = NEW.name WHERE docid = NEW.id; END",
+            "CREATE TRIGGER IF NOT EXISTS accounts_fts_delete AFTER DELETE ON accounts BEGIN " +
+                "DELETE FROM accounts_fts WHERE docid = OLD.id; END",
+            "CREATE TRIGGER IF NOT EXISTS transactions_fts_insert AFTER INSERT ON transactions BEGIN " +
+                "DELETE FROM transactions_fts WHERE docid = NEW.id; " +
+                "INSERT INTO transactions_fts(docid, description) VALUES (NEW.id, NEW.description); END",
+            "CREATE TRIGGER IF NOT EXISTS transactions_fts_update AFTER UPDATE OF description ON transactions " +
+                "BEGIN UPDATE transactions_fts SET description = NEW.description WHERE docid = NEW.id; END",
+            "CREATE TRIGGER IF NOT EXISTS transactions_fts_delete AFTER DELETE ON transactions BEGIN " +
+                "DELETE FROM transactions_fts WHERE docid = OLD.id; END"
+        )
+
+        /**
+         * Creates the [FTS_TRIGGERS]. Room does not know about them, so this has to be called
+         * both when the database is created and when migrating to the revision introducing them.
+         */
+        fun createFtsTriggers(db: SupportSQLiteDatabase) {
+            FTS_TRIGGERS.forEach { db.execSQL(it) }
+        }
     }
 }
@@ -36,7 +36,7 @@ abstract class AccountDAO : BaseDAO<Account>() {
     abstract override fun insertSync(item: Account): Long
 
     @Insert(onConflict = OnConflictStrategy.REPLACE)
-    abstract fun insertSync(items: List<Account>)
+    abstract fun insertSync(items: List<Account>): List<Long>
 
     @Update
     abstract override fun updateSync(item: Account)
@@ -52,7 +52,7 @@ abstract class AccountDAO : BaseDAO<Account>() {
 
     @Query(
         "SELECT * FROM accounts WHERE profile_id=:profileId AND IIF(:includeZeroBalances=1, 1," +
-            " (EXISTS(SELECT 1 FROM account_values av WHERE av.account_id=accounts.id AND av.value" +
+            " (EXISTS(SELECT 1 FROM account_values av WHERE av.account_id=accounts.id AND av.value_mantissa" +
             " <> 0) OR EXISTS(SELECT 1 FROM accounts a WHERE a.parent_name = accounts.name))) " +
             "ORDER BY name"
     )
@@ -62,7 +62,7 @@ abstract class AccountDAO : BaseDAO<Account>() {
     @Query(
         "SELECT * FROM accounts WHERE profile_id = :profileId AND IIF(:includeZeroBalances=1, " +
             "1, (EXISTS(SELECT 1 FROM account_values av WHERE av.account_id=accounts.id AND av" +
-            ".value <> 0) OR EXISTS(SELECT 1 FROM accounts a WHERE a.parent_name = accounts.name))" +
+            ".value_mantissa <> 0) OR EXISTS(SELECT 1 FROM accounts a WHERE a.parent_name = accounts.name))" +
             ") ORDER BY name"
     )
     abstract fun getAllWithAmounts(profileId: Long, includeZeroBalances: Boolean): Flow<List<AccountWithAmounts>>
@@ -71,7 +71,7 @@ abstract class AccountDAO : BaseDAO<Account>() {
     @Query(
         "SELECT * FROM accounts WHERE profile_id = :profileId AND IIF(:includeZeroBalances=1, " +
             "1, (EXISTS(SELECT 1 FROM account_values av WHERE av.account_id=accounts.id AND av" +
-            ".value <> 0) OR EXISTS(SELECT 1 FROM accounts a WHERE a.parent_name = accounts.name))" +
+            ".value_mantissa <> 0) OR EXISTS(SELECT 1 FROM accounts a WHERE a.parent_name = accounts.name))" +
             ") ORDER BY name"
     )
     abstract fun getAllWithAmountsSync(profileId: Long, includeZeroBalances: Boolean): List<AccountWithAmounts>
@@ -93,54 +93,78 @@ abstract class AccountDAO : BaseDAO<Account>() {
     @Query("SELECT * FROM accounts WHERE profile_id = :profileId AND name = :accountName")
     abstract fun getByNameWithAmountsSync(profileId: Long, accountName: String): AccountWithAmounts?
 
+    // The name lookups take the upper-cased search term and the MATCH expression built from it
+    // by FtsQuery.prefixPhrase. The full-text index picks the candidate accounts; ranking and
+    // the final substring test only look at those.
+
     @Query(
         "SELECT name, CASE WHEN name_upper LIKE :term||'%' THEN 1 " +
             "               WHEN name_upper LIKE '%:'||:term||'%' THEN 2 " +
             "               WHEN name_upper LIKE '% '||:term||'%' THEN 3 " +
             "               ELSE 9 END AS ordering " + "FROM accounts " +
-            "WHERE profile_id=:profileId AND name_upper LIKE '%'||:term||'%' " +
+            "WHERE profile_id=:profileId " +
+            "AND id IN (SELECT docid FROM accounts_fts WHERE accounts_fts MATCH :query) " +
+            "AND name_upper LIKE '%'||:term||'%' " +
             "ORDER BY ordering, name_upper, rowid "
     )
-    abstract fun lookupNamesInProfileByName(profileId: Long, term: String): Flow<List<AccountNameContainer>>
+    abstract fun lookupNamesInProfileByName(
+        profileId: Long,
+        term: String,
+        query: String
+    ): Flow<List<AccountNameContainer>>
 
     @Query(
         "SELECT name, CASE WHEN name_upper LIKE :term||'%' THEN 1 " +
             "               WHEN name_upper LIKE '%:'||:term||'%' THEN 2 " +
             "               WHEN name_upper LIKE '% '||:term||'%' THEN 3 " +
             "               ELSE 9 END AS ordering " + "FROM accounts " +
-            "WHERE profile_id=:profileId AND name_upper LIKE '%'||:term||'%' " +
+            "WHERE profile_id=:profileId " +
+            "AND id IN (SELECT docid FROM accounts_fts WHERE accounts_fts MATCH :query) " +
+            "AND name_upper LIKE '%'||:term||'%' " +
             "ORDER BY ordering, name_upper, rowid "
     )
-    abstract fun lookupNamesInProfileByNameSync(profileId: Long, term: String): List<AccountNameContainer>
+    abstract fun lookupNamesInProfileByNameSync(
+        profileId: Long,
+        term: String,
+        query: String
+    ): List<AccountNameContainer>
 
     @Transaction
     @Query(
         "SELECT * FROM accounts " +
-            "WHERE profile_id=:profileId AND name_upper LIKE '%'||:term||'%' " +
+            "WHERE profile_id=:profileId " +
+            "AND id IN (SELECT docid FROM accounts_fts WHERE accounts_fts MATCH :query) " +
+            "AND name_upper LIKE '%'||:term||'%' " +
             "ORDER BY  CASE WHEN name_upper LIKE :term||'%' THEN 1 " +
             "               WHEN name_upper LIKE '%:'||:term||'%' THEN 2 " +
             "               WHEN name_upper LIKE '% '||:term||'%' THEN 3 " +
             "               ELSE 9 END, name_upper, rowid "
     )
-    abstract fun lookupWithAmountsInProfileByNameSync(profileId: Long, term: String): List<AccountWithAmounts>
+    abstract fun lookupWithAmountsInProfileByNameSync(
+        profileId: Long,
+        term: String,
+        query: String
+    ): List<AccountWithAmounts>
 
     @Query(
         "SELECT DISTINCT name, CASE WHEN name_upper LIKE :term||'%' THEN 1 " +
             "               WHEN name_upper LIKE '%:'||:term||'%' THEN 2 " +
             "               WHEN name_upper LIKE '% '||:term||'%' THEN 3 " +
             "               ELSE 9 END AS ordering " + "FROM accounts " +
-            "WHERE name_upper LIKE '%'||:term||'%' " + "ORDER BY ordering, name_upper, rowid "
+            "WHERE id IN (SELECT docid FROM accounts_fts WHERE accounts_fts MATCH :query) " +
+            "AND name_upper LIKE '%'||:term||'%' " + "ORDER BY ordering, name_upper, rowid "
     )
-    abstract fun lookupNamesByName(term: String): Flow<List<AccountNameContainer>>
+    abstract fun lookupNamesByName(term: String, query: String): Flow<List<AccountNameContainer>>
 
     @Query(
         "SELECT DISTINCT name, CASE WHEN name_upper LIKE :term||'%' THEN 1 " +
             "               WHEN name_upper LIKE '%:'||:term||'%' THEN 2 " +
             "               WHEN name_upper LIKE '% '||:term||'%' THEN 3 " +
             "               ELSE 9 END AS ordering " + "FROM accounts " +
-            "WHERE name_upper LIKE '%'||:term||'%' " + "ORDER BY ordering, name_upper, rowid "
+            "WHERE id IN (SELECT docid FROM accounts_fts WHERE accounts_fts MATCH :query) " +
+            "AND name_upper LIKE '%'||:term||'%' " + "ORDER BY ordering, name_upper, rowid "
     )
-    abstract fun lookupNamesByNameSync(term: String): List<AccountNameContainer>
+    abstract fun lookupNamesByNameSync(term: String, query: String): List<AccountNameContainer>
 
     @Query("SELECT * FROM accounts WHERE profile_id = :profileId")
     abstract fun allForProfileSync(profileId: Long): List<Account>
@@ -148,7 +172,7 @@ abstract class AccountDAO : BaseDAO<Account>() {
     @Query("SELECT COUNT(*) FROM accounts WHERE profile_id = :profileId")
     abstract fun getCountForProfileSync(profileId: Long): Int
 
-    @Query("SELECT generation FROM accounts WHERE profile_id = :profileId LIMIT 1")
+    @Query("SELECT max(generation) AS generation FROM accounts WHERE profile_id = :profileId")
     protected abstract fun getGenerationPOJOSync(profileId: Long): AccountGenerationContainer?
 
     fun getGenerationSync(profileId: Long): Long {
@@ -156,7 +180,11 @@ abstract class AccountDAO : BaseDAO<Account>() {
         return result.generation
     }
 
-    @Query("DELETE FROM accounts WHERE profile_id = :profileId AND generation <> :currentGeneration")
+    /** Accounts still referenced by a transaction posting are kept, since postings store only the account id */
+    @Query(
+        "DELETE FROM accounts WHERE profile_id = :profileId AND generation <> :currentGeneration " +
+            "AND NOT EXISTS (SELECT 1 FROM transaction_accounts ta WHERE ta.account_id = accounts.id)"
+    )
     abstract fun purgeOldAccountsSync(profileId: Long, currentGeneration: Long)
 
     @Query(
@@ -166,6 +194,18 @@ abstract class AccountDAO : BaseDAO<Account>() {
     )
     abstract fun purgeOldAccountValuesSync(profileId: Long, currentGeneration: Long)
 
+    /**
+     * Adds the [account_ancestors][net.ktnx.mobileledger.core.database.entity.AccountAncestor] rows of
+     * a new account: the account itself and the ancestors of its parent one level further up.
+     * The parent, if any, must already have its rows.
+     */
+    @Query(
+        "INSERT INTO account_ancestors (descendant, ancestor, depth) " +
+            "SELECT :accountId, ancestor, depth + 1 FROM account_ancestors WHERE descendant = :parentId " +
+            "UNION ALL SELECT :accountId, :accountId, 0"
+    )
+    abstract fun insertAncestorsSync(accountId: Long, parentId: Long?)
+
     data class AccountNameContainer(
         @ColumnInfo(name = "name") val name: String?,
         @ColumnInfo(name = "ordering") val ordering: Int = 0
@@ -0,0 +1,153 @@
+/*
+ * Copyright © 2026 Damyan Ivanov.
+ * This file is part of MoLe.
+ * MoLe is free software: you can distribute it and/or modify it
+ * under the term of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your opinion), any later version.
+ *
+ * MoLe is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License terms for details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MoLe. If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.ktnx.mobileledger.core.database.dao
+
+import androidx.room.ColumnInfo
+import androidx.room.Dao
+import androidx.room.Insert
+import androidx.room.OnConflictStrategy
+import androidx.room.Query
+import androidx.room.Transaction
+import net.ktnx.mobileledger.core.database.entity.AccountMonthTotal
+
+/**
+ * Access to the monthly posting totals of accounts, see [AccountMonthTotal].
+ *
+ * Sums are grouped by amount scale as well, since only mantissas of the same scale can be
+ * added in SQL; the caller combines the scales.
+ *
+ * SQLite's `sum()` fails with "integer overflow" when a sum leaves the 64-bit range. Every
+ * summing query therefore has a counterpart returning the same rows unsummed, which the caller
+ * adds up itself in that case.
+ */
+@Dao
+abstract class AccountMonthTotalDAO {
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    abstract fun insertSync(items: List<AccountMonthTotal>)
+
+    @Query(
+        "SELECT EXISTS(SELECT 1 FROM account_month_totals t JOIN accounts a ON a.id = t.account_id " +
+            "WHERE a.profile_id = :profileId)"
+    )
+    abstract fun hasTotalsSync(profileId: Long): Boolean
+
+    @Query(
+        "DELETE FROM account_month_totals " +
+            "WHERE account_id IN (SELECT id FROM accounts WHERE profile_id = :profileId) " +
+            "AND month BETWEEN :firstMonth AND :lastMonth"
+    )
+    abstract fun deleteMonthsSync(profileId: Long, firstMonth: Int, lastMonth: Int): Int
+
+    /**
+     * Replaces the totals of the profile's months from [firstMonth] to [lastMonth] with [totals].
+     *
+     * The old totals are only gone once the new ones are stored: [hasTotalsSync] must not see a
+     * profile whose months were deleted but not summed again.
+     */
+    @Transaction
+    open fun replaceMonthsSync(profileId: Long, firstMonth: Int, lastMonth: Int, totals: List<AccountMonthTotal>) {
+        deleteMonthsSync(profileId, firstMonth, lastMonth)
+        if (totals.isNotEmpty()) insertSync(totals)
+    }
+
+    /**
+     * Sums of the profile's postings between the two packed dates, both included, by account and month.
+     */
+    @Query(
+        "SELECT ta.account_id, tr.date / 100 AS month, ta.currency, " +
+            "sum(ta.amount_mantissa) AS amount_mantissa, ta.amount_scale " +
+            "FROM transactions tr " +
+            "JOIN transaction_accounts ta ON ta.transaction_id = tr.id " +
+            "WHERE tr.profile_id = :profileId AND tr.date BETWEEN :firstDate AND :lastDate " +
+            "GROUP BY ta.account_id, month, ta.currency, ta.amount_scale"
+    )
+    abstract fun getMonthSumsSync(profileId: Long, firstDate: Int, lastDate: Int): List<MonthSumContainer>
+
+    /**
+     * The postings summed by [getMonthSumsSync], one row each.
+     */
+    @Query(
+        "SELECT ta.account_id, tr.date / 100 AS month, ta.currency, ta.amount_mantissa, ta.amount_scale " +
+            "FROM transactions tr " +
+            "JOIN transaction_accounts ta ON ta.transaction_id = tr.id " +
+            "WHERE tr.profile_id = :profileId AND tr.date BETWEEN :firstDate AND :lastDate"
+    )
+    abstract fun getMonthPostingsSync(profileId: Long, firstDate: Int, lastDate: Int): List<MonthSumContainer>
+
+    /**
+     * Totals of the profile's accounts over the whole months from [firstMonth] to [lastMonth].
+     */
+    @Query(
+        "SELECT a.name AS account_name, t.currency, sum(t.amount_mantissa) AS amount_mantissa, t.amount_scale " +
+            "FROM account_month_totals t " +
+            "JOIN accounts a ON a.id = t.account_id " +
+            "WHERE a.profile_id = :profileId AND t.month BETWEEN :firstMonth AND :lastMonth " +
+            "GROUP BY a.name, t.currency, t.amount_scale"
+    )
+    abstract fun getAccountTotalsSync(profileId: Long, firstMonth: Int, lastMonth: Int): List<AccountSumContainer>
+
+    /**
+     * The monthly totals summed by [getAccountTotalsSync], one row each.
+     */
+    @Query(
+        "SELECT a.name AS account_name, t.currency, t.amount_mantissa, t.amount_scale " +
+            "FROM account_month_totals t " +
+            "JOIN accounts a ON a.id = t.account_id " +
+            "WHERE a.profile_id = :profileId AND t.month BETWEEN :firstMonth AND :lastMonth"
+    )
+    abstract fun getAccountMonthRowsSync(profileId: Long, firstMonth: Int, lastMonth: Int): List<AccountSumContainer>
+
+    /**
+     * Totals of the profile's accounts over the postings between the two packed dates, both included.
+     */
+    @Query(
+        "SELECT a.name AS account_name, ta.currency, sum(ta.amount_mantissa) AS amount_mantissa, ta.amount_scale " +
+            "FROM transactions tr " +
+            "JOIN transaction_accounts ta ON ta.transaction_id = tr.id " +
+            "JOIN accounts a ON a.id = ta.account_id " +
+            "WHERE tr.profile_id = :profileId AND tr.date BETWEEN :firstDate AND :lastDate " +
+            "GROUP BY a.name, ta.currency, ta.amount_scale"
+    )
+    abstract fun getPostingTotalsSync(profileId: Long, firstDate: Int, lastDate: Int): List<AccountSumContainer>
+
+    /**
+     * The postings summed by [getPostingTotalsSync], one row each.
+     */
+    @Query(
+        "SELECT a.name AS account_name, ta.currency, ta.amount_mantissa, ta.amount_scale " +
+            "FROM transactions tr " +
+            "JOIN transaction_accounts ta ON ta.transaction_id = tr.id " +
+            "JOIN accounts a ON a.id = ta.account_id " +
+            "WHERE tr.profile_id = :profileId AND tr.date BETWEEN :firstDate AND :lastDate"
+    )
+    abstract fun getPostingAmountsSync(profileId: Long, firstDate: Int, lastDate: Int): List<AccountSumContainer>
+
+    data class MonthSumContainer(
+        @ColumnInfo(name = "account_id") val accountId: Long,
+        @ColumnInfo(name = "month") val month: Int,
+        @ColumnInfo(name = "currency") val currency: String,
+        @ColumnInfo(name = "amount_mantissa") val amountMantissa: Long,
+        @ColumnInfo(name = "amount_scale") val amountScale: Int
+    )
+
+    data class AccountSumContainer(
+        @ColumnInfo(name = "account_name") val accountName: String,
+        @ColumnInfo(name = "currency") val currency: String,
+        @ColumnInfo(name = "amount_mantissa") val amountMantissa: Long,
+        @ColumnInfo(name = "amount_scale") val amountScale: Int
+    )
+}
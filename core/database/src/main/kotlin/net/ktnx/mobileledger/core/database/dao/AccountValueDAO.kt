@@ -31,6 +31,9 @@ abstract class AccountValueDAO : BaseDAO<AccountValue>() {
     @Insert(onConflict = OnConflictStrategy.REPLACE)
     abstract override fun insertSync(item: AccountValue): Long
 
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    abstract fun insertSync(items: List<AccountValue>): List<Long>
+
     @Update
     abstract override fun updateSync(item: AccountValue)
 
@@ -0,0 +1,40 @@
+/*
+ * Copyright © 2026 Damyan Ivanov.
+ * This file is part of MoLe.
+ * MoLe is free software: you can distribute it and/or modify it
+ * under the term of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your opinion), any later version.
+ *
+ * MoLe is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License terms for details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MoLe. If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.ktnx.mobileledger.core.database.dao
+
+/**
+ * Builds MATCH expressions for the full-text tables.
+ *
+ * The lookups using them narrow the candidates with the full-text index and then apply the
+ * original `LIKE` test to the few remaining rows, so the results are the same as a plain
+ * substring search except that the search term must start at the beginning of a word.
+ */
+object FtsQuery {
+    private val separators = Regex("[^\\p{L}\\p{M}\\p{N}]+")
+
+    /**
+     * Returns an expression matching text that contains the words of [term] in order, the last
+     * one possibly incomplete, or null if [term] has no letters or digits.
+     *
+     * For example `"Expenses:Fo"` becomes `"Expenses Fo*"`.
+     */
+    fun prefixPhrase(term: String): String? {
+        val words = term.split(separators).filter { it.isNotEmpty() }
+        if (words.isEmpty()) return null
+        return words.joinToString(" ", prefix = "\"", postfix = "*\"")
+    }
+}
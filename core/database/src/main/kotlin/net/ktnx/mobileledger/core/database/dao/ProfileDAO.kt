@@ -48,6 +48,24 @@ abstract class ProfileDAO : BaseDAO<Profile>() {
     @Query("DELETE FROM profiles")
     abstract fun deleteAllSync()
 
+    /**
+     * Removes up to [limit] transactions of the profile, together with their postings.
+     *
+     * Used to empty a profile in short write transactions before deleting it, instead of
+     * cascading through all of its ledger data in one.
+     */
+    @Query(
+        "DELETE FROM transactions WHERE id IN " +
+            "(SELECT id FROM transactions WHERE profile_id = :profileId LIMIT :limit)"
+    )
+    abstract fun deleteTransactionBatchSync(profileId: Long, limit: Int): Int
+
+    /**
+     * Removes up to [limit] accounts of the profile, together with their values and totals.
+     */
+    @Query("DELETE FROM accounts WHERE id IN (SELECT id FROM accounts WHERE profile_id = :profileId LIMIT :limit)")
+    abstract fun deleteAccountBatchSync(profileId: Long, limit: Int): Int
+
     @Query("select * from profiles where id = :profileId")
     abstract fun getByIdSync(profileId: Long): Profile?
 
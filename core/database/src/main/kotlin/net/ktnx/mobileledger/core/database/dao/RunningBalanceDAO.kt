@@ -0,0 +1,140 @@
+/*
+ * Copyright © 2026 Damyan Ivanov.
+ * This file is part of MoLe.
+ * MoLe is free software: you can distribute it and/or modify it
+ * under the term of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your opinion), any later version.
+ *
+ * MoLe is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License terms for details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MoLe. If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.ktnx.mobileledger.core.database.dao
+
+import androidx.room.ColumnInfo
+import androidx.room.Dao
+import androidx.room.Insert
+import androidx.room.OnConflictStrategy
+import androidx.room.Query
+import net.ktnx.mobileledger.core.database.entity.RunningBalance
+
+/**
+ * Access to the running balances of accounts, see [RunningBalance].
+ *
+ * Positions in the transaction order are given as a packed date and a ledger ID. As ledger IDs
+ * are unique within a profile, "after date `d` and ledger ID `l - 1`" includes the transaction
+ * with ledger ID `l` itself.
+ */
+@Dao
+abstract class RunningBalanceDAO {
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    abstract fun insertSync(items: List<RunningBalance>)
+
+    @Query(
+        "SELECT EXISTS(SELECT 1 FROM running_balances rb JOIN accounts a ON a.id = rb.account_id " +
+            "WHERE a.profile_id = :profileId)"
+    )
+    abstract fun hasBalancesSync(profileId: Long): Boolean
+
+    /**
+     * Removes the balances of the profile's transactions ordered after the given position.
+     */
+    @Query(
+        "DELETE FROM running_balances " +
+            "WHERE account_id IN (SELECT id FROM accounts WHERE profile_id = :profileId) " +
+            "AND date >= :date AND (date > :date OR ledger_id > :ledgerId)"
+    )
+    abstract fun deleteAfterSync(profileId: Long, date: Int, ledgerId: Long): Int
+
+    /**
+     * The postings of up to [limit] transactions with postings ordered after the given position,
+     * in transaction order. Every posting is returned once for its account and once for each of its ancestors.
+     */
+    @Query(
+        "SELECT tr.id AS transaction_id, tr.date, tr.ledger_id, aa.ancestor AS account_id, ta.currency, " +
+            "ta.amount_mantissa, ta.amount_scale " +
+            "FROM transactions tr " +
+            "JOIN transaction_accounts ta ON ta.transaction_id = tr.id " +
+            "JOIN account_ancestors aa ON aa.descendant = ta.account_id " +
+            "WHERE tr.id IN (SELECT id FROM transactions " +
+            "                WHERE profile_id = :profileId " +
+            "                AND date >= :date AND (date > :date OR ledger_id > :ledgerId) " +
+            "                AND EXISTS(SELECT 1 FROM transaction_accounts WHERE transaction_id = transactions.id) " +
+            "                ORDER BY date, ledger_id LIMIT :limit) " +
+            "ORDER BY tr.date, tr.ledger_id"
+    )
+    abstract fun getPostingsAfterSync(profileId: Long, date: Int, ledgerId: Long, limit: Int): List<PostingContainer>
+
+    /**
+     * The latest balance of the account in the currency ordered before the given position.
+     * A single seek in `idx_running_balances_currency`.
+     */
+    @Query(
+        "SELECT * FROM running_balances " +
+            "WHERE account_id = :accountId AND currency = :currency " +
+            "AND date <= :date AND (date < :date OR ledger_id < :ledgerId) " +
+            "ORDER BY date DESC, ledger_id DESC LIMIT 1"
+    )
+    abstract fun getBeforeSync(accountId: Long, currency: String, date: Int, ledgerId: Long): RunningBalance?
+
+    /**
+     * The latest balance of the account in each of its currencies ordered before the given position,
+     * by currency. Together with [getRangeSync] this gives the running totals of a register page
+     * however long the history before the page.
+     *
+     * The account's currencies are found by skipping from one to the next in
+     * `idx_running_balances_currency` rather than by scanning all of its balances, and the
+     * balance of each is a single seek in the same index.
+     */
+    @Query(
+        "WITH RECURSIVE c(currency) AS (" +
+            "    SELECT min(currency) FROM running_balances WHERE account_id = :accountId " +
+            "    UNION ALL " +
+            "    SELECT (SELECT min(currency) FROM running_balances " +
+            "            WHERE account_id = :accountId AND currency > c.currency) " +
+            "    FROM c WHERE c.currency IS NOT NULL) " +
+            "SELECT rb.* FROM c " +
+            "JOIN running_balances rb ON rb.rowid = (" +
+            "    SELECT rowid FROM running_balances " +
+            "    WHERE account_id = :accountId AND currency = c.currency " +
+            "    AND date <= :date AND (date < :date OR ledger_id < :ledgerId) " +
+            "    ORDER BY date DESC, ledger_id DESC LIMIT 1) " +
+            "ORDER BY rb.currency"
+    )
+    abstract fun getAllBeforeSync(accountId: Long, date: Int, ledgerId: Long): List<RunningBalance>
+
+    /**
+     * The balances of the account from the transaction at the first position to the one at the
+     * last position, both included, in transaction order.
+     */
+    @Query(
+        "SELECT * FROM running_balances " +
+            "WHERE account_id = :accountId " +
+            "AND date BETWEEN :firstDate AND :lastDate " +
+            "AND (date > :firstDate OR ledger_id >= :firstLedgerId) " +
+            "AND (date < :lastDate OR ledger_id <= :lastLedgerId) " +
+            "ORDER BY date, ledger_id"
+    )
+    abstract fun getRangeSync(
+        accountId: Long,
+        firstDate: Int,
+        firstLedgerId: Long,
+        lastDate: Int,
+        lastLedgerId: Long
+    ): List<RunningBalance>
+
+    data class PostingContainer(
+        @ColumnInfo(name = "transaction_id") val transactionId: Long,
+        @ColumnInfo(name = "date") val date: Int,
+        @ColumnInfo(name = "ledger_id") val ledgerId: Long,
+        @ColumnInfo(name = "account_id") val accountId: Long,
+        @ColumnInfo(name = "currency") val currency: String,
+        @ColumnInfo(name = "amount_mantissa") val amountMantissa: Long,
+        @ColumnInfo(name = "amount_scale") val amountScale: Int
+    )
+}
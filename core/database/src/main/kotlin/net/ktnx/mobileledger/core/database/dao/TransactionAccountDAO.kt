@@ -48,4 +48,7 @@ abstract class TransactionAccountDAO : BaseDAO<TransactionAccount>() {
 
     @Query("SELECT * FROM transaction_accounts WHERE transaction_id = :transactionId AND order_no = :orderNo")
     abstract fun getByOrderNoSync(transactionId: Long, orderNo: Int): TransactionAccount?
+
+    @Query("DELETE FROM transaction_accounts WHERE transaction_id = :transactionId AND order_no > :lastOrderNo")
+    abstract fun deleteAfterOrderNoSync(transactionId: Long, lastOrderNo: Int): Int
 }
@@ -66,24 +66,26 @@ abstract class TransactionDAO : BaseDAO<Transaction>() {
             "               WHEN description_uc LIKE '%:'||:term||'%' THEN 2 " +
             "               WHEN description_uc LIKE '% '||:term||'%' THEN 3 " +
             "               ELSE 9 END AS ordering FROM transactions " +
-            "WHERE description_uc LIKE '%'||:term||'%' ORDER BY ordering, description_uc, rowid "
+            "WHERE profile_id = :profileId " +
+            "AND id IN (SELECT docid FROM transactions_fts WHERE transactions_fts MATCH :query) " +
+            "AND description_uc LIKE '%'||:term||'%' ORDER BY ordering, description_uc, rowid "
     )
-    abstract fun lookupDescriptionSync(term: String): List<DescriptionContainer>
+    abstract fun lookupDescriptionSync(profileId: Long, term: String, query: String): List<DescriptionContainer>
 
     @androidx.room.Transaction
     @Query(
-        "SELECT * from transactions WHERE description = :description ORDER BY year desc, month" +
-            " desc, day desc LIMIT 1"
+        "SELECT * from transactions WHERE description = :description ORDER BY date desc LIMIT 1"
     )
     abstract fun getFirstByDescriptionSync(description: String): TransactionWithAccounts?
 
     @androidx.room.Transaction
     @Query(
         "SELECT tr.id, tr.profile_id, tr.ledger_id, tr.description, tr.description_uc, tr" +
-            ".data_hash, tr.comment, tr.year, tr.month, tr.day, tr.generation from transactions tr" +
+            ".data_hash, tr.comment, tr.year, tr.month, tr.day, tr.date, tr.generation from transactions tr" +
             " JOIN transaction_accounts t_a ON t_a.transaction_id = tr.id WHERE tr.description = " +
-            ":description AND t_a.account_name LIKE '%'||:accountTerm||'%' ORDER BY year desc, " +
-            "month desc, day desc, tr.ledger_id desc LIMIT 1"
+            ":description AND t_a.account_id IN (SELECT a.id FROM accounts a WHERE a.profile_id = " +
+            "tr.profile_id AND a.name LIKE '%'||:accountTerm||'%') ORDER BY tr.date desc, " +
+            "tr.ledger_id desc LIMIT 1"
     )
     abstract fun getFirstByDescriptionHavingAccountSync(
         description: String,
@@ -93,7 +95,7 @@ abstract class TransactionDAO : BaseDAO<Transaction>() {
     @Query("SELECT * from transactions WHERE profile_id = :profileId")
     abstract fun getAllForProfileUnorderedSync(profileId: Long): List<Transaction>
 
-    @Query("SELECT generation FROM transactions WHERE profile_id = :profileId LIMIT 1")
+    @Query("SELECT max(generation) as generation FROM transactions WHERE profile_id = :profileId")
     protected abstract fun getGenerationPOJOSync(profileId: Long): TransactionGenerationContainer?
 
     @androidx.room.Transaction
@@ -103,12 +105,84 @@ abstract class TransactionDAO : BaseDAO<Transaction>() {
             "AND IIF(:accountName IS NULL OR :accountName = '', 1, " +
             "    EXISTS(SELECT 1 FROM transaction_accounts ta " +
             "           WHERE ta.transaction_id = tr.id " +
-            "           AND ta.account_name LIKE '%' || :accountName || '%' " +
-            "           AND ta.amount <> 0)) " +
-            "ORDER BY tr.year ASC, tr.month ASC, tr.day ASC, tr.ledger_id ASC"
+            "           AND ta.account_id IN (SELECT aa.descendant FROM account_ancestors aa " +
+            "                                 JOIN accounts a ON a.id = aa.ancestor " +
+            "                                 WHERE a.profile_id = :profileId " +
+            "                                 AND a.name = :accountName) " +
+            "           AND ta.amount_mantissa <> 0)) " +
+            "ORDER BY tr.date ASC, tr.ledger_id ASC"
     )
     abstract fun getAllWithAccountsFiltered(profileId: Long, accountName: String?): Flow<List<TransactionWithAccounts>>
 
+    /**
+     * Returns up to [limit] transactions, newest first, that come after the transaction with
+     * [beforeDate] and [beforeLedgerId] in that order. Pass [Int.MAX_VALUE] and [Long.MAX_VALUE]
+     * for the first page.
+     */
+    @androidx.room.Transaction
+    @Query(
+        "SELECT * FROM transactions tr " +
+            "WHERE tr.profile_id = :profileId " +
+            "AND tr.date <= :beforeDate AND (tr.date < :beforeDate OR tr.ledger_id < :beforeLedgerId) " +
+            "AND IIF(:accountName IS NULL OR :accountName = '', 1, " +
+            "    EXISTS(SELECT 1 FROM transaction_accounts ta " +
+            "           WHERE ta.transaction_id = tr.id " +
+            "           AND ta.account_id IN (SELECT aa.descendant FROM account_ancestors aa " +
+            "                                 JOIN accounts a ON a.id = aa.ancestor " +
+            "                                 WHERE a.profile_id = :profileId " +
+            "                                 AND a.name = :accountName) " +
+            "           AND ta.amount_mantissa <> 0)) " +
+            "ORDER BY tr.date DESC, tr.ledger_id DESC LIMIT :limit"
+    )
+    abstract fun getPageWithAccountsFilteredSync(
+        profileId: Long,
+        accountName: String?,
+        beforeDate: Int,
+        beforeLedgerId: Long,
+        limit: Int
+    ): List<TransactionWithAccounts>
+
+    /**
+     * Returns up to [limit] transactions, oldest first, that come before the transaction with
+     * [afterDate] and [afterLedgerId] in the order of [getPageWithAccountsFilteredSync], i.e. the
+     * page preceding it.
+     */
+    @androidx.room.Transaction
+    @Query(
+        "SELECT * FROM transactions tr " +
+            "WHERE tr.profile_id = :profileId " +
+            "AND tr.date >= :afterDate AND (tr.date > :afterDate OR tr.ledger_id > :afterLedgerId) " +
+            "AND IIF(:accountName IS NULL OR :accountName = '', 1, " +
+            "    EXISTS(SELECT 1 FROM transaction_accounts ta " +
+            "           WHERE ta.transaction_id = tr.id " +
+            "           AND ta.account_id IN (SELECT a.id FROM accounts a " +
+            "                                 WHERE a.profile_id = :profileId " +
+            "                                 AND a.name LIKE '%' || :accountName || '%') " +
+            "           AND ta.amount_mantissa <> 0)) " +
+            "ORDER BY tr.date, tr.ledger_id LIMIT :limit"
+    )
+    abstract fun getNewerPageWithAccountsFilteredSync(
+        profileId: Long,
+        accountName: String?,
+        afterDate: Int,
+        afterLedgerId: Long,
+        limit: Int
+    ): List<TransactionWithAccounts>
+
+    @Query(
+        "SELECT min(tr.date) AS first_date, max(tr.date) AS last_date FROM transactions tr " +
+            "WHERE tr.profile_id = :profileId " +
+            "AND IIF(:accountName IS NULL OR :accountName = '', 1, " +
+            "    EXISTS(SELECT 1 FROM transaction_accounts ta " +
+            "           WHERE ta.transaction_id = tr.id " +
+            "           AND ta.account_id IN (SELECT aa.descendant FROM account_ancestors aa " +
+            "                                 JOIN accounts a ON a.id = aa.ancestor " +
+            "                                 WHERE a.profile_id = :profileId " +
+            "                                 AND a.name = :accountName) " +
+            "           AND ta.amount_mantissa <> 0))"
+    )
+    abstract fun getDateRangeFilteredSync(profileId: Long, accountName: String?): DateRangeContainer?
+
     @Query("DELETE FROM transactions WHERE profile_id = :profileId AND generation <> :currentGeneration")
     abstract fun purgeOldTransactionsSync(profileId: Long, currentGeneration: Long): Int
 
@@ -128,6 +202,9 @@ abstract class TransactionDAO : BaseDAO<Transaction>() {
     @Query("DELETE FROM transactions WHERE id IN (:transactionIds)")
     abstract fun deleteByIdsSync(transactionIds: List<Long>): Int
 
+    @Query("SELECT * FROM transactions WHERE id IN (:transactionIds)")
+    abstract fun getByIdsSync(transactionIds: List<Long>): List<Transaction>
+
     @Query("SELECT * FROM transactions where profile_id = :profileId AND ledger_id = :ledgerId")
     abstract fun getByLedgerId(profileId: Long, ledgerId: Long): Transaction?
 
@@ -164,6 +241,11 @@ abstract class TransactionDAO : BaseDAO<Transaction>() {
         @ColumnInfo(name = "ledger_id") val ledgerId: Long
     )
 
+    data class DateRangeContainer(
+        @ColumnInfo(name = "first_date") val firstDate: Int?,
+        @ColumnInfo(name = "last_date") val lastDate: Int?
+    )
+
     data class DescriptionContainer(
         @ColumnInfo(name = "description") val description: String?,
         @ColumnInfo(name = "ordering") val ordering: Int = 0
@@ -0,0 +1,63 @@
+/*
+ * Copyright © 2026 Damyan Ivanov.
+ * This file is part of MoLe.
+ * MoLe is free software: you can distribute it and/or modify it
+ * under the term of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your opinion), any later version.
+ *
+ * MoLe is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License terms for details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MoLe. If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.ktnx.mobileledger.core.database.entity
+
+import androidx.room.ColumnInfo
+import androidx.room.Entity
+import androidx.room.ForeignKey
+import androidx.room.Index
+
+/**
+ * Closure of the account hierarchy: one row for every account and each of its ancestors,
+ * including the account itself at depth 0. The accounts of a subtree are the descendants
+ * of its root, so subtree filters are an index lookup instead of a name comparison.
+ *
+ * Rows are added when an account is created, after its parent, and removed together with
+ * the account.
+ */
+@Entity(
+    tableName = "account_ancestors",
+    primaryKeys = ["descendant", "ancestor"],
+    indices = [Index(name = "idx_account_ancestors_ancestor", value = ["ancestor", "descendant"])],
+    foreignKeys = [
+        ForeignKey(
+            entity = Account::class,
+            parentColumns = ["id"],
+            childColumns = ["descendant"],
+            onDelete = ForeignKey.CASCADE,
+            onUpdate = ForeignKey.RESTRICT
+        ),
+        ForeignKey(
+            entity = Account::class,
+            parentColumns = ["id"],
+            childColumns = ["ancestor"],
+            onDelete = ForeignKey.CASCADE,
+            onUpdate = ForeignKey.RESTRICT
+        )
+    ]
+)
+class AccountAncestor {
+    @ColumnInfo
+    var descendant: Long = 0
+
+    @ColumnInfo
+    var ancestor: Long = 0
+
+    /** Number of levels between the two accounts; 0 for the row of an account with itself */
+    @ColumnInfo
+    var depth: Int = 0
+}
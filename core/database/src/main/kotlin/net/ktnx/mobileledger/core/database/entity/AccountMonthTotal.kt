@@ -0,0 +1,59 @@
+/*
+ * Copyright © 2026 Damyan Ivanov.
+ * This file is part of MoLe.
+ * MoLe is free software: you can distribute it and/or modify it
+ * under the term of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your opinion), any later version.
+ *
+ * MoLe is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License terms for details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MoLe. If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.ktnx.mobileledger.core.database.entity
+
+import androidx.room.ColumnInfo
+import androidx.room.Entity
+import androidx.room.ForeignKey
+
+/**
+ * Sum of the postings of one account in one currency during one calendar month.
+ *
+ * Totals over a date range add up the whole months from this table and read only the
+ * postings of the partial months at both ends of the range. Only the account's own postings
+ * are included; subtree totals are summed through [AccountAncestor].
+ */
+@Entity(
+    tableName = "account_month_totals",
+    primaryKeys = ["account_id", "month", "currency"],
+    foreignKeys = [
+        ForeignKey(
+            entity = Account::class,
+            parentColumns = ["id"],
+            childColumns = ["account_id"],
+            onDelete = ForeignKey.CASCADE,
+            onUpdate = ForeignKey.RESTRICT
+        )
+    ]
+)
+class AccountMonthTotal {
+    @ColumnInfo(name = "account_id")
+    var accountId: Long = 0
+
+    /** The month as `yyyymm`, the packed transaction date divided by 100 */
+    @ColumnInfo
+    var month: Int = 0
+
+    @ColumnInfo
+    var currency: String = ""
+
+    @ColumnInfo(name = "amount_mantissa")
+    var amountMantissa: Long = 0
+
+    @ColumnInfo(name = "amount_scale")
+    var amountScale: Int = 0
+}
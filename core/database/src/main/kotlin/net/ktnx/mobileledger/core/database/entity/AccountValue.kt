@@ -50,8 +50,12 @@ class AccountValue {
     @ColumnInfo(defaultValue = "")
     var currency: String = ""
 
-    @ColumnInfo
-    var value: Float = 0f
+    /** Balance as [valueMantissa] × 10^-[valueScale] */
+    @ColumnInfo(name = "value_mantissa", defaultValue = "0")
+    var valueMantissa: Long = 0
+
+    @ColumnInfo(name = "value_scale", defaultValue = "0")
+    var valueScale: Int = 0
 
     @ColumnInfo(defaultValue = "0")
     var generation: Long = 0
@@ -0,0 +1,78 @@
+/*
+ * Copyright © 2026 Damyan Ivanov.
+ * This file is part of MoLe.
+ * MoLe is free software: you can distribute it and/or modify it
+ * under the term of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your opinion), any later version.
+ *
+ * MoLe is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License terms for details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MoLe. If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.ktnx.mobileledger.core.database.entity
+
+import androidx.room.ColumnInfo
+import androidx.room.Entity
+import androidx.room.ForeignKey
+import androidx.room.Index
+
+/**
+ * Balance of an account and its sub-accounts in one currency, after a transaction.
+ *
+ * There is a row for every transaction posting to the account's subtree in the currency, so
+ * the running balance of an account register is read with the transactions it is shown for,
+ * instead of being summed over all earlier transactions. Rows are ordered like the transaction
+ * list, by [date] and [ledgerId], which are copied from the transaction.
+ */
+@Entity(
+    tableName = "running_balances",
+    primaryKeys = ["account_id", "date", "ledger_id", "currency"],
+    indices = [
+        Index(name = "idx_running_balances_transaction", value = ["transaction_id"]),
+        Index(name = "idx_running_balances_currency", value = ["account_id", "currency", "date", "ledger_id"])
+    ],
+    foreignKeys = [
+        ForeignKey(
+            entity = Account::class,
+            parentColumns = ["id"],
+            childColumns = ["account_id"],
+            onDelete = ForeignKey.CASCADE,
+            onUpdate = ForeignKey.RESTRICT
+        ),
+        ForeignKey(
+            entity = Transaction::class,
+            parentColumns = ["id"],
+            childColumns = ["transaction_id"],
+            onDelete = ForeignKey.CASCADE,
+            onUpdate = ForeignKey.RESTRICT
+        )
+    ]
+)
+class RunningBalance {
+    @ColumnInfo(name = "account_id")
+    var accountId: Long = 0
+
+    /** Packed date of the transaction, see [Transaction.date] */
+    @ColumnInfo
+    var date: Int = 0
+
+    @ColumnInfo(name = "ledger_id")
+    var ledgerId: Long = 0
+
+    @ColumnInfo
+    var currency: String = ""
+
+    @ColumnInfo(name = "transaction_id")
+    var transactionId: Long = 0
+
+    @ColumnInfo(name = "balance_mantissa")
+    var balanceMantissa: Long = 0
+
+    @ColumnInfo(name = "balance_scale")
+    var balanceScale: Int = 0
+}
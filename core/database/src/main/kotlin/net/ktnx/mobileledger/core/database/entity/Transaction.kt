@@ -22,6 +22,7 @@ import androidx.room.Entity
 import androidx.room.ForeignKey
 import androidx.room.Index
 import androidx.room.PrimaryKey
+import net.ktnx.mobileledger.core.common.utils.SimpleDate
 
 @Entity(
     tableName = "transactions",
@@ -36,8 +37,9 @@ import androidx.room.PrimaryKey
     ],
     indices = [
         Index(name = "un_transactions_ledger_id", unique = true, value = ["profile_id", "ledger_id"]),
-        Index(name = "idx_transaction_description", value = ["description"]),
-        Index(name = "fk_transaction_profile", value = ["profile_id"])
+        Index(name = "idx_transaction_description", value = ["description", "date"]),
+        Index(name = "fk_transaction_profile", value = ["profile_id"]),
+        Index(name = "idx_transaction_date", value = ["profile_id", "date", "ledger_id"])
     ]
 )
 class Transaction {
@@ -56,12 +58,33 @@ class Transaction {
 
     @ColumnInfo
     var year: Int = 0
+        set(value) {
+            field = value
+            date = packDate(value, month, day)
+        }
 
     @ColumnInfo
     var month: Int = 0
+        set(value) {
+            field = value
+            date = packDate(year, value, day)
+        }
 
     @ColumnInfo
     var day: Int = 0
+        set(value) {
+            field = value
+            date = packDate(year, month, value)
+        }
+
+    /**
+     * [year], [month] and [day] packed as `yyyymmdd` (the same form as [SimpleDate.packed]).
+     *
+     * Kept up to date by the setters of the separate fields. Queries order and filter by this
+     * column so they can use the `(profile_id, date, ledger_id)` index instead of sorting.
+     */
+    @ColumnInfo
+    var date: Int = 0
 
     @ColumnInfo(name = "description", collate = ColumnInfo.NOCASE)
     var description: String = ""
@@ -86,9 +109,15 @@ class Transaction {
         year = o.year
         month = o.month
         day = o.day
+        date = o.date
         description = o.description
         descriptionUpper = o.description.uppercase()
         comment = o.comment
         generation = o.generation
     }
+
+    companion object {
+        /** Packs a date into the form stored in [date] */
+        fun packDate(year: Int, month: Int, day: Int): Int = year * 10000 + month * 100 + day
+    }
 }
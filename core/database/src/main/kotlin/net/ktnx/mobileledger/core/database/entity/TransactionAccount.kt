@@ -20,6 +20,7 @@ package net.ktnx.mobileledger.core.database.entity
 import androidx.room.ColumnInfo
 import androidx.room.Entity
 import androidx.room.ForeignKey
+import androidx.room.Ignore
 import androidx.room.Index
 import androidx.room.PrimaryKey
 
@@ -32,10 +33,18 @@ import androidx.room.PrimaryKey
             childColumns = ["transaction_id"],
             onDelete = ForeignKey.CASCADE,
             onUpdate = ForeignKey.RESTRICT
+        ),
+        ForeignKey(
+            entity = Account::class,
+            parentColumns = ["id"],
+            childColumns = ["account_id"],
+            onDelete = ForeignKey.CASCADE,
+            onUpdate = ForeignKey.RESTRICT
         )
     ],
     indices = [
         Index(name = "fk_trans_acc_trans", value = ["transaction_id"]),
+        Index(name = "fk_trans_acc_acc", value = ["account_id"]),
         Index(name = "un_transaction_accounts", unique = true, value = ["transaction_id", "order_no"])
     ]
 )
@@ -50,14 +59,31 @@ class TransactionAccount {
     @ColumnInfo(name = "order_no")
     var orderNo: Int = 0
 
-    @ColumnInfo(name = "account_name")
+    /**
+     * Id of the posting's row in the `accounts` table. The account name is stored only there;
+     * rows no longer referenced by any posting are removed together with stale accounts.
+     * Deleting an account deletes its postings.
+     */
+    @ColumnInfo(name = "account_id")
+    var accountId: Long = 0
+
+    /**
+     * Name of the posting's account. Not a column: it is resolved to [accountId] when the
+     * posting is stored, and filled from the referenced account when reading through
+     * [TransactionWithAccounts].
+     */
+    @Ignore
     var accountName: String = ""
 
     @ColumnInfo(defaultValue = "")
     var currency: String = ""
 
-    @ColumnInfo
-    var amount: Float = 0f
+    /** Amount as [amountMantissa] × 10^-[amountScale] */
+    @ColumnInfo(name = "amount_mantissa", defaultValue = "0")
+    var amountMantissa: Long = 0
+
+    @ColumnInfo(name = "amount_scale", defaultValue = "0")
+    var amountScale: Int = 0
 
     @ColumnInfo
     var comment: String? = null
@@ -71,9 +97,11 @@ class TransactionAccount {
     fun copyDataFrom(o: TransactionAccount) {
         transactionId = o.transactionId
         orderNo = o.orderNo
+        accountId = o.accountId
         accountName = o.accountName
         currency = o.currency ?: ""
-        amount = o.amount
+        amountMantissa = o.amountMantissa
+        amountScale = o.amountScale
         comment = o.comment
         amountStyle = o.amountStyle
         generation = o.generation
@@ -18,6 +18,8 @@
 package net.ktnx.mobileledger.core.database.entity
 
 import androidx.room.Embedded
+import androidx.room.Ignore
+import androidx.room.Junction
 import androidx.room.Relation
 
 class TransactionWithAccounts {
@@ -26,4 +28,20 @@ class TransactionWithAccounts {
 
     @Relation(parentColumn = "id", entityColumn = "transaction_id")
     lateinit var accounts: List<TransactionAccount>
+
+    /** The accounts referenced by [accounts], loaded with one lookup by id */
+    @Relation(
+        parentColumn = "id",
+        entityColumn = "id",
+        associateBy = Junction(TransactionAccount::class, parentColumn = "transaction_id", entityColumn = "account_id")
+    )
+    var referencedAccounts: List<Account> = emptyList()
+
+    /**
+     * Name of the account [posting] refers to. Postings that were not read from the database
+     * keep their own [TransactionAccount.accountName].
+     */
+    @Ignore
+    fun accountNameOf(posting: TransactionAccount): String =
+        referencedAccounts.firstOrNull { it.id == posting.accountId }?.name ?: posting.accountName
 }
@@ -27,5 +27,5 @@ data class AccountAmount(
     val currency: String,
 
     /** 金額 */
-    val amount: Float
+    val amount: Amount
 )
@@ -0,0 +1,67 @@
+/*
+ * Copyright © 2026 Damyan Ivanov.
+ * This file is part of MoLe.
+ * MoLe is free software: you can distribute it and/or modify it
+ * under the term of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your opinion), any later version.
+ *
+ * MoLe is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License terms for details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MoLe. If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.ktnx.mobileledger.core.domain.model
+
+/**
+ * 勘定科目の種類
+ *
+ * hledger が科目名から種類を推定する既定の規則と同じく、最上位の科目名（英語）から判定する。
+ * ジャーナルの account ディレクティブで宣言された種類は参照しないため、英語以外の科目名は判定できない。
+ */
+enum class AccountType {
+    /** 資産 */
+    ASSET,
+
+    /** 資産のうち現金・預金 */
+    CASH,
+
+    /** 負債 */
+    LIABILITY,
+
+    /** 純資産 */
+    EQUITY,
+
+    /** 収益 */
+    REVENUE,
+
+    /** 費用 */
+    EXPENSE;
+
+    companion object {
+        private val ASSET_NAME = Regex("^assets?(:|$)", RegexOption.IGNORE_CASE)
+        private val CASH_NAME =
+            Regex("^assets?(:.+)?:(cash|bank|che(ck|que)(ing)?|savings?|current)(:|$)", RegexOption.IGNORE_CASE)
+        private val LIABILITY_NAME = Regex("^(debts?|liabilit(y|ies))(:|$)", RegexOption.IGNORE_CASE)
+        private val EQUITY_NAME = Regex("^equity(:|$)", RegexOption.IGNORE_CASE)
+        private val REVENUE_NAME = Regex("^(income|revenue)s?(:|$)", RegexOption.IGNORE_CASE)
+        private val EXPENSE_NAME = Regex("^expenses?(:|$)", RegexOption.IGNORE_CASE)
+
+        /**
+         * 科目名から種類を判定する
+         * どの種類にも当てはまらない場合は null を返す
+         */
+        fun fromAccountName(name: String): AccountType? = when {
+            CASH_NAME.containsMatchIn(name) -> CASH
+            ASSET_NAME.containsMatchIn(name) -> ASSET
+            LIABILITY_NAME.containsMatchIn(name) -> LIABILITY
+            EQUITY_NAME.containsMatchIn(name) -> EQUITY
+            REVENUE_NAME.containsMatchIn(name) -> REVENUE
+            EXPENSE_NAME.containsMatchIn(name) -> EXPENSE
+            else -> null
+        }
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright © 2026 Damyan Ivanov.
+ * This file is part of MoLe.
+ * MoLe is free software: you can distribute it and/or modify it
+ * under the term of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your opinion), any later version.
+ *
+ * MoLe is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License terms for details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MoLe. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package net.ktnx.mobileledger.core.domain.model
+
+import java.math.BigDecimal
+import java.math.RoundingMode
+
+/**
+ * 固定小数点の金額
+ *
+ * 値を [mantissa] × 10^-[scale] として2つのプリミティブで保持する。
+ * hledger の JSON API が返す decimalMantissa / decimalPlaces をそのまま表現でき、
+ * 加減算・比較で浮動小数点の丸め誤差が発生しない。
+ *
+ * 生成時に末尾のゼロを取り除いて正規化するため、`1.50` と `1.5` は等しい。
+ * 桁合わせで [Long] の範囲を超える場合は [BigDecimal] で計算し、
+ * 仮数が [Long] に収まるまで小数桁を丸める。
+ */
+class Amount private constructor(
+    /** 仮数 */
+    val mantissa: Long,
+
+    /** 小数点以下の桁数（0以上） */
+    val scale: Int
+) : Comparable<Amount> {
+
+    /** ゼロかどうか */
+    val isZero: Boolean get() = mantissa == 0L
+
+    /** 符号（-1, 0, 1） */
+    fun signum(): Int = java.lang.Long.signum(mantissa)
+
+    operator fun plus(other: Amount): Amount = when {
+        other.mantissa == 0L -> this
+        mantissa == 0L -> other
+        scale == other.scale -> try {
+            of(Math.addExact(mantissa, other.mantissa), scale)
+        } catch (_: ArithmeticException) {
+            of(toBigDecimal().add(other.toBigDecimal()))
+        }
+        else -> try {
+            val s = maxOf(scale, other.scale)
+            of(Math.addExact(rescaled(s), other.rescaled(s)), s)
+        } catch (_: ArithmeticException) {
+            of(toBigDecimal().add(other.toBigDecimal()))
+        }
+    }
+
+    operator fun minus(other: Amount): Amount = plus(-other)
+
+    operator fun unaryMinus(): Amount =
+        if (mantissa == Long.MIN_VALUE) of(toBigDecimal().negate()) else Amount(-mantissa, scale)
+
+    /** 絶対値 */
+    fun abs(): Amount = if (mantissa < 0) -this else this
+
+    override fun compareTo(other: Amount): Int {
+        if (scale == other.scale) return mantissa.compareTo(other.mantissa)
+        return try {
+            val s = maxOf(scale, other.scale)
+            rescaled(s).compareTo(other.rescaled(s))
+        } catch (_: ArithmeticException) {
+            toBigDecimal().compareTo(other.toBigDecimal())
+        }
+    }
+
+    fun toBigDecimal(): BigDecimal = BigDecimal.valueOf(mantissa, scale)
+
+    /** 表示用の近似値 */
+    fun toDouble(): Double = if (scale < POWERS_OF_TEN.size) {
+        mantissa.toDouble() / POWERS_OF_TEN[scale]
+    } else {
+        toBigDecimal().toDouble()
+    }
+
+    /** 表示用の近似値 */
+    fun toFloat(): Float = toDouble().toFloat()
+
+    /** 指数表記を使わない文字列表現（例: `-12.5`） */
+    fun toPlainString(): String = toBigDecimal().toPlainString()
+
+    override fun equals(other: Any?): Boolean =
+        other is Amount && mantissa == other.mantissa && scale == other.scale
+
+    override fun hashCode(): Int = 31 * mantissa.hashCode() + scale
+
+    override fun toString(): String = toPlainString()
+
+    /**
+     * 小数点以下の桁数を [newScale] に揃えた仮数を返す。
+     *
+     * @throws ArithmeticException [Long] の範囲を超える場合
+     */
+    private fun rescaled(newScale: Int): Long {
+        val diff = newScale - scale
+        if (diff == 0) return mantissa
+        if (diff >= POWERS_OF_TEN.size) throw ArithmeticException("Scale difference too large")
+        return Math.multiplyExact(mantissa, POWERS_OF_TEN[diff])
+    }
+
+    companion object {
+        private val POWERS_OF_TEN = LongArray(19).also {
+            it[0] = 1L
+            for (i in 1 until it.size) it[i] = it[i - 1] * 10
+        }
+
+        @JvmField
+        val ZERO = Amount(0L, 0)
+
+        /**
+         * [mantissa] × 10^-[scale] の金額を作成する
+         */
+        @JvmStatic
+        fun of(mantissa: Long, scale: Int = 0): Amount {
+            if (mantissa == 0L) return ZERO
+            if (scale < 0) return of(BigDecimal.valueOf(mantissa, scale))
+            var m = mantissa
+            var s = scale
+            while (s > 0 && m % 10 == 0L) {
+                m /= 10
+                s--
+            }
+            return Amount(m, s)
+        }
+
+        /**
+         * [BigDecimal] から金額を作成する。
+         * 仮数が [Long] に収まらない場合は小数桁を [RoundingMode.HALF_EVEN] で丸める。
+         *
+         * @throws ArithmeticException 整数部が [Long] に収まらない場合
+         */
+        @JvmStatic
+        fun of(value: BigDecimal): Amount {
+            var v = value.stripTrailingZeros()
+            if (v.scale() < 0) v = v.setScale(0)
+            while (v.unscaledValue().bitLength() > 63 && v.scale() > 0) {
+                v = v.setScale(v.scale() - 1, RoundingMode.HALF_EVEN)
+            }
+            if (v.unscaledValue().bitLength() > 63) throw ArithmeticException("Amount out of range: $value")
+            return of(v.unscaledValue().toLong(), v.scale())
+        }
+
+        /**
+         * 文字列（例: `-12.50`）を解析する
+         *
+         * @throws NumberFormatException 数値として解釈できない場合
+         */
+        @JvmStatic
+        fun parse(text: String): Amount = of(BigDecimal(text.trim()))
+
+        /**
+         * 浮動小数点の値を、その最短の10進表現（[Float.toString]）で金額にする。
+         * ユーザー入力やテンプレートなど、[Float] で扱われている値との境界で使用する。
+         */
+        @JvmStatic
+        fun fromFloat(value: Float): Amount = of(BigDecimal(value.toString()))
+
+        /**
+         * 浮動小数点の値を、その最短の10進表現（[Double.toString]）で金額にする
+         */
+        @JvmStatic
+        fun fromDouble(value: Double): Amount = of(BigDecimal.valueOf(value))
+    }
+}
+
+/**
+ * 各要素から [selector] で得た金額の合計を返す
+ */
+inline fun <T> Iterable<T>.sumOfAmount(selector: (T) -> Amount): Amount {
+    var sum = Amount.ZERO
+    for (element in this) sum += selector(element)
+    return sum
+}
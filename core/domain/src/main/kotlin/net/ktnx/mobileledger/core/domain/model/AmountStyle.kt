@@ -88,6 +88,24 @@ data class AmountStyle(
         @JvmStatic
         fun formatAccountAmount(amount: Float, currency: String?, amountStyle: AmountStyle? = null): String {
             val style = amountStyle ?: getDefault(currency)
+            return withCurrency(formatAmountValue(amount, style), currency, style)
+        }
+
+        /**
+         * Formats an exact amount with currency according to the style settings,
+         * without going through floating point.
+         */
+        @JvmStatic
+        fun formatAccountAmount(amount: Amount, currency: String?, amountStyle: AmountStyle? = null): String {
+            val style = amountStyle ?: getDefault(currency)
+            val formatted = String.format(Locale.US, "%,.${style.precision}f", amount.toBigDecimal())
+            return withCurrency(applyDecimalMark(formatted, style.decimalMark), currency, style)
+        }
+
+        /**
+         * Places the currency symbol around the formatted amount value
+         */
+        private fun withCurrency(value: String, currency: String?, style: AmountStyle): String {
             val sb = StringBuilder()
 
             // Currency before amount
@@ -98,8 +116,7 @@ data class AmountStyle(
                 }
             }
 
-            // Format the amount
-            sb.append(formatAmountValue(amount, style))
+            sb.append(value)
 
             // Currency after amount
             if (!currency.isNullOrEmpty() && style.commodityPosition == Position.AFTER) {
@@ -129,19 +146,20 @@ data class AmountStyle(
 
             // Format with specified precision
             val pattern = "%,.${precision}f"
-            var formatted = String.format(Locale.US, pattern, amount)
-
-            // Replace decimal mark if needed
-            if (decimalMark != ".") {
-                if (decimalMark == ",") {
-                    formatted = formatted.replace(".", "DECIMAL_PLACEHOLDER")
-                    formatted = formatted.replace("DECIMAL_PLACEHOLDER", decimalMark)
-                } else {
-                    formatted = formatted.replace(".", decimalMark)
-                }
-            }
+            return applyDecimalMark(String.format(Locale.US, pattern, amount), decimalMark)
+        }
 
-            return formatted
+        /**
+         * Replaces the decimal mark of a number formatted with [Locale.US]
+         */
+        private fun applyDecimalMark(formatted: String, decimalMark: String): String {
+            if (decimalMark == ".") return formatted
+            return if (decimalMark == ",") {
+                formatted.replace(".", "DECIMAL_PLACEHOLDER")
+                    .replace("DECIMAL_PLACEHOLDER", decimalMark)
+            } else {
+                formatted.replace(".", decimalMark)
+            }
         }
 
         /**
@@ -31,6 +31,9 @@ data class AppOption(
     companion object {
         /** 最終同期タイムスタンプのオプション名 */
         const val OPT_LAST_SCRAPE = "last_scrape"
+
+        /** 自動判定で解決済みの API バージョンのオプション名 */
+        const val OPT_RESOLVED_API = "resolved_api"
     }
 
     /**
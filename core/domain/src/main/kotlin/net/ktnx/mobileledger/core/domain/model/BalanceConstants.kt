@@ -29,4 +29,12 @@ object BalanceConstants {
      * This accounts for floating-point precision issues.
      */
     const val BALANCE_EPSILON = 0.005f
+
+    /**
+     * [BALANCE_EPSILON] as an exact [Amount], used when checking the balance of
+     * [Transaction]s. Amounts are exact, so this only absorbs rounding done by the user
+     * when entering amounts.
+     */
+    @JvmField
+    val BALANCE_TOLERANCE: Amount = Amount.of(5, 3)
 }
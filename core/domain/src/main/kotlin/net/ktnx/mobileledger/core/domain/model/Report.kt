@@ -0,0 +1,52 @@
+/*
+ * Copyright © 2026 Damyan Ivanov.
+ * This file is part of MoLe.
+ * MoLe is free software: you can distribute it and/or modify it
+ * under the term of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your opinion), any later version.
+ *
+ * MoLe is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License terms for details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MoLe. If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.ktnx.mobileledger.core.domain.model
+
+/**
+ * 財務レポート（貸借対照表、損益計算書、キャッシュフロー）のドメインモデル
+ *
+ * 金額は元帳の符号のまま（収益・負債・純資産は通常マイナス）。
+ */
+data class Report(
+    /** レポートの区分。種類の順に並ぶ */
+    val sections: List<ReportSection>
+)
+
+/**
+ * レポートの1区分（資産、費用など）
+ */
+data class ReportSection(
+    /** 区分の種類 */
+    val type: AccountType,
+
+    /** 勘定科目ごとの金額。科目名順 */
+    val lines: List<ReportLine>,
+
+    /** 区分の通貨ごとの合計 */
+    val total: List<AccountAmount>
+)
+
+/**
+ * レポートの1行。勘定科目自身への記帳の合計で、子科目の分は含まない
+ */
+data class ReportLine(
+    /** 勘定科目名（フルパス） */
+    val accountName: String,
+
+    /** 通貨ごとの金額 */
+    val amounts: List<AccountAmount>
+)
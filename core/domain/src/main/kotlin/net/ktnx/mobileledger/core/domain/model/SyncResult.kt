@@ -23,15 +23,25 @@ package net.ktnx.mobileledger.core.domain.model
  * @param transactionCount 同期された取引数
  * @param accountCount 同期された勘定科目数
  * @param duration 処理時間（ミリ秒）
+ * @param isUnchanged サーバーのデータが前回の同期から変化しておらず、保存を省略したか
+ * @param compressedBytes ネットワークから受信したバイト数（圧縮後）
+ * @param decompressedBytes 展開後のレスポンスのバイト数
  */
 data class SyncResult(
     val transactionCount: Int,
     val accountCount: Int,
-    val duration: Long
+    val duration: Long,
+    val isUnchanged: Boolean = false,
+    val compressedBytes: Long = 0,
+    val decompressedBytes: Long = 0
 ) {
     /**
      * 結果サマリーメッセージ
      */
     val summaryMessage: String
-        get() = "${transactionCount}件の取引、${accountCount}件の勘定科目を同期しました"
+        get() = if (isUnchanged) {
+            "前回の同期から変更はありません"
+        } else {
+            "${transactionCount}件の取引、${accountCount}件の勘定科目を同期しました"
+        }
 }
@@ -17,7 +17,7 @@
 
 package net.ktnx.mobileledger.core.domain.model
 
-import kotlin.math.abs
+import net.ktnx.mobileledger.core.common.utils.NameDictionary
 import net.ktnx.mobileledger.core.common.utils.SimpleDate
 
 /**
@@ -49,19 +49,21 @@ data class Transaction(
      * 通貨別の残高を計算する。
      * 金額が設定されている行のみを対象とする。
      */
-    val balancePerCurrency: Map<String, Float>
-        get() = lines
-            .filter { it.amount != null }
-            .groupBy { it.currency }
-            .mapValues { (_, currencyLines) ->
-                currencyLines.sumOf { (it.amount ?: 0f).toDouble() }.toFloat()
+    val balancePerCurrency: Map<String, Amount>
+        get() {
+            val balances = LinkedHashMap<String, Amount>()
+            for (line in lines) {
+                val amount = line.amount ?: continue
+                balances[line.currency] = (balances[line.currency] ?: Amount.ZERO) + amount
             }
+            return balances
+        }
 
     /**
      * 取引がバランスしているかどうか。
      *
      * 以下のいずれかの条件を満たす場合、バランスしていると見なす：
-     * - 各通貨の合計が BALANCE_EPSILON 以内でゼロに近い
+     * - 各通貨の合計の絶対値が BALANCE_TOLERANCE 未満
      * - 各通貨で金額が空の行がちょうど1つ存在（自動バランス可能）
      *
      * 金額が設定されている行が1つもない通貨グループは入力途中としてスキップする。
@@ -77,7 +79,7 @@ data class Transaction(
             for ((currency, balance) in balancePerCurrency) {
                 val emptyCount = emptyAmountByCurrency[currency] ?: 0
                 val isBalancedForCurrency =
-                    abs(balance) < BalanceConstants.BALANCE_EPSILON || emptyCount == 1
+                    balance.abs() < BalanceConstants.BALANCE_TOLERANCE || emptyCount == 1
                 if (!isBalancedForCurrency) {
                     return false
                 }
@@ -95,13 +97,13 @@ data class Transaction(
      * @param currency 通貨
      * @return 自動バランス金額。自動バランス不可の場合は null
      */
-    fun getAutoBalanceAmount(currency: String): Float? {
+    fun getAutoBalanceAmount(currency: String): Amount? {
         val emptyAmountLines = lines.filter {
             it.currency == currency && it.amount == null && it.accountName.isNotBlank()
         }
         if (emptyAmountLines.size != 1) return null
 
-        val balance = balancePerCurrency[currency] ?: 0f
+        val balance = balancePerCurrency[currency] ?: Amount.ZERO
         return -balance
     }
 
@@ -154,7 +156,7 @@ data class Transaction(
         // 統一された isBalanced プロパティを使用
         if (!isBalanced) {
             for ((currency, balance) in balancePerCurrency) {
-                if (abs(balance) > BalanceConstants.BALANCE_EPSILON) {
+                if (balance.abs() > BalanceConstants.BALANCE_TOLERANCE) {
                     val emptyCount = lines.count {
                         it.currency == currency && it.amount == null && it.accountName.isNotBlank()
                     }
@@ -181,6 +183,17 @@ data class Transaction(
         return lines.any { it.accountName.uppercase().contains(upperName) }
     }
 
+    /**
+     * 指定した勘定科目名を含むかどうか
+     *
+     * 大文字化した勘定科目名を [names] から取得するため、多数の取引を順に調べる場合に
+     * 同じ勘定科目名を何度も大文字化しない。
+     */
+    fun hasAccountNamed(name: String, names: NameDictionary): Boolean {
+        val upperName = names.upper(name)
+        return lines.any { names.upper(it.accountName).contains(upperName) }
+    }
+
     /**
      * 取引行を追加した新しいTransactionを返す
      */
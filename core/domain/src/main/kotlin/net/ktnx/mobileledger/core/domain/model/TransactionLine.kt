@@ -31,7 +31,7 @@ data class TransactionLine(
     val accountName: String,
 
     /** 金額。自動計算行の場合はnull */
-    val amount: Float? = null,
+    val amount: Amount? = null,
 
     /** 通貨。空文字はデフォルト通貨 */
     val currency: String = "",
@@ -47,7 +47,7 @@ data class TransactionLine(
     /**
      * 金額を設定した新しいTransactionLineを返す
      */
-    fun withAmount(amount: Float): TransactionLine = copy(amount = amount)
+    fun withAmount(amount: Amount): TransactionLine = copy(amount = amount)
 
     /**
      * 金額をクリアした新しいTransactionLineを返す
@@ -116,6 +116,7 @@ interface AccountRepository {
     // ========================================
     // Search Operations (suspend - no suffix)
     // ========================================
+    // Search terms match where they start at the beginning of a word of the account name.
 
     /**
      * Search for account names matching a term within a profile.
@@ -147,18 +148,6 @@ interface AccountRepository {
     // Mutation Operations
     // ========================================
 
-    /**
-     * Store a batch of accounts using domain models.
-     *
-     * This operation handles generation tracking, db entity conversion, and purges old data.
-     * Used by sync operations that work with domain models.
-     *
-     * @param accounts The domain model accounts to store
-     * @param profileId The profile ID
-     * @return Result indicating success or failure
-     */
-    suspend fun storeAccountsAsDomain(accounts: List<Account>, profileId: Long): Result<Unit>
-
     /**
      * Get the count of accounts for a profile.
      *
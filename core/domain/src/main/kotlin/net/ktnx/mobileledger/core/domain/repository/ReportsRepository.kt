@@ -0,0 +1,65 @@
+/*
+ * Copyright © 2026 Damyan Ivanov.
+ * This file is part of MoLe.
+ * MoLe is free software: you can distribute it and/or modify it
+ * under the term of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your opinion), any later version.
+ *
+ * MoLe is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License terms for details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MoLe. If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.ktnx.mobileledger.core.domain.repository
+
+import net.ktnx.mobileledger.core.common.utils.SimpleDate
+import net.ktnx.mobileledger.core.domain.model.Report
+
+/**
+ * Repository answering financial reports from the locally stored ledger.
+ *
+ * Totals over a period are combined from the monthly account totals kept up to date by the
+ * sync, plus the postings of the partial months at the start and the end of the period, so
+ * reports need neither the server nor a scan of the whole ledger.
+ *
+ * Accounts are classified by their top-level name, see
+ * [net.ktnx.mobileledger.core.domain.model.AccountType.fromAccountName]; accounts of no type
+ * are left out.
+ *
+ * ## Error Handling
+ *
+ * All suspend functions return `Result<T>` to handle errors explicitly.
+ */
+interface ReportsRepository {
+
+    /**
+     * Get the balance sheet at the end of a day.
+     *
+     * @param profileId The profile ID.
+     * @param date The last day included.
+     * @return Result containing the asset, liability and equity sections.
+     */
+    suspend fun getBalanceSheet(profileId: Long, date: SimpleDate): Result<Report>
+
+    /**
+     * Get the income statement of a period.
+     *
+     * @param profileId The profile ID.
+     * @param period The first and the last day included.
+     * @return Result containing the revenue and expense sections.
+     */
+    suspend fun getIncomeStatement(profileId: Long, period: ClosedRange<SimpleDate>): Result<Report>
+
+    /**
+     * Get the changes of the cash accounts during a period.
+     *
+     * @param profileId The profile ID.
+     * @param period The first and the last day included.
+     * @return Result containing the cash section.
+     */
+    suspend fun getCashFlow(profileId: Long, period: ClosedRange<SimpleDate>): Result<Report>
+}
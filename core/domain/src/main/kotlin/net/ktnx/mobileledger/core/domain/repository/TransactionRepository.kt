@@ -18,6 +18,8 @@
 package net.ktnx.mobileledger.core.domain.repository
 
 import kotlinx.coroutines.flow.Flow
+import net.ktnx.mobileledger.core.common.utils.SimpleDate
+import net.ktnx.mobileledger.core.domain.model.AccountAmount
 import net.ktnx.mobileledger.core.domain.model.Transaction
 
 /**
@@ -63,7 +65,8 @@ interface TransactionRepository {
      * Observe transactions filtered by account name.
      *
      * @param profileId The profile ID to filter by.
-     * @param accountName Optional account name filter. If null, returns all transactions.
+     * @param accountName Optional account filter; selects transactions posting to the account or its sub-accounts.
+     *   If null, returns all transactions.
      * @return Flow emitting the filtered list of domain model transactions.
      */
     fun observeTransactionsFiltered(profileId: Long, accountName: String?): Flow<List<Transaction>>
@@ -89,12 +92,85 @@ interface TransactionRepository {
     suspend fun getTransactionById(transactionId: Long): Result<Transaction?>
 
     /**
-     * Search transaction descriptions matching a term.
+     * Get one page of transactions, newest first.
+     *
+     * Pages are keyed by the date and ledger ID of the last transaction of the previous page,
+     * so loading a page does not depend on how many transactions precede it.
+     *
+     * @param profileId The profile ID to filter by.
+     * @param accountName Optional account filter; selects transactions posting to the account or its sub-accounts.
+     *   If null, returns all transactions.
+     * @param after The last transaction of the previous page, or null for the first page.
+     * @param limit The maximum number of transactions to return.
+     * @return Result containing the transactions of the page; fewer than [limit] on the last page.
+     */
+    suspend fun getTransactionPage(
+        profileId: Long,
+        accountName: String?,
+        after: Transaction?,
+        limit: Int
+    ): Result<List<Transaction>>
+
+    /**
+     * Get the page of transactions preceding [before] in the list, newest first.
+     *
+     * This is the counterpart of [getTransactionPage] for a list that has dropped its newest
+     * pages and scrolls back towards them.
+     *
+     * @param profileId The profile ID to filter by.
+     * @param accountName Optional account name filter. If null, returns all transactions.
+     * @param before The first transaction of the following page.
+     * @param limit The maximum number of transactions to return.
+     * @return Result containing the up to [limit] transactions directly newer than [before];
+     *   fewer than [limit] on the first page.
+     */
+    suspend fun getNewerTransactionPage(
+        profileId: Long,
+        accountName: String?,
+        before: Transaction,
+        limit: Int
+    ): Result<List<Transaction>>
+
+    /**
+     * Get the dates of the oldest and the newest transaction.
+     *
+     * @param profileId The profile ID to filter by.
+     * @param accountName Optional account filter; considers transactions posting to the account or its
+     *   sub-accounts. If null, considers all transactions.
+     * @return Result containing the date range, or null if there are no transactions.
+     */
+    suspend fun getTransactionDateRange(profileId: Long, accountName: String?): Result<ClosedRange<SimpleDate>?>
+
+    /**
+     * Get the running balances of an account register: the balance of the account and its
+     * sub-accounts after each of the given transactions.
+     *
+     * The balances are read from the precomputed running balance table, so the cost depends on
+     * the given transactions only, not on how many transactions precede them. Nothing is written:
+     * a profile whose balances have not been computed yet, as after a database upgrade, gets
+     * them with its next sync and has none until then.
      *
+     * @param profileId The profile ID.
+     * @param accountName The account whose subtree balances to return.
+     * @param transactions The transactions to return the balances for, usually a page of the register.
+     * @return Result containing the balance in every currency used so far, by ledger ID of the transaction.
+     *   Transactions without stored balances are missing from the map.
+     */
+    suspend fun getRunningBalances(
+        profileId: Long,
+        accountName: String,
+        transactions: List<Transaction>
+    ): Result<Map<Long, List<AccountAmount>>>
+
+    /**
+     * Search the transaction descriptions of a profile containing a term.
+     * The term has to start at the beginning of a word of the description.
+     *
+     * @param profileId The profile ID.
      * @param term The search term.
      * @return Result containing list of matching description strings.
      */
-    suspend fun searchByDescription(term: String): Result<List<String>>
+    suspend fun searchByDescription(profileId: Long, term: String): Result<List<String>>
 
     /**
      * Get the first transaction matching a description.
@@ -31,6 +31,7 @@ dependencies {
 
     // Ktor client
     implementation(libs.bundles.ktor)
+    implementation(libs.brotli.dec)
 
     // Kotlinx Serialization
     implementation(libs.kotlinx.serialization.json)
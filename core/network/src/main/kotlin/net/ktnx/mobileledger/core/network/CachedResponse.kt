@@ -0,0 +1,53 @@
+/*
+ * Copyright © 2026 Damyan Ivanov.
+ * This file is part of MoLe.
+ * MoLe is free software: you can distribute it and/or modify it
+ * under the term of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your opinion), any later version.
+ *
+ * MoLe is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License terms for details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MoLe. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package net.ktnx.mobileledger.core.network
+
+import java.io.InputStream
+
+/**
+ * Response of [HledgerClient.getCached].
+ *
+ * @property body The response body. Must be closed by the caller.
+ * @property isNotModified True when the server confirmed that the resource is identical to the one
+ *   returned by the previous request for the same profile and path; [body] then reads the locally
+ *   cached copy
+ * @property transfer Byte counts of the network transfer, complete once [body] has been read
+ */
+class CachedResponse(
+    val body: InputStream,
+    val isNotModified: Boolean,
+    val transfer: TransferStats = TransferStats(),
+    private val matchesCache: () -> Boolean = { false }
+) {
+    /**
+     * Tells whether the body is identical to the one returned by the previous request.
+     *
+     * Unlike [isNotModified], this also covers servers that send no validators, whose bodies are
+     * compared by hash while they are read. Whatever the caller left unread of [body] is read
+     * here, so call this before closing [body].
+     */
+    fun isUnchanged(): Boolean {
+        if (isNotModified) return true
+
+        val buffer = ByteArray(DEFAULT_BUFFER_SIZE)
+        while (body.read(buffer) >= 0) {
+            // read to the end, where the comparison completes
+        }
+        return matchesCache()
+    }
+}
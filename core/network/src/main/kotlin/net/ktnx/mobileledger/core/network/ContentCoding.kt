@@ -0,0 +1,88 @@
+/*
+ * Copyright © 2026 Damyan Ivanov.
+ * This file is part of MoLe.
+ * MoLe is free software: you can distribute it and/or modify it
+ * under the term of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your opinion), any later version.
+ *
+ * MoLe is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License terms for details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MoLe. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package net.ktnx.mobileledger.core.network
+
+import java.io.FilterInputStream
+import java.io.IOException
+import java.io.InputStream
+import java.util.zip.GZIPInputStream
+import java.util.zip.InflaterInputStream
+import org.brotli.dec.BrotliInputStream
+
+/**
+ * Content codings requested for GET responses, most preferred first.
+ */
+internal const val ACCEPTED_CONTENT_ENCODINGS = "br, gzip, deflate"
+
+/**
+ * Byte counts of a response body, updated while the body is read.
+ *
+ * @property compressedBytes Bytes received from the network, before decompression
+ * @property decompressedBytes Bytes of the body after decompression
+ */
+class TransferStats {
+    @Volatile
+    var compressedBytes: Long = 0
+        internal set
+
+    @Volatile
+    var decompressedBytes: Long = 0
+        internal set
+}
+
+/**
+ * Wrap the network body in a decoder for the given `Content-Encoding`. The body is
+ * decompressed while it is read, so parsers still consume it as it arrives.
+ *
+ * Both the raw and the decoded byte counts are recorded in [stats].
+ */
+internal fun decodeContent(contentEncoding: String?, body: InputStream, stats: TransferStats): InputStream {
+    val raw = CountingInputStream(body) { stats.compressedBytes += it }
+    val decoded = when (val encoding = contentEncoding?.trim()?.lowercase()) {
+        null, "", "identity" -> raw
+        "gzip", "x-gzip" -> GZIPInputStream(raw, DECODER_BUFFER_SIZE)
+        "deflate" -> InflaterInputStream(raw)
+        "br" -> BrotliInputStream(raw)
+        else -> throw IOException("Unsupported content encoding: $encoding")
+    }
+    return CountingInputStream(decoded) { stats.decompressedBytes += it }
+}
+
+private const val DECODER_BUFFER_SIZE = 8192
+
+private class CountingInputStream(input: InputStream, private val onRead: (Int) -> Unit) : FilterInputStream(input) {
+    override fun read(): Int {
+        val value = super.read()
+        if (value >= 0) onRead(1)
+        return value
+    }
+
+    override fun read(b: ByteArray, off: Int, len: Int): Int {
+        val count = super.read(b, off, len)
+        if (count > 0) onRead(count)
+        return count
+    }
+
+    override fun skip(n: Long): Long {
+        val skipped = super.skip(n)
+        if (skipped > 0) onRead(skipped.toInt())
+        return skipped
+    }
+
+    override fun markSupported(): Boolean = false
+}
@@ -37,6 +37,10 @@ interface HledgerClient {
     /**
      * Perform a GET request to a hledger-web endpoint.
      *
+     * The returned stream reads directly from the network connection while the response is
+     * still arriving; the body is never buffered as a whole. Callers must close the stream
+     * (typically with [InputStream.use]) to release the underlying connection.
+     *
      * @param profile The profile containing server URL and authentication settings
      * @param path The endpoint path (e.g., "version", "accounts", "transactions")
      * @param temporaryAuth Optional temporary authentication for connection testing
@@ -44,6 +48,30 @@ interface HledgerClient {
      */
     suspend fun get(profile: Profile, path: String, temporaryAuth: TemporaryAuthData? = null): Result<InputStream>
 
+    /**
+     * Perform a conditional GET request, revalidating the last response received for the
+     * same profile and path.
+     *
+     * The previous response's `ETag`/`Last-Modified` validators are sent as
+     * `If-None-Match`/`If-Modified-Since`, and [CachedResponse.isNotModified] tells whether
+     * the server confirmed the resource unchanged. For servers that send no validators, the
+     * body is handed out while it downloads and compared with the previous one by hash as it
+     * is read; [CachedResponse.isUnchanged] tells the outcome once the body has been read.
+     *
+     * @param profile The profile containing server URL and authentication settings
+     * @param path The endpoint path (e.g., "accounts", "transactions")
+     * @return Result containing the response, or an error
+     */
+    suspend fun getCached(profile: Profile, path: String): Result<CachedResponse>
+
+    /**
+     * Forget all cached responses of a profile, so that the next [getCached] calls
+     * download complete bodies.
+     *
+     * @param profile The profile whose responses should be forgotten
+     */
+    fun invalidateCache(profile: Profile)
+
     /**
      * Perform a PUT request with a JSON body.
      *
@@ -60,6 +88,22 @@ interface HledgerClient {
         path: String,
         body: String,
         temporaryAuth: TemporaryAuthData? = null
+    ): Result<Unit> = putJson(profile, path, JsonBody.of(body), temporaryAuth)
+
+    /**
+     * Perform a PUT request with a JSON body that is encoded while the request is sent.
+     *
+     * @param profile The profile containing server URL and authentication settings
+     * @param path The endpoint path (typically "add")
+     * @param body Writes the JSON document into the request body
+     * @param temporaryAuth Optional temporary authentication for connection testing
+     * @return Result indicating success or containing an error
+     */
+    suspend fun putJson(
+        profile: Profile,
+        path: String,
+        body: JsonBody,
+        temporaryAuth: TemporaryAuthData? = null
     ): Result<Unit>
 
     /**
@@ -18,23 +18,34 @@
 package net.ktnx.mobileledger.core.network
 
 import io.ktor.client.HttpClient
-import io.ktor.client.request.get
 import io.ktor.client.request.header
+import io.ktor.client.request.prepareGet
 import io.ktor.client.request.put
 import io.ktor.client.request.setBody
 import io.ktor.client.statement.HttpResponse
+import io.ktor.client.statement.HttpStatement
+import io.ktor.client.statement.bodyAsChannel
 import io.ktor.client.statement.bodyAsText
 import io.ktor.http.ContentType
+import io.ktor.http.Headers
 import io.ktor.http.HttpHeaders
-import java.io.ByteArrayInputStream
+import io.ktor.http.HttpStatusCode
+import io.ktor.http.content.OutputStreamContent
+import io.ktor.utils.io.jvm.javaio.toInputStream
+import java.io.FilterInputStream
+import java.io.IOException
 import java.io.InputStream
 import java.nio.charset.StandardCharsets
 import java.util.Base64
 import javax.inject.Inject
 import javax.inject.Singleton
+import kotlinx.coroutines.CancellationException
+import kotlinx.coroutines.CompletableDeferred
+import kotlinx.coroutines.launch
 import logcat.LogPriority
 import logcat.asLog
 import logcat.logcat
+import net.ktnx.mobileledger.core.common.utils.Digest
 import net.ktnx.mobileledger.core.domain.model.Profile
 import net.ktnx.mobileledger.core.domain.model.TemporaryAuthData
 
@@ -45,7 +56,8 @@ import net.ktnx.mobileledger.core.domain.model.TemporaryAuthData
  */
 @Singleton
 class HledgerClientImpl @Inject constructor(
-    private val httpClient: HttpClient
+    private val httpClient: HttpClient,
+    private val responseCache: HttpResponseCache? = null
 ) : HledgerClient {
 
     override suspend fun get(profile: Profile, path: String, temporaryAuth: TemporaryAuthData?): Result<InputStream> =
@@ -53,20 +65,64 @@ class HledgerClientImpl @Inject constructor(
             val url = buildUrl(profile, path, temporaryAuth)
             logcat { "GET $url" }
 
-            val response: HttpResponse = httpClient.get(url) {
+            val statement = httpClient.prepareGet(url) {
                 configureAuth(profile, temporaryAuth)
                 header(HttpHeaders.AcceptCharset, "UTF-8")
+                header(HttpHeaders.AcceptEncoding, ACCEPTED_CONTENT_ENCODINGS)
             }
 
-            handleResponse(response)
+            openStream(statement).body
         }.onFailure { e ->
             logcat(LogPriority.ERROR) { "GET request failed: ${e.asLog()}" }
         }
 
+    override suspend fun getCached(profile: Profile, path: String): Result<CachedResponse> = runCatching {
+        val url = buildUrl(profile, path, null)
+        val cache = responseCache
+        val key = HttpResponseCache.keyFor(profile.uuid, url)
+        val cached = cache?.get(key)
+        logcat { "GET $url (cached: ${cached != null})" }
+
+        val statement = httpClient.prepareGet(url) {
+            configureAuth(profile, null)
+            header(HttpHeaders.AcceptCharset, "UTF-8")
+            header(HttpHeaders.AcceptEncoding, ACCEPTED_CONTENT_ENCODINGS)
+            cached?.etag?.let { header(HttpHeaders.IfNoneMatch, it) }
+            cached?.lastModified?.let { header(HttpHeaders.IfModifiedSince, it) }
+        }
+        val response = openStream(statement, allowNotModified = cached?.hasValidators == true)
+        val etag = response.headers[HttpHeaders.ETag]
+        val lastModified = response.headers[HttpHeaders.LastModified]
+
+        when {
+            cache == null -> CachedResponse(response.body, isNotModified = false, response.transfer)
+
+            response.status == HttpStatusCode.NotModified && cached != null -> {
+                logcat { "$url not modified" }
+                response.body.close()
+                CachedResponse(cached.openBody(), isNotModified = true, response.transfer)
+            }
+
+            else -> {
+                // Without validators, the body is compared with the cached one by hash while it is read
+                val hasValidators = etag != null || lastModified != null || cached?.hasValidators == true
+                val previousHash = if (hasValidators) null else cached?.bodyHash
+                val body = CachingInputStream(response.body, cache.edit(key), etag, lastModified, previousHash)
+                CachedResponse(body, isNotModified = false, response.transfer, matchesCache = { body.isUnchanged })
+            }
+        }
+    }.onFailure { e ->
+        logcat(LogPriority.ERROR) { "GET request failed: ${e.asLog()}" }
+    }
+
+    override fun invalidateCache(profile: Profile) {
+        responseCache?.removeProfile(profile.uuid)
+    }
+
     override suspend fun putJson(
         profile: Profile,
         path: String,
-        body: String,
+        body: JsonBody,
         temporaryAuth: TemporaryAuthData?
     ): Result<Unit> = runCatching {
         val url = buildUrl(profile, path, temporaryAuth)
@@ -74,8 +130,7 @@ class HledgerClientImpl @Inject constructor(
 
         val response: HttpResponse = httpClient.put(url) {
             configureAuth(profile, temporaryAuth)
-            header(HttpHeaders.ContentType, ContentType.Application.Json.toString())
-            setBody(body)
+            setBody(OutputStreamContent({ body.writeTo(this) }, ContentType.Application.Json))
         }
 
         when (response.status.value) {
@@ -136,12 +191,61 @@ class HledgerClientImpl @Inject constructor(
         }
     }
 
-    private suspend fun handleResponse(response: HttpResponse): InputStream {
-        when (response.status.value) {
-            in 200..299 -> {
-                val bodyText = response.bodyAsText()
-                return ByteArrayInputStream(bodyText.toByteArray(StandardCharsets.UTF_8))
+    /**
+     * Execute [statement] and hand its body out as an [InputStream] reading straight from
+     * the network channel, so parsers can decode while the download is still in progress.
+     *
+     * Ktor keeps a streaming response open only inside [HttpStatement.execute], so the call
+     * is parked in a coroutine of the client's scope until the returned stream is closed.
+     * The status is checked before the stream is handed out, which keeps error responses
+     * surfacing as exceptions from [get]. A `304 Not Modified` is passed through only when
+     * [allowNotModified] is set.
+     *
+     * Compressed bodies are decompressed on the fly; [StreamedResponse.transfer] counts the
+     * bytes on both sides of the decoder.
+     */
+    private suspend fun openStream(statement: HttpStatement, allowNotModified: Boolean = false): StreamedResponse {
+        val opened = CompletableDeferred<StreamedResponse>()
+        val released = CompletableDeferred<Unit>()
+
+        val job = httpClient.launch {
+            try {
+                statement.execute { response ->
+                    if (!allowNotModified || response.status != HttpStatusCode.NotModified) {
+                        checkStatus(response)
+                    }
+                    val transfer = TransferStats()
+                    val body = decodeContent(
+                        response.headers[HttpHeaders.ContentEncoding],
+                        response.bodyAsChannel().toInputStream(),
+                        transfer
+                    )
+                    opened.complete(
+                        StreamedResponse(
+                            response.status,
+                            response.headers,
+                            ResponseBodyInputStream(body, released),
+                            transfer
+                        )
+                    )
+                    released.await()
+                }
+            } catch (e: Throwable) {
+                opened.completeExceptionally(e)
             }
+        }
+
+        return try {
+            opened.await()
+        } catch (e: CancellationException) {
+            job.cancel()
+            throw e
+        }
+    }
+
+    private fun checkStatus(response: HttpResponse) {
+        when (response.status.value) {
+            in 200..299 -> Unit
 
             401 -> throw NetworkAuthenticationException("Authentication required")
 
@@ -153,4 +257,113 @@ class HledgerClientImpl @Inject constructor(
             )
         }
     }
+
+    private class StreamedResponse(
+        val status: HttpStatusCode,
+        val headers: Headers,
+        val body: InputStream,
+        val transfer: TransferStats
+    )
+
+    /**
+     * Response body stream that lets the pending [HttpStatement.execute] call finish
+     * (and thus release the connection) once the consumer closes it.
+     */
+    private class ResponseBodyInputStream(
+        body: InputStream,
+        private val released: CompletableDeferred<Unit>
+    ) : FilterInputStream(body) {
+        override fun close() {
+            try {
+                super.close()
+            } finally {
+                released.complete(Unit)
+            }
+        }
+    }
+
+    /**
+     * Response body stream that copies everything read into the response cache, committing
+     * the cache entry once the end of the body is reached. A body closed before its end is
+     * not cached. Failures of the cache only stop the copying; reading goes on.
+     *
+     * A body whose hash equals [previousHash] is not stored again; the cached entry is kept and
+     * [isUnchanged] is set instead.
+     */
+    private class CachingInputStream(
+        body: InputStream,
+        private var editor: HttpResponseCache.Editor?,
+        private val etag: String?,
+        private val lastModified: String?,
+        private val previousHash: String?
+    ) : FilterInputStream(body) {
+        private val digest = Digest("SHA-256")
+
+        /** True once the whole body has been read and found identical to the cached one */
+        @Volatile
+        var isUnchanged = false
+            private set
+
+        override fun read(): Int {
+            val single = ByteArray(1)
+            val count = read(single, 0, 1)
+            return if (count < 0) -1 else single[0].toInt() and 0xFF
+        }
+
+        override fun read(b: ByteArray, off: Int, len: Int): Int {
+            val count = super.read(b, off, len)
+            if (count < 0) {
+                commit()
+            } else if (count > 0) {
+                copy(b, off, count)
+            }
+            return count
+        }
+
+        override fun skip(n: Long): Long {
+            val buffer = ByteArray(minOf(n, DEFAULT_BUFFER_SIZE.toLong()).toInt())
+            val count = read(buffer, 0, buffer.size)
+            return if (count < 0) 0 else count.toLong()
+        }
+
+        override fun markSupported(): Boolean = false
+
+        override fun close() {
+            try {
+                super.close()
+            } finally {
+                editor?.abort()
+                editor = null
+            }
+        }
+
+        private fun copy(b: ByteArray, off: Int, count: Int) {
+            val current = editor ?: return
+            digest.update(b, off, count)
+            try {
+                current.output.write(b, off, count)
+            } catch (e: IOException) {
+                logcat(LogPriority.WARN) { "Not caching response: ${e.asLog()}" }
+                current.abort()
+                editor = null
+            }
+        }
+
+        private fun commit() {
+            val current = editor ?: return
+            editor = null
+            val hash = digest.digestToHexString()
+            if (hash == previousHash) {
+                logcat { "Response body unchanged" }
+                current.abort()
+                isUnchanged = true
+                return
+            }
+            try {
+                current.commit(etag, lastModified, hash)
+            } catch (e: IOException) {
+                logcat(LogPriority.WARN) { "Not caching response: ${e.asLog()}" }
+            }
+        }
+    }
 }
@@ -0,0 +1,267 @@
+/*
+ * Copyright © 2026 Damyan Ivanov.
+ * This file is part of MoLe.
+ * MoLe is free software: you can distribute it and/or modify it
+ * under the term of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your opinion), any later version.
+ *
+ * MoLe is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License terms for details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MoLe. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package net.ktnx.mobileledger.core.network
+
+import java.io.BufferedOutputStream
+import java.io.File
+import java.io.FileInputStream
+import java.io.FilterOutputStream
+import java.io.IOException
+import java.io.InputStream
+import java.io.OutputStream
+import java.util.Properties
+import logcat.LogPriority
+import logcat.asLog
+import logcat.logcat
+import net.ktnx.mobileledger.core.common.utils.Digest
+
+/**
+ * Size-bounded on-disk cache of GET response bodies together with their validators.
+ *
+ * Every entry consists of the body and a small metadata file holding the `ETag` and
+ * `Last-Modified` response headers and the SHA-256 hash of the body. Once the stored
+ * bodies exceed [maxSize] bytes, entries are evicted in least-recently-used order. A body
+ * larger than [maxSize] on its own is not cached at all.
+ *
+ * Entries are keyed by profile and URL (see [keyFor]), so that all entries of a profile
+ * can be dropped with [removeProfile].
+ *
+ * The directory also records the [version] its entries were written for. Entries of another
+ * version are dropped on first use, so that responses stored before the data derived from them
+ * changed its shape are fetched and processed again.
+ */
+class HttpResponseCache(
+    private val directory: File,
+    private val maxSize: Long = DEFAULT_MAX_SIZE,
+    private val version: Int = 0
+) {
+    private var isVersionChecked = false
+
+    /**
+     * A cached response.
+     *
+     * @property etag The `ETag` header of the cached response, if the server sent one
+     * @property lastModified The `Last-Modified` header of the cached response, if the server sent one
+     * @property bodyHash Hex-encoded SHA-256 hash of the body
+     */
+    class Entry internal constructor(
+        val etag: String?,
+        val lastModified: String?,
+        val bodyHash: String,
+        internal val bodyFile: File
+    ) {
+        /** Whether the server sent validators usable for a conditional request */
+        val hasValidators: Boolean
+            get() = etag != null || lastModified != null
+
+        /** Opens the cached body */
+        fun openBody(): InputStream = FileInputStream(bodyFile)
+    }
+
+    /**
+     * Writes a new body for [key]. The entry becomes visible only after [commit].
+     */
+    inner class Editor internal constructor(private val key: String, private val tempFile: File) {
+        /**
+         * Destination of the body bytes. Writing more than [maxSize] bytes fails with an
+         * [IOException]; the editor should then be aborted.
+         */
+        val output: OutputStream = SizeLimitedOutputStream(BufferedOutputStream(tempFile.outputStream()), maxSize)
+
+        /**
+         * Stores the written body as the entry for [key], replacing any previous one.
+         */
+        fun commit(etag: String?, lastModified: String?, bodyHash: String): Entry {
+            output.close()
+            synchronized(this@HttpResponseCache) {
+                val meta = Properties()
+                etag?.let { meta.setProperty(PROP_ETAG, it) }
+                lastModified?.let { meta.setProperty(PROP_LAST_MODIFIED, it) }
+                meta.setProperty(PROP_HASH, bodyHash)
+                metaFile(key).outputStream().use { meta.store(it, null) }
+
+                val body = bodyFile(key)
+                if (!tempFile.renameTo(body)) {
+                    tempFile.delete()
+                    metaFile(key).delete()
+                    throw IOException("Unable to store cached response for $key")
+                }
+
+                trimToSize(keep = body)
+                return Entry(etag, lastModified, bodyHash, body)
+            }
+        }
+
+        /**
+         * Discards the written body, leaving any previous entry in place.
+         */
+        fun abort() {
+            try {
+                output.close()
+            } catch (e: IOException) {
+                logcat { "Ignoring error while discarding cached response: ${e.asLog()}" }
+            }
+            tempFile.delete()
+        }
+    }
+
+    /**
+     * Returns the entry for [key], or null if there is none. Marks the entry as recently used.
+     */
+    @Synchronized
+    fun get(key: String): Entry? {
+        checkVersion()
+        val meta = metaFile(key)
+        val body = bodyFile(key)
+        if (!meta.isFile || !body.isFile) return null
+
+        val props = Properties()
+        try {
+            meta.inputStream().use { props.load(it) }
+        } catch (e: IOException) {
+            logcat(LogPriority.WARN) { "Dropping unreadable cache entry $key: ${e.asLog()}" }
+            remove(key)
+            return null
+        }
+        val hash = props.getProperty(PROP_HASH) ?: return null
+
+        body.setLastModified(System.currentTimeMillis())
+        return Entry(props.getProperty(PROP_ETAG), props.getProperty(PROP_LAST_MODIFIED), hash, body)
+    }
+
+    /**
+     * Starts writing a new body for [key].
+     */
+    fun edit(key: String): Editor {
+        synchronized(this) { checkVersion() }
+        directory.mkdirs()
+        return Editor(key, File.createTempFile(key, TEMP_SUFFIX, directory))
+    }
+
+    /**
+     * Removes the entry for [key], if any.
+     */
+    @Synchronized
+    fun remove(key: String) {
+        bodyFile(key).delete()
+        metaFile(key).delete()
+    }
+
+    /**
+     * Removes all entries of the profile with the given UUID.
+     */
+    @Synchronized
+    fun removeProfile(profileUuid: String) {
+        val prefix = profilePrefix(profileUuid)
+        directory.listFiles { file -> file.name.startsWith(prefix) }?.forEach { it.delete() }
+    }
+
+    /**
+     * Drops all entries if the directory was written for another [version] than this one.
+     * Checked once, before the first entry is read or written.
+     */
+    private fun checkVersion() {
+        if (isVersionChecked) return
+        isVersionChecked = true
+
+        val versionFile = File(directory, VERSION_FILE)
+        val storedVersion = try {
+            if (versionFile.isFile) versionFile.readText().trim().toIntOrNull() else null
+        } catch (e: IOException) {
+            logcat(LogPriority.WARN) { "Unable to read the cache version: ${e.asLog()}" }
+            null
+        }
+        if (storedVersion == version) return
+
+        logcat { "Dropping cached responses of version $storedVersion; now $version" }
+        directory.listFiles()?.forEach { it.delete() }
+        try {
+            directory.mkdirs()
+            versionFile.writeText(version.toString())
+        } catch (e: IOException) {
+            logcat(LogPriority.WARN) { "Unable to store the cache version: ${e.asLog()}" }
+        }
+    }
+
+    /**
+     * Evicts least recently used entries until the stored bodies fit into [maxSize]. The body
+     * [keep] belongs to the entry being committed and is never evicted.
+     */
+    private fun trimToSize(keep: File) {
+        val bodies = directory.listFiles { file -> file.name.endsWith(BODY_SUFFIX) && file != keep }
+            ?.sortedBy { it.lastModified() }
+            ?: return
+        var size = bodies.sumOf { it.length() } + keep.length()
+        for (body in bodies) {
+            if (size <= maxSize) break
+            size -= body.length()
+            remove(body.name.removeSuffix(BODY_SUFFIX))
+        }
+    }
+
+    private fun bodyFile(key: String) = File(directory, key + BODY_SUFFIX)
+
+    private fun metaFile(key: String) = File(directory, key + META_SUFFIX)
+
+    /**
+     * Output stream refusing to take more than [limit] bytes, so that oversized bodies are not
+     * written to disk only to be evicted again.
+     */
+    private class SizeLimitedOutputStream(out: OutputStream, private val limit: Long) : FilterOutputStream(out) {
+        private var written = 0L
+
+        override fun write(b: Int) {
+            checkLimit(1)
+            out.write(b)
+        }
+
+        override fun write(b: ByteArray, off: Int, len: Int) {
+            checkLimit(len)
+            out.write(b, off, len)
+        }
+
+        private fun checkLimit(count: Int) {
+            written += count
+            if (written > limit) throw IOException("Response body exceeds the cache size of $limit bytes")
+        }
+    }
+
+    companion object {
+        /** Default limit of the total size of cached bodies */
+        const val DEFAULT_MAX_SIZE = 64L * 1024 * 1024
+
+        private const val BODY_SUFFIX = ".body"
+        private const val META_SUFFIX = ".meta"
+        private const val TEMP_SUFFIX = ".tmp"
+        private const val VERSION_FILE = "version"
+        private const val PROP_ETAG = "etag"
+        private const val PROP_LAST_MODIFIED = "last-modified"
+        private const val PROP_HASH = "sha256"
+
+        /**
+         * Cache key for [url] requested with the profile with the given UUID.
+         */
+        fun keyFor(profileUuid: String, url: String): String {
+            val digest = Digest("SHA-256")
+            digest.update(url.toByteArray(Charsets.UTF_8))
+            return profilePrefix(profileUuid) + digest.digestToHexString()
+        }
+
+        private fun profilePrefix(profileUuid: String) = profileUuid.filter { it.isLetterOrDigit() } + "_"
+    }
+}
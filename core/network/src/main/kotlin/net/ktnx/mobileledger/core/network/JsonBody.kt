@@ -0,0 +1,42 @@
+/*
+ * Copyright © 2026 Damyan Ivanov.
+ * This file is part of MoLe.
+ * MoLe is free software: you can distribute it and/or modify it
+ * under the term of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your opinion), any later version.
+ *
+ * MoLe is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License terms for details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MoLe. If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.ktnx.mobileledger.core.network
+
+import java.io.IOException
+import java.io.OutputStream
+
+/**
+ * A JSON request body that is encoded straight into the request, without first building
+ * the document as a String.
+ *
+ * [writeTo] may be called more than once, for example when a request is retried.
+ */
+fun interface JsonBody {
+    /**
+     * Writes the UTF-8 encoded document to [output]. Must not close [output].
+     */
+    @Throws(IOException::class)
+    fun writeTo(output: OutputStream)
+
+    companion object {
+        /** A body sending an already encoded document */
+        fun of(json: String): JsonBody {
+            val bytes = json.toByteArray(Charsets.UTF_8)
+            return JsonBody { it.write(bytes) }
+        }
+    }
+}
@@ -34,6 +34,10 @@ import logcat.logcat
  *
  * This factory provides pre-configured clients for both production use
  * (with OkHttp engine) and testing (with MockEngine).
+ *
+ * Response compression is negotiated by [HledgerClientImpl], which sends its own
+ * `Accept-Encoding` header (disabling OkHttp's transparent gzip) and decompresses
+ * bodies while streaming them, so that transfer sizes can be reported.
  */
 object KtorClientFactory {
 
@@ -20,8 +20,10 @@ package net.ktnx.mobileledger.core.network.json
 import java.io.IOException
 import java.io.InputStream
 import logcat.logcat
+import net.ktnx.mobileledger.core.common.utils.NameDictionary
 import net.ktnx.mobileledger.core.domain.model.API
 import net.ktnx.mobileledger.core.domain.model.Account
+import net.ktnx.mobileledger.core.network.json.stream.StreamingAccountListParser
 
 abstract class AccountListParser {
     abstract val apiVersion: API
@@ -41,18 +43,44 @@ abstract class AccountListParser {
     }
 
     companion object {
+        /**
+         * Creates a parser for the account list of the given API version.
+         *
+         * @param engine The decoder to use. [ParserEngine.KOTLINX] selects the version-specific
+         *   kotlinx-serialization parsers.
+         * @param names Dictionary in which the parser interns account names and commodities;
+         *   pass the same one to all parsers of a sync to share the strings between them
+         */
         @JvmStatic
         @Throws(IOException::class)
-        fun forApiVersion(version: API, input: InputStream): AccountListParser = when (version) {
-            API.v1_32 -> net.ktnx.mobileledger.core.network.json.v1_32.AccountListParser(input)
+        @JvmOverloads
+        fun forApiVersion(
+            version: API,
+            input: InputStream,
+            engine: ParserEngine = ParserEngine.STREAMING,
+            names: NameDictionary = NameDictionary()
+        ): AccountListParser = when {
+            version == API.auto -> throw RuntimeException(
+                "Cannot create AccountListParser for auto API version - resolve to specific version first"
+            )
 
-            API.v1_40 -> net.ktnx.mobileledger.core.network.json.v1_40.AccountListParser(input)
+            engine == ParserEngine.STREAMING -> StreamingAccountListParser(input, version, names)
 
-            API.v1_50 -> net.ktnx.mobileledger.core.network.json.v1_50.AccountListParser(input)
+            else -> kotlinxParser(version, input, names)
+        }
 
-            API.auto -> throw RuntimeException(
-                "Cannot create AccountListParser for auto API version - resolve to specific version first"
-            )
+        private fun kotlinxParser(
+            version: API,
+            input: InputStream,
+            names: NameDictionary
+        ): AccountListParser = when (version) {
+            API.v1_32 -> net.ktnx.mobileledger.core.network.json.v1_32.AccountListParser(input, names)
+
+            API.v1_40 -> net.ktnx.mobileledger.core.network.json.v1_40.AccountListParser(input, names)
+
+            API.v1_50 -> net.ktnx.mobileledger.core.network.json.v1_50.AccountListParser(input, names)
+
+            API.auto -> throw IllegalArgumentException("API version must be resolved")
         }
     }
 }
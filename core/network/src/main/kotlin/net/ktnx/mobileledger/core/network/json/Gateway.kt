@@ -21,6 +21,7 @@ import kotlinx.serialization.SerializationException
 import net.ktnx.mobileledger.core.domain.model.API
 import net.ktnx.mobileledger.core.domain.model.CurrencySettings
 import net.ktnx.mobileledger.core.domain.model.Transaction
+import net.ktnx.mobileledger.core.network.JsonBody
 
 abstract class Gateway {
     /**
@@ -37,6 +38,21 @@ abstract class Gateway {
         settings: CurrencySettings = CurrencySettings.DEFAULT
     ): String
 
+    /**
+     * Create the save request body for a domain Transaction model.
+     *
+     * Same document as [transactionSaveRequest], but encoded straight into the request
+     * while it is sent instead of being built as a String first.
+     *
+     * @param transaction Transaction to serialize
+     * @param settings Currency formatting settings (optional, defaults to [CurrencySettings.DEFAULT])
+     * @return Body for [net.ktnx.mobileledger.core.network.HledgerClient.putJson]
+     */
+    abstract fun transactionSaveBody(
+        transaction: Transaction,
+        settings: CurrencySettings = CurrencySettings.DEFAULT
+    ): JsonBody
+
     companion object {
         @JvmStatic
         fun forApiVersion(apiVersion: API): Gateway = when (apiVersion) {
@@ -19,7 +19,9 @@ package net.ktnx.mobileledger.core.network.json
 
 import net.ktnx.mobileledger.core.domain.model.Account
 import net.ktnx.mobileledger.core.domain.model.AccountAmount
+import net.ktnx.mobileledger.core.domain.model.Amount
 import net.ktnx.mobileledger.core.domain.model.AmountStyle
+import net.ktnx.mobileledger.core.domain.model.sumOfAmount
 
 abstract class ParsedLedgerAccount {
     open var aname: String = ""
@@ -51,11 +53,11 @@ abstract class ParsedLedgerAccount {
         .map { (commodity, items) ->
             AccountAmount(
                 currency = commodity,
-                amount = items.sumOf { it.amount.toDouble() }.toFloat()
+                amount = items.sumOfAmount { it.amount }
             )
         }
 
-    data class SimpleBalance(var commodity: String, var amount: Float, var amountStyle: AmountStyle? = null) {
-        constructor(commodity: String, amount: Float) : this(commodity, amount, null)
+    data class SimpleBalance(var commodity: String, var amount: Amount, var amountStyle: AmountStyle? = null) {
+        constructor(commodity: String, amount: Amount) : this(commodity, amount, null)
     }
 }
@@ -0,0 +1,34 @@
+/*
+ * Copyright © 2026 Damyan Ivanov.
+ * This file is part of MoLe.
+ * MoLe is free software: you can distribute it and/or modify it
+ * under the term of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your opinion), any later version.
+ *
+ * MoLe is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License terms for details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MoLe. If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.ktnx.mobileledger.core.network.json
+
+/**
+ * Decoder used by [TransactionListParser.forApiVersion] and [AccountListParser.forApiVersion].
+ */
+enum class ParserEngine {
+    /**
+     * Hand-written pull parser that reads only the fields needed for the domain models and
+     * skips the rest without materialising it.
+     */
+    STREAMING,
+
+    /**
+     * kotlinx-serialization decoding of the complete version-specific JSON structures.
+     * Kept as a fallback for responses the streaming parser cannot handle.
+     */
+    KOTLINX
+}
@@ -20,26 +20,56 @@ package net.ktnx.mobileledger.core.network.json
 import java.io.IOException
 import java.io.InputStream
 import java.text.ParseException
+import net.ktnx.mobileledger.core.common.utils.NameDictionary
 import net.ktnx.mobileledger.core.domain.model.API
 import net.ktnx.mobileledger.core.domain.model.Transaction
+import net.ktnx.mobileledger.core.network.json.stream.ParallelTransactionListParser
+import net.ktnx.mobileledger.core.network.json.stream.StreamingTransactionListParser
 
 abstract class TransactionListParser {
     @Throws(ParseException::class)
     abstract fun nextTransactionDomain(): Transaction?
 
     companion object {
+        /**
+         * Creates a parser for the transaction list of the given API version.
+         *
+         * @param engine The decoder to use. [ParserEngine.KOTLINX] selects the version-specific
+         *   kotlinx-serialization parsers.
+         * @param names Dictionary in which the parser interns account names and commodities;
+         *   pass the same one to all parsers of a sync to share the strings between them
+         * @see ParallelTransactionListParser for decoding on several threads
+         */
         @JvmStatic
         @Throws(IOException::class)
-        fun forApiVersion(apiVersion: API, input: InputStream): TransactionListParser = when (apiVersion) {
-            API.v1_32 -> net.ktnx.mobileledger.core.network.json.v1_32.TransactionListParser(input)
+        @JvmOverloads
+        fun forApiVersion(
+            apiVersion: API,
+            input: InputStream,
+            engine: ParserEngine = ParserEngine.STREAMING,
+            names: NameDictionary = NameDictionary()
+        ): TransactionListParser = when {
+            apiVersion == API.auto -> throw RuntimeException(
+                "Cannot create TransactionListParser for auto API version - resolve to specific version first"
+            )
 
-            API.v1_40 -> net.ktnx.mobileledger.core.network.json.v1_40.TransactionListParser(input)
+            engine == ParserEngine.STREAMING -> StreamingTransactionListParser(input, apiVersion, names)
 
-            API.v1_50 -> net.ktnx.mobileledger.core.network.json.v1_50.TransactionListParser(input)
+            else -> kotlinxParser(apiVersion, input, names)
+        }
 
-            API.auto -> throw RuntimeException(
-                "Cannot create TransactionListParser for auto API version - resolve to specific version first"
-            )
+        private fun kotlinxParser(
+            apiVersion: API,
+            input: InputStream,
+            names: NameDictionary
+        ): TransactionListParser = when (apiVersion) {
+            API.v1_32 -> net.ktnx.mobileledger.core.network.json.v1_32.TransactionListParser(input, names)
+
+            API.v1_40 -> net.ktnx.mobileledger.core.network.json.v1_40.TransactionListParser(input, names)
+
+            API.v1_50 -> net.ktnx.mobileledger.core.network.json.v1_50.TransactionListParser(input, names)
+
+            API.auto -> throw IllegalArgumentException("API version must be resolved")
         }
     }
 }
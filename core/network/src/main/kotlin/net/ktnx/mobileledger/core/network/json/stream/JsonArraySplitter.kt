@@ -0,0 +1,199 @@
+/*
+ * Copyright © 2026 Damyan Ivanov.
+ * This file is part of MoLe.
+ * MoLe is free software: you can distribute it and/or modify it
+ * under the term of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your opinion), any later version.
+ *
+ * MoLe is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License terms for details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MoLe. If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.ktnx.mobileledger.core.network.json.stream
+
+import java.io.InputStream
+import kotlinx.serialization.SerializationException
+
+/**
+ * Splits a top-level JSON array into smaller arrays of whole elements without decoding them.
+ *
+ * The input is scanned byte by byte, tracking only the nesting depth and whether the scanner
+ * is inside a string (and after a backslash in it). That is enough to find the commas that
+ * separate the top-level elements; UTF-8 continuation bytes never look like ASCII syntax,
+ * so multi-byte characters need no special care. The elements themselves are copied verbatim
+ * and validated later by whoever decodes the chunks.
+ *
+ * @param input Source of the document, read in blocks of [bufferSize] bytes
+ */
+internal class JsonArraySplitter(private val input: InputStream, bufferSize: Int = DEFAULT_BUFFER_SIZE) {
+    private val buffer = ByteArray(bufferSize)
+    private var pos = 0
+    private var limit = 0
+
+    /** Offset in the document of `buffer[0]`, for error messages */
+    private var bufferOffset = 0L
+
+    private var started = false
+    private var finished = false
+
+    // Scanner state; kept across calls as the buffer may end anywhere in an element
+    private var depth = 0
+    private var inString = false
+    private var escaped = false
+    private var inElement = false
+    private var elementCopied = false
+    private var afterComma = false
+
+    private var chunk = ByteArray(INITIAL_CHUNK_SIZE)
+    private var chunkLength = 0
+    private var chunkElements = 0
+
+    /**
+     * Returns the next at most [maxElements] elements wrapped in a JSON array, or null once
+     * the end of the array has been reached.
+     *
+     * @throws SerializationException if the document is not an array or ends prematurely
+     */
+    fun nextChunk(maxElements: Int): ByteArray? {
+        if (finished) return null
+        if (!started) {
+            if (nextNonWhitespace() != '['.code) throw syntaxError("Expected an array")
+            started = true
+        }
+
+        chunkLength = 0
+        chunkElements = 0
+        append('['.code.toByte())
+        if (scan(maxElements)) {
+            finished = true
+            if (nextNonWhitespace() != -1) throw syntaxError("Unexpected data after the end of the document")
+        }
+        if (chunkElements == 0) return null
+
+        append(']'.code.toByte())
+        return chunk.copyOf(chunkLength)
+    }
+
+    /**
+     * Copies elements to [chunk] until it holds [maxElements] of them or the array ends.
+     *
+     * @return Whether the end of the array was reached
+     */
+    private fun scan(maxElements: Int): Boolean {
+        var elementStart = pos
+        while (true) {
+            if (pos == limit) {
+                if (inElement) copyElement(elementStart, limit)
+                if (!fill()) throw syntaxError("Unterminated array")
+                elementStart = 0
+            }
+
+            val b = buffer[pos].toInt()
+            if (inString) {
+                when {
+                    escaped -> escaped = false
+                    b == '\\'.code -> escaped = true
+                    b == '"'.code -> inString = false
+                }
+            } else if (depth > 0) {
+                when (b) {
+                    '"'.code -> inString = true
+                    '{'.code, '['.code -> depth++
+                    '}'.code, ']'.code -> depth--
+                }
+            } else {
+                when (b) {
+                    ' '.code, '\t'.code, '\n'.code, '\r'.code -> {}
+
+                    ','.code, ']'.code -> {
+                        if (inElement) {
+                            copyElement(elementStart, pos)
+                            finishElement()
+                        } else if (b == ','.code || afterComma) {
+                            throw syntaxError("Expected a value")
+                        }
+                        pos++
+                        if (b == ']'.code) return true
+                        afterComma = true
+                        if (chunkElements == maxElements) return false
+                        continue
+                    }
+
+                    '}'.code -> throw syntaxError("Unexpected character '}'")
+
+                    else -> {
+                        if (!inElement) {
+                            inElement = true
+                            elementStart = pos
+                        }
+                        when (b) {
+                            '"'.code -> inString = true
+                            '{'.code, '['.code -> depth++
+                        }
+                    }
+                }
+            }
+            pos++
+        }
+    }
+
+    /** Appends `buffer[from until to]`, part of the current element, to [chunk] */
+    private fun copyElement(from: Int, to: Int) {
+        if (to == from) return
+        // The first part of every element but the first is preceded by a separator
+        val separator = if (!elementCopied && chunkElements > 0) 1 else 0
+        ensureChunkCapacity(separator + to - from)
+        if (separator > 0) chunk[chunkLength++] = ','.code.toByte()
+        buffer.copyInto(chunk, chunkLength, from, to)
+        chunkLength += to - from
+        elementCopied = true
+    }
+
+    private fun finishElement() {
+        inElement = false
+        elementCopied = false
+        afterComma = false
+        chunkElements++
+    }
+
+    private fun append(b: Byte) {
+        ensureChunkCapacity(1)
+        chunk[chunkLength++] = b
+    }
+
+    private fun ensureChunkCapacity(extra: Int) {
+        if (chunkLength + extra > chunk.size) {
+            chunk = chunk.copyOf(maxOf(chunk.size * 2, chunkLength + extra))
+        }
+    }
+
+    private fun nextNonWhitespace(): Int {
+        while (true) {
+            if (pos == limit && !fill()) return -1
+            val b = buffer[pos++].toInt()
+            if (b != ' '.code && b != '\t'.code && b != '\n'.code && b != '\r'.code) return b
+        }
+    }
+
+    private fun fill(): Boolean {
+        bufferOffset += limit
+        pos = 0
+        limit = 0
+        val read = input.read(buffer)
+        if (read <= 0) return false
+        limit = read
+        return true
+    }
+
+    private fun syntaxError(message: String) = SerializationException("$message at offset ${bufferOffset + pos}")
+
+    companion object {
+        private const val DEFAULT_BUFFER_SIZE = 64 * 1024
+        private const val INITIAL_CHUNK_SIZE = 64 * 1024
+    }
+}
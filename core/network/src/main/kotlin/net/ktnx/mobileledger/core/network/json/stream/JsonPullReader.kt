@@ -0,0 +1,554 @@
+/*
+ * Copyright © 2026 Damyan Ivanov.
+ * This file is part of MoLe.
+ * MoLe is free software: you can distribute it and/or modify it
+ * under the term of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your opinion), any later version.
+ *
+ * MoLe is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License terms for details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MoLe. If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.ktnx.mobileledger.core.network.json.stream
+
+import java.io.Closeable
+import java.io.IOException
+import java.io.Reader
+import kotlinx.serialization.SerializationException
+
+/**
+ * Pull-based JSON tokenizer reading through a fixed char buffer.
+ *
+ * The caller walks the document token by token with [beginObject], [selectName], [nextString]
+ * and friends. Values it has no use for are passed over with [skipValue], which scans them in
+ * the buffer without building any objects. Object keys are matched against a prepared [Names]
+ * set directly in the buffer, so reading a known key allocates nothing.
+ *
+ * Like kotlinx with `isLenient`, numbers are also accepted in quoted form. Syntax errors are
+ * reported as [SerializationException], so callers can handle both decoders alike.
+ *
+ * @param reader Source of the document; closed by [close]
+ * @param bufferSize Size of the char buffer. Strings longer than the buffer are fine.
+ */
+class JsonPullReader(private val reader: Reader, bufferSize: Int = DEFAULT_BUFFER_SIZE) : Closeable {
+    private val buffer = CharArray(bufferSize)
+    private var pos = 0
+    private var limit = 0
+
+    /** Offset in the document of `buffer[0]`, for error messages */
+    private var bufferOffset = 0L
+
+    /** Holds keys and strings that contain escapes or cross the end of [buffer] */
+    private var scratch = CharArray(INITIAL_SCRATCH_SIZE)
+    private var scratchLength = 0
+
+    private var stack = IntArray(INITIAL_STACK_SIZE).also { it[0] = EMPTY_DOCUMENT }
+    private var stackSize = 1
+
+    private var peeked = PEEKED_NONE
+
+    /** Passed to the decoders of [nextString]; points into [buffer] or [scratch] */
+    private val valueView = CharArrayView()
+
+    /**
+     * A set of object keys prepared for [selectName].
+     */
+    class Names(vararg names: String) {
+        internal val chars: Array<CharArray> = Array(names.size) { names[it].toCharArray() }
+    }
+
+    /** Returns the type of the next token without consuming it */
+    fun peek(): JsonToken = when (peekInternal()) {
+        PEEKED_BEGIN_OBJECT -> JsonToken.BEGIN_OBJECT
+        PEEKED_END_OBJECT -> JsonToken.END_OBJECT
+        PEEKED_BEGIN_ARRAY -> JsonToken.BEGIN_ARRAY
+        PEEKED_END_ARRAY -> JsonToken.END_ARRAY
+        PEEKED_NAME -> JsonToken.NAME
+        PEEKED_STRING -> JsonToken.STRING
+        PEEKED_NUMBER -> JsonToken.NUMBER
+        PEEKED_TRUE, PEEKED_FALSE -> JsonToken.BOOLEAN
+        PEEKED_NULL -> JsonToken.NULL
+        else -> JsonToken.END_DOCUMENT
+    }
+
+    /** Returns whether the current array or object has another element */
+    fun hasNext(): Boolean {
+        val p = peekInternal()
+        return p != PEEKED_END_OBJECT && p != PEEKED_END_ARRAY && p != PEEKED_END_DOCUMENT
+    }
+
+    fun beginArray() {
+        expect(PEEKED_BEGIN_ARRAY, "'['")
+        push(EMPTY_ARRAY)
+    }
+
+    fun endArray() {
+        expect(PEEKED_END_ARRAY, "']'")
+        stackSize--
+    }
+
+    fun beginObject() {
+        expect(PEEKED_BEGIN_OBJECT, "'{'")
+        push(EMPTY_OBJECT)
+    }
+
+    fun endObject() {
+        expect(PEEKED_END_OBJECT, "'}'")
+        stackSize--
+    }
+
+    /** Consumes the next key and returns it */
+    fun nextName(): String {
+        expect(PEEKED_NAME, "a name")
+        readStringToScratch()
+        return String(scratch, 0, scratchLength)
+    }
+
+    /**
+     * Consumes the next key and returns its index in [names], or -1 if it is not one of them.
+     * The value that follows still has to be read or skipped.
+     */
+    fun selectName(names: Names): Int {
+        expect(PEEKED_NAME, "a name")
+        readStringToScratch()
+        val candidates = names.chars
+        for (i in candidates.indices) {
+            if (scratchEquals(candidates[i])) return i
+        }
+        return -1
+    }
+
+    /** Consumes the next string value. Numbers are returned as written. */
+    fun nextString(): String = when (peekInternal()) {
+        PEEKED_STRING -> {
+            peeked = PEEKED_NONE
+            readString()
+        }
+
+        PEEKED_NUMBER -> {
+            peeked = PEEKED_NONE
+            readNumberToScratch()
+            String(scratch, 0, scratchLength)
+        }
+
+        else -> throw unexpected("a string")
+    }
+
+    /**
+     * Consumes the next string value and returns what [decode] makes of its characters,
+     * without creating a [String]. The [CharSequence] passed to [decode] is only valid during
+     * the call.
+     */
+    fun <T> nextString(decode: (CharSequence) -> T): T {
+        expect(PEEKED_STRING, "a string")
+
+        // Fast path: the whole string is in the buffer and has no escapes
+        var p = pos
+        while (p < limit && buffer[p] != '"' && buffer[p] != '\\') p++
+        if (p < limit && buffer[p] == '"') {
+            val start = pos
+            pos = p + 1
+            return decode(valueView.set(buffer, start, p - start))
+        }
+
+        readStringToScratch()
+        return decode(valueView.set(scratch, 0, scratchLength))
+    }
+
+    /** Consumes the next number, which must be an integer */
+    fun nextLong(): Long {
+        when (peekInternal()) {
+            PEEKED_NUMBER -> readNumberToScratch()
+            PEEKED_STRING -> readStringToScratch()
+            else -> throw unexpected("a number")
+        }
+        peeked = PEEKED_NONE
+        return scratchToLong()
+    }
+
+    /** Consumes the next number, which must be an integer in the range of [Int] */
+    fun nextInt(): Int {
+        val value = nextLong()
+        if (value < Int.MIN_VALUE || value > Int.MAX_VALUE) throw syntaxError("Number $value out of range")
+        return value.toInt()
+    }
+
+    fun nextBoolean(): Boolean = when (peekInternal()) {
+        PEEKED_TRUE -> {
+            peeked = PEEKED_NONE
+            true
+        }
+
+        PEEKED_FALSE -> {
+            peeked = PEEKED_NONE
+            false
+        }
+
+        else -> throw unexpected("a boolean")
+    }
+
+    /** Consumes the next value if it is `null` and returns whether it was */
+    fun skipNull(): Boolean {
+        if (peekInternal() != PEEKED_NULL) return false
+        peeked = PEEKED_NONE
+        return true
+    }
+
+    /**
+     * Skips the next value, including all nested arrays and objects, without decoding it.
+     */
+    fun skipValue() {
+        var depth = 0
+        do {
+            when (peekInternal()) {
+                PEEKED_BEGIN_ARRAY -> {
+                    push(EMPTY_ARRAY)
+                    depth++
+                }
+
+                PEEKED_BEGIN_OBJECT -> {
+                    push(EMPTY_OBJECT)
+                    depth++
+                }
+
+                PEEKED_END_ARRAY, PEEKED_END_OBJECT -> {
+                    if (depth == 0) throw syntaxError("Expected a value")
+                    stackSize--
+                    depth--
+                }
+
+                PEEKED_NAME, PEEKED_STRING -> skipString()
+
+                PEEKED_NUMBER -> skipNumber()
+
+                PEEKED_END_DOCUMENT -> throw syntaxError("Unexpected end of input")
+            }
+            peeked = PEEKED_NONE
+        } while (depth > 0)
+    }
+
+    override fun close() {
+        peeked = PEEKED_NONE
+        stackSize = 0
+        reader.close()
+    }
+
+    private fun peekInternal(): Int {
+        if (peeked == PEEKED_NONE) peeked = doPeek()
+        return peeked
+    }
+
+    private fun expect(token: Int, description: String) {
+        if (peekInternal() != token) throw unexpected(description)
+        peeked = PEEKED_NONE
+    }
+
+    private fun push(scope: Int) {
+        if (stackSize == stack.size) stack = stack.copyOf(stackSize * 2)
+        stack[stackSize++] = scope
+    }
+
+    private fun doPeek(): Int {
+        if (stackSize == 0) throw IllegalStateException("JsonPullReader is closed")
+        val top = stackSize - 1
+        val scope = stack[top]
+        when (scope) {
+            EMPTY_ARRAY -> stack[top] = NONEMPTY_ARRAY
+
+            NONEMPTY_ARRAY -> when (nextNonWhitespace()) {
+                ']'.code -> return PEEKED_END_ARRAY
+                ','.code -> Unit
+                else -> throw syntaxError("Unterminated array")
+            }
+
+            EMPTY_OBJECT, NONEMPTY_OBJECT -> {
+                stack[top] = DANGLING_NAME
+                if (scope == NONEMPTY_OBJECT) {
+                    when (nextNonWhitespace()) {
+                        '}'.code -> return PEEKED_END_OBJECT
+                        ','.code -> Unit
+                        else -> throw syntaxError("Unterminated object")
+                    }
+                }
+                return when (nextNonWhitespace()) {
+                    '"'.code -> PEEKED_NAME
+                    '}'.code -> if (scope == EMPTY_OBJECT) PEEKED_END_OBJECT else throw syntaxError("Expected a name")
+                    else -> throw syntaxError("Expected a name")
+                }
+            }
+
+            DANGLING_NAME -> {
+                stack[top] = NONEMPTY_OBJECT
+                if (nextNonWhitespace() != ':'.code) throw syntaxError("Expected ':'")
+            }
+
+            EMPTY_DOCUMENT -> stack[top] = NONEMPTY_DOCUMENT
+
+            NONEMPTY_DOCUMENT -> {
+                if (nextNonWhitespace() == -1) return PEEKED_END_DOCUMENT
+                throw syntaxError("Unexpected data after the end of the document")
+            }
+        }
+
+        return when (val c = nextNonWhitespace()) {
+            ']'.code -> if (scope == EMPTY_ARRAY) PEEKED_END_ARRAY else throw syntaxError("Expected a value")
+            '['.code -> PEEKED_BEGIN_ARRAY
+            '{'.code -> PEEKED_BEGIN_OBJECT
+            '"'.code -> PEEKED_STRING
+            't'.code -> consumeLiteral(TRUE_REST, PEEKED_TRUE)
+            'f'.code -> consumeLiteral(FALSE_REST, PEEKED_FALSE)
+            'n'.code -> consumeLiteral(NULL_REST, PEEKED_NULL)
+
+            '-'.code, in '0'.code..'9'.code -> {
+                // Leave the first character in place for readNumberToScratch()
+                pos--
+                PEEKED_NUMBER
+            }
+
+            -1 -> throw syntaxError("Unexpected end of input")
+            else -> throw syntaxError("Unexpected character '${c.toChar()}'")
+        }
+    }
+
+    private fun consumeLiteral(rest: String, token: Int): Int {
+        if (limit - pos < rest.length && !fill(rest.length)) throw syntaxError("Unexpected end of input")
+        for (i in rest.indices) {
+            if (buffer[pos + i] != rest[i]) throw syntaxError("Unexpected literal")
+        }
+        pos += rest.length
+        return token
+    }
+
+    /** Consumes and returns the next non-whitespace character, or -1 at the end of input */
+    private fun nextNonWhitespace(): Int {
+        while (true) {
+            if (pos == limit && !fill(1)) return -1
+            val c = buffer[pos++]
+            if (c != ' ' && c != '\n' && c != '\r' && c != '\t') return c.code
+        }
+    }
+
+    /**
+     * Moves the unread part of [buffer] to its start and reads until at least [minimum]
+     * characters are available.
+     *
+     * @return false if the input ended first
+     */
+    @Throws(IOException::class)
+    private fun fill(minimum: Int): Boolean {
+        if (pos > 0) {
+            System.arraycopy(buffer, pos, buffer, 0, limit - pos)
+            bufferOffset += pos
+            limit -= pos
+            pos = 0
+        }
+        while (limit < minimum) {
+            val count = reader.read(buffer, limit, buffer.size - limit)
+            if (count == -1) return false
+            limit += count
+        }
+        return true
+    }
+
+    /** Reads the rest of a string whose opening quote has been consumed */
+    private fun readString(): String {
+        // Fast path: the whole string is in the buffer and has no escapes
+        var p = pos
+        while (p < limit) {
+            when (buffer[p]) {
+                '"' -> {
+                    val result = String(buffer, pos, p - pos)
+                    pos = p + 1
+                    return result
+                }
+
+                '\\' -> break
+
+                else -> p++
+            }
+        }
+        readStringToScratch()
+        return String(scratch, 0, scratchLength)
+    }
+
+    /** Reads the rest of a string whose opening quote has been consumed into [scratch] */
+    private fun readStringToScratch() {
+        scratchLength = 0
+        while (true) {
+            var p = pos
+            while (p < limit && buffer[p] != '"' && buffer[p] != '\\') p++
+            appendToScratch(buffer, pos, p - pos)
+            pos = p
+
+            if (p == limit) {
+                if (!fill(1)) throw syntaxError("Unterminated string")
+                continue
+            }
+
+            pos++
+            if (buffer[p] == '"') return
+            appendToScratch(readEscape())
+        }
+    }
+
+    private fun skipString() {
+        while (true) {
+            while (pos < limit) {
+                when (buffer[pos++]) {
+                    '"' -> return
+                    '\\' -> readEscape()
+                }
+            }
+            if (!fill(1)) throw syntaxError("Unterminated string")
+        }
+    }
+
+    /** Decodes an escape sequence whose backslash has been consumed */
+    private fun readEscape(): Char {
+        if (pos == limit && !fill(1)) throw syntaxError("Unterminated escape sequence")
+        return when (val c = buffer[pos++]) {
+            'u' -> {
+                if (limit - pos < 4 && !fill(4)) throw syntaxError("Unterminated escape sequence")
+                var result = 0
+                repeat(4) {
+                    val digit = Character.digit(buffer[pos++], 16)
+                    if (digit < 0) throw syntaxError("Invalid escape sequence")
+                    result = (result shl 4) or digit
+                }
+                result.toChar()
+            }
+
+            't' -> '\t'
+            'b' -> '\b'
+            'n' -> '\n'
+            'r' -> '\r'
+            'f' -> '\u000C'
+            '"', '\\', '/' -> c
+            else -> throw syntaxError("Invalid escape sequence")
+        }
+    }
+
+    private fun readNumberToScratch() {
+        scratchLength = 0
+        while ((pos < limit || fill(1)) && isNumberChar(buffer[pos])) {
+            appendToScratch(buffer[pos++])
+        }
+    }
+
+    private fun skipNumber() {
+        while ((pos < limit || fill(1)) && isNumberChar(buffer[pos])) pos++
+    }
+
+    private fun isNumberChar(c: Char) =
+        c in '0'..'9' || c == '-' || c == '+' || c == '.' || c == 'e' || c == 'E'
+
+    private fun scratchToLong(): Long {
+        val negative = scratchLength > 0 && scratch[0] == '-'
+        var i = if (negative) 1 else 0
+        if (i == scratchLength) throw syntaxError("Expected an integer")
+
+        // Accumulated as a negative number so that Long.MIN_VALUE fits
+        var result = 0L
+        try {
+            while (i < scratchLength) {
+                val digit = scratch[i++] - '0'
+                if (digit !in 0..9) throw syntaxError("Expected an integer, got '${String(scratch, 0, scratchLength)}'")
+                result = Math.subtractExact(Math.multiplyExact(result, 10L), digit.toLong())
+            }
+            return if (negative) result else Math.negateExact(result)
+        } catch (e: ArithmeticException) {
+            throw syntaxError("Number ${String(scratch, 0, scratchLength)} out of range")
+        }
+    }
+
+    private fun scratchEquals(chars: CharArray): Boolean {
+        if (chars.size != scratchLength) return false
+        for (i in 0 until scratchLength) {
+            if (chars[i] != scratch[i]) return false
+        }
+        return true
+    }
+
+    private fun appendToScratch(c: Char) {
+        if (scratchLength == scratch.size) scratch = scratch.copyOf(scratch.size * 2)
+        scratch[scratchLength++] = c
+    }
+
+    private fun appendToScratch(source: CharArray, offset: Int, length: Int) {
+        if (length == 0) return
+        if (scratchLength + length > scratch.size) {
+            scratch = scratch.copyOf(maxOf(scratch.size * 2, scratchLength + length))
+        }
+        System.arraycopy(source, offset, scratch, scratchLength, length)
+        scratchLength += length
+    }
+
+    private fun unexpected(expected: String): SerializationException =
+        syntaxError("Expected $expected but was ${peek()}")
+
+    private fun syntaxError(message: String) = SerializationException("$message at offset ${bufferOffset + pos}")
+
+    /** A reusable [CharSequence] over a region of a char array */
+    private class CharArrayView : CharSequence {
+        private var chars = CharArray(0)
+        private var offset = 0
+        override var length = 0
+            private set
+
+        fun set(chars: CharArray, offset: Int, length: Int): CharArrayView {
+            this.chars = chars
+            this.offset = offset
+            this.length = length
+            return this
+        }
+
+        override fun get(index: Int): Char {
+            if (index !in 0 until length) throw IndexOutOfBoundsException("Index $index, length $length")
+            return chars[offset + index]
+        }
+
+        override fun subSequence(startIndex: Int, endIndex: Int): CharSequence =
+            String(chars, offset + startIndex, endIndex - startIndex)
+
+        override fun toString(): String = String(chars, offset, length)
+    }
+
+    companion object {
+        const val DEFAULT_BUFFER_SIZE = 8192
+
+        private const val INITIAL_SCRATCH_SIZE = 64
+        private const val INITIAL_STACK_SIZE = 32
+
+        private const val TRUE_REST = "rue"
+        private const val FALSE_REST = "alse"
+        private const val NULL_REST = "ull"
+
+        // Scopes on the stack
+        private const val EMPTY_ARRAY = 1
+        private const val NONEMPTY_ARRAY = 2
+        private const val EMPTY_OBJECT = 3
+        private const val DANGLING_NAME = 4
+        private const val NONEMPTY_OBJECT = 5
+        private const val EMPTY_DOCUMENT = 6
+        private const val NONEMPTY_DOCUMENT = 7
+
+        // Values of peeked
+        private const val PEEKED_NONE = 0
+        private const val PEEKED_BEGIN_OBJECT = 1
+        private const val PEEKED_END_OBJECT = 2
+        private const val PEEKED_BEGIN_ARRAY = 3
+        private const val PEEKED_END_ARRAY = 4
+        private const val PEEKED_NAME = 5
+        private const val PEEKED_STRING = 6
+        private const val PEEKED_NUMBER = 7
+        private const val PEEKED_TRUE = 8
+        private const val PEEKED_FALSE = 9
+        private const val PEEKED_NULL = 10
+        private const val PEEKED_END_DOCUMENT = 11
+    }
+}
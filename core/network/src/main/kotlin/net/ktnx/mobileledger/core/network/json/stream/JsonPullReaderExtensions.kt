@@ -0,0 +1,62 @@
+/*
+ * Copyright © 2026 Damyan Ivanov.
+ * This file is part of MoLe.
+ * MoLe is free software: you can distribute it and/or modify it
+ * under the term of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your opinion), any later version.
+ *
+ * MoLe is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License terms for details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MoLe. If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.ktnx.mobileledger.core.network.json.stream
+
+import net.ktnx.mobileledger.core.common.utils.SimpleDate
+import net.ktnx.mobileledger.core.common.utils.parseIsoDate
+import net.ktnx.mobileledger.core.domain.model.Amount
+import net.ktnx.mobileledger.core.network.json.unified.UnifiedParsedQuantity
+
+private val QUANTITY_FIELDS = JsonPullReader.Names("decimalMantissa", "decimalPlaces")
+
+private val ISO_DATE: (CharSequence) -> SimpleDate = { it.parseIsoDate() }
+
+/**
+ * Reads an `aquantity` object, as [UnifiedParsedQuantity.toAmount] would convert it.
+ *
+ * @return The quantity, or null if the value is `null`
+ */
+internal fun JsonPullReader.nextQuantity(): Amount? {
+    if (skipNull()) return null
+
+    var mantissa = 0L
+    var places = 0
+    beginObject()
+    while (hasNext()) {
+        when (selectName(QUANTITY_FIELDS)) {
+            0 -> mantissa = if (skipNull()) 0L else nextLong()
+            1 -> places = if (skipNull()) 0 else nextInt()
+            else -> skipValue()
+        }
+    }
+    endObject()
+    return Amount.of(mantissa, places)
+}
+
+/** Reads a string value, mapping `null` to null */
+internal fun JsonPullReader.nextStringOrNull(): String? = if (skipNull()) null else nextString()
+
+/** Reads a string value through [decode] without copying it first, mapping `null` to null */
+internal fun <T> JsonPullReader.nextStringOrNull(decode: (CharSequence) -> T): T? =
+    if (skipNull()) null else nextString(decode)
+
+/**
+ * Reads a `yyyy-MM-dd` string value straight from the reader's buffer, mapping `null` to null
+ *
+ * @throws java.text.ParseException if the value is not a valid date
+ */
+internal fun JsonPullReader.nextIsoDateOrNull(): SimpleDate? = if (skipNull()) null else nextString(ISO_DATE)
@@ -0,0 +1,111 @@
+/*
+ * Copyright © 2026 Damyan Ivanov.
+ * This file is part of MoLe.
+ * MoLe is free software: you can distribute it and/or modify it
+ * under the term of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your opinion), any later version.
+ *
+ * MoLe is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License terms for details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MoLe. If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.ktnx.mobileledger.core.network.json.stream
+
+import java.io.ByteArrayInputStream
+import java.io.InputStream
+import java.text.ParseException
+import kotlinx.coroutines.CoroutineDispatcher
+import kotlinx.coroutines.Deferred
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.async
+import kotlinx.coroutines.channels.Channel
+import kotlinx.coroutines.coroutineScope
+import kotlinx.coroutines.launch
+import net.ktnx.mobileledger.core.common.utils.NameDictionary
+import net.ktnx.mobileledger.core.domain.model.API
+import net.ktnx.mobileledger.core.domain.model.Transaction
+
+/**
+ * Decodes the transaction list in chunks decoded concurrently.
+ *
+ * A [JsonArraySplitter] cuts the array into chunks of [CHUNK_SIZE] transactions on
+ * [ioDispatcher], where blocking on the network is expected. Each chunk is decoded by a
+ * [StreamingTransactionListParser] in its own coroutine on [decodeDispatcher], at most
+ * [parallelism] at a time, and the chunks are awaited in the order of the document, so the
+ * caller sees the same sequence as from the sequential parser; hledger-web lists transactions
+ * by `tindex`, which makes that the `tindex` order as well. No thread is blocked while waiting
+ * for a chunk.
+ *
+ * At most [parallelism] * [CHUNKS_PER_DECODER] chunks are split off ahead of the caller, which
+ * bounds the memory held in decoded transactions. Account names and commodities are interned in
+ * [parallelism] [NameDictionary]s that belong to one [parse] call; a decoder holds one of them
+ * for the duration of a chunk, so no dictionary is used by two threads at once.
+ *
+ * @param parallelism Maximum number of chunks decoded at the same time
+ * @param ioDispatcher Reads [input]
+ * @param decodeDispatcher Provides the decoding threads
+ */
+class ParallelTransactionListParser(
+    private val input: InputStream,
+    private val apiVersion: API,
+    private val parallelism: Int,
+    private val ioDispatcher: CoroutineDispatcher = Dispatchers.IO,
+    decodeDispatcher: CoroutineDispatcher = Dispatchers.Default
+) {
+    init {
+        require(parallelism > 0) { "parallelism must be positive: $parallelism" }
+    }
+
+    private val decoders = decodeDispatcher.limitedParallelism(parallelism)
+
+    /**
+     * Decodes the whole list, handing the transactions of each chunk to [onChunk] in document
+     * order. A decoding error cancels the remaining chunks and is rethrown.
+     *
+     * @throws ParseException when a transaction cannot be decoded
+     */
+    suspend fun parse(onChunk: suspend (List<Transaction>) -> Unit) = coroutineScope {
+        val dictionaries = Channel<NameDictionary>(parallelism)
+        repeat(parallelism) { dictionaries.trySend(NameDictionary()) }
+        val pending = Channel<Deferred<List<Transaction>>>(parallelism * CHUNKS_PER_DECODER)
+
+        launch(ioDispatcher) {
+            val splitter = JsonArraySplitter(input)
+            while (true) {
+                val chunk = splitter.nextChunk(CHUNK_SIZE) ?: break
+                pending.send(this@coroutineScope.async(decoders) { decode(chunk, dictionaries) })
+            }
+        }.invokeOnCompletion { cause -> pending.close(cause) }
+
+        for (chunk in pending) {
+            onChunk(chunk.await())
+        }
+    }
+
+    private suspend fun decode(chunk: ByteArray, dictionaries: Channel<NameDictionary>): List<Transaction> {
+        val names = dictionaries.receive()
+        try {
+            val parser = StreamingTransactionListParser(ByteArrayInputStream(chunk), apiVersion, names)
+            val transactions = ArrayList<Transaction>(CHUNK_SIZE)
+            while (true) {
+                transactions.add(parser.nextTransactionDomain() ?: break)
+            }
+            return transactions
+        } finally {
+            dictionaries.trySend(names)
+        }
+    }
+
+    companion object {
+        /** Number of transactions decoded as one unit of work */
+        internal const val CHUNK_SIZE = 256
+
+        /** Number of chunks per decoder that are split off ahead of the caller */
+        private const val CHUNKS_PER_DECODER = 2
+    }
+}
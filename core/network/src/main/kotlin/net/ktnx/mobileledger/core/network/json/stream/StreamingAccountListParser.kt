@@ -0,0 +1,203 @@
+/*
+ * Copyright © 2026 Damyan Ivanov.
+ * This file is part of MoLe.
+ * MoLe is free software: you can distribute it and/or modify it
+ * under the term of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your opinion), any later version.
+ *
+ * MoLe is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License terms for details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MoLe. If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.ktnx.mobileledger.core.network.json.stream
+
+import java.io.InputStream
+import java.io.InputStreamReader
+import java.text.ParseException
+import net.ktnx.mobileledger.core.common.utils.NameDictionary
+import net.ktnx.mobileledger.core.domain.model.API
+import net.ktnx.mobileledger.core.domain.model.Account
+import net.ktnx.mobileledger.core.domain.model.AccountAmount
+import net.ktnx.mobileledger.core.domain.model.Amount
+import net.ktnx.mobileledger.core.domain.model.sumOfAmount
+import net.ktnx.mobileledger.core.network.json.AccountListParser
+
+/**
+ * [AccountListParser] reading the hledger-web account list with [JsonPullReader].
+ *
+ * Reads the balance from `adata.pdperiods[0][1].bdincludingsubs` (v1_50) and falls back to
+ * `aibalance` (v1_32, v1_40), like [net.ktnx.mobileledger.core.network.json.unified.UnifiedParsedLedgerAccount]
+ * does. Everything else is skipped in place. Account names and commodities are interned in [names].
+ *
+ * An account carrying only the balance field of another version — `aibalance` when [apiVersion]
+ * is v1_50, `adata` when it is older — is rejected with a [ParseException], so that a list
+ * written by another version is not accepted as this one.
+ */
+class StreamingAccountListParser(
+    input: InputStream,
+    override val apiVersion: API,
+    names: NameDictionary = NameDictionary()
+) : AccountListParser() {
+    private val reader = JsonPullReader(InputStreamReader(input, Charsets.UTF_8))
+    private val internName: (CharSequence) -> String = names::intern
+    private var started = false
+    private var finished = false
+
+    override fun nextAccountDomain(): Account? {
+        if (finished) return null
+        if (!started) {
+            reader.beginArray()
+            started = true
+        }
+        while (reader.hasNext()) {
+            val account = readAccount()
+            if (account.name.equals("root", ignoreCase = true)) continue
+
+            logAccount(account)
+            return account
+        }
+        reader.endArray()
+        finished = true
+        return null
+    }
+
+    private fun readAccount(): Account {
+        var name = ""
+        var directBalances: List<AccountAmount>? = null
+        var periodBalances: List<AccountAmount>? = null
+        var hasDirect = false
+        var hasPeriods = false
+
+        reader.beginObject()
+        while (reader.hasNext()) {
+            when (reader.selectName(ACCOUNT_FIELDS)) {
+                0 -> name = reader.nextStringOrNull(internName) ?: ""
+
+                1 -> {
+                    directBalances = readBalances()
+                    hasDirect = true
+                }
+
+                2 -> {
+                    periodBalances = readAccountData()
+                    hasPeriods = true
+                }
+
+                else -> reader.skipValue()
+            }
+        }
+        reader.endObject()
+
+        val ownField = if (apiVersion == API.v1_50) hasPeriods else hasDirect
+        val otherField = if (apiVersion == API.v1_50) hasDirect else hasPeriods
+        if (otherField && !ownField) {
+            throw ParseException("Account '$name' has the balance of another API than ${apiVersion.description}", 0)
+        }
+
+        val balances = periodBalances?.takeIf { it.isNotEmpty() } ?: directBalances.orEmpty()
+        return Account(
+            id = null,
+            name = name,
+            level = name.count { it == ':' },
+            isExpanded = false,
+            isVisible = true,
+            amounts = aggregate(balances)
+        )
+    }
+
+    /** Reads `adata` and returns the balance of its first period */
+    private fun readAccountData(): List<AccountAmount>? {
+        if (reader.skipNull()) return null
+
+        var balances: List<AccountAmount>? = null
+        reader.beginObject()
+        while (reader.hasNext()) {
+            when (reader.selectName(ACCOUNT_DATA_FIELDS)) {
+                0 -> balances = readFirstPeriod()
+                else -> reader.skipValue()
+            }
+        }
+        reader.endObject()
+        return balances
+    }
+
+    /** Reads `pdperiods`, a list of `[date, balanceData]` pairs */
+    private fun readFirstPeriod(): List<AccountAmount>? {
+        if (reader.skipNull()) return null
+
+        var balances: List<AccountAmount>? = null
+        reader.beginArray()
+        while (reader.hasNext()) {
+            if (balances != null) {
+                reader.skipValue()
+                continue
+            }
+
+            reader.beginArray()
+            if (reader.hasNext()) {
+                reader.skipValue()
+                if (reader.hasNext()) balances = readBalanceData()
+            }
+            while (reader.hasNext()) {
+                reader.skipValue()
+            }
+            reader.endArray()
+        }
+        reader.endArray()
+        return balances
+    }
+
+    private fun readBalanceData(): List<AccountAmount> {
+        if (reader.skipNull()) return emptyList()
+
+        var balances: List<AccountAmount>? = null
+        reader.beginObject()
+        while (reader.hasNext()) {
+            when (reader.selectName(BALANCE_DATA_FIELDS)) {
+                0 -> balances = readBalances()
+                else -> reader.skipValue()
+            }
+        }
+        reader.endObject()
+        return balances.orEmpty()
+    }
+
+    private fun readBalances(): List<AccountAmount>? {
+        if (reader.skipNull()) return null
+
+        val balances = ArrayList<AccountAmount>()
+        reader.beginArray()
+        while (reader.hasNext()) {
+            var commodity = ""
+            var quantity = Amount.ZERO
+            reader.beginObject()
+            while (reader.hasNext()) {
+                when (reader.selectName(BALANCE_FIELDS)) {
+                    0 -> commodity = reader.nextStringOrNull(internName) ?: ""
+                    1 -> quantity = reader.nextQuantity() ?: Amount.ZERO
+                    else -> reader.skipValue()
+                }
+            }
+            reader.endObject()
+            balances.add(AccountAmount(commodity, quantity))
+        }
+        reader.endArray()
+        return balances
+    }
+
+    private fun aggregate(balances: List<AccountAmount>): List<AccountAmount> = balances
+        .groupBy { it.currency }
+        .map { (currency, items) -> AccountAmount(currency, items.sumOfAmount { it.amount }) }
+
+    companion object {
+        private val ACCOUNT_FIELDS = JsonPullReader.Names("aname", "aibalance", "adata")
+        private val ACCOUNT_DATA_FIELDS = JsonPullReader.Names("pdperiods")
+        private val BALANCE_DATA_FIELDS = JsonPullReader.Names("bdincludingsubs")
+        private val BALANCE_FIELDS = JsonPullReader.Names("acommodity", "aquantity")
+    }
+}
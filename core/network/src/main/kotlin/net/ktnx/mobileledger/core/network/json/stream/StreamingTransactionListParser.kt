@@ -0,0 +1,183 @@
+/*
+ * Copyright © 2026 Damyan Ivanov.
+ * This file is part of MoLe.
+ * MoLe is free software: you can distribute it and/or modify it
+ * under the term of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your opinion), any later version.
+ *
+ * MoLe is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License terms for details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MoLe. If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.ktnx.mobileledger.core.network.json.stream
+
+import java.io.InputStream
+import java.io.InputStreamReader
+import java.text.ParseException
+import net.ktnx.mobileledger.core.common.utils.NameDictionary
+import net.ktnx.mobileledger.core.common.utils.SimpleDate
+import net.ktnx.mobileledger.core.domain.model.API
+import net.ktnx.mobileledger.core.domain.model.Amount
+import net.ktnx.mobileledger.core.domain.model.Transaction
+import net.ktnx.mobileledger.core.domain.model.TransactionLine
+import net.ktnx.mobileledger.core.network.json.TransactionListParser
+
+/**
+ * [TransactionListParser] reading the hledger-web transaction list with [JsonPullReader].
+ *
+ * All supported API versions share the transaction layout apart from `tsourcepos`, which is a
+ * single position up to v1_40 and a list of positions since v1_50. Its shape is checked against
+ * [apiVersion], so that a list written by another version is rejected with a [ParseException]
+ * instead of being accepted as this one; its contents are never read. Only the fields that end
+ * up in [Transaction] are decoded; tags, balance assertions and the like are skipped in place.
+ * The result is the same as that of the kotlinx parsers.
+ *
+ * Account names and commodities are decoded straight from the read buffer into [names], so
+ * that all postings of an account share one String.
+ */
+class StreamingTransactionListParser(
+    input: InputStream,
+    private val apiVersion: API,
+    names: NameDictionary = NameDictionary()
+) : TransactionListParser() {
+    private val reader = JsonPullReader(InputStreamReader(input, Charsets.UTF_8))
+    private val internName: (CharSequence) -> String = names::intern
+    private var started = false
+    private var finished = false
+
+    // First amount of the posting being read
+    private var amountQuantity: Amount? = null
+    private var amountCommodity = ""
+
+    @Throws(ParseException::class)
+    override fun nextTransactionDomain(): Transaction? {
+        if (finished) return null
+        if (!started) {
+            reader.beginArray()
+            started = true
+        }
+        if (!reader.hasNext()) {
+            reader.endArray()
+            finished = true
+            return null
+        }
+        return readTransaction()
+    }
+
+    private fun readTransaction(): Transaction {
+        var date: SimpleDate? = null
+        var description: String? = null
+        var comment: String? = null
+        var lines: List<TransactionLine> = emptyList()
+        var index = 0
+
+        reader.beginObject()
+        while (reader.hasNext()) {
+            when (reader.selectName(TRANSACTION_FIELDS)) {
+                0 -> date = reader.nextIsoDateOrNull()
+                1 -> description = reader.nextStringOrNull()
+                2 -> comment = reader.nextStringOrNull()
+                3 -> lines = readPostings()
+                4 -> index = if (reader.skipNull()) 0 else reader.nextInt()
+                5 -> skipSourcePosition()
+                else -> reader.skipValue()
+            }
+        }
+        reader.endObject()
+
+        return Transaction(
+            id = null,
+            ledgerId = index.toLong(),
+            date = date ?: throw ParseException("Transaction date is required", 0),
+            description = description ?: "",
+            comment = comment?.trim()?.takeIf { it.isNotEmpty() },
+            lines = lines
+        )
+    }
+
+    /** Skips `tsourcepos` after checking that it has the shape of [apiVersion] */
+    private fun skipSourcePosition() {
+        if (reader.skipNull()) return
+
+        val expected = if (apiVersion == API.v1_50) JsonToken.BEGIN_ARRAY else JsonToken.BEGIN_OBJECT
+        val actual = reader.peek()
+        if (actual != expected) {
+            throw ParseException("tsourcepos is $actual, not $expected as in API ${apiVersion.description}", 0)
+        }
+        reader.skipValue()
+    }
+
+    private fun readPostings(): List<TransactionLine> {
+        if (reader.skipNull()) return emptyList()
+
+        val lines = ArrayList<TransactionLine>(TYPICAL_POSTING_COUNT)
+        reader.beginArray()
+        while (reader.hasNext()) {
+            lines.add(readPosting())
+        }
+        reader.endArray()
+        return lines
+    }
+
+    private fun readPosting(): TransactionLine {
+        var account: String? = null
+        var comment: String? = null
+        amountQuantity = null
+        amountCommodity = ""
+
+        reader.beginObject()
+        while (reader.hasNext()) {
+            when (reader.selectName(POSTING_FIELDS)) {
+                0 -> account = reader.nextStringOrNull(internName)
+                1 -> readFirstAmount()
+                2 -> comment = reader.nextStringOrNull()
+                else -> reader.skipValue()
+            }
+        }
+        reader.endObject()
+
+        return TransactionLine(
+            id = null,
+            accountName = account ?: "",
+            amount = amountQuantity,
+            currency = amountCommodity,
+            comment = comment?.trim()?.takeIf { it.isNotEmpty() }
+        )
+    }
+
+    /** Reads `pamount`, keeping only its first element like the domain conversion does */
+    private fun readFirstAmount() {
+        if (reader.skipNull()) return
+
+        reader.beginArray()
+        if (reader.hasNext()) {
+            reader.beginObject()
+            while (reader.hasNext()) {
+                when (reader.selectName(AMOUNT_FIELDS)) {
+                    0 -> amountCommodity = reader.nextStringOrNull(internName) ?: ""
+                    1 -> amountQuantity = reader.nextQuantity()
+                    else -> reader.skipValue()
+                }
+            }
+            reader.endObject()
+        }
+        while (reader.hasNext()) {
+            reader.skipValue()
+        }
+        reader.endArray()
+    }
+
+    companion object {
+        private const val TYPICAL_POSTING_COUNT = 4
+
+        private val TRANSACTION_FIELDS =
+            JsonPullReader.Names("tdate", "tdescription", "tcomment", "tpostings", "tindex", "tsourcepos")
+        private val POSTING_FIELDS = JsonPullReader.Names("paccount", "pamount", "pcomment")
+        private val AMOUNT_FIELDS = JsonPullReader.Names("acommodity", "aquantity")
+    }
+}
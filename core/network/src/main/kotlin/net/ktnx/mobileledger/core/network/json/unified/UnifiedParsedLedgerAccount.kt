@@ -18,9 +18,12 @@
 package net.ktnx.mobileledger.core.network.json.unified
 
 import kotlinx.serialization.Serializable
+import net.ktnx.mobileledger.core.common.utils.NameDictionary
 import net.ktnx.mobileledger.core.domain.model.Account
+import net.ktnx.mobileledger.core.domain.model.Amount
 import net.ktnx.mobileledger.core.domain.model.AccountAmount
 import net.ktnx.mobileledger.core.domain.model.AmountStyle
+import net.ktnx.mobileledger.core.domain.model.sumOfAmount
 import net.ktnx.mobileledger.core.network.json.mapper.AmountStyleMapper
 
 /**
@@ -28,7 +31,7 @@ import net.ktnx.mobileledger.core.network.json.mapper.AmountStyleMapper
  */
 data class SimpleBalance(
     val commodity: String,
-    val amount: Float,
+    val amount: Amount,
     val amountStyle: AmountStyle? = null
 )
 
@@ -108,7 +111,7 @@ data class UnifiedParsedLedgerAccount(
             accountData.getFirstPeriodBalance()?.let { balanceData ->
                 balanceData.bdincludingsubs?.forEach { b ->
                     val style = AmountStyleMapper.toDomain(b.astyle, b.acommodity)
-                    result.add(SimpleBalance(b.acommodity, b.aquantity?.asFloat() ?: 0f, style))
+                    result.add(SimpleBalance(b.acommodity, b.aquantity?.toAmount() ?: Amount.ZERO, style))
                 }
             }
         }
@@ -117,7 +120,7 @@ data class UnifiedParsedLedgerAccount(
         if (result.isEmpty() && aibalance != null) {
             aibalance.forEach { b ->
                 val style = AmountStyleMapper.toDomain(b.astyle, b.acommodity)
-                result.add(SimpleBalance(b.acommodity, b.aquantity?.asFloat() ?: 0f, style))
+                result.add(SimpleBalance(b.acommodity, b.aquantity?.toAmount() ?: Amount.ZERO, style))
             }
         }
 
@@ -128,26 +131,28 @@ data class UnifiedParsedLedgerAccount(
      * ドメインモデルに変換
      *
      * 注意: 親アカウントは作成しない。親アカウントの作成は呼び出し元で行う。
+     *
+     * @param names 勘定科目名と通貨記号を共有するための辞書（null の場合は共有しない）
      */
-    fun toDomain(): Account {
+    fun toDomain(names: NameDictionary? = null): Account {
         val level = aname.count { it == ':' }
         val balances = getSimpleBalance()
         return Account(
             id = null,
-            name = aname,
+            name = names?.intern(aname) ?: aname,
             level = level,
             isExpanded = false,
             isVisible = true,
-            amounts = aggregateBalances(balances)
+            amounts = aggregateBalances(balances, names)
         )
     }
 
-    private fun aggregateBalances(balances: List<SimpleBalance>): List<AccountAmount> = balances
+    private fun aggregateBalances(balances: List<SimpleBalance>, names: NameDictionary?): List<AccountAmount> = balances
         .groupBy { it.commodity }
         .map { (commodity, items) ->
             AccountAmount(
-                currency = commodity,
-                amount = items.sumOf { it.amount.toDouble() }.toFloat()
+                currency = names?.intern(commodity) ?: commodity,
+                amount = items.sumOfAmount { it.amount }
             )
         }
 }
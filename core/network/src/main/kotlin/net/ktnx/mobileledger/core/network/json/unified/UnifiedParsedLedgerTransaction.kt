@@ -34,6 +34,7 @@ import kotlinx.serialization.json.intOrNull
 import kotlinx.serialization.json.jsonArray
 import kotlinx.serialization.json.jsonObject
 import kotlinx.serialization.json.jsonPrimitive
+import net.ktnx.mobileledger.core.common.utils.NameDictionary
 import net.ktnx.mobileledger.core.common.utils.formatIsoDate
 import net.ktnx.mobileledger.core.common.utils.parseIsoDate
 import net.ktnx.mobileledger.core.domain.model.CurrencySettings
@@ -210,9 +211,11 @@ data class UnifiedParsedLedgerTransaction(
 ) {
     /**
      * ドメインモデルに変換
+     *
+     * @param names 勘定科目名と通貨記号を共有するための辞書（null の場合は共有しない）
      */
     @Throws(ParseException::class)
-    fun toDomain(): Transaction {
+    fun toDomain(names: NameDictionary? = null): Transaction {
         val date = tdate?.let { it.parseIsoDate() }
             ?: throw ParseException("Transaction date is required", 0)
 
@@ -222,7 +225,7 @@ data class UnifiedParsedLedgerTransaction(
             date = date,
             description = tdescription ?: "",
             comment = tcomment?.trim()?.takeIf { it.isNotEmpty() },
-            lines = tpostings?.map { it.toDomain() } ?: emptyList()
+            lines = tpostings?.map { it.toDomain(names) } ?: emptyList()
         )
     }
 
@@ -30,6 +30,8 @@ import kotlinx.serialization.json.contentOrNull
 import kotlinx.serialization.json.intOrNull
 import kotlinx.serialization.json.jsonObject
 import kotlinx.serialization.json.jsonPrimitive
+import net.ktnx.mobileledger.core.common.utils.NameDictionary
+import net.ktnx.mobileledger.core.domain.model.Amount
 import net.ktnx.mobileledger.core.domain.model.CurrencyPosition
 import net.ktnx.mobileledger.core.domain.model.CurrencySettings
 import net.ktnx.mobileledger.core.domain.model.TransactionLine
@@ -130,14 +132,18 @@ data class UnifiedParsedPosting(
 ) {
     /**
      * ドメインモデルに変換
+     *
+     * @param names 勘定科目名と通貨記号を共有するための辞書（null の場合は共有しない）
      */
-    fun toDomain(): TransactionLine {
+    fun toDomain(names: NameDictionary? = null): TransactionLine {
         val amt = pamount?.firstOrNull()
+        val accountName = paccount ?: ""
+        val currency = amt?.acommodity ?: ""
         return TransactionLine(
             id = null,
-            accountName = paccount ?: "",
-            amount = amt?.aquantity?.asFloat(),
-            currency = amt?.acommodity ?: "",
+            accountName = names?.intern(accountName) ?: accountName,
+            amount = amt?.aquantity?.toAmount(),
+            currency = names?.intern(currency) ?: currency,
             comment = pcomment.takeIf { it.isNotEmpty() }
         )
     }
@@ -150,6 +156,9 @@ data class UnifiedParsedPosting(
     fun getTransactionIdForSerialization(): String = ptransaction_
 
     companion object {
+        /** 送信する金額の最小の小数点以下桁数 */
+        private const val MIN_PRECISION = 2
+
         /**
          * ドメインモデルから Posting を生成
          *
@@ -165,8 +174,10 @@ data class UnifiedParsedPosting(
             settings: CurrencySettings = CurrencySettings.DEFAULT
         ): UnifiedParsedPosting {
             val (commoditySide, commoditySpaced) = getCommoditySettings(settings)
-            val precision = 2
-            val mantissa = Math.round((line.amount ?: 0f) * 100).toLong()
+            // 少なくとも小数点以下2桁で送信し、それ以上の桁は丸めずにそのまま送る
+            val value = line.amount ?: Amount.ZERO
+            val precision = maxOf(MIN_PRECISION, value.scale)
+            val mantissa = value.toBigDecimal().setScale(precision).unscaledValue().toLong()
 
             val amount = UnifiedParsedAmount(
                 acommodity = line.currency,
@@ -19,6 +19,7 @@ package net.ktnx.mobileledger.core.network.json.unified
 
 import kotlin.math.pow
 import kotlinx.serialization.Serializable
+import net.ktnx.mobileledger.core.domain.model.Amount
 
 /**
  * 統合 ParsedQuantity - 全 API バージョンで同一構造
@@ -38,6 +39,11 @@ data class UnifiedParsedQuantity(
      */
     fun asFloat(): Float = (decimalMantissa * 10.0.pow(-decimalPlaces.toDouble())).toFloat()
 
+    /**
+     * 丸め誤差のない [Amount] に変換
+     */
+    fun toAmount(): Amount = Amount.of(decimalMantissa, decimalPlaces)
+
     companion object {
         /**
          * 文字列から UnifiedParsedQuantity を生成
@@ -20,6 +20,7 @@ package net.ktnx.mobileledger.core.network.json.v1_32
 import java.io.InputStream
 import kotlinx.serialization.ExperimentalSerializationApi
 import kotlinx.serialization.json.decodeToSequence
+import net.ktnx.mobileledger.core.common.utils.NameDictionary
 import net.ktnx.mobileledger.core.domain.model.API
 import net.ktnx.mobileledger.core.domain.model.Account
 import net.ktnx.mobileledger.core.network.json.AccountListParser as BaseParser
@@ -27,7 +28,7 @@ import net.ktnx.mobileledger.core.network.json.MoLeJson
 import net.ktnx.mobileledger.core.network.json.unified.UnifiedParsedLedgerAccount
 
 @OptIn(ExperimentalSerializationApi::class)
-class AccountListParser(input: InputStream) : BaseParser() {
+class AccountListParser(input: InputStream, private val names: NameDictionary = NameDictionary()) : BaseParser() {
     override val apiVersion: API = API.v1_32
 
     private val iterator: Iterator<UnifiedParsedLedgerAccount>
@@ -45,7 +46,7 @@ class AccountListParser(input: InputStream) : BaseParser() {
             return nextAccountDomain()
         }
 
-        val account = parsed.toDomain()
+        val account = parsed.toDomain(names)
         logAccount(account)
         return account
     }
@@ -17,9 +17,12 @@
 
 package net.ktnx.mobileledger.core.network.json.v1_32
 
+import kotlinx.serialization.ExperimentalSerializationApi
 import kotlinx.serialization.SerializationException
+import kotlinx.serialization.json.encodeToStream
 import net.ktnx.mobileledger.core.domain.model.CurrencySettings
 import net.ktnx.mobileledger.core.domain.model.Transaction
+import net.ktnx.mobileledger.core.network.JsonBody
 import net.ktnx.mobileledger.core.network.json.Gateway as BaseGateway
 import net.ktnx.mobileledger.core.network.json.MoLeJson
 import net.ktnx.mobileledger.core.network.json.config.ApiVersionConfig
@@ -35,4 +38,14 @@ class Gateway : BaseGateway() {
         )
         return MoLeJson.encodeToString(UnifiedParsedLedgerTransaction.serializer(), jsonTransaction)
     }
+
+    @OptIn(ExperimentalSerializationApi::class)
+    override fun transactionSaveBody(transaction: Transaction, settings: CurrencySettings): JsonBody {
+        val jsonTransaction = UnifiedParsedLedgerTransaction.fromDomain(
+            transaction,
+            ApiVersionConfig.V1_32_40,
+            settings
+        )
+        return JsonBody { MoLeJson.encodeToStream(UnifiedParsedLedgerTransaction.serializer(), jsonTransaction, it) }
+    }
 }
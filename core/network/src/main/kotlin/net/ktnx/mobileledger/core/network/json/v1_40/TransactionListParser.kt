@@ -21,13 +21,14 @@ import java.io.InputStream
 import java.text.ParseException
 import kotlinx.serialization.ExperimentalSerializationApi
 import kotlinx.serialization.json.decodeToSequence
+import net.ktnx.mobileledger.core.common.utils.NameDictionary
 import net.ktnx.mobileledger.core.domain.model.Transaction
 import net.ktnx.mobileledger.core.network.json.MoLeJson
 import net.ktnx.mobileledger.core.network.json.TransactionListParser as BaseParser
 import net.ktnx.mobileledger.core.network.json.unified.UnifiedParsedLedgerTransaction
 
 @OptIn(ExperimentalSerializationApi::class)
-class TransactionListParser(input: InputStream) : BaseParser() {
+class TransactionListParser(input: InputStream, private val names: NameDictionary = NameDictionary()) : BaseParser() {
     private val iterator: Iterator<UnifiedParsedLedgerTransaction>
 
     init {
@@ -35,5 +36,6 @@ class TransactionListParser(input: InputStream) : BaseParser() {
     }
 
     @Throws(ParseException::class)
-    override fun nextTransactionDomain(): Transaction? = if (iterator.hasNext()) iterator.next().toDomain() else null
+    override fun nextTransactionDomain(): Transaction? =
+        if (iterator.hasNext()) iterator.next().toDomain(names) else null
 }
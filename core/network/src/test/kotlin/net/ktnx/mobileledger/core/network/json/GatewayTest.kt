@@ -17,8 +17,10 @@
 
 package net.ktnx.mobileledger.core.network.json
 
+import java.io.ByteArrayOutputStream
 import net.ktnx.mobileledger.core.common.utils.SimpleDate
 import net.ktnx.mobileledger.core.domain.model.API
+import net.ktnx.mobileledger.core.domain.model.Amount
 import net.ktnx.mobileledger.core.domain.model.CurrencyPosition
 import net.ktnx.mobileledger.core.domain.model.CurrencySettings
 import net.ktnx.mobileledger.core.domain.model.Transaction
@@ -34,7 +36,7 @@ import org.junit.Test
  *
  * Tests verify:
  * - Gateway factory returns correct implementation for each API version
- * - Transaction serialization produces valid JSON
+ * - Transaction serialization produces valid JSON, as a String and as a streamed body
  * - CurrencySettings are correctly applied to serialized output
  */
 class GatewayTest {
@@ -83,6 +85,19 @@ class GatewayTest {
         assertTrue(json.contains("\"tpostings\""))
     }
 
+    @Test
+    fun `transactionSaveBody writes the same document as transactionSaveRequest`() {
+        val transaction = createTestTransaction()
+
+        for (api in listOf(API.v1_32, API.v1_40, API.v1_50)) {
+            val gateway = Gateway.forApiVersion(api)
+            val output = ByteArrayOutputStream()
+            gateway.transactionSaveBody(transaction).writeTo(output)
+
+            assertEquals(gateway.transactionSaveRequest(transaction), output.toString(Charsets.UTF_8.name()))
+        }
+    }
+
     @Test
     fun `v1_40 Gateway serializes transaction to valid JSON`() {
         val gateway = Gateway.forApiVersion(API.v1_40)
@@ -292,8 +307,8 @@ class GatewayTest {
         val parsed = MoLeJson.decodeFromString<UnifiedParsedLedgerTransaction>(json)
         val restored = parsed.toDomain()
 
-        assertEquals(100.0f, restored.lines[0].amount!!, 0.01f)
-        assertEquals(-100.0f, restored.lines[1].amount!!, 0.01f)
+        assertEquals(Amount.of(100), restored.lines[0].amount)
+        assertEquals(Amount.of(-100), restored.lines[1].amount)
     }
 
     // ========================================
@@ -371,8 +386,8 @@ class GatewayTest {
             description = "Test",
             comment = null,
             lines = listOf(
-                TransactionLine(null, "Assets:Bank", 100f, "USD", null),
-                TransactionLine(null, "", -100f, "USD", null)
+                TransactionLine(null, "Assets:Bank", Amount.of(100), "USD", null),
+                TransactionLine(null, "", Amount.of(-100), "USD", null)
             )
         )
 
@@ -431,8 +446,8 @@ class GatewayTest {
         description = "Test transaction",
         comment = null,
         lines = listOf(
-            TransactionLine(null, "Assets:Bank", 100f, "USD", null),
-            TransactionLine(null, "Expenses:Food", -100f, "USD", null)
+            TransactionLine(null, "Assets:Bank", Amount.of(100), "USD", null),
+            TransactionLine(null, "Expenses:Food", Amount.of(-100), "USD", null)
         )
     )
 }
@@ -17,6 +17,7 @@
 
 package net.ktnx.mobileledger.core.network.json
 
+import net.ktnx.mobileledger.core.domain.model.Amount
 import net.ktnx.mobileledger.core.domain.model.AmountStyle
 import org.junit.Assert.assertEquals
 import org.junit.Assert.assertNull
@@ -117,7 +118,7 @@ class ParsedLedgerAccountBaseTest {
 
         assertEquals(1, domain.amounts.size)
         assertEquals("USD", domain.amounts[0].currency)
-        assertEquals(100.50f, domain.amounts[0].amount, 0.01f)
+        assertEquals(Amount.parse("100.50"), domain.amounts[0].amount)
     }
 
     @Test
@@ -136,8 +137,8 @@ class ParsedLedgerAccountBaseTest {
         assertEquals(2, domain.amounts.size)
         val usd = domain.amounts.find { it.currency == "USD" }
         val eur = domain.amounts.find { it.currency == "EUR" }
-        assertEquals(100f, usd?.amount ?: 0f, 0.01f)
-        assertEquals(50f, eur?.amount ?: 0f, 0.01f)
+        assertEquals(Amount.of(100), usd?.amount)
+        assertEquals(Amount.of(50), eur?.amount)
     }
 
     @Test
@@ -155,7 +156,7 @@ class ParsedLedgerAccountBaseTest {
 
         assertEquals(1, domain.amounts.size)
         assertEquals("USD", domain.amounts[0].currency)
-        assertEquals(150f, domain.amounts[0].amount, 0.01f)
+        assertEquals(Amount.of(150), domain.amounts[0].amount)
     }
 
     @Test
@@ -181,7 +182,7 @@ class ParsedLedgerAccountBaseTest {
 
         val domain = account.toDomain()
 
-        assertEquals(-100f, domain.amounts[0].amount, 0.01f)
+        assertEquals(Amount.of(-100), domain.amounts[0].amount)
     }
 
     @Test
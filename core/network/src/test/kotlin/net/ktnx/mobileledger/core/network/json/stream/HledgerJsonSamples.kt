@@ -0,0 +1,120 @@
+/*
+ * Copyright © 2026 Damyan Ivanov.
+ * This file is part of MoLe.
+ * MoLe is free software: you can distribute it and/or modify it
+ * under the term of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your opinion), any later version.
+ *
+ * MoLe is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License terms for details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MoLe. If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.ktnx.mobileledger.core.network.json.stream
+
+import net.ktnx.mobileledger.core.domain.model.API
+
+/**
+ * hledger-web style JSON documents for parser tests and benchmarks.
+ */
+object HledgerJsonSamples {
+
+    /**
+     * A transaction list of [count] transactions in the format of [api], with the fields
+     * hledger-web emits, escapes, non-ASCII text, balance assertions and multi-amount postings.
+     */
+    fun transactions(count: Int, api: API = API.v1_50): String = buildString {
+        append('[')
+        for (i in 1..count) {
+            if (i > 1) append(',')
+            appendTransaction(i, api)
+        }
+        append(']')
+    }
+
+    /**
+     * An account list of [count] accounts in the format of [api], including the root account.
+     */
+    fun accounts(count: Int, api: API = API.v1_50): String = buildString {
+        append('[')
+        appendAccount("root", 0, api)
+        for (i in 1..count) {
+            append(',')
+            appendAccount("Assets:Bank:Account $i", i, api)
+        }
+        append(']')
+    }
+
+    private fun StringBuilder.appendTransaction(index: Int, api: API) {
+        val sourcePos = """{"sourceName":"/data/ledger.journal","sourceLine":${index * 4},"sourceColumn":1}"""
+        append("""{"tcode":"","tcomment":"${if (index % 3 == 0) "  note é \\\"$index\\\"\\n" else ""}",""")
+        append(""""tdate":"2024-${pad(index % 12 + 1)}-${pad(index % 28 + 1)}","tdate2":null,""")
+        append(""""tdescription":"Shop 日本 $index \u00e9","tindex":$index,"tpostings":[""")
+        appendPosting(index, "Expenses:Food:Item ${index % 40}", index * 125L, "€", withAssertion = index % 5 == 0)
+        append(',')
+        appendPosting(index, "Assets:Cash", -index * 125L, "€", withAssertion = false)
+        if (index % 7 == 0) {
+            append(',')
+            appendPosting(index, "Equity:Rounding", 0L, "USD", withAssertion = false, secondAmount = true)
+        }
+        append("""],"tprecedingcomment":"","tsourcepos":""")
+        if (api == API.v1_50) append("[$sourcePos,$sourcePos]") else append(sourcePos)
+        append(""","tstatus":"Cleared","ttags":[["tag","value $index"]]}""")
+    }
+
+    private fun StringBuilder.appendPosting(
+        index: Int,
+        account: String,
+        mantissa: Long,
+        commodity: String,
+        withAssertion: Boolean,
+        secondAmount: Boolean = false
+    ) {
+        append("""{"paccount":"$account","pamount":[""")
+        appendAmount(commodity, mantissa)
+        if (secondAmount) {
+            append(',')
+            appendAmount("EUR", 1)
+        }
+        append("""],"pbalanceassertion":""")
+        if (withAssertion) {
+            append("""{"baamount":""")
+            appendAmount(commodity, mantissa)
+            append(""","batotal":false,"bainclusive":false,""")
+            append(""""baposition":{"sourceName":"f","sourceLine":1,"sourceColumn":1}}""")
+        } else {
+            append("null")
+        }
+        append(""","pcomment":"${if (index % 4 == 0) " posting comment " else ""}",""")
+        append(""""pdate":null,"pdate2":null,"poriginal":null,"pstatus":"Unmarked","ptags":[],""")
+        append(""""ptransaction_":"$index","ptype":"RegularPosting"}""")
+    }
+
+    private fun StringBuilder.appendAmount(commodity: String, mantissa: Long) {
+        append("""{"acommodity":"$commodity","aismultiplier":false,"acost":null,""")
+        append(""""aquantity":{"decimalMantissa":$mantissa,"decimalPlaces":2,"floatingPoint":${mantissa / 100.0}},""")
+        append(""""astyle":{"ascommodityside":"R","ascommodityspaced":true,"asdecimalmark":",",""")
+        append(""""asdigitgroups":[".",[3]],"asprecision":2,"asrounding":"NoRounding"}}""")
+    }
+
+    private fun StringBuilder.appendAccount(name: String, index: Int, api: API) {
+        val balance = """[{"acommodity":"EUR","aquantity":{"decimalMantissa":${index * 1000 + 5},""" +
+            """"decimalPlaces":2,"floatingPoint":0},"aismultiplier":false,"astyle":null},""" +
+            """{"acommodity":"EUR","aquantity":{"decimalMantissa":1,"decimalPlaces":0},"astyle":null}]"""
+        append("""{"aname":"$name","adeclarationinfo":{"file":"f.journal","line":$index},""")
+        append(""""aparent_":"root","asubs_":[],"aboring":false,""")
+        if (api == API.v1_50) {
+            append(""""adata":{"pdperiods":[["0000-01-01",{"bdincludingsubs":$balance,""")
+            append(""""bdexcludingsubs":$balance,"bdnumpostings":$index}]],""")
+            append(""""pdpre":{"bdincludingsubs":[],"bdexcludingsubs":[],"bdnumpostings":0}}}""")
+        } else {
+            append(""""anumpostings":$index,"aebalance":$balance,"aibalance":$balance}""")
+        }
+    }
+
+    private fun pad(value: Int) = value.toString().padStart(2, '0')
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright © 2026 Damyan Ivanov.
+ * This file is part of MoLe.
+ * MoLe is free software: you can distribute it and/or modify it
+ * under the term of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your opinion), any later version.
+ *
+ * MoLe is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License terms for details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MoLe. If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.ktnx.mobileledger.core.network.json.stream
+
+import kotlinx.serialization.SerializationException
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNull
+import org.junit.Test
+
+/**
+ * Unit tests for [JsonArraySplitter].
+ *
+ * Tests verify:
+ * - Element boundaries with nested values, strings, escapes and non-ASCII text
+ * - Chunks independent of the read buffer size
+ * - Rejection of documents that are not a well-formed array
+ */
+class JsonArraySplitterTest {
+
+    private fun split(json: String, maxElements: Int, bufferSize: Int = 64): List<String> {
+        val splitter = JsonArraySplitter(json.byteInputStream(), bufferSize)
+        return generateSequence { splitter.nextChunk(maxElements)?.toString(Charsets.UTF_8) }.toList()
+    }
+
+    @Test
+    fun `splits objects into chunks`() {
+        val chunks = split("""[{"a":1}, {"b":[2,3]} ,{"c":{"d":4}}]""", 2)
+        assertEquals(listOf("""[{"a":1},{"b":[2,3]} ]""", """[{"c":{"d":4}}]"""), chunks)
+    }
+
+    @Test
+    fun `ignores brackets and commas inside strings`() {
+        val json = """[{"a":"x,]}\"[{"},{"b":"\\"},{"c":"日本, é"}]"""
+        val chunks = split(json, 1)
+        assertEquals(
+            listOf("""[{"a":"x,]}\"[{"}]""", """[{"b":"\\"}]""", """[{"c":"日本, é"}]"""),
+            chunks
+        )
+    }
+
+    @Test
+    fun `chunks do not depend on the buffer size`() {
+        val json = HledgerJsonSamples.transactions(30)
+        val expected = split(json, 7, bufferSize = json.length * 4)
+        for (bufferSize in listOf(1, 2, 3, 17, 1000)) {
+            assertEquals(expected, split(json, 7, bufferSize))
+        }
+        assertEquals(5, expected.size)
+    }
+
+    @Test
+    fun `empty array yields no chunks`() {
+        assertEquals(emptyList<String>(), split(" [ ] ", 10))
+    }
+
+    @Test
+    fun `returns null after the end of the array`() {
+        val splitter = JsonArraySplitter("[1]".byteInputStream())
+        assertEquals("[1]", splitter.nextChunk(10)?.toString(Charsets.UTF_8))
+        assertNull(splitter.nextChunk(10))
+        assertNull(splitter.nextChunk(10))
+    }
+
+    @Test(expected = SerializationException::class)
+    fun `rejects a document that is not an array`() {
+        split("""{"a":1}""", 10)
+    }
+
+    @Test(expected = SerializationException::class)
+    fun `rejects an unterminated array`() {
+        split("""[{"a":1},{"b":""", 10)
+    }
+
+    @Test(expected = SerializationException::class)
+    fun `rejects a trailing comma`() {
+        split("[1,2,]", 10)
+    }
+
+    @Test(expected = SerializationException::class)
+    fun `rejects data after the array`() {
+        split("[1] 2", 10)
+    }
+}
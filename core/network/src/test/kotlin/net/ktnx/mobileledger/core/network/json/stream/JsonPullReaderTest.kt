@@ -0,0 +1,270 @@
+/*
+ * Copyright © 2026 Damyan Ivanov.
+ * This file is part of MoLe.
+ * MoLe is free software: you can distribute it and/or modify it
+ * under the term of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your opinion), any later version.
+ *
+ * MoLe is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License terms for details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MoLe. If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.ktnx.mobileledger.core.network.json.stream
+
+import java.io.StringReader
+import kotlinx.serialization.SerializationException
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertTrue
+import org.junit.Test
+
+/**
+ * Unit tests for [JsonPullReader].
+ *
+ * Tests verify:
+ * - Tokenizing of all value types
+ * - Key selection and skipping of unneeded values
+ * - Strings and numbers crossing the end of the buffer
+ * - Syntax error reporting
+ */
+class JsonPullReaderTest {
+
+    private fun reader(json: String, bufferSize: Int = JsonPullReader.DEFAULT_BUFFER_SIZE) =
+        JsonPullReader(StringReader(json), bufferSize)
+
+    // ========================================
+    // Token tests
+    // ========================================
+
+    @Test
+    fun `reads all value types`() {
+        val reader = reader("""[ "text", -42, true, false, null, {}, [] ]""")
+
+        reader.beginArray()
+        assertEquals("text", reader.nextString())
+        assertEquals(-42L, reader.nextLong())
+        assertTrue(reader.nextBoolean())
+        assertFalse(reader.nextBoolean())
+        assertTrue(reader.skipNull())
+        reader.beginObject()
+        reader.endObject()
+        reader.beginArray()
+        reader.endArray()
+        reader.endArray()
+        assertEquals(JsonToken.END_DOCUMENT, reader.peek())
+    }
+
+    @Test
+    fun `peek reports token types`() {
+        val reader = reader("""{"a":[1,"x",null,false]}""")
+
+        assertEquals(JsonToken.BEGIN_OBJECT, reader.peek())
+        reader.beginObject()
+        assertEquals(JsonToken.NAME, reader.peek())
+        assertEquals("a", reader.nextName())
+        assertEquals(JsonToken.BEGIN_ARRAY, reader.peek())
+        reader.beginArray()
+        assertEquals(JsonToken.NUMBER, reader.peek())
+        reader.skipValue()
+        assertEquals(JsonToken.STRING, reader.peek())
+        reader.skipValue()
+        assertEquals(JsonToken.NULL, reader.peek())
+        reader.skipValue()
+        assertEquals(JsonToken.BOOLEAN, reader.peek())
+        reader.skipValue()
+        assertEquals(JsonToken.END_ARRAY, reader.peek())
+    }
+
+    @Test
+    fun `skipNull leaves other values in place`() {
+        val reader = reader("[1]")
+
+        reader.beginArray()
+        assertFalse(reader.skipNull())
+        assertEquals(1, reader.nextInt())
+    }
+
+    // ========================================
+    // Name selection tests
+    // ========================================
+
+    @Test
+    fun `selectName returns index of known keys and -1 otherwise`() {
+        val names = JsonPullReader.Names("first", "second")
+        val reader = reader("""{"second":2,"other":{"x":[1,2]},"first":1}""")
+
+        reader.beginObject()
+        assertEquals(1, reader.selectName(names))
+        assertEquals(2, reader.nextInt())
+        assertEquals(-1, reader.selectName(names))
+        reader.skipValue()
+        assertEquals(0, reader.selectName(names))
+        assertEquals(1, reader.nextInt())
+        assertFalse(reader.hasNext())
+        reader.endObject()
+    }
+
+    @Test
+    fun `selectName matches escaped keys`() {
+        val reader = reader("""{"n\u0061me":1}""")
+
+        reader.beginObject()
+        assertEquals(0, reader.selectName(JsonPullReader.Names("name")))
+    }
+
+    // ========================================
+    // skipValue tests
+    // ========================================
+
+    @Test
+    fun `skipValue skips nested structures`() {
+        val reader = reader("""[{"a":[{"b":"]}"},[[],{}]],"c":null},"next"]""")
+
+        reader.beginArray()
+        reader.skipValue()
+        assertEquals("next", reader.nextString())
+        reader.endArray()
+    }
+
+    // ========================================
+    // String tests
+    // ========================================
+
+    @Test
+    fun `nextString decodes escapes`() {
+        val reader = reader("""["a\"b\\c\/d\n\té日"]""")
+
+        reader.beginArray()
+        assertEquals("a\"b\\c/d\n\té日", reader.nextString())
+    }
+
+    @Test
+    fun `strings may cross the end of the buffer`() {
+        val long = "x".repeat(100) + "日本" + "y".repeat(50)
+        val reader = reader("""[{"key":"$long","escaped":"${"\\n".repeat(40)}"}]""", bufferSize = 16)
+
+        reader.beginArray()
+        reader.beginObject()
+        assertEquals("key", reader.nextName())
+        assertEquals(long, reader.nextString())
+        assertEquals("escaped", reader.nextName())
+        assertEquals("\n".repeat(40), reader.nextString())
+        reader.endObject()
+        reader.endArray()
+    }
+
+    @Test
+    fun `nextString with decoder sees the string value in and beyond the buffer`() {
+        val reader = reader("""["2024-03-05","a\"b","${"z".repeat(40)}"]""", bufferSize = 16)
+
+        reader.beginArray()
+        assertEquals(10, reader.nextString { it.length })
+        assertEquals("a\"b", reader.nextString { it.toString() })
+        assertEquals("z".repeat(40), reader.nextString { it.toString() })
+        reader.endArray()
+    }
+
+    @Test
+    fun `nextString returns numbers as written`() {
+        val reader = reader("[12.50]")
+
+        reader.beginArray()
+        assertEquals("12.50", reader.nextString())
+    }
+
+    // ========================================
+    // Number tests
+    // ========================================
+
+    @Test
+    fun `nextLong reads extreme values`() {
+        val reader = reader("[9223372036854775807,-9223372036854775808]", bufferSize = 8)
+
+        reader.beginArray()
+        assertEquals(Long.MAX_VALUE, reader.nextLong())
+        assertEquals(Long.MIN_VALUE, reader.nextLong())
+    }
+
+    @Test
+    fun `nextLong accepts quoted numbers`() {
+        val reader = reader("""["123"]""")
+
+        reader.beginArray()
+        assertEquals(123L, reader.nextLong())
+    }
+
+    @Test(expected = SerializationException::class)
+    fun `nextLong rejects overflow`() {
+        val reader = reader("[9223372036854775808]")
+
+        reader.beginArray()
+        reader.nextLong()
+    }
+
+    @Test(expected = SerializationException::class)
+    fun `nextLong rejects fractions`() {
+        val reader = reader("[1.5]")
+
+        reader.beginArray()
+        reader.nextLong()
+    }
+
+    @Test(expected = SerializationException::class)
+    fun `nextInt rejects values out of Int range`() {
+        val reader = reader("[3000000000]")
+
+        reader.beginArray()
+        reader.nextInt()
+    }
+
+    // ========================================
+    // Syntax error tests
+    // ========================================
+
+    @Test(expected = SerializationException::class)
+    fun `rejects trailing comma in array`() {
+        val reader = reader("[1,]")
+
+        reader.beginArray()
+        reader.skipValue()
+        reader.skipValue()
+    }
+
+    @Test(expected = SerializationException::class)
+    fun `rejects missing colon`() {
+        val reader = reader("""{"a" 1}""")
+
+        reader.beginObject()
+        reader.nextName()
+        reader.skipValue()
+    }
+
+    @Test(expected = SerializationException::class)
+    fun `rejects unterminated string`() {
+        val reader = reader("""["abc""")
+
+        reader.beginArray()
+        reader.nextString()
+    }
+
+    @Test(expected = SerializationException::class)
+    fun `rejects wrong token type`() {
+        val reader = reader("""{"a":1}""")
+
+        reader.beginArray()
+    }
+
+    @Test(expected = SerializationException::class)
+    fun `rejects data after the document`() {
+        val reader = reader("[] []")
+
+        reader.beginArray()
+        reader.endArray()
+        reader.peek()
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright © 2026 Damyan Ivanov.
+ * This file is part of MoLe.
+ * MoLe is free software: you can distribute it and/or modify it
+ * under the term of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your opinion), any later version.
+ *
+ * MoLe is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License terms for details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MoLe. If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.ktnx.mobileledger.core.network.json.stream
+
+import java.util.Collections
+import java.util.IdentityHashMap
+import net.ktnx.mobileledger.core.domain.model.API
+import net.ktnx.mobileledger.core.domain.model.Transaction
+import net.ktnx.mobileledger.core.network.json.TransactionListParser
+import org.junit.Assert.assertTrue
+import org.junit.Test
+
+/**
+ * Retained heap of a decoded transaction list with and without interned names.
+ *
+ * Decodes a generated hledger-web response and compares the heap held by the result with
+ * that of a copy in which every posting owns its account name and commodity, as the decoders
+ * produced them before names were interned. Heap figures depend on the collector and are only
+ * printed; the assertion is on the number of distinct String instances.
+ */
+class NameInterningBenchmark {
+
+    @Test
+    fun `interned names reduce retained heap`() {
+        val json = HledgerJsonSamples.transactions(TRANSACTION_COUNT).toByteArray()
+
+        var interned: List<Transaction>? = null
+        val internedBytes = retainedBytes { interned = parse(json) }
+        var copied: List<Transaction>? = null
+        val copiedBytes = retainedBytes { copied = parse(json).map { it.withOwnNames() } }
+
+        val internedStrings = distinctNameInstances(interned!!)
+        val copiedStrings = distinctNameInstances(copied!!)
+        println("interned %,12d bytes retained %,8d name instances".format(internedBytes, internedStrings))
+        println("copied   %,12d bytes retained %,8d name instances".format(copiedBytes, copiedStrings))
+
+        assertTrue(internedStrings * 10 < copiedStrings)
+    }
+
+    private fun parse(json: ByteArray): List<Transaction> {
+        val parser = TransactionListParser.forApiVersion(API.v1_50, json.inputStream())
+        return generateSequence { parser.nextTransactionDomain() }.toList()
+    }
+
+    private fun Transaction.withOwnNames() = copy(
+        lines = lines.map { line ->
+            line.copy(
+                accountName = String(line.accountName.toCharArray()),
+                currency = String(line.currency.toCharArray())
+            )
+        }
+    )
+
+    private fun distinctNameInstances(transactions: List<Transaction>): Int {
+        val seen = Collections.newSetFromMap(IdentityHashMap<String, Boolean>())
+        for (transaction in transactions) {
+            for (line in transaction.lines) {
+                seen.add(line.accountName)
+                seen.add(line.currency)
+            }
+        }
+        return seen.size
+    }
+
+    /** Growth of the used heap across [block], measured after full collections */
+    private inline fun retainedBytes(block: () -> Unit): Long {
+        val before = usedHeap()
+        block()
+        return usedHeap() - before
+    }
+
+    private fun usedHeap(): Long {
+        val runtime = Runtime.getRuntime()
+        repeat(GC_ROUNDS) {
+            System.gc()
+            Thread.sleep(GC_PAUSE_MILLIS)
+        }
+        return runtime.totalMemory() - runtime.freeMemory()
+    }
+
+    companion object {
+        private const val TRANSACTION_COUNT = 20_000
+        private const val GC_ROUNDS = 3
+        private const val GC_PAUSE_MILLIS = 50L
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright © 2026 Damyan Ivanov.
+ * This file is part of MoLe.
+ * MoLe is free software: you can distribute it and/or modify it
+ * under the term of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your opinion), any later version.
+ *
+ * MoLe is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License terms for details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MoLe. If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.ktnx.mobileledger.core.network.json.stream
+
+import java.text.ParseException
+import kotlinx.coroutines.test.runTest
+import net.ktnx.mobileledger.core.domain.model.API
+import net.ktnx.mobileledger.core.domain.model.Transaction
+import net.ktnx.mobileledger.core.network.json.TransactionListParser
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertTrue
+import org.junit.Test
+
+/**
+ * Unit tests for [ParallelTransactionListParser].
+ *
+ * Tests verify:
+ * - Results identical to the sequential streaming parser, in the same order
+ * - Propagation of decoding errors from the decoding coroutines
+ */
+class ParallelTransactionListParserTest {
+
+    private fun parseSequential(json: String, api: API = API.v1_50): List<Transaction> {
+        val parser = TransactionListParser.forApiVersion(api, json.byteInputStream())
+        return generateSequence { parser.nextTransactionDomain() }.toList()
+    }
+
+    private suspend fun parseParallel(json: String, api: API = API.v1_50, parallelism: Int = 4): List<Transaction> {
+        val transactions = ArrayList<Transaction>()
+        ParallelTransactionListParser(json.byteInputStream(), api, parallelism).parse { transactions.addAll(it) }
+        return transactions
+    }
+
+    @Test
+    fun `matches sequential parser in document order`() = runTest {
+        val count = ParallelTransactionListParser.CHUNK_SIZE * 10 + 3
+        for (api in API.allVersions) {
+            val json = HledgerJsonSamples.transactions(count, api)
+            val parallel = parseParallel(json, api)
+
+            assertEquals(count, parallel.size)
+            assertEquals(parseSequential(json, api), parallel)
+            assertEquals((1..count).map { it.toLong() }, parallel.map { it.ledgerId })
+        }
+    }
+
+    @Test
+    fun `single decoder gives the same result`() = runTest {
+        val json = HledgerJsonSamples.transactions(ParallelTransactionListParser.CHUNK_SIZE + 1)
+        assertEquals(parseParallel(json), parseParallel(json, parallelism = 1))
+    }
+
+    @Test
+    fun `chunks share no more than one dictionary per decoder`() = runTest {
+        val json = HledgerJsonSamples.transactions(ParallelTransactionListParser.CHUNK_SIZE * 8)
+        val cashNames = parseParallel(json, parallelism = 2)
+            .map { tr -> tr.lines.first { it.accountName == "Assets:Cash" }.accountName }
+
+        assertTrue(cashNames.distinctBy { System.identityHashCode(it) }.size <= 2)
+    }
+
+    @Test
+    fun `empty list returns no transactions`() = runTest {
+        assertTrue(parseParallel("[]").isEmpty())
+    }
+
+    @Test(expected = ParseException::class)
+    fun `decoding error is rethrown to the caller`() = runTest {
+        val valid = HledgerJsonSamples.transactions(ParallelTransactionListParser.CHUNK_SIZE * 3)
+        parseParallel(valid.dropLast(1) + """,{"tdescription":"No date","tindex":0}]""")
+    }
+
+    @Test(expected = ParseException::class)
+    fun `list of another API version is rejected`() = runTest {
+        parseParallel(HledgerJsonSamples.transactions(ParallelTransactionListParser.CHUNK_SIZE, API.v1_40))
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright © 2026 Damyan Ivanov.
+ * This file is part of MoLe.
+ * MoLe is free software: you can distribute it and/or modify it
+ * under the term of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your opinion), any later version.
+ *
+ * MoLe is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License terms for details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MoLe. If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.ktnx.mobileledger.core.network.json.stream
+
+import java.text.ParseException
+import net.ktnx.mobileledger.core.domain.model.API
+import net.ktnx.mobileledger.core.domain.model.Account
+import net.ktnx.mobileledger.core.domain.model.AccountAmount
+import net.ktnx.mobileledger.core.domain.model.Amount
+import net.ktnx.mobileledger.core.network.json.AccountListParser
+import net.ktnx.mobileledger.core.network.json.ParserEngine
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertTrue
+import org.junit.Test
+
+/**
+ * Unit tests for [StreamingAccountListParser].
+ *
+ * Tests verify:
+ * - Results identical to the kotlinx parsers for every API version
+ * - Balance extraction from aibalance and adata
+ * - Skipping of the root account
+ * - Rejection of lists written by another API version
+ */
+class StreamingAccountListParserTest {
+
+    private fun parseAll(json: String, api: API, engine: ParserEngine = ParserEngine.STREAMING): List<Account> {
+        val parser = AccountListParser.forApiVersion(api, json.byteInputStream(), engine)
+        return generateSequence { parser.nextAccountDomain() }.toList()
+    }
+
+    // ========================================
+    // Equivalence tests
+    // ========================================
+
+    @Test
+    fun `forApiVersion uses streaming parser by default`() {
+        val parser = AccountListParser.forApiVersion(API.v1_50, "[]".byteInputStream())
+        assertTrue(parser is StreamingAccountListParser)
+        assertEquals(API.v1_50, parser.apiVersion)
+    }
+
+    @Test
+    fun `matches kotlinx parser for all API versions`() {
+        for (api in API.allVersions) {
+            val json = HledgerJsonSamples.accounts(30, api)
+
+            val expected = parseAll(json, api, ParserEngine.KOTLINX)
+            val actual = parseAll(json, api)
+
+            assertEquals(30, actual.size)
+            assertEquals("API ${api.description}", expected, actual)
+        }
+    }
+
+    // ========================================
+    // Balance tests
+    // ========================================
+
+    @Test
+    fun `reads balance from aibalance`() {
+        val json = """[{"aname":"Assets:Bank","aibalance":[
+            |{"acommodity":"USD","aquantity":{"decimalMantissa":100000,"decimalPlaces":2}},
+            |{"acommodity":"USD","aquantity":{"decimalMantissa":5,"decimalPlaces":0}}]}]
+        """.trimMargin()
+
+        val account = parseAll(json, API.v1_40).single()
+
+        assertEquals("Assets:Bank", account.name)
+        assertEquals(1, account.level)
+        assertEquals(listOf(AccountAmount("USD", Amount.of(1005))), account.amounts)
+    }
+
+    @Test
+    fun `reads balance from the first period of adata`() {
+        val json = """[{"aname":"Assets","adata":{"pdperiods":[
+            |["0000-01-01",{"bdincludingsubs":[{"acommodity":"EUR","aquantity":{"decimalMantissa":25,
+            |"decimalPlaces":1}}]}],
+            |["2024-01-01",{"bdincludingsubs":[{"acommodity":"USD","aquantity":{"decimalMantissa":1,
+            |"decimalPlaces":0}}]}]]}}]
+        """.trimMargin()
+
+        val account = parseAll(json, API.v1_50).single()
+
+        assertEquals(listOf(AccountAmount("EUR", Amount.of(25, 1))), account.amounts)
+    }
+
+    @Test
+    fun `falls back to aibalance when adata has no balance`() {
+        val json = """[{"aname":"Assets","adata":{"pdperiods":[["0000-01-01",{"bdincludingsubs":[]}]]},
+            |"aibalance":[{"acommodity":"EUR","aquantity":{"decimalMantissa":1,"decimalPlaces":0}}]}]
+        """.trimMargin()
+
+        val account = parseAll(json, API.v1_50).single()
+
+        assertEquals(listOf(AccountAmount("EUR", Amount.of(1))), account.amounts)
+    }
+
+    @Test
+    fun `skips root account`() {
+        val json = """[{"aname":"root"},{"aname":"Assets"},{"aname":"ROOT"}]"""
+
+        val accounts = parseAll(json, API.v1_32)
+
+        assertEquals(listOf("Assets"), accounts.map { it.name })
+    }
+
+    // ========================================
+    // API version tests
+    // ========================================
+
+    @Test
+    fun `rejects balances of another API version`() {
+        for (written in API.allVersions) {
+            val json = HledgerJsonSamples.accounts(3, written)
+            for (api in API.allVersions) {
+                val sameShape = (api == API.v1_50) == (written == API.v1_50)
+                val result = runCatching { parseAll(json, api) }
+
+                assertEquals("${written.description} read as ${api.description}", sameShape, result.isSuccess)
+                if (!sameShape) assertTrue(result.exceptionOrNull() is ParseException)
+            }
+        }
+    }
+}
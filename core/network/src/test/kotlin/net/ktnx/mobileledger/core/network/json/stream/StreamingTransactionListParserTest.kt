@@ -0,0 +1,169 @@
+/*
+ * Copyright © 2026 Damyan Ivanov.
+ * This file is part of MoLe.
+ * MoLe is free software: you can distribute it and/or modify it
+ * under the term of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your opinion), any later version.
+ *
+ * MoLe is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License terms for details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MoLe. If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.ktnx.mobileledger.core.network.json.stream
+
+import java.text.ParseException
+import net.ktnx.mobileledger.core.common.utils.SimpleDate
+import net.ktnx.mobileledger.core.domain.model.API
+import net.ktnx.mobileledger.core.domain.model.Amount
+import net.ktnx.mobileledger.core.domain.model.Transaction
+import net.ktnx.mobileledger.core.network.json.ParserEngine
+import net.ktnx.mobileledger.core.network.json.TransactionListParser
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertSame
+import org.junit.Assert.assertTrue
+import org.junit.Test
+
+/**
+ * Unit tests for [StreamingTransactionListParser].
+ *
+ * Tests verify:
+ * - Results identical to the kotlinx parsers for every API version
+ * - Handling of missing, null and unneeded fields
+ * - Rejection of lists written by another API version
+ */
+class StreamingTransactionListParserTest {
+
+    private fun parseAll(json: String, api: API, engine: ParserEngine): List<Transaction> {
+        val parser = TransactionListParser.forApiVersion(api, json.byteInputStream(), engine)
+        return generateSequence { parser.nextTransactionDomain() }.toList()
+    }
+
+    private fun parseStreaming(json: String): List<Transaction> = parseAll(json, API.v1_50, ParserEngine.STREAMING)
+
+    // ========================================
+    // Equivalence tests
+    // ========================================
+
+    @Test
+    fun `forApiVersion uses streaming parser by default`() {
+        val parser = TransactionListParser.forApiVersion(API.v1_40, "[]".byteInputStream())
+        assertTrue(parser is StreamingTransactionListParser)
+    }
+
+    @Test
+    fun `matches kotlinx parser for all API versions`() {
+        for (api in API.allVersions) {
+            val json = HledgerJsonSamples.transactions(50, api)
+
+            val expected = parseAll(json, api, ParserEngine.KOTLINX)
+            val actual = parseAll(json, api, ParserEngine.STREAMING)
+
+            assertEquals(50, actual.size)
+            assertEquals("API ${api.description}", expected, actual)
+        }
+    }
+
+    // ========================================
+    // Field handling tests
+    // ========================================
+
+    @Test
+    fun `reads transaction fields`() {
+        val json = """[{"tdate":"2024-03-05","tdescription":"Coffee","tcomment":"  note \n","tindex":7,
+            |"tpostings":[{"paccount":"Expenses:Coffee","pcomment":" hot ",
+            |"pamount":[{"acommodity":"EUR","aquantity":{"decimalMantissa":350,"decimalPlaces":2}},
+            |{"acommodity":"USD","aquantity":{"decimalMantissa":1,"decimalPlaces":0}}]},
+            |{"paccount":"Assets:Cash","pamount":[]}]}]
+        """.trimMargin()
+
+        val transaction = parseStreaming(json).single()
+
+        assertEquals(7L, transaction.ledgerId)
+        assertEquals(SimpleDate(2024, 3, 5), transaction.date)
+        assertEquals("Coffee", transaction.description)
+        assertEquals("note", transaction.comment)
+        assertEquals(2, transaction.lines.size)
+        assertEquals("Expenses:Coffee", transaction.lines[0].accountName)
+        assertEquals(Amount.of(35, 1), transaction.lines[0].amount)
+        assertEquals("EUR", transaction.lines[0].currency)
+        assertEquals("hot", transaction.lines[0].comment)
+        assertNull(transaction.lines[1].amount)
+        assertEquals("", transaction.lines[1].currency)
+    }
+
+    @Test
+    fun `null and missing fields use defaults`() {
+        val json = """[{"tdate":"2024-01-01","tdescription":null,"tcomment":null,"tpostings":null,"tindex":null}]"""
+
+        val transaction = parseStreaming(json).single()
+
+        assertEquals(0L, transaction.ledgerId)
+        assertEquals("", transaction.description)
+        assertNull(transaction.comment)
+        assertTrue(transaction.lines.isEmpty())
+    }
+
+    @Test(expected = ParseException::class)
+    fun `missing date throws ParseException`() {
+        parseStreaming("""[{"tdescription":"No date","tindex":1}]""")
+    }
+
+    // ========================================
+    // API version tests
+    // ========================================
+
+    @Test
+    fun `rejects source positions of another API version`() {
+        for (written in API.allVersions) {
+            val json = HledgerJsonSamples.transactions(3, written)
+            for (api in API.allVersions) {
+                val sameShape = (api == API.v1_50) == (written == API.v1_50)
+                val result = runCatching { parseAll(json, api, ParserEngine.STREAMING) }
+
+                assertEquals("${written.description} read as ${api.description}", sameShape, result.isSuccess)
+                if (!sameShape) assertTrue(result.exceptionOrNull() is ParseException)
+            }
+        }
+    }
+
+    @Test
+    fun `null source position is accepted by every API version`() {
+        val json = """[{"tdate":"2024-01-01","tsourcepos":null,"tindex":1}]"""
+
+        for (api in API.allVersions) {
+            assertEquals(1, parseAll(json, api, ParserEngine.STREAMING).size)
+        }
+    }
+
+    @Test
+    fun `repeated account names and commodities share one instance`() {
+        for (engine in ParserEngine.entries) {
+            val transactions = parseAll(HledgerJsonSamples.transactions(20), API.v1_50, engine)
+            val cash = transactions.map { tr -> tr.lines.first { it.accountName == "Assets:Cash" } }
+
+            for (line in cash) {
+                assertSame(cash[0].accountName, line.accountName)
+                assertSame(cash[0].currency, line.currency)
+            }
+        }
+    }
+
+    @Test
+    fun `empty list returns no transactions`() {
+        assertTrue(parseStreaming(" [ ] ").isEmpty())
+    }
+
+    @Test
+    fun `returns null after the end of the list`() {
+        val parser = TransactionListParser.forApiVersion(API.v1_50, "[]".byteInputStream())
+
+        assertNull(parser.nextTransactionDomain())
+        assertNull(parser.nextTransactionDomain())
+    }
+}
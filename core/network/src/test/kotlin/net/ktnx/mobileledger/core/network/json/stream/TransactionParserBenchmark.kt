@@ -0,0 +1,120 @@
+/*
+ * Copyright © 2026 Damyan Ivanov.
+ * This file is part of MoLe.
+ * MoLe is free software: you can distribute it and/or modify it
+ * under the term of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your opinion), any later version.
+ *
+ * MoLe is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License terms for details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MoLe. If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.ktnx.mobileledger.core.network.json.stream
+
+import java.lang.management.ManagementFactory
+import kotlinx.coroutines.runBlocking
+import net.ktnx.mobileledger.core.domain.model.API
+import net.ktnx.mobileledger.core.network.json.ParserEngine
+import net.ktnx.mobileledger.core.network.json.TransactionListParser
+import org.junit.Assert.assertTrue
+import org.junit.Test
+
+/**
+ * Throughput and allocation benchmark of the transaction list parsers.
+ *
+ * Decodes the same generated hledger-web response with both [ParserEngine]s and prints the
+ * transactions per second and the bytes allocated per transaction. A second test prints the
+ * throughput of the parallel streaming decoder by number of threads. Allocation is measured
+ * with the HotSpot per-thread allocation counter, so the numbers are only meaningful on a
+ * HotSpot JVM; the assertion is skipped elsewhere.
+ */
+class TransactionParserBenchmark {
+
+    private class Result(val transactionsPerSecond: Double, val bytesPerTransaction: Double)
+
+    @Test
+    fun `streaming parser allocates less than kotlinx parser`() {
+        val json = HledgerJsonSamples.transactions(TRANSACTION_COUNT).toByteArray()
+
+        val kotlinx = measure(json, ParserEngine.KOTLINX)
+        val streaming = measure(json, ParserEngine.STREAMING)
+
+        for ((engine, result) in listOf("kotlinx" to kotlinx, "streaming" to streaming)) {
+            println(
+                "%-9s %,10.0f transactions/s %,8.0f bytes/transaction"
+                    .format(engine, result.transactionsPerSecond, result.bytesPerTransaction)
+            )
+        }
+
+        if (kotlinx.bytesPerTransaction > 0) {
+            assertTrue(streaming.bytesPerTransaction < kotlinx.bytesPerTransaction)
+        }
+    }
+
+    @Test
+    fun `parallel decoding speeds up with threads`() {
+        val json = HledgerJsonSamples.transactions(TRANSACTION_COUNT * PARALLEL_SCALE).toByteArray()
+        val threads = listOf(1, 2, 4).filter { it <= Runtime.getRuntime().availableProcessors() }
+
+        val rates = threads.associateWith { parallelism ->
+            repeat(WARMUP_ROUNDS) { parseParallel(json, parallelism) }
+            val start = System.nanoTime()
+            repeat(MEASURED_ROUNDS) { parseParallel(json, parallelism) }
+            val seconds = (System.nanoTime() - start) / 1e9
+            TRANSACTION_COUNT.toDouble() * PARALLEL_SCALE * MEASURED_ROUNDS / seconds
+        }
+
+        for ((parallelism, rate) in rates) {
+            println(
+                "%d thread(s) %,10.0f transactions/s %5.2fx"
+                    .format(parallelism, rate, rate / rates.getValue(1))
+            )
+        }
+    }
+
+    private fun measure(json: ByteArray, engine: ParserEngine): Result {
+        repeat(WARMUP_ROUNDS) { parse(json, engine) }
+
+        val allocatedBefore = allocatedBytes()
+        val start = System.nanoTime()
+        repeat(MEASURED_ROUNDS) { parse(json, engine) }
+        val seconds = (System.nanoTime() - start) / 1e9
+        val allocated = allocatedBytes() - allocatedBefore
+
+        val transactions = TRANSACTION_COUNT.toDouble() * MEASURED_ROUNDS
+        return Result(transactions / seconds, allocated / transactions)
+    }
+
+    private fun parse(json: ByteArray, engine: ParserEngine) {
+        val parser = TransactionListParser.forApiVersion(API.v1_50, json.inputStream(), engine)
+        var count = 0
+        while (parser.nextTransactionDomain() != null) count++
+        check(count % TRANSACTION_COUNT == 0)
+    }
+
+    private fun parseParallel(json: ByteArray, parallelism: Int) = runBlocking {
+        var count = 0
+        ParallelTransactionListParser(json.inputStream(), API.v1_50, parallelism).parse { count += it.size }
+        check(count % TRANSACTION_COUNT == 0)
+    }
+
+    /** Bytes allocated by the current thread so far, or 0 when the JVM cannot tell */
+    private fun allocatedBytes(): Long {
+        val bean = ManagementFactory.getThreadMXBean() as? com.sun.management.ThreadMXBean ?: return 0
+        return bean.getThreadAllocatedBytes(Thread.currentThread().id).coerceAtLeast(0)
+    }
+
+    companion object {
+        private const val TRANSACTION_COUNT = 5_000
+        private const val WARMUP_ROUNDS = 3
+        private const val MEASURED_ROUNDS = 5
+
+        /** The parallel benchmark decodes a larger list, so that splitting has enough to work with */
+        private const val PARALLEL_SCALE = 4
+    }
+}
@@ -17,6 +17,7 @@
 
 package net.ktnx.mobileledger.core.network.json.unified
 
+import net.ktnx.mobileledger.core.domain.model.Amount
 import net.ktnx.mobileledger.core.domain.model.AmountStyle
 import org.junit.Assert.assertEquals
 import org.junit.Assert.assertFalse
@@ -64,7 +65,7 @@ class UnifiedParsedLedgerAccountTest {
 
         assertEquals(1, balances.size)
         assertEquals("USD", balances[0].commodity)
-        assertEquals(1000.00f, balances[0].amount, 0.01f)
+        assertEquals(Amount.parse("1000.00"), balances[0].amount)
     }
 
     @Test
@@ -80,8 +81,8 @@ class UnifiedParsedLedgerAccountTest {
         val balances = account.getSimpleBalance()
 
         assertEquals(2, balances.size)
-        assertTrue(balances.any { it.commodity == "USD" && it.amount == 1000.00f })
-        assertTrue(balances.any { it.commodity == "EUR" && it.amount == 500.00f })
+        assertTrue(balances.any { it.commodity == "USD" && it.amount == Amount.of(1000) })
+        assertTrue(balances.any { it.commodity == "EUR" && it.amount == Amount.of(500) })
     }
 
     @Test
@@ -173,8 +174,8 @@ class UnifiedParsedLedgerAccountTest {
         val domain = account.toDomain()
 
         assertEquals(2, domain.amounts.size)
-        assertTrue(domain.amounts.any { it.currency == "USD" && it.amount == 1000.00f })
-        assertTrue(domain.amounts.any { it.currency == "EUR" && it.amount == 500.00f })
+        assertTrue(domain.amounts.any { it.currency == "USD" && it.amount == Amount.of(1000) })
+        assertTrue(domain.amounts.any { it.currency == "EUR" && it.amount == Amount.of(500) })
     }
 
     @Test
@@ -191,7 +192,7 @@ class UnifiedParsedLedgerAccountTest {
 
         assertEquals(1, domain.amounts.size)
         assertEquals("USD", domain.amounts[0].currency)
-        assertEquals(1000.00f, domain.amounts[0].amount, 0.01f)
+        assertEquals(Amount.parse("1000.00"), domain.amounts[0].amount)
     }
 
     @Test
@@ -229,7 +230,7 @@ class UnifiedParsedLedgerAccountTest {
         val balance = SimpleBalance("USD", 100.0f)
 
         assertEquals("USD", balance.commodity)
-        assertEquals(100.0f, balance.amount, 0.01f)
+        assertEquals(Amount.of(100), balance.amount)
         assertNull(balance.amountStyle)
     }
 
@@ -244,7 +245,7 @@ class UnifiedParsedLedgerAccountTest {
         val balance = SimpleBalance("USD", 100.0f, style)
 
         assertEquals("USD", balance.commodity)
-        assertEquals(100.0f, balance.amount, 0.01f)
+        assertEquals(Amount.of(100), balance.amount)
         assertEquals(style, balance.amountStyle)
     }
 }
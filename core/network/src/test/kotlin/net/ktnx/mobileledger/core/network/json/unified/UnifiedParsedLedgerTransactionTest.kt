@@ -19,6 +19,7 @@ package net.ktnx.mobileledger.core.network.json.unified
 
 import java.text.ParseException
 import net.ktnx.mobileledger.core.common.utils.SimpleDate
+import net.ktnx.mobileledger.core.domain.model.Amount
 import net.ktnx.mobileledger.core.domain.model.Transaction
 import net.ktnx.mobileledger.core.domain.model.TransactionLine
 import net.ktnx.mobileledger.core.network.json.MoLeJson
@@ -290,8 +291,8 @@ class UnifiedParsedLedgerTransactionTest {
             description = "Test",
             comment = null,
             lines = listOf(
-                TransactionLine(null, "Assets:Bank", 100f, "USD", null),
-                TransactionLine(null, "Expenses:Food", -100f, "USD", null)
+                TransactionLine(null, "Assets:Bank", Amount.of(100), "USD", null),
+                TransactionLine(null, "Expenses:Food", Amount.of(-100), "USD", null)
             )
         )
 
@@ -309,8 +310,8 @@ class UnifiedParsedLedgerTransactionTest {
             description = "Test",
             comment = null,
             lines = listOf(
-                TransactionLine(null, "Assets:Bank", 100f, "USD", null),
-                TransactionLine(null, "", -100f, "USD", null)
+                TransactionLine(null, "Assets:Bank", Amount.of(100), "USD", null),
+                TransactionLine(null, "", Amount.of(-100), "USD", null)
             )
         )
 
@@ -17,6 +17,7 @@
 
 package net.ktnx.mobileledger.core.network.json.unified
 
+import net.ktnx.mobileledger.core.domain.model.Amount
 import net.ktnx.mobileledger.core.domain.model.CurrencyPosition
 import net.ktnx.mobileledger.core.domain.model.CurrencySettings
 import net.ktnx.mobileledger.core.domain.model.TransactionLine
@@ -172,7 +173,7 @@ class UnifiedParsedPostingTest {
 
         val domain = posting.toDomain()
 
-        assertEquals(100.50f, domain.amount!!, 0.01f)
+        assertEquals(Amount.parse("100.50"), domain.amount)
         assertEquals("USD", domain.currency)
     }
 
@@ -351,7 +352,7 @@ class UnifiedParsedPostingTest {
         val line = TransactionLine(
             id = null,
             accountName = "Assets:Bank",
-            amount = 100f,
+            amount = Amount.of(100),
             currency = "USD",
             comment = null
         )
@@ -366,7 +367,7 @@ class UnifiedParsedPostingTest {
         val line = TransactionLine(
             id = null,
             accountName = "Assets:Bank",
-            amount = 100.50f,
+            amount = Amount.parse("100.50"),
             currency = "USD",
             comment = null
         )
@@ -384,7 +385,7 @@ class UnifiedParsedPostingTest {
         val line = TransactionLine(
             id = null,
             accountName = "Assets:Bank",
-            amount = 100f,
+            amount = Amount.of(100),
             currency = "USD",
             comment = "Test comment"
         )
@@ -399,7 +400,7 @@ class UnifiedParsedPostingTest {
         val line = TransactionLine(
             id = null,
             accountName = "Assets:Bank",
-            amount = 100f,
+            amount = Amount.of(100),
             currency = "USD",
             comment = null
         )
@@ -536,7 +537,7 @@ class UnifiedParsedPostingTest {
         val original = TransactionLine(
             id = null,
             accountName = "Assets:Bank",
-            amount = 123.45f,
+            amount = Amount.parse("123.45"),
             currency = "EUR",
             comment = null
         )
@@ -544,7 +545,7 @@ class UnifiedParsedPostingTest {
         val posting = UnifiedParsedPosting.fromDomain(original, ApiVersionConfig.V1_32_40)
         val restored = posting.toDomain()
 
-        assertEquals(original.amount!!, restored.amount!!, 0.01f)
+        assertEquals(original.amount, restored.amount)
     }
 
     @Test
@@ -552,7 +553,7 @@ class UnifiedParsedPostingTest {
         val original = TransactionLine(
             id = null,
             accountName = "Assets:Bank",
-            amount = 100f,
+            amount = Amount.of(100),
             currency = "USD",
             comment = "Test comment"
         )
@@ -570,7 +571,7 @@ class UnifiedParsedPostingTest {
     private fun createTestLine() = TransactionLine(
         id = null,
         accountName = "Assets:Bank",
-        amount = 100f,
+        amount = Amount.of(100),
         currency = "USD",
         comment = null
     )
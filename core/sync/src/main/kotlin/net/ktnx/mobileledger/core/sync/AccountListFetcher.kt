@@ -19,6 +19,7 @@ package net.ktnx.mobileledger.core.sync
 
 import net.ktnx.mobileledger.core.domain.model.Account
 import net.ktnx.mobileledger.core.domain.model.Profile
+import net.ktnx.mobileledger.core.network.TransferStats
 
 /**
  * Interface for fetching account list from hledger server via JSON API.
@@ -42,8 +43,12 @@ interface AccountListFetcher {
  *
  * @property accounts List of fetched accounts
  * @property expectedPostingsCount Total number of postings across all accounts (for progress calculation)
+ * @property isNotModified True if the account list is unchanged since the previous sync
+ * @property transfer Network byte counts of the account list download
  */
 data class AccountFetchResult(
     val accounts: List<Account>,
-    val expectedPostingsCount: Int
+    val expectedPostingsCount: Int,
+    val isNotModified: Boolean = false,
+    val transfer: TransferStats = TransferStats()
 )
@@ -17,46 +17,94 @@
 
 package net.ktnx.mobileledger.core.sync
 
+import java.io.InputStream
 import javax.inject.Inject
 import javax.inject.Singleton
 import kotlin.coroutines.coroutineContext
 import kotlinx.coroutines.ensureActive
-import kotlinx.serialization.SerializationException
 import logcat.LogPriority
 import logcat.asLog
 import logcat.logcat
+import net.ktnx.mobileledger.core.common.utils.NameDictionary
 import net.ktnx.mobileledger.core.domain.model.API
 import net.ktnx.mobileledger.core.domain.model.Account
 import net.ktnx.mobileledger.core.domain.model.Profile
+import net.ktnx.mobileledger.core.network.CachedResponse
 import net.ktnx.mobileledger.core.network.HledgerClient
 import net.ktnx.mobileledger.core.network.NetworkAuthenticationException
 import net.ktnx.mobileledger.core.network.NetworkHttpException
 import net.ktnx.mobileledger.core.network.NetworkNotFoundException
 import net.ktnx.mobileledger.core.network.json.AccountListParser
 import net.ktnx.mobileledger.core.network.json.ApiNotSupportedException
+import net.ktnx.mobileledger.core.network.json.ParserEngine
 
 /**
  * Implementation of AccountListFetcher using HledgerClient.
+ *
+ * The API version is taken from [ApiVersionResolver]. While it is unknown, the account list is
+ * downloaded once and decoded with each candidate version in turn.
+ *
+ * Responses are decoded with the streaming parser. A response it cannot decode is decoded
+ * again with the kotlinx parsers before the sync is given up.
+ *
+ * Only the streaming parser checks that the list has the shape of the version it decodes, so a
+ * version is remembered only when that parser accepted a non-empty list with it.
  */
 @Singleton
 class AccountListFetcherImpl @Inject constructor(
-    private val hledgerClient: HledgerClient
+    private val hledgerClient: HledgerClient,
+    private val apiVersionResolver: ApiVersionResolver
 ) : AccountListFetcher {
 
     override suspend fun fetch(profile: Profile): AccountFetchResult? {
-        val apiVersion = API.valueOf(profile.apiVersion)
-        return when (apiVersion) {
-            API.auto -> fetchAnyVersion(profile)
-            API.v1_32, API.v1_40, API.v1_50 -> fetchForVersion(profile, apiVersion)
+        val candidates = apiVersionResolver.candidates(profile)
+        val resolved = candidates.singleOrNull() ?: return fetchAnyVersion(profile, candidates, isRetry = false)
+
+        try {
+            return fetchForVersion(profile, resolved)
+        } catch (e: Exception) {
+            if (!isDecodingError(e)) throw e
+            logcat(LogPriority.WARN) {
+                "Account list does not decode using API ${resolved.description}: ${e.asLog()}"
+            }
+        }
+        val versions = if (API.valueOf(profile.apiVersion) == API.auto) {
+            apiVersionResolver.invalidate(profile)
+            API.allVersions.toList()
+        } else {
+            listOf(resolved)
         }
+        return fetchAnyVersion(profile, versions, isRetry = true)
     }
 
-    private suspend fun fetchAnyVersion(profile: Profile): AccountFetchResult? {
-        for (ver in API.allVersions) {
-            try {
-                return fetchForVersion(profile, ver)
-            } catch (e: SerializationException) {
-                logcat { "Error during account list retrieval using API ${ver.description}: ${e.asLog()}" }
+    private suspend fun fetchAnyVersion(profile: Profile, versions: List<API>, isRetry: Boolean): AccountFetchResult? {
+        coroutineContext.ensureActive()
+
+        val response = request(profile) ?: return null
+        val (buffer, isUnchanged) = response.body.use { body ->
+            ResponseBuffer.readFrom(body) to response.isUnchanged()
+        }
+        buffer.use {
+            for (engine in ParserEngine.entries) {
+                for (ver in versions) {
+                    try {
+                        val result = buffer.open().use { input -> decode(input, ver, engine) }
+                        if (engine == ParserEngine.STREAMING && result.accounts.isNotEmpty()) {
+                            apiVersionResolver.remember(profile, ver)
+                        }
+                        // A retry compares against the response of the failed attempt, not the previous sync
+                        return result.copy(
+                            isNotModified = isUnchanged && !isRetry,
+                            transfer = response.transfer
+                        )
+                    } catch (e: Exception) {
+                        if (!isDecodingError(e)) throw e
+                        logcat {
+                            "Error during account list retrieval using API ${ver.description} " +
+                                "and the $engine parser: ${e.asLog()}"
+                        }
+                    }
+                }
             }
         }
         throw ApiNotSupportedException()
@@ -65,47 +113,57 @@ class AccountListFetcherImpl @Inject constructor(
     private suspend fun fetchForVersion(profile: Profile, version: API): AccountFetchResult? {
         coroutineContext.ensureActive()
 
-        val result = hledgerClient.get(profile, "accounts")
+        val response = request(profile) ?: return null
+        val result = response.body.use { body ->
+            decode(body, version, ParserEngine.STREAMING).copy(isNotModified = response.isUnchanged())
+        }
+        return result.copy(transfer = response.transfer)
+    }
 
-        return result.fold(
-            onSuccess = { inputStream ->
-                val list = ArrayList<Account>()
-                val existingNames = HashSet<String>()
-                var expectedPostingsCount = 0
+    /**
+     * Requests the account list.
+     *
+     * @return The response, or null if the server has no JSON API
+     */
+    private suspend fun request(profile: Profile): CachedResponse? = hledgerClient.getCached(profile, "accounts").fold(
+        onSuccess = { it },
+        onFailure = { error ->
+            when (error) {
+                is NetworkNotFoundException -> null
 
-                inputStream.use { resp ->
-                    coroutineContext.ensureActive()
-                    val parser = AccountListParser.forApiVersion(version, resp)
+                is NetworkAuthenticationException ->
+                    throw NetworkHttpException(401, error.message ?: "Authentication required")
 
-                    while (true) {
-                        coroutineContext.ensureActive()
-                        val acc = parser.nextAccountDomain() ?: break
-                        list.add(acc)
-                        existingNames.add(acc.name)
-                        expectedPostingsCount += acc.amounts.size
-                    }
+                is NetworkHttpException -> throw error
 
-                    logcat(LogPriority.WARN) { "Got ${list.size} accounts using protocol ${version.description}" }
-                }
+                else -> throw error
+            }
+        }
+    )
 
-                // Generate parent accounts that don't exist
-                ensureParentAccountsExist(list, existingNames)
+    private suspend fun decode(input: InputStream, version: API, engine: ParserEngine): AccountFetchResult {
+        val list = ArrayList<Account>()
+        val existingNames = HashSet<String>()
+        var expectedPostingsCount = 0
+        val names = NameDictionary()
 
-                AccountFetchResult(list, expectedPostingsCount)
-            },
-            onFailure = { error ->
-                when (error) {
-                    is NetworkNotFoundException -> null
+        coroutineContext.ensureActive()
+        val parser = AccountListParser.forApiVersion(version, input, engine, names)
+
+        while (true) {
+            coroutineContext.ensureActive()
+            val acc = parser.nextAccountDomain() ?: break
+            list.add(acc)
+            existingNames.add(acc.name)
+            expectedPostingsCount += acc.amounts.size
+        }
 
-                    is NetworkAuthenticationException ->
-                        throw NetworkHttpException(401, error.message ?: "Authentication required")
+        logcat(LogPriority.WARN) { "Got ${list.size} accounts using protocol ${version.description}" }
 
-                    is NetworkHttpException -> throw error
+        // Generate parent accounts that don't exist
+        ensureParentAccountsExist(list, existingNames, names)
 
-                    else -> throw error
-                }
-            }
-        )
+        return AccountFetchResult(list, expectedPostingsCount)
     }
 
     /**
@@ -113,13 +171,18 @@ class AccountListFetcherImpl @Inject constructor(
      *
      * hledger API returns a flat list of accounts, so parent accounts may not be
      * explicitly included. For example: "Assets:Cash" exists but "Assets" may not.
-     * This method generates missing parent accounts.
+     * This method generates missing parent accounts. Their names are taken from [names], so
+     * that an ancestor shared by many accounts is extracted only once.
      */
-    private fun ensureParentAccountsExist(accounts: MutableList<Account>, existingNames: MutableSet<String>) {
+    private fun ensureParentAccountsExist(
+        accounts: MutableList<Account>,
+        existingNames: MutableSet<String>,
+        names: NameDictionary
+    ) {
         val toAdd = mutableListOf<Account>()
 
         for (account in accounts) {
-            var parentName = account.parentName
+            var parentName = names.parentOf(account.name)
             while (parentName != null && parentName !in existingNames) {
                 val level = parentName.count { it == ':' }
                 toAdd.add(
@@ -133,9 +196,7 @@ class AccountListFetcherImpl @Inject constructor(
                     )
                 )
                 existingNames.add(parentName)
-                parentName = parentName.lastIndexOf(':').let { idx ->
-                    parentName?.takeIf { idx > 0 }?.substring(0, idx)
-                }
+                parentName = names.parentOf(parentName)
             }
         }
 
@@ -0,0 +1,64 @@
+/*
+ * Copyright © 2026 Damyan Ivanov.
+ * This file is part of MoLe.
+ * MoLe is free software: you can distribute it and/or modify it
+ * under the term of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your opinion), any later version.
+ *
+ * MoLe is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License terms for details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MoLe. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package net.ktnx.mobileledger.core.sync
+
+import net.ktnx.mobileledger.core.domain.model.API
+import net.ktnx.mobileledger.core.domain.model.Profile
+
+/**
+ * Interface for resolving the JSON API version to use with a profile's server.
+ *
+ * Profiles configured with [API.auto] would otherwise have every request retried with each
+ * of [API.allVersions] until one decodes. Implementations remember the version that worked
+ * so that later requests go straight to it.
+ *
+ * Implemented by app module's ApiVersionResolverImpl.
+ */
+interface ApiVersionResolver {
+
+    /**
+     * Returns the API versions to try for [profile], most likely first.
+     *
+     * A single element means the version is known, either because the profile is configured
+     * with a fixed version or because it has been resolved before.
+     *
+     * @param profile The profile to talk to
+     * @return Non-empty list of API versions
+     */
+    suspend fun candidates(profile: Profile): List<API>
+
+    /**
+     * Records that [api] worked with the server of [profile].
+     *
+     * Only call this once the server accepted a request in the format of [api], or a decoder
+     * that checks the shape of [api] accepted a response. Every version decodes with a lenient
+     * decoder, which would otherwise leave the first candidate remembered.
+     *
+     * @param profile The profile whose server was contacted
+     * @param api The API version the server response was checked against
+     */
+    suspend fun remember(profile: Profile, api: API)
+
+    /**
+     * Forgets the resolved version of [profile], e.g. after a response failed to decode
+     * with it. The next call to [candidates] resolves the version again.
+     *
+     * @param profile The profile whose resolved version is no longer valid
+     */
+    suspend fun invalidate(profile: Profile)
+}
@@ -0,0 +1,27 @@
+/*
+ * Copyright © 2026 Damyan Ivanov.
+ * This file is part of MoLe.
+ * MoLe is free software: you can distribute it and/or modify it
+ * under the term of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your opinion), any later version.
+ *
+ * MoLe is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License terms for details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MoLe. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package net.ktnx.mobileledger.core.sync
+
+import java.text.ParseException
+import kotlinx.serialization.SerializationException
+
+/**
+ * Whether [e] means that a response does not decode with the API version it was decoded with,
+ * so that other versions or parsers may still be tried. Any other failure ends the sync.
+ */
+internal fun isDecodingError(e: Throwable): Boolean = e is SerializationException || e is ParseException
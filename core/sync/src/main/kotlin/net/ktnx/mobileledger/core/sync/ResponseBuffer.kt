@@ -0,0 +1,55 @@
+/*
+ * Copyright © 2026 Damyan Ivanov.
+ * This file is part of MoLe.
+ * MoLe is free software: you can distribute it and/or modify it
+ * under the term of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your opinion), any later version.
+ *
+ * MoLe is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License terms for details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MoLe. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package net.ktnx.mobileledger.core.sync
+
+import java.io.Closeable
+import java.io.File
+import java.io.IOException
+import java.io.InputStream
+
+/**
+ * Response body saved to a temporary file so that it can be decoded more than once.
+ *
+ * Used while the API version of a server is still unknown: the body is downloaded once and
+ * each candidate version's decoder reads it from disk. [close] deletes the file.
+ */
+internal class ResponseBuffer private constructor(private val file: File) : Closeable {
+
+    /** Opens the saved body from its beginning */
+    fun open(): InputStream = file.inputStream().buffered()
+
+    override fun close() {
+        file.delete()
+    }
+
+    companion object {
+        /**
+         * Saves the remainder of [input] to a new temporary file. Does not close [input].
+         */
+        fun readFrom(input: InputStream): ResponseBuffer {
+            val file = File.createTempFile("response", ".json")
+            try {
+                file.outputStream().use { input.copyTo(it) }
+            } catch (e: IOException) {
+                file.delete()
+                throw e
+            }
+            return ResponseBuffer(file)
+        }
+    }
+}
@@ -27,12 +27,48 @@ import net.ktnx.mobileledger.core.domain.model.Transaction
 interface SyncPersistence {
 
     /**
-     * Saves accounts and transactions to the database.
-     * Preserves existing UI state (expanded/collapsed) for accounts.
+     * Stores the data of one sync atomically.
+     *
+     * [block] writes the account list and the transaction batches through the given
+     * [SyncWriteScope]. When it returns, accounts and transactions that it did not write are
+     * removed, everything is committed at once and the sync timestamp is recorded. If [block]
+     * fails or is cancelled, the previously stored data is left untouched.
+     *
+     * [block] runs inside a database transaction and should only write data that has already
+     * been downloaded, so that the transaction does not wait on the network.
      *
      * @param profile The profile to save data for
+     * @param block Writes the sync data
+     * @return The value returned by [block]
+     */
+    suspend fun <R> store(profile: Profile, block: suspend (SyncWriteScope) -> R): R
+
+    /**
+     * Records a sync that found the server data unchanged, without replacing stored data.
+     * Derived data missing after a database upgrade, such as running balances, is computed.
+     *
+     * @param profile The profile that was synced
+     */
+    suspend fun markUnchanged(profile: Profile)
+}
+
+/**
+ * Write access to storage during [SyncPersistence.store].
+ */
+interface SyncWriteScope {
+
+    /**
+     * Saves the complete account list.
+     * Preserves existing UI state (expanded/collapsed) for accounts.
+     *
      * @param accounts The list of accounts to save
-     * @param transactions The list of transactions to save
      */
-    suspend fun saveAccountsAndTransactions(profile: Profile, accounts: List<Account>, transactions: List<Transaction>)
+    fun saveAccounts(accounts: List<Account>)
+
+    /**
+     * Saves a batch of transactions.
+     *
+     * @param transactions The transactions of this batch
+     */
+    fun saveTransactionBatch(transactions: List<Transaction>)
 }
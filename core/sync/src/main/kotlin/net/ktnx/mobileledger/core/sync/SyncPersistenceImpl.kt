@@ -20,51 +20,44 @@ package net.ktnx.mobileledger.core.sync
 import java.util.Date
 import javax.inject.Inject
 import javax.inject.Singleton
-import kotlin.coroutines.coroutineContext
-import kotlinx.coroutines.ensureActive
 import logcat.logcat
-import net.ktnx.mobileledger.core.data.mapper.AccountMapper.withStateFrom
+import net.ktnx.mobileledger.core.data.sync.SyncWriter
 import net.ktnx.mobileledger.core.domain.model.Account
 import net.ktnx.mobileledger.core.domain.model.Profile
 import net.ktnx.mobileledger.core.domain.model.Transaction
-import net.ktnx.mobileledger.core.domain.repository.AccountRepository
 import net.ktnx.mobileledger.core.domain.repository.OptionRepository
-import net.ktnx.mobileledger.core.domain.repository.TransactionRepository
 
 /**
- * Implementation of SyncPersistence that saves data using repositories.
+ * Implementation of SyncPersistence that writes sync data through [SyncWriter].
  */
 @Singleton
 class SyncPersistenceImpl @Inject constructor(
-    private val accountRepository: AccountRepository,
-    private val transactionRepository: TransactionRepository,
+    private val syncWriter: SyncWriter,
     private val optionRepository: OptionRepository
 ) : SyncPersistence {
 
-    override suspend fun saveAccountsAndTransactions(
-        profile: Profile,
-        accounts: List<Account>,
-        transactions: List<Transaction>
-    ) {
-        val profileId = profile.id ?: throw IllegalStateException("Cannot sync unsaved profile")
+    override suspend fun <R> store(profile: Profile, block: suspend (SyncWriteScope) -> R): R {
+        val profileId = profile.requireId()
 
-        logcat { "Preparing account list" }
-        val accountsWithState = accounts.map { account ->
-            coroutineContext.ensureActive()
-            // Preserve existing UI state if account exists
-            val existing = accountRepository.getByNameWithAmounts(profileId, account.name).getOrNull()
-            account.withStateFrom(existing)
-        }
-        logcat { "Account list prepared. Storing" }
-        accountRepository.storeAccountsAsDomain(accountsWithState, profileId)
-            .getOrThrow()
-        logcat { "Account list stored" }
+        logcat { "Storing sync data" }
+        val result = syncWriter.write(profileId) { session -> block(SessionWriteScope(session)) }
+        logcat { "Sync data stored" }
 
-        logcat { "Storing transaction list" }
-        transactionRepository.storeTransactionsAsDomain(transactions, profileId)
-            .getOrThrow()
-        logcat { "Transactions stored" }
+        optionRepository.setLastSyncTimestamp(profileId, Date().time)
+        return result
+    }
 
+    override suspend fun markUnchanged(profile: Profile) {
+        val profileId = profile.requireId()
+        syncWriter.fillMissingTotals(profileId)
         optionRepository.setLastSyncTimestamp(profileId, Date().time)
     }
+
+    private fun Profile.requireId(): Long = id ?: throw IllegalStateException("Cannot sync unsaved profile")
+
+    private class SessionWriteScope(private val session: SyncWriter.Session) : SyncWriteScope {
+        override fun saveAccounts(accounts: List<Account>) = session.saveAccounts(accounts)
+
+        override fun saveTransactionBatch(transactions: List<Transaction>) = session.saveTransactions(transactions)
+    }
 }
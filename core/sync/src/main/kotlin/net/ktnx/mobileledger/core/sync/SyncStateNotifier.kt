@@ -34,4 +34,12 @@ interface SyncStateNotifier {
      * @param accountCount Number of accounts synced
      */
     fun notifySyncComplete(date: Date, transactionCount: Int, accountCount: Int)
+
+    /**
+     * Notify that sync has completed without finding any change on the server.
+     * Previously reported counts remain valid.
+     *
+     * @param date Sync completion timestamp
+     */
+    fun notifySyncUnchanged(date: Date)
 }
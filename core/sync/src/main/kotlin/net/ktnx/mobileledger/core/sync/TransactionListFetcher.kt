@@ -19,6 +19,7 @@ package net.ktnx.mobileledger.core.sync
 
 import net.ktnx.mobileledger.core.domain.model.Profile
 import net.ktnx.mobileledger.core.domain.model.Transaction
+import net.ktnx.mobileledger.core.network.TransferStats
 
 /**
  * Interface for fetching transaction list from hledger server via JSON API.
@@ -30,15 +31,42 @@ interface TransactionListFetcher {
     /**
      * Fetches transaction list from server using JSON API.
      *
+     * The whole list is downloaded and decoded before this returns, so that the caller can
+     * store it without holding a database transaction open during the download. When the list
+     * is decoded again, e.g. with another API version after a decoding failure, the batches of
+     * the failed attempt are dropped, so the result holds every transaction once.
+     *
+     * When the list is unchanged since the previous sync, [onNotModified] decides whether it is
+     * skipped. A list the server confirmed unchanged is not even decoded; a list from a server
+     * that sends no validators is recognised as unchanged only after it has been read.
+     *
      * @param profile The profile to fetch transactions for
-     * @param expectedPostingsCount Expected total postings count for progress calculation
-     * @param onProgress Callback for progress updates (current, total)
-     * @return List of transactions sorted by date (descending), or null if JSON API is not available
+     * @param onNotModified Callback for an unchanged list; returns true to skip it
+     * @param onProgress Callback receiving the number of postings decoded so far; starts over
+     *   from zero when the list is decoded again
+     * @return Fetch result, or null if JSON API is not available
      * @throws Exception on network or parsing errors
      */
     suspend fun fetch(
         profile: Profile,
-        expectedPostingsCount: Int,
-        onProgress: suspend (Int, Int) -> Unit
-    ): List<Transaction>?
+        onNotModified: suspend () -> Boolean,
+        onProgress: suspend (Int) -> Unit
+    ): TransactionFetchResult?
+}
+
+/**
+ * Result of transaction list fetch operation.
+ *
+ * @property batches Decoded transactions in server order, in batches of a bounded size
+ * @property isSkipped True if the list is unchanged and was skipped; [batches] is then empty
+ * @property transfer Network byte counts of the transaction list download
+ */
+data class TransactionFetchResult(
+    val batches: List<List<Transaction>>,
+    val isSkipped: Boolean = false,
+    val transfer: TransferStats = TransferStats()
+) {
+    /** Number of transactions in [batches] */
+    val transactionCount: Int
+        get() = batches.sumOf { it.size }
 }
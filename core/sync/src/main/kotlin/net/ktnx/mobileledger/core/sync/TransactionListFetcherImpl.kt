@@ -17,53 +17,119 @@
 
 package net.ktnx.mobileledger.core.sync
 
+import java.io.InputStream
 import javax.inject.Inject
 import javax.inject.Singleton
 import kotlin.coroutines.coroutineContext
+import kotlinx.coroutines.CancellationException
+import kotlinx.coroutines.CoroutineDispatcher
+import kotlinx.coroutines.channels.Channel
+import kotlinx.coroutines.coroutineScope
 import kotlinx.coroutines.ensureActive
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.withContext
 import logcat.LogPriority
 import logcat.asLog
 import logcat.logcat
+import net.ktnx.mobileledger.core.common.di.DefaultDispatcher
+import net.ktnx.mobileledger.core.common.di.IoDispatcher
 import net.ktnx.mobileledger.core.domain.model.API
 import net.ktnx.mobileledger.core.domain.model.Profile
 import net.ktnx.mobileledger.core.domain.model.Transaction
+import net.ktnx.mobileledger.core.network.CachedResponse
 import net.ktnx.mobileledger.core.network.HledgerClient
 import net.ktnx.mobileledger.core.network.NetworkAuthenticationException
 import net.ktnx.mobileledger.core.network.NetworkHttpException
 import net.ktnx.mobileledger.core.network.NetworkNotFoundException
 import net.ktnx.mobileledger.core.network.json.ApiNotSupportedException
+import net.ktnx.mobileledger.core.network.json.ParserEngine
 import net.ktnx.mobileledger.core.network.json.TransactionListParser
+import net.ktnx.mobileledger.core.network.json.stream.ParallelTransactionListParser
 
 /**
  * Implementation of TransactionListFetcher using HledgerClient.
+ *
+ * The API version is taken from [ApiVersionResolver]. While it is unknown, the transaction list
+ * is downloaded once and decoded with each candidate version in turn.
+ *
+ * Responses are decoded with the streaming parser. A response it cannot decode is decoded
+ * again with the kotlinx parsers before the sync is given up.
+ *
+ * Only the streaming parser checks that the list has the shape of the version it decodes, so a
+ * version is remembered only when that parser accepted a non-empty list with it. A list the
+ * lenient kotlinx parsers had to decode, or an empty one, is used without resolving the version.
  */
 @Singleton
 class TransactionListFetcherImpl @Inject constructor(
-    private val hledgerClient: HledgerClient
+    private val hledgerClient: HledgerClient,
+    private val apiVersionResolver: ApiVersionResolver,
+    @IoDispatcher private val ioDispatcher: CoroutineDispatcher,
+    @DefaultDispatcher private val defaultDispatcher: CoroutineDispatcher
 ) : TransactionListFetcher {
 
     override suspend fun fetch(
         profile: Profile,
-        expectedPostingsCount: Int,
-        onProgress: suspend (Int, Int) -> Unit
-    ): List<Transaction>? {
-        val apiVersion = API.valueOf(profile.apiVersion)
-        return when (apiVersion) {
-            API.auto -> fetchAnyVersion(profile, expectedPostingsCount, onProgress)
-            API.v1_32, API.v1_40, API.v1_50 -> fetchForVersion(profile, apiVersion, expectedPostingsCount, onProgress)
+        onNotModified: suspend () -> Boolean,
+        onProgress: suspend (Int) -> Unit
+    ): TransactionFetchResult? {
+        val candidates = apiVersionResolver.candidates(profile)
+        val resolved = candidates.singleOrNull()
+            ?: return fetchAnyVersion(profile, candidates, onNotModified, onProgress)
+
+        try {
+            return fetchForVersion(profile, resolved, onNotModified, onProgress)
+        } catch (e: Exception) {
+            if (!isDecodingError(e)) throw e
+            logcat(LogPriority.WARN) {
+                "Transaction list does not decode using API ${resolved.description}: ${e.asLog()}"
+            }
+        }
+        val versions = if (API.valueOf(profile.apiVersion) == API.auto) {
+            apiVersionResolver.invalidate(profile)
+            API.allVersions.toList()
+        } else {
+            listOf(resolved)
         }
+        // The retry compares against the response of the failed attempt, not the previous sync
+        return fetchAnyVersion(profile, versions, NEVER_SKIP, onProgress)
     }
 
     private suspend fun fetchAnyVersion(
         profile: Profile,
-        expectedPostingsCount: Int,
-        onProgress: suspend (Int, Int) -> Unit
-    ): List<Transaction>? {
-        for (ver in API.allVersions) {
-            try {
-                return fetchForVersion(profile, ver, expectedPostingsCount, onProgress)
-            } catch (e: Exception) {
-                logcat { "Error during transaction list retrieval using API ${ver.description}: ${e.asLog()}" }
+        versions: List<API>,
+        onNotModified: suspend () -> Boolean,
+        onProgress: suspend (Int) -> Unit
+    ): TransactionFetchResult? {
+        coroutineContext.ensureActive()
+
+        val response = request(profile) ?: return null
+        val buffer = response.body.use { body ->
+            if (response.isNotModified && onNotModified()) return skipped(response)
+
+            val read = ResponseBuffer.readFrom(body)
+            if (!response.isNotModified && response.isUnchanged() && onNotModified()) {
+                read.close()
+                return skipped(response)
+            }
+            read
+        }
+        buffer.use {
+            for (engine in ParserEngine.entries) {
+                for (ver in versions) {
+                    try {
+                        val batches = buffer.open().use { input -> decodeInBatches(input, ver, engine, onProgress) }
+                        if (engine == ParserEngine.STREAMING && batches.isNotEmpty()) {
+                            apiVersionResolver.remember(profile, ver)
+                        }
+                        return TransactionFetchResult(batches, transfer = response.transfer)
+                    } catch (e: Exception) {
+                        if (!isDecodingError(e)) throw e
+                        logcat {
+                            "Error during transaction list retrieval using API ${ver.description} " +
+                                "and the $engine parser: ${e.asLog()}"
+                        }
+                    }
+                }
             }
         }
         throw ApiNotSupportedException()
@@ -72,44 +138,36 @@ class TransactionListFetcherImpl @Inject constructor(
     private suspend fun fetchForVersion(
         profile: Profile,
         apiVersion: API,
-        expectedPostingsCount: Int,
-        onProgress: suspend (Int, Int) -> Unit
-    ): List<Transaction>? {
+        onNotModified: suspend () -> Boolean,
+        onProgress: suspend (Int) -> Unit
+    ): TransactionFetchResult? {
         coroutineContext.ensureActive()
 
-        val result = hledgerClient.get(profile, "transactions")
-
-        return result.fold(
-            onSuccess = { inputStream ->
-                val trList = ArrayList<Transaction>()
-                inputStream.use { resp ->
-                    coroutineContext.ensureActive()
-                    val parser = TransactionListParser.forApiVersion(apiVersion, resp)
-                    var processedPostings = 0
+        val response = request(profile) ?: return null
+        return response.body.use { resp ->
+            if (response.isNotModified && onNotModified()) return skipped(response)
 
-                    while (true) {
-                        coroutineContext.ensureActive()
-                        val transaction = parser.nextTransactionDomain() ?: break
-                        trList.add(transaction)
-
-                        processedPostings += transaction.lines.size
-                        if (expectedPostingsCount > 0) {
-                            onProgress(processedPostings, expectedPostingsCount)
-                        }
-                    }
+            val batches = decodeInBatches(resp, apiVersion, ParserEngine.STREAMING, onProgress)
+            // A body without validators is known to be unchanged only once it has been read;
+            // it is still not stored again
+            if (!response.isNotModified && response.isUnchanged() && onNotModified()) return skipped(response)
+            TransactionFetchResult(batches, transfer = response.transfer)
+        }
+    }
 
-                    logcat(LogPriority.WARN) {
-                        "Got ${trList.size} transactions using protocol ${apiVersion.description}"
-                    }
-                }
+    private fun skipped(response: CachedResponse): TransactionFetchResult {
+        logcat { "Transaction list not modified; skipping" }
+        return TransactionFetchResult(emptyList(), isSkipped = true, transfer = response.transfer)
+    }
 
-                // Sort transactions in reverse chronological order
-                trList.sortWith { o1, o2 ->
-                    val res = o2.date.compareTo(o1.date)
-                    if (res != 0) res else o2.ledgerId.compareTo(o1.ledgerId)
-                }
-                trList
-            },
+    /**
+     * Requests the transaction list.
+     *
+     * @return The response, or null if the server has no JSON API
+     */
+    private suspend fun request(profile: Profile): CachedResponse? =
+        hledgerClient.getCached(profile, "transactions").fold(
+            onSuccess = { it },
             onFailure = { error ->
                 when (error) {
                     is NetworkNotFoundException -> null
@@ -123,5 +181,94 @@ class TransactionListFetcherImpl @Inject constructor(
                 }
             }
         )
+
+    /**
+     * Decodes the response in a separate coroutine while the caller's coroutine collects the
+     * decoded batches and reports progress. The response body itself is filled by the HTTP
+     * engine concurrently, so the decoder only waits when it gets ahead of the download.
+     *
+     * The response is read on [ioDispatcher]. On multi-core devices the streaming engine hands
+     * the decoding to up to [MAX_DECODERS] coroutines on [defaultDispatcher]; otherwise the list
+     * is decoded on the reading thread.
+     *
+     * The batches are returned only once the whole list has decoded. A list that fails to
+     * decode part way therefore leaves nothing behind for a retry to duplicate, and nothing is
+     * written to the database while the download is still running.
+     */
+    private suspend fun decodeInBatches(
+        input: InputStream,
+        apiVersion: API,
+        engine: ParserEngine,
+        onProgress: suspend (Int) -> Unit
+    ): List<List<Transaction>> = coroutineScope {
+        val batches = Channel<List<Transaction>>(DECODED_BATCH_BUFFER)
+
+        launch {
+            if (engine == ParserEngine.STREAMING && DECODER_COUNT > 1) {
+                ParallelTransactionListParser(input, apiVersion, DECODER_COUNT, ioDispatcher, defaultDispatcher)
+                    .parse { chunk -> batches.send(chunk) }
+            } else {
+                withContext(ioDispatcher) { decodeSequentially(input, apiVersion, engine) { batches.send(it) } }
+            }
+        }.invokeOnCompletion { cause -> batches.close(cause) }
+
+        val decoded = ArrayList<List<Transaction>>()
+        var processedPostings = 0
+        try {
+            for (batch in batches) {
+                decoded.add(batch)
+
+                processedPostings += batch.sumOf { it.lines.size }
+                onProgress(processedPostings)
+            }
+        } catch (e: CancellationException) {
+            // Unblock the decoder if it is waiting for more network data
+            input.close()
+            throw e
+        }
+
+        logcat(LogPriority.WARN) {
+            "Got ${decoded.sumOf { it.size }} transactions using protocol ${apiVersion.description}"
+        }
+        decoded
+    }
+
+    private suspend fun decodeSequentially(
+        input: InputStream,
+        apiVersion: API,
+        engine: ParserEngine,
+        onBatch: suspend (List<Transaction>) -> Unit
+    ) {
+        val parser = TransactionListParser.forApiVersion(apiVersion, input, engine)
+        var batch = ArrayList<Transaction>(BATCH_SIZE)
+
+        while (true) {
+            coroutineContext.ensureActive()
+            val transaction = parser.nextTransactionDomain() ?: break
+            batch.add(transaction)
+
+            if (batch.size == BATCH_SIZE) {
+                onBatch(batch)
+                batch = ArrayList(BATCH_SIZE)
+            }
+        }
+        if (batch.isNotEmpty()) {
+            onBatch(batch)
+        }
+    }
+
+    companion object {
+        /** Number of transactions in one batch of the result when decoding on one thread */
+        private const val BATCH_SIZE = 100
+
+        /** Number of decoded batches that may wait for the caller before decoding pauses */
+        private const val DECODED_BATCH_BUFFER = 2
+
+        /** Upper bound of the coroutines decoding one transaction list at the same time */
+        private const val MAX_DECODERS = 4
+
+        private val DECODER_COUNT = Runtime.getRuntime().availableProcessors().coerceIn(1, MAX_DECODERS)
+
+        private val NEVER_SKIP: suspend () -> Boolean = { false }
     }
 }
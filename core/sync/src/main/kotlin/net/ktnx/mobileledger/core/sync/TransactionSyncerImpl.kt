@@ -22,16 +22,18 @@ import javax.inject.Inject
 import javax.inject.Singleton
 import kotlin.coroutines.coroutineContext
 import kotlinx.coroutines.CoroutineDispatcher
+import kotlinx.coroutines.async
+import kotlinx.coroutines.coroutineScope
 import kotlinx.coroutines.ensureActive
 import kotlinx.coroutines.flow.Flow
 import kotlinx.coroutines.flow.flow
 import kotlinx.coroutines.flow.flowOn
+import logcat.logcat
 import net.ktnx.mobileledger.core.common.di.IoDispatcher
-import net.ktnx.mobileledger.core.domain.model.Account
 import net.ktnx.mobileledger.core.domain.model.Profile
 import net.ktnx.mobileledger.core.domain.model.SyncProgress
 import net.ktnx.mobileledger.core.domain.model.SyncResult
-import net.ktnx.mobileledger.core.domain.model.Transaction
+import net.ktnx.mobileledger.core.network.HledgerClient
 import net.ktnx.mobileledger.core.network.json.ApiNotSupportedException
 
 /**
@@ -41,6 +43,7 @@ import net.ktnx.mobileledger.core.network.json.ApiNotSupportedException
  * - AccountListFetcher: Fetches accounts via JSON API
  * - TransactionListFetcher: Fetches transactions via JSON API
  * - SyncPersistence: Saves data to database
+ * - HledgerClient: Forgets cached responses when a sync fails
  * - SyncExceptionMapper: Maps exceptions to user-friendly errors
  *
  * Note: Requires hledger-web v1.32 or later with JSON API support.
@@ -52,6 +55,7 @@ class TransactionSyncerImpl @Inject constructor(
     private val syncPersistence: SyncPersistence,
     private val syncExceptionMapper: SyncExceptionMapper,
     private val syncStateNotifier: SyncStateNotifier,
+    private val hledgerClient: HledgerClient,
     @IoDispatcher private val ioDispatcher: CoroutineDispatcher
 ) : TransactionSyncer {
 
@@ -64,32 +68,28 @@ class TransactionSyncerImpl @Inject constructor(
             emit(SyncProgress.Starting("接続中..."))
 
             // Fetch via JSON API (requires hledger-web v1.32+)
-            val (accounts, transactions) = fetchViaJsonApi(profile) { progress ->
-                emit(progress)
-            } ?: throw ApiNotSupportedException(
-                "JSON API not available. Please ensure hledger-web v1.32 or later is running."
-            )
-
-            // Save to database
             coroutineContext.ensureActive()
-            emit(SyncProgress.Indeterminate("データを保存中..."))
-            syncPersistence.saveAccountsAndTransactions(profile, accounts, transactions)
+            val result = fetchAndStore(profile) { progress ->
+                emit(progress)
+            }
 
             // Update sync info
-            syncStateNotifier.notifySyncComplete(
-                date = Date(),
-                transactionCount = transactions.size,
-                accountCount = accounts.size
-            )
+            if (result.isUnchanged) {
+                syncStateNotifier.notifySyncUnchanged(Date())
+            } else {
+                syncStateNotifier.notifySyncComplete(
+                    date = Date(),
+                    transactionCount = result.transactionCount,
+                    accountCount = result.accountCount
+                )
+            }
 
             // Store result
             val duration = System.currentTimeMillis() - startTime
-            _lastResult = SyncResult(
-                transactionCount = transactions.size,
-                accountCount = accounts.size,
-                duration = duration
-            )
+            _lastResult = result.copy(duration = duration)
         } catch (e: Exception) {
+            // Cached responses may no longer match what is stored
+            hledgerClient.invalidateCache(profile)
             throw syncExceptionMapper.mapToSyncException(e)
         }
     }.flowOn(ioDispatcher)
@@ -97,29 +97,77 @@ class TransactionSyncerImpl @Inject constructor(
     override fun getLastResult(): SyncResult? = _lastResult
 
     /**
-     * Attempts to fetch data via JSON API.
+     * Fetches accounts and transactions concurrently and stores them once both have arrived.
+     *
+     * The account list is only needed for the progress total, so both requests run in
+     * parallel. The transaction list is decoded while it downloads and kept in memory; the
+     * accounts and every transaction batch are then written in one database transaction. That
+     * transaction is opened only after both downloads have completed, so it never waits on the
+     * network, and an interrupted sync leaves the previously stored data intact. A failure of
+     * either request cancels the other.
+     *
+     * When both lists are unchanged since the previous sync, nothing is stored; only the sync
+     * timestamp is updated.
      *
-     * @return Pair of (accounts, transactions) or null if JSON API is not available
+     * @return Sync result without duration
      */
-    private suspend fun fetchViaJsonApi(
+    private suspend fun fetchAndStore(
         profile: Profile,
         onProgress: suspend (SyncProgress) -> Unit
-    ): Pair<List<Account>, List<Transaction>>? {
-        // Fetch accounts
-        coroutineContext.ensureActive()
-        onProgress(SyncProgress.Indeterminate("アカウントを取得中..."))
-        val accountResult = accountListFetcher.fetch(profile) ?: return null
-
-        // Fetch transactions
-        coroutineContext.ensureActive()
-        onProgress(SyncProgress.Indeterminate("取引を取得中..."))
-        val transactions = transactionListFetcher.fetch(
+    ): SyncResult = coroutineScope {
+        val accountFetch = async { accountListFetcher.fetch(profile) }
+
+        onProgress(SyncProgress.Indeterminate("アカウントと取引を取得中..."))
+        val transactionResult = transactionListFetcher.fetch(
             profile,
-            accountResult.expectedPostingsCount
-        ) { current, total ->
-            onProgress(SyncProgress.Running(current, total, "取引を処理中..."))
-        } ?: return null
+            onNotModified = { accountFetch.await()?.isNotModified == true },
+            onProgress = { processedPostings ->
+                // The total is known only once the account list has arrived
+                val expectedPostingsCount =
+                    if (accountFetch.isCompleted) accountFetch.await()?.expectedPostingsCount ?: 0 else 0
+                if (expectedPostingsCount > 0) {
+                    onProgress(SyncProgress.Running(processedPostings, expectedPostingsCount, "取引を処理中..."))
+                }
+            }
+        ) ?: throw jsonApiNotAvailable()
+
+        val accountResult = accountFetch.await()
+        val transfers = listOfNotNull(accountResult?.transfer, transactionResult.transfer)
+        val compressedBytes = transfers.sumOf { it.compressedBytes }
+        val decompressedBytes = transfers.sumOf { it.decompressedBytes }
+        logcat { "Received $compressedBytes bytes ($decompressedBytes decompressed)" }
+
+        if (transactionResult.isSkipped) {
+            syncPersistence.markUnchanged(profile)
+            return@coroutineScope SyncResult(
+                transactionCount = 0,
+                accountCount = 0,
+                duration = 0,
+                isUnchanged = true,
+                compressedBytes = compressedBytes,
+                decompressedBytes = decompressedBytes
+            )
+        }
+        if (accountResult == null) throw jsonApiNotAvailable()
+
+        onProgress(SyncProgress.Indeterminate("データを保存中..."))
+        syncPersistence.store(profile) { scope ->
+            scope.saveAccounts(accountResult.accounts)
+            for (batch in transactionResult.batches) {
+                scope.saveTransactionBatch(batch)
+            }
+        }
 
-        return Pair(accountResult.accounts, transactions)
+        SyncResult(
+            transactionCount = transactionResult.transactionCount,
+            accountCount = accountResult.accounts.size,
+            duration = 0,
+            compressedBytes = compressedBytes,
+            decompressedBytes = decompressedBytes
+        )
     }
+
+    private fun jsonApiNotAvailable() = ApiNotSupportedException(
+        "JSON API not available. Please ensure hledger-web v1.32 or later is running."
+    )
 }
@@ -68,7 +68,7 @@ class FakeAccountRepository : AccountRepository {
         val filtered = if (includeZeroBalances) {
             accounts
         } else {
-            accounts.filter { it.hasAmounts && it.amounts.any { amt -> amt.amount != 0f } }
+            accounts.filter { it.hasAmounts && it.amounts.any { amt -> !amt.amount.isZero } }
         }
         return MutableStateFlow(filtered)
     }
@@ -89,7 +89,7 @@ class FakeAccountRepository : AccountRepository {
         val filtered = if (includeZeroBalances) {
             accounts
         } else {
-            accounts.filter { it.hasAmounts && it.amounts.any { amt -> amt.amount != 0f } }
+            accounts.filter { it.hasAmounts && it.amounts.any { amt -> !amt.amount.isZero } }
         }
         return Result.success(filtered)
     }
@@ -106,12 +106,6 @@ class FakeAccountRepository : AccountRepository {
     override suspend fun searchAccountNamesGlobal(term: String): Result<List<String>> =
         Result.success(accountNames.values.flatten().filter { it.contains(term, ignoreCase = true) })
 
-    override suspend fun storeAccountsAsDomain(accounts: List<Account>, profileId: Long): Result<Unit> {
-        domainAccounts[profileId] = accounts.toMutableList()
-        accountNames[profileId] = accounts.map { it.name }.toMutableList()
-        return Result.success(Unit)
-    }
-
     override suspend fun getCountForProfile(profileId: Long): Result<Int> =
         Result.success(domainAccounts[profileId]?.size ?: 0)
 
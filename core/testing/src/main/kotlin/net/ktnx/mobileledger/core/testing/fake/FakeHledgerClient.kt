@@ -18,11 +18,14 @@
 package net.ktnx.mobileledger.core.testing.fake
 
 import java.io.ByteArrayInputStream
+import java.io.ByteArrayOutputStream
 import java.io.InputStream
 import java.nio.charset.StandardCharsets
 import net.ktnx.mobileledger.core.domain.model.Profile
 import net.ktnx.mobileledger.core.domain.model.TemporaryAuthData
+import net.ktnx.mobileledger.core.network.CachedResponse
 import net.ktnx.mobileledger.core.network.HledgerClient
+import net.ktnx.mobileledger.core.network.JsonBody
 
 /**
  * Fake implementation of [HledgerClient] for testing.
@@ -44,6 +47,16 @@ class FakeHledgerClient : HledgerClient {
      */
     val getResults: MutableMap<String, Result<InputStream>> = mutableMapOf()
 
+    /**
+     * Endpoint paths that [getCached] reports as not modified.
+     */
+    val notModifiedPaths: MutableSet<String> = mutableSetOf()
+
+    /**
+     * Number of [invalidateCache] calls.
+     */
+    var cacheInvalidations: Int = 0
+
     /**
      * Map of endpoint paths to Result for PUT JSON requests.
      */
@@ -101,17 +114,25 @@ class FakeHledgerClient : HledgerClient {
         )
     }
 
+    override suspend fun getCached(profile: Profile, path: String): Result<CachedResponse> =
+        get(profile, path).map { CachedResponse(it, isNotModified = path in notModifiedPaths) }
+
+    override fun invalidateCache(profile: Profile) {
+        cacheInvalidations++
+    }
+
     override suspend fun putJson(
         profile: Profile,
         path: String,
-        body: String,
+        body: JsonBody,
         temporaryAuth: TemporaryAuthData?
     ): Result<Unit> {
         if (networkDelay > 0) {
             kotlinx.coroutines.delay(networkDelay)
         }
 
-        requestHistory.add(RequestRecord("PUT", path, profile, temporaryAuth, body = body))
+        val encoded = ByteArrayOutputStream().also { body.writeTo(it) }.toString(StandardCharsets.UTF_8.name())
+        requestHistory.add(RequestRecord("PUT", path, profile, temporaryAuth, body = encoded))
 
         shouldFailWith?.let { return Result.failure(it) }
 
@@ -129,6 +150,8 @@ class FakeHledgerClient : HledgerClient {
         getResponses.clear()
         getResults.clear()
         putJsonResults.clear()
+        notModifiedPaths.clear()
+        cacheInvalidations = 0
         defaultPutJsonResult = Result.success(Unit)
         shouldFailWith = null
         networkDelay = 0
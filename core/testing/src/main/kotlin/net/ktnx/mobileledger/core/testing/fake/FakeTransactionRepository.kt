@@ -19,6 +19,9 @@ package net.ktnx.mobileledger.core.testing.fake
 
 import kotlinx.coroutines.flow.Flow
 import kotlinx.coroutines.flow.MutableStateFlow
+import net.ktnx.mobileledger.core.common.utils.SimpleDate
+import net.ktnx.mobileledger.core.domain.model.AccountAmount
+import net.ktnx.mobileledger.core.domain.model.Amount
 import net.ktnx.mobileledger.core.domain.model.Transaction
 import net.ktnx.mobileledger.core.domain.repository.TransactionRepository
 
@@ -53,12 +56,17 @@ class FakeTransactionRepository : TransactionRepository {
         MutableStateFlow(domainTransactions.values.filter { profileMap[it.id] == profileId }.toList())
 
     override fun observeTransactionsFiltered(profileId: Long, accountName: String?): Flow<List<Transaction>> =
-        MutableStateFlow(
-            domainTransactions.values.filter { tx ->
-                profileMap[tx.id] == profileId &&
-                    (accountName == null || tx.lines.any { it.accountName.contains(accountName, true) })
-            }.toList()
-        )
+        MutableStateFlow(filtered(profileId, accountName))
+
+    private fun filtered(profileId: Long, accountName: String?): List<Transaction> =
+        domainTransactions.values.filter { tx ->
+            profileMap[tx.id] == profileId &&
+                (
+                    accountName == null || tx.lines.any {
+                        it.accountName == accountName || it.accountName.startsWith("$accountName:")
+                    }
+                    )
+        }
 
     override fun observeTransactionById(transactionId: Long): Flow<Transaction?> =
         MutableStateFlow(domainTransactions[transactionId])
@@ -67,9 +75,68 @@ class FakeTransactionRepository : TransactionRepository {
     override suspend fun getTransactionById(transactionId: Long): Result<Transaction?> =
         Result.success(domainTransactions[transactionId])
 
-    override suspend fun searchByDescription(term: String): Result<List<String>> = Result.success(
+    override suspend fun getTransactionPage(
+        profileId: Long,
+        accountName: String?,
+        after: Transaction?,
+        limit: Int
+    ): Result<List<Transaction>> {
+        val newestFirst = compareByDescending<Transaction> { it.date }.thenByDescending { it.ledgerId }
+        return Result.success(
+            filtered(profileId, accountName)
+                .sortedWith(newestFirst)
+                .filter { after == null || newestFirst.compare(it, after) > 0 }
+                .take(limit)
+        )
+    }
+
+    override suspend fun getNewerTransactionPage(
+        profileId: Long,
+        accountName: String?,
+        before: Transaction,
+        limit: Int
+    ): Result<List<Transaction>> {
+        val newestFirst = compareByDescending<Transaction> { it.date }.thenByDescending { it.ledgerId }
+        return Result.success(
+            filtered(profileId, accountName)
+                .sortedWith(newestFirst)
+                .filter { newestFirst.compare(it, before) < 0 }
+                .takeLast(limit)
+        )
+    }
+
+    override suspend fun getTransactionDateRange(
+        profileId: Long,
+        accountName: String?
+    ): Result<ClosedRange<SimpleDate>?> {
+        val dates = filtered(profileId, accountName).map { it.date }
+        return Result.success(dates.minOrNull()?.let { it..dates.max() })
+    }
+
+    override suspend fun getRunningBalances(
+        profileId: Long,
+        accountName: String,
+        transactions: List<Transaction>
+    ): Result<Map<Long, List<AccountAmount>>> {
+        val wanted = transactions.map { it.ledgerId }.toSet()
+        val totals = LinkedHashMap<String, Amount>()
+        val result = HashMap<Long, List<AccountAmount>>()
+        for (tx in filtered(profileId, accountName).sortedWith(compareBy({ it.date }, { it.ledgerId }))) {
+            for (line in tx.lines) {
+                if (line.accountName == accountName || line.accountName.startsWith("$accountName:")) {
+                    totals[line.currency] = (totals[line.currency] ?: Amount.ZERO) + (line.amount ?: Amount.ZERO)
+                }
+            }
+            if (tx.ledgerId in wanted) {
+                result[tx.ledgerId] = totals.map { (currency, amount) -> AccountAmount(currency, amount) }
+            }
+        }
+        return Result.success(result)
+    }
+
+    override suspend fun searchByDescription(profileId: Long, term: String): Result<List<String>> = Result.success(
         domainTransactions.values
-            .filter { it.description.contains(term, true) }
+            .filter { profileMap[it.id] == profileId && it.description.contains(term, true) }
             .mapNotNull { it.description }
             .distinct()
     )
@@ -229,7 +229,7 @@ class AccountHierarchyResolverImpl @Inject constructor() : AccountHierarchyResol
     /**
      * Check if an account has any non-zero amounts.
      */
-    private fun hasNonZeroBalance(account: Account): Boolean = account.amounts.any { it.amount != 0f }
+    private fun hasNonZeroBalance(account: Account): Boolean = account.amounts.any { !it.amount.isZero }
 
     /**
      * Check if parentName is a parent of childName.
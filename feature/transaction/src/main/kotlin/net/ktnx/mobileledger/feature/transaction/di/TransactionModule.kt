@@ -28,10 +28,16 @@ import net.ktnx.mobileledger.feature.transaction.usecase.GetFirstTransactionByDe
 import net.ktnx.mobileledger.feature.transaction.usecase.GetFirstTransactionByDescriptionUseCaseImpl
 import net.ktnx.mobileledger.feature.transaction.usecase.GetLastSyncTimestampUseCase
 import net.ktnx.mobileledger.feature.transaction.usecase.GetLastSyncTimestampUseCaseImpl
+import net.ktnx.mobileledger.feature.transaction.usecase.GetNewerTransactionPageUseCase
+import net.ktnx.mobileledger.feature.transaction.usecase.GetNewerTransactionPageUseCaseImpl
+import net.ktnx.mobileledger.feature.transaction.usecase.GetRunningBalancesUseCase
+import net.ktnx.mobileledger.feature.transaction.usecase.GetRunningBalancesUseCaseImpl
 import net.ktnx.mobileledger.feature.transaction.usecase.GetTransactionByIdUseCase
 import net.ktnx.mobileledger.feature.transaction.usecase.GetTransactionByIdUseCaseImpl
-import net.ktnx.mobileledger.feature.transaction.usecase.GetTransactionsUseCase
-import net.ktnx.mobileledger.feature.transaction.usecase.GetTransactionsUseCaseImpl
+import net.ktnx.mobileledger.feature.transaction.usecase.GetTransactionDateRangeUseCase
+import net.ktnx.mobileledger.feature.transaction.usecase.GetTransactionDateRangeUseCaseImpl
+import net.ktnx.mobileledger.feature.transaction.usecase.GetTransactionPageUseCase
+import net.ktnx.mobileledger.feature.transaction.usecase.GetTransactionPageUseCaseImpl
 import net.ktnx.mobileledger.feature.transaction.usecase.ObserveTransactionsUseCase
 import net.ktnx.mobileledger.feature.transaction.usecase.ObserveTransactionsUseCaseImpl
 import net.ktnx.mobileledger.feature.transaction.usecase.SearchAccountNamesUseCase
@@ -82,7 +88,23 @@ abstract class TransactionModule {
 
     @Binds
     @Singleton
-    abstract fun bindGetTransactionsUseCase(impl: GetTransactionsUseCaseImpl): GetTransactionsUseCase
+    abstract fun bindGetTransactionPageUseCase(impl: GetTransactionPageUseCaseImpl): GetTransactionPageUseCase
+
+    @Binds
+    @Singleton
+    abstract fun bindGetNewerTransactionPageUseCase(
+        impl: GetNewerTransactionPageUseCaseImpl
+    ): GetNewerTransactionPageUseCase
+
+    @Binds
+    @Singleton
+    abstract fun bindGetTransactionDateRangeUseCase(
+        impl: GetTransactionDateRangeUseCaseImpl
+    ): GetTransactionDateRangeUseCase
+
+    @Binds
+    @Singleton
+    abstract fun bindGetRunningBalancesUseCase(impl: GetRunningBalancesUseCaseImpl): GetRunningBalancesUseCase
 
     @Binds
     @Singleton
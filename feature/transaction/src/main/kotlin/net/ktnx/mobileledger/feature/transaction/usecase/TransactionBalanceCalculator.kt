@@ -17,6 +17,7 @@
 
 package net.ktnx.mobileledger.feature.transaction.usecase
 
+import net.ktnx.mobileledger.core.domain.model.Amount
 import net.ktnx.mobileledger.core.domain.model.TransactionLine
 
 /**
@@ -35,7 +36,7 @@ interface TransactionBalanceCalculator {
      */
     data class AccountEntry(
         val accountName: String,
-        val amount: Float?,
+        val amount: Amount?,
         val currency: String,
         val comment: String?,
         val isAmountSet: Boolean,
@@ -47,7 +48,7 @@ interface TransactionBalanceCalculator {
      */
     data class BalanceResult(
         val lines: List<TransactionLine>,
-        val balancePerCurrency: Map<String, Float>,
+        val balancePerCurrency: Map<String, Amount>,
         val isBalanced: Boolean
     )
 
@@ -84,7 +85,7 @@ interface TransactionBalanceCalculator {
      * @param formatNumber Function to format numbers for display (locale-aware)
      * @return List of hints indexed by entry position
      */
-    fun calculateAmountHints(entries: List<AccountEntry>, formatNumber: (Float) -> String): List<AmountHint>
+    fun calculateAmountHints(entries: List<AccountEntry>, formatNumber: (Amount) -> String): List<AmountHint>
 
     /**
      * Validate that the transaction can be balanced.
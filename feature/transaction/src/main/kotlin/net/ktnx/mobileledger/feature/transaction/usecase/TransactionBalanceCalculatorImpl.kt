@@ -19,11 +19,12 @@ package net.ktnx.mobileledger.feature.transaction.usecase
 
 import javax.inject.Inject
 import javax.inject.Singleton
-import kotlin.math.abs
 import net.ktnx.mobileledger.core.common.utils.SimpleDate
+import net.ktnx.mobileledger.core.domain.model.Amount
 import net.ktnx.mobileledger.core.domain.model.BalanceConstants
 import net.ktnx.mobileledger.core.domain.model.Transaction
 import net.ktnx.mobileledger.core.domain.model.TransactionLine
+import net.ktnx.mobileledger.core.domain.model.sumOfAmount
 
 /**
  * Implementation of [TransactionBalanceCalculator].
@@ -72,7 +73,7 @@ class TransactionBalanceCalculatorImpl @Inject constructor() : TransactionBalanc
 
     override fun calculateAmountHints(
         entries: List<TransactionBalanceCalculator.AccountEntry>,
-        formatNumber: (Float) -> String
+        formatNumber: (Amount) -> String
     ): List<TransactionBalanceCalculator.AmountHint> {
         // Group entries by currency with their indices
         val currencyGroups = entries.withIndex().groupBy { it.value.currency }
@@ -85,14 +86,14 @@ class TransactionBalanceCalculatorImpl @Inject constructor() : TransactionBalanc
                     it.value.isAmountSet && it.value.isAmountValid
                 }
 
-                val balance = entriesWithAmount.sumOf {
-                    it.value.amount?.toDouble() ?: 0.0
+                val balance = entriesWithAmount.sumOfAmount {
+                    it.value.amount ?: Amount.ZERO
                 }
 
-                if (abs(balance) < BalanceConstants.BALANCE_EPSILON) {
+                if (balance.abs() < BalanceConstants.BALANCE_TOLERANCE) {
                     "0"
                 } else {
-                    formatNumber(-balance.toFloat())
+                    formatNumber(-balance)
                 }
             } else {
                 null
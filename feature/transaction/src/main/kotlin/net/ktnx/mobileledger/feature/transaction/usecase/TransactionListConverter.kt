@@ -73,4 +73,20 @@ interface TransactionListConverter {
      * @return ConversionResult containing ordered display items and date range
      */
     fun convert(transactions: List<Transaction>): ConversionResult
+
+    /**
+     * Convert one page of a transaction list into display items.
+     *
+     * Unlike [convert], the transactions are not sorted; they must already be ordered newest
+     * first, continuing the previous page. The delimiter closing a date group is added when the
+     * next date is seen, so the delimiter of the last group of a page comes with the following
+     * page, or with this one when [isLastPage] is set. Concatenating the items of all pages gives
+     * the same list as [convert] does for all transactions at once.
+     *
+     * @param transactions The transactions of the page, newest first
+     * @param previousDate The date of the last transaction of the previous page; null for the first page
+     * @param isLastPage True if no pages follow this one
+     * @return The display items of the page
+     */
+    fun convertPage(transactions: List<Transaction>, previousDate: SimpleDate?, isLastPage: Boolean): List<DisplayItem>
 }
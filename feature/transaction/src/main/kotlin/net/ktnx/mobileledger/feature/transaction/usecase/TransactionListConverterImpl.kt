@@ -40,17 +40,23 @@ class TransactionListConverterImpl @Inject constructor() : TransactionListConver
         // Sort by date (newest first)
         val sortedTx = transactions.sortedByDescending { it.date }
 
-        val items = mutableListOf<TransactionListConverter.DisplayItem>()
-        var lastDate: SimpleDate? = null
-        var firstDate: SimpleDate? = null
-        var latestDate: SimpleDate? = null
+        return TransactionListConverter.ConversionResult(
+            items = convertPage(sortedTx, previousDate = null, isLastPage = true),
+            firstDate = sortedTx.last().date,
+            lastDate = sortedTx.first().date
+        )
+    }
 
-        for (tx in sortedTx) {
-            val date = tx.date
+    override fun convertPage(
+        transactions: List<Transaction>,
+        previousDate: SimpleDate?,
+        isLastPage: Boolean
+    ): List<TransactionListConverter.DisplayItem> {
+        val items = ArrayList<TransactionListConverter.DisplayItem>(transactions.size * 2 + 1)
+        var lastDate = previousDate
 
-            // Track date range
-            if (firstDate == null || date < firstDate) firstDate = date
-            if (latestDate == null || date > latestDate) latestDate = date
+        for (tx in transactions) {
+            val date = tx.date
 
             // Add date delimiter if date changed
             if (lastDate != null && date != lastDate) {
@@ -65,20 +71,18 @@ class TransactionListConverterImpl @Inject constructor() : TransactionListConver
         }
 
         // Add final date delimiter for the oldest date group
-        lastDate?.let { last ->
-            items.add(TransactionListConverter.DisplayItem.DateDelimiter(last, isMonthBoundary = true))
+        if (isLastPage) {
+            lastDate?.let { last ->
+                items.add(TransactionListConverter.DisplayItem.DateDelimiter(last, isMonthBoundary = true))
+            }
         }
 
-        return TransactionListConverter.ConversionResult(
-            items = items,
-            firstDate = firstDate,
-            lastDate = latestDate
-        )
+        return items
     }
 
     /**
      * Check if two dates have different month or year.
      */
     private fun isMonthOrYearChange(date1: SimpleDate, date2: SimpleDate): Boolean =
-        date1.month != date2.month || date1.year != date2.year
+        date1.packed / 100 != date2.packed / 100
 }
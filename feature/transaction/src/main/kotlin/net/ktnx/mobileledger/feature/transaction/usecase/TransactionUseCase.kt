@@ -19,7 +19,8 @@ package net.ktnx.mobileledger.feature.transaction.usecase
 
 import javax.inject.Inject
 import kotlinx.coroutines.flow.Flow
-import kotlinx.coroutines.flow.first
+import net.ktnx.mobileledger.core.common.utils.SimpleDate
+import net.ktnx.mobileledger.core.domain.model.AccountAmount
 import net.ktnx.mobileledger.core.domain.model.Transaction
 import net.ktnx.mobileledger.core.domain.repository.AccountRepository
 import net.ktnx.mobileledger.core.domain.repository.OptionRepository
@@ -33,8 +34,51 @@ interface ObserveTransactionsUseCase {
     operator fun invoke(profileId: Long, accountFilter: String?): Flow<List<Transaction>>
 }
 
-interface GetTransactionsUseCase {
-    suspend operator fun invoke(profileId: Long, accountFilter: String?): Result<List<Transaction>>
+/**
+ * Load one page of the transaction list, newest first.
+ *
+ * [after] is the last transaction of the previous page, or null for the first page.
+ */
+interface GetTransactionPageUseCase {
+    suspend operator fun invoke(
+        profileId: Long,
+        accountFilter: String?,
+        after: Transaction?,
+        limit: Int
+    ): Result<List<Transaction>>
+}
+
+/**
+ * Load the page of the transaction list preceding [before], newest first.
+ *
+ * [before] is the first transaction of the following page.
+ */
+interface GetNewerTransactionPageUseCase {
+    suspend operator fun invoke(
+        profileId: Long,
+        accountFilter: String?,
+        before: Transaction,
+        limit: Int
+    ): Result<List<Transaction>>
+}
+
+/**
+ * Get the dates of the oldest and the newest transaction of the list.
+ */
+interface GetTransactionDateRangeUseCase {
+    suspend operator fun invoke(profileId: Long, accountFilter: String?): Result<ClosedRange<SimpleDate>?>
+}
+
+/**
+ * Get the running balances of the filter account after each transaction of a page,
+ * by ledger ID of the transaction.
+ */
+interface GetRunningBalancesUseCase {
+    suspend operator fun invoke(
+        profileId: Long,
+        accountFilter: String,
+        transactions: List<Transaction>
+    ): Result<Map<Long, List<AccountAmount>>>
 }
 
 interface SearchAccountNamesUseCase {
@@ -48,12 +92,45 @@ class ObserveTransactionsUseCaseImpl @Inject constructor(
         transactionRepository.observeTransactionsFiltered(profileId, accountFilter)
 }
 
-class GetTransactionsUseCaseImpl @Inject constructor(
-    private val observeTransactionsUseCase: ObserveTransactionsUseCase
-) : GetTransactionsUseCase {
-    override suspend fun invoke(profileId: Long, accountFilter: String?): Result<List<Transaction>> = runCatching {
-        observeTransactionsUseCase(profileId, accountFilter).first()
-    }
+class GetTransactionPageUseCaseImpl @Inject constructor(
+    private val transactionRepository: TransactionRepository
+) : GetTransactionPageUseCase {
+    override suspend fun invoke(
+        profileId: Long,
+        accountFilter: String?,
+        after: Transaction?,
+        limit: Int
+    ): Result<List<Transaction>> = transactionRepository.getTransactionPage(profileId, accountFilter, after, limit)
+}
+
+class GetNewerTransactionPageUseCaseImpl @Inject constructor(
+    private val transactionRepository: TransactionRepository
+) : GetNewerTransactionPageUseCase {
+    override suspend fun invoke(
+        profileId: Long,
+        accountFilter: String?,
+        before: Transaction,
+        limit: Int
+    ): Result<List<Transaction>> =
+        transactionRepository.getNewerTransactionPage(profileId, accountFilter, before, limit)
+}
+
+class GetTransactionDateRangeUseCaseImpl @Inject constructor(
+    private val transactionRepository: TransactionRepository
+) : GetTransactionDateRangeUseCase {
+    override suspend fun invoke(profileId: Long, accountFilter: String?): Result<ClosedRange<SimpleDate>?> =
+        transactionRepository.getTransactionDateRange(profileId, accountFilter)
+}
+
+class GetRunningBalancesUseCaseImpl @Inject constructor(
+    private val transactionRepository: TransactionRepository
+) : GetRunningBalancesUseCase {
+    override suspend fun invoke(
+        profileId: Long,
+        accountFilter: String,
+        transactions: List<Transaction>
+    ): Result<Map<Long, List<AccountAmount>>> =
+        transactionRepository.getRunningBalances(profileId, accountFilter, transactions)
 }
 
 class SearchAccountNamesUseCaseImpl @Inject constructor(
@@ -71,7 +148,7 @@ class SearchAccountNamesUseCaseImpl @Inject constructor(
  * Search transaction descriptions for autocomplete suggestions.
  */
 interface SearchTransactionDescriptionsUseCase {
-    suspend operator fun invoke(term: String): Result<List<String>>
+    suspend operator fun invoke(profileId: Long, term: String): Result<List<String>>
 }
 
 /**
@@ -92,7 +169,8 @@ interface GetFirstTransactionByDescriptionUseCase {
 class SearchTransactionDescriptionsUseCaseImpl @Inject constructor(
     private val transactionRepository: TransactionRepository
 ) : SearchTransactionDescriptionsUseCase {
-    override suspend fun invoke(term: String): Result<List<String>> = transactionRepository.searchByDescription(term)
+    override suspend fun invoke(profileId: Long, term: String): Result<List<String>> =
+        transactionRepository.searchByDescription(profileId, term)
 }
 
 class StoreTransactionUseCaseImpl @Inject constructor(
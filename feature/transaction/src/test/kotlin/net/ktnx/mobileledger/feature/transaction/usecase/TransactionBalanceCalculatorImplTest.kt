@@ -17,6 +17,7 @@
 
 package net.ktnx.mobileledger.feature.transaction.usecase
 
+import net.ktnx.mobileledger.core.domain.model.Amount
 import org.junit.Assert.assertEquals
 import org.junit.Assert.assertFalse
 import org.junit.Assert.assertNull
@@ -46,7 +47,7 @@ class TransactionBalanceCalculatorImplTest {
 
         assertEquals(2, result.lines.size)
         assertTrue(result.isBalanced)
-        assertEquals(0f, result.balancePerCurrency["USD"] ?: 0f, 0.01f)
+        assertEquals(Amount.ZERO, result.balancePerCurrency["USD"])
     }
 
     @Test
@@ -59,7 +60,7 @@ class TransactionBalanceCalculatorImplTest {
         val result = calculator.calculateBalance(entries)
 
         assertEquals(2, result.lines.size)
-        assertEquals(-100f, result.lines[1].amount ?: 0f, 0.01f)
+        assertEquals(Amount.of(-100), result.lines[1].amount)
         assertTrue(result.isBalanced)
     }
 
@@ -76,9 +77,9 @@ class TransactionBalanceCalculatorImplTest {
 
         assertEquals(4, result.lines.size)
         // USD auto-balanced
-        assertEquals(-100f, result.lines[1].amount ?: 0f, 0.01f)
+        assertEquals(Amount.of(-100), result.lines[1].amount)
         // EUR already balanced
-        assertEquals(-50f, result.lines[3].amount ?: 0f, 0.01f)
+        assertEquals(Amount.of(-50), result.lines[3].amount)
         assertTrue(result.isBalanced)
     }
 
@@ -159,7 +160,7 @@ class TransactionBalanceCalculatorImplTest {
             entry("Expenses:Food", null, "USD", isAmountSet = false)
         )
 
-        val hints = calculator.calculateAmountHints(entries) { it.toInt().toString() }
+        val hints = calculator.calculateAmountHints(entries) { it.toPlainString() }
 
         assertNull(hints[0].hint)
         assertEquals("-100", hints[1].hint)
@@ -187,7 +188,7 @@ class TransactionBalanceCalculatorImplTest {
             entry("Expenses:Travel", null, "EUR", isAmountSet = false)
         )
 
-        val hints = calculator.calculateAmountHints(entries) { it.toInt().toString() }
+        val hints = calculator.calculateAmountHints(entries) { it.toPlainString() }
 
         assertEquals("-100", hints[1].hint)
         assertEquals("-50", hints[3].hint)
@@ -300,7 +301,7 @@ class TransactionBalanceCalculatorImplTest {
         comment: String? = null
     ) = TransactionBalanceCalculator.AccountEntry(
         accountName = name,
-        amount = amount,
+        amount = amount?.let(Amount::fromFloat),
         currency = currency,
         comment = comment,
         isAmountSet = isAmountSet,
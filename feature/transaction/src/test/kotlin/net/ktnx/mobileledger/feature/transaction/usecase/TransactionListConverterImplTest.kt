@@ -0,0 +1,121 @@
+/*
+ * Copyright © 2026 Damyan Ivanov.
+ * This file is part of MoLe.
+ * MoLe is free software: you can distribute it and/or modify it
+ * under the term of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your opinion), any later version.
+ *
+ * MoLe is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License terms for details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MoLe. If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.ktnx.mobileledger.feature.transaction.usecase
+
+import net.ktnx.mobileledger.core.common.utils.SimpleDate
+import net.ktnx.mobileledger.core.domain.model.Transaction
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertTrue
+import org.junit.Before
+import org.junit.Test
+
+class TransactionListConverterImplTest {
+
+    private lateinit var converter: TransactionListConverterImpl
+
+    @Before
+    fun setup() {
+        converter = TransactionListConverterImpl()
+    }
+
+    // ========== convert tests ==========
+
+    @Test
+    fun `convert sorts newest first and closes each date group with a delimiter`() {
+        val transactions = listOf(
+            tx(1, SimpleDate(2026, 1, 30)),
+            tx(2, SimpleDate(2026, 2, 1)),
+            tx(3, SimpleDate(2026, 2, 1))
+        )
+
+        val result = converter.convert(transactions)
+
+        assertEquals(
+            listOf(
+                TransactionListConverter.DisplayItem.TransactionItem(transactions[1]),
+                TransactionListConverter.DisplayItem.TransactionItem(transactions[2]),
+                TransactionListConverter.DisplayItem.DateDelimiter(SimpleDate(2026, 2, 1), isMonthBoundary = true),
+                TransactionListConverter.DisplayItem.TransactionItem(transactions[0]),
+                TransactionListConverter.DisplayItem.DateDelimiter(SimpleDate(2026, 1, 30), isMonthBoundary = true)
+            ),
+            result.items
+        )
+        assertEquals(SimpleDate(2026, 1, 30), result.firstDate)
+        assertEquals(SimpleDate(2026, 2, 1), result.lastDate)
+    }
+
+    @Test
+    fun `convert of empty list returns no items`() {
+        val result = converter.convert(emptyList())
+
+        assertTrue(result.items.isEmpty())
+        assertEquals(null, result.firstDate)
+        assertEquals(null, result.lastDate)
+    }
+
+    // ========== convertPage tests ==========
+
+    @Test
+    fun `pages concatenated give the same items as convert`() {
+        val transactions = (1..10).map { tx(it.toLong(), SimpleDate(2026, 1 + it / 4, 1 + it / 2)) }
+        val sorted = transactions.sortedByDescending { it.date }
+
+        for (pageSize in 1..sorted.size) {
+            val items = mutableListOf<TransactionListConverter.DisplayItem>()
+            var previousDate: SimpleDate? = null
+            val pages = sorted.chunked(pageSize)
+            pages.forEachIndexed { index, page ->
+                items += converter.convertPage(page, previousDate, isLastPage = index == pages.lastIndex)
+                previousDate = page.last().date
+            }
+
+            assertEquals("page size $pageSize", converter.convert(transactions).items, items)
+        }
+    }
+
+    @Test
+    fun `page starting with a new date closes the group of the previous page`() {
+        val page = listOf(tx(1, SimpleDate(2026, 1, 9)))
+
+        val items = converter.convertPage(page, previousDate = SimpleDate(2026, 1, 10), isLastPage = false)
+
+        assertEquals(
+            listOf(
+                TransactionListConverter.DisplayItem.DateDelimiter(SimpleDate(2026, 1, 10), isMonthBoundary = false),
+                TransactionListConverter.DisplayItem.TransactionItem(page[0])
+            ),
+            items
+        )
+    }
+
+    @Test
+    fun `empty last page closes the group of the previous page`() {
+        val items = converter.convertPage(emptyList(), previousDate = SimpleDate(2026, 1, 10), isLastPage = true)
+
+        assertEquals(
+            listOf(TransactionListConverter.DisplayItem.DateDelimiter(SimpleDate(2026, 1, 10), isMonthBoundary = true)),
+            items
+        )
+    }
+
+    private fun tx(ledgerId: Long, date: SimpleDate) = Transaction(
+        id = ledgerId,
+        ledgerId = ledgerId,
+        date = date,
+        description = "Transaction $ledgerId"
+    )
+}